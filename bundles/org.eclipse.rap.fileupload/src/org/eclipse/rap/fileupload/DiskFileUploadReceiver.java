@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -19,12 +19,21 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 
 /**
- * A file upload receiver that stores received files on disk.
+ * A file upload receiver that stores received files on disk. Files that are uploaded in chunks
+ * are written directly to their position in the target file, hence chunks may be received in any
+ * order. Chunks of a file that has already been completed or aborted are rejected.
  */
 public class DiskFileUploadReceiver extends FileUploadReceiver {
 
@@ -33,10 +42,14 @@ public class DiskFileUploadReceiver extends FileUploadReceiver {
   private static final String TEMP_DIRECTORY_PREFIX = "fileupload_";
 
   private final List<File> targetFiles;
+  private final Map<FileDetails, ChunkTarget> chunkTargets;
+  private final Set<FileDetails> closedChunkTargets;
   private File contentTypeFile;
 
   public DiskFileUploadReceiver() {
     targetFiles = new ArrayList<>();
+    chunkTargets = new HashMap<>();
+    closedChunkTargets = new HashSet<>();
   }
 
   @Override
@@ -48,12 +61,84 @@ public class DiskFileUploadReceiver extends FileUploadReceiver {
     } finally {
       outputStream.close();
     }
-    targetFiles.add( targetFile );
-    contentTypeFile = createContentTypeFile( targetFile, details );
-    if( contentTypeFile != null ) {
-      PrintWriter pw = new PrintWriter( contentTypeFile );
-      pw.print( details.getContentType() );
-      pw.close();
+    addTargetFile( targetFile, details );
+  }
+
+  /**
+   * Returns <code>true</code>, files that are uploaded in chunks are supported.
+   *
+   * @since 3.1
+   */
+  @Override
+  public boolean supportsChunks() {
+    return true;
+  }
+
+  /**
+   * Writes the chunk to the given position of the target file. The target file is created when
+   * the first chunk of a file is received. Chunks of a file that has already been completed or
+   * aborted are rejected with an <code>IOException</code>.
+   *
+   * @since 3.1
+   */
+  @Override
+  public void receive( InputStream dataStream, FileDetails details, long position )
+    throws IOException
+  {
+    FileChannel channel = getChunkTarget( details ).channel;
+    byte[] buffer = new byte[ 8192 ];
+    long offset = position;
+    boolean finished = false;
+    while( !finished ) {
+      int bytesRead = dataStream.read( buffer );
+      if( bytesRead != -1 ) {
+        ByteBuffer byteBuffer = ByteBuffer.wrap( buffer, 0, bytesRead );
+        while( byteBuffer.hasRemaining() ) {
+          offset += channel.write( byteBuffer, offset );
+        }
+      } else {
+        finished = true;
+      }
+    }
+  }
+
+  /**
+   * Closes the target file of a file that has been uploaded in chunks and adds it to the target
+   * files.
+   *
+   * @since 3.1
+   */
+  @Override
+  public void complete( FileDetails details ) throws IOException {
+    ChunkTarget chunkTarget;
+    synchronized( chunkTargets ) {
+      chunkTarget = chunkTargets.remove( details );
+      closedChunkTargets.add( details );
+    }
+    if( chunkTarget != null ) {
+      chunkTarget.channel.close();
+      addTargetFile( chunkTarget.file, details );
+    }
+  }
+
+  /**
+   * Closes and deletes the target file of a file that has been partially uploaded in chunks.
+   *
+   * @since 3.1
+   */
+  @Override
+  public void abort( FileDetails details ) throws IOException {
+    ChunkTarget chunkTarget;
+    synchronized( chunkTargets ) {
+      chunkTarget = chunkTargets.remove( details );
+      closedChunkTargets.add( details );
+    }
+    if( chunkTarget != null ) {
+      try {
+        chunkTarget.channel.close();
+      } finally {
+        chunkTarget.file.delete();
+      }
     }
   }
 
@@ -96,7 +181,7 @@ public class DiskFileUploadReceiver extends FileUploadReceiver {
    *
    * @return the array with target files or empty array if no files have been stored yet
    */
-  public File[] getTargetFiles() {
+  public synchronized File[] getTargetFiles() {
     return targetFiles.toArray( new File[ 0 ] );
   }
 
@@ -135,6 +220,34 @@ public class DiskFileUploadReceiver extends FileUploadReceiver {
   }
 
 
+  private ChunkTarget getChunkTarget( FileDetails details ) throws IOException {
+    synchronized( chunkTargets ) {
+      if( closedChunkTargets.contains( details ) ) {
+        throw new IOException( "The file has already been completed or aborted" );
+      }
+      ChunkTarget result = chunkTargets.get( details );
+      if( result == null ) {
+        File targetFile = createTargetFile( details );
+        FileChannel channel = new RandomAccessFile( targetFile, "rw" ).getChannel();
+        result = new ChunkTarget( targetFile, channel );
+        chunkTargets.put( details, result );
+      }
+      return result;
+    }
+  }
+
+  private synchronized void addTargetFile( File targetFile, FileDetails details )
+    throws IOException
+  {
+    targetFiles.add( targetFile );
+    contentTypeFile = createContentTypeFile( targetFile, details );
+    if( contentTypeFile != null ) {
+      PrintWriter pw = new PrintWriter( contentTypeFile );
+      pw.print( details.getContentType() );
+      pw.close();
+    }
+  }
+
   private static File createTempDirectory() throws IOException {
     File result = File.createTempFile( TEMP_DIRECTORY_PREFIX, "" );
     result.delete();
@@ -161,4 +274,16 @@ public class DiskFileUploadReceiver extends FileUploadReceiver {
     }
   }
 
+  private static final class ChunkTarget {
+
+    final File file;
+    final FileChannel channel;
+
+    ChunkTarget( File file, FileChannel channel ) {
+      this.file = file;
+      this.channel = channel;
+    }
+
+  }
+
 }
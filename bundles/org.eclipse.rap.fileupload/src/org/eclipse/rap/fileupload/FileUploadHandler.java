@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2012 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -20,6 +20,15 @@ import org.eclipse.rap.fileupload.internal.FileUploadServiceHandler;
  * handler, the server will accept file uploads to the URL returned by <code>getUploadUrl()</code>.
  * Upload listeners can be attached to react on progress. When the upload has finished, a
  * FileUploadHandler has to be disposed of by calling its <code>dispose()</code> method.
+ * <p>
+ * If the receiver supports chunks, a file can also be uploaded in multiple requests to the upload
+ * URL with an additional <code>fileId</code> parameter that identifies the file. Every chunk is
+ * sent in a POST request with the raw chunk data as body and a <code>Content-Range</code> header
+ * like <code>bytes 0-1023/4096</code>. The response, as well as the response to a HEAD request,
+ * contains an <code>Upload-Offset</code> header with the number of contiguous bytes received, which
+ * allows to resume an interrupted upload. The upload widgets of RAP do not use this protocol yet,
+ * it is only available to custom clients.
+ * </p>
  *
  * @noextend This class is not intended to be subclassed by clients.
  */
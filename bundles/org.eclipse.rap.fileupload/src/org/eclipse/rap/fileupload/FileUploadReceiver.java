@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2013 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -29,4 +29,82 @@ public abstract class FileUploadReceiver {
    */
   public abstract void receive( InputStream stream, FileDetails details ) throws IOException;
 
+  /**
+   * Returns whether this receiver can process files that are uploaded in multiple requests. Only
+   * if this method returns <code>true</code>, {@link #receive(InputStream, FileDetails, long)},
+   * {@link #complete(FileDetails)} and {@link #abort(FileDetails)} are called. Otherwise chunked
+   * uploads are rejected.
+   * <p>
+   * The default implementation returns <code>false</code>. Subclasses that support chunked uploads
+   * must override this method as well as {@link #receive(InputStream, FileDetails, long)} and
+   * {@link #complete(FileDetails)}.
+   * </p>
+   * <p>
+   * <strong>Note:</strong> The upload widgets of RAP do not split files into chunks yet, they
+   * always upload a file in a single request. Chunked uploads are only sent by custom clients that
+   * implement the protocol described in {@link FileUploadHandler}.
+   * </p>
+   *
+   * @return <code>true</code> if chunked uploads are supported, <code>false</code> otherwise
+   * @since 3.1
+   */
+  public boolean supportsChunks() {
+    return false;
+  }
+
+  /**
+   * Reads and processes a chunk of a file that is uploaded in multiple requests. The data from the
+   * provided input stream has to be stored at the given position of the file. Chunks may arrive in
+   * any order and may be received concurrently, a chunk may also be received again if a previous
+   * attempt to upload it was interrupted. Once all chunks have been received,
+   * {@link #complete(FileDetails)} is called with the same file details. If the upload is given up
+   * before, {@link #abort(FileDetails)} is called instead. A chunk that is still being received at
+   * that time may arrive afterwards, implementations should reject it with an
+   * <code>IOException</code> rather than acquire resources for the file again.
+   * <p>
+   * This method is only called if {@link #supportsChunks()} returns <code>true</code>. The
+   * default implementation does nothing.
+   * </p>
+   *
+   * @param stream the stream to read the chunk from
+   * @param details the details of the uploaded file like file name, content-type and size
+   * @param position the position of the first byte of the chunk within the file
+   * @throws IOException if an input / output error occurs
+   * @since 3.1
+   */
+  public void receive( InputStream stream, FileDetails details, long position )
+    throws IOException
+  {
+  }
+
+  /**
+   * Completes a file that has been uploaded in chunks. This method is called once after all
+   * chunks of the file have been received by {@link #receive(InputStream, FileDetails, long)}.
+   * <p>
+   * The default implementation does nothing.
+   * </p>
+   *
+   * @param details the details of the uploaded file like file name, content-type and size
+   * @throws IOException if an input / output error occurs
+   * @since 3.1
+   */
+  public void complete( FileDetails details ) throws IOException {
+  }
+
+  /**
+   * Discards a file that has been partially uploaded in chunks and will not be completed, for
+   * example because the upload handler was disposed before all chunks have been received.
+   * Implementations should release all resources that were acquired for the file and delete the
+   * data received so far.
+   * <p>
+   * The default implementation does nothing.
+   * </p>
+   *
+   * @param details the details of the uploaded file like file name, content-type and size
+   * @throws IOException if an input / output error occurs
+   * @since 3.1
+   */
+  public void abort( FileDetails details ) throws IOException {
+  }
+
 }
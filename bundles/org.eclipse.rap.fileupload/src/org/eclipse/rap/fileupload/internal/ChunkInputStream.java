@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.fileupload.internal;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+
+/*
+ * Reads at most the given number of bytes from the underlying stream and counts the bytes that
+ * have been read. Closing this stream does not close the underlying stream.
+ */
+final class ChunkInputStream extends FilterInputStream {
+
+  private long remaining;
+  private long count;
+
+  ChunkInputStream( InputStream in, long length ) {
+    super( in );
+    remaining = length;
+  }
+
+  long getCount() {
+    return count;
+  }
+
+  @Override
+  public int read() throws IOException {
+    int result = -1;
+    if( remaining > 0 ) {
+      result = super.read();
+      if( result != -1 ) {
+        remaining--;
+        count++;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public int read( byte[] buffer, int offset, int length ) throws IOException {
+    int result = -1;
+    if( remaining > 0 ) {
+      result = super.read( buffer, offset, ( int )Math.min( length, remaining ) );
+      if( result > 0 ) {
+        remaining -= result;
+        count += result;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public long skip( long n ) throws IOException {
+    long result = super.skip( Math.min( n, remaining ) );
+    remaining -= result;
+    count += result;
+    return result;
+  }
+
+  @Override
+  public int available() throws IOException {
+    return ( int )Math.min( super.available(), remaining );
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  @Override
+  public void close() {
+    remaining = 0;
+  }
+
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.fileupload.internal;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.eclipse.rap.fileupload.FileDetails;
+import org.eclipse.rap.fileupload.FileUploadHandler;
+
+
+/*
+ * The state of a file that is uploaded in chunks. Keeps track of the byte ranges that have been
+ * received so far, adjacent and overlapping ranges are merged. A completed upload is kept to
+ * answer late or repeated requests for the file until its handler is deregistered.
+ */
+final class ChunkedUpload {
+
+  private final FileUploadHandler handler;
+  private final FileDetails details;
+  private final long contentLength;
+  private final FileUploadTracker tracker;
+  private final TreeMap<Long, Long> ranges;
+  private boolean completed;
+
+  ChunkedUpload( FileUploadHandler handler, FileDetails details, long contentLength ) {
+    this.handler = handler;
+    this.details = details;
+    this.contentLength = contentLength;
+    tracker = new FileUploadTracker( handler );
+    tracker.setContentLength( contentLength );
+    ranges = new TreeMap<>();
+  }
+
+  FileDetails getDetails() {
+    return details;
+  }
+
+  long getContentLength() {
+    return contentLength;
+  }
+
+  /*
+   * Returns the number of contiguous bytes that have been received from the beginning of the file.
+   */
+  synchronized long getOffset() {
+    Long end = ranges.get( Long.valueOf( 0 ) );
+    return end == null ? 0 : end.longValue();
+  }
+
+  /*
+   * Records that the bytes from start (inclusive) to end (exclusive) have been received. Returns
+   * true if the file has been received entirely for the first time.
+   */
+  synchronized boolean addRange( long start, long end ) {
+    long bytesRead = tracker.getBytesRead();
+    long rangeStart = start;
+    long rangeEnd = end;
+    Entry<Long, Long> previous = ranges.floorEntry( Long.valueOf( start ) );
+    if( previous != null && previous.getValue().longValue() >= start ) {
+      rangeStart = previous.getKey().longValue();
+    }
+    Iterator<Entry<Long, Long>> iterator
+      = ranges.subMap( Long.valueOf( rangeStart ), true, Long.valueOf( rangeEnd ), true )
+        .entrySet()
+        .iterator();
+    while( iterator.hasNext() ) {
+      Entry<Long, Long> range = iterator.next();
+      rangeEnd = Math.max( rangeEnd, range.getValue().longValue() );
+      bytesRead -= range.getValue().longValue() - range.getKey().longValue();
+      iterator.remove();
+    }
+    ranges.put( Long.valueOf( rangeStart ), Long.valueOf( rangeEnd ) );
+    tracker.setBytesRead( bytesRead + rangeEnd - rangeStart );
+    tracker.handleProgress();
+    boolean result = false;
+    if( !completed && getOffset() == contentLength ) {
+      completed = true;
+      result = true;
+    }
+    return result;
+  }
+
+  synchronized boolean isCompleted() {
+    return completed;
+  }
+
+  /*
+   * Lets the receiver discard the data of an upload that has not been completed.
+   */
+  void abort() {
+    if( !isCompleted() ) {
+      try {
+        handler.getReceiver().abort( details );
+      } catch( IOException exception ) {
+        handleFailed( exception );
+      }
+    }
+  }
+
+  synchronized void handleFinished() {
+    tracker.addFile( details );
+    tracker.handleFinished();
+  }
+
+  synchronized void handleFailed( Exception exception ) {
+    tracker.setException( exception );
+    tracker.handleFailed();
+  }
+
+}
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.fileupload.internal;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.fileupload.FileUploadBase.FileSizeLimitExceededException;
+import org.eclipse.rap.fileupload.FileDetails;
+import org.eclipse.rap.fileupload.FileUploadHandler;
+import org.eclipse.rap.fileupload.FileUploadReceiver;
+
+
+/*
+ * Processes the requests of a file that is uploaded in chunks. Every chunk is sent in a separate
+ * POST request with the raw chunk data as body and a Content-Range header that denotes the position
+ * of the chunk and the size of the file. The response to a chunk, as well as to a HEAD request,
+ * contains an Upload-Offset header with the number of contiguous bytes that have been received
+ * from the beginning of the file, which allows clients to resume an interrupted upload. Chunks of
+ * a file that has already been completed are rejected. The RAP client does not split uploads into
+ * chunks yet, only custom clients send such requests.
+ */
+final class ChunkedUploadProcessor {
+
+  static final String HEADER_CONTENT_RANGE = "Content-Range";
+  static final String HEADER_UPLOAD_OFFSET = "Upload-Offset";
+  private static final Pattern CONTENT_RANGE_PATTERN
+    = Pattern.compile( "bytes (\\d{1,18})-(\\d{1,18})/(\\d{1,18})" );
+
+  private final FileUploadHandler handler;
+  private final String token;
+  private final String fileId;
+
+  ChunkedUploadProcessor( FileUploadHandler handler, String token, String fileId ) {
+    this.handler = handler;
+    this.token = token;
+    this.fileId = fileId;
+  }
+
+  void handleOffsetRequest( HttpServletResponse response ) {
+    ChunkedUpload upload = FileUploadHandlerStore.getInstance().getChunkedUpload( token, fileId );
+    long offset = upload == null ? 0 : upload.getOffset();
+    response.setHeader( HEADER_UPLOAD_OFFSET, String.valueOf( offset ) );
+  }
+
+  void handleChunk( HttpServletRequest request, HttpServletResponse response )
+    throws IOException
+  {
+    long[] range = parseContentRange( request.getHeader( HEADER_CONTENT_RANGE ) );
+    if( range == null ) {
+      String message = "Invalid or missing Content-Range header";
+      response.sendError( HttpServletResponse.SC_BAD_REQUEST, message );
+    } else if( !handler.getReceiver().supportsChunks() ) {
+      ChunkedUpload upload = new ChunkedUpload( handler, createFileDetails( request ), range[ 2 ] );
+      String message = "Chunked uploads are not supported by the receiver";
+      upload.handleFailed( new UnsupportedOperationException( message ) );
+      response.sendError( HttpServletResponse.SC_NOT_IMPLEMENTED, message );
+    } else if( exceedsMaxFileSize( range[ 2 ] ) ) {
+      FileDetails details = createFileDetails( request );
+      ChunkedUpload upload = new ChunkedUpload( handler, details, range[ 2 ] );
+      Exception exception = createFileSizeLimitExceededException( range[ 2 ] );
+      upload.handleFailed( exception );
+      response.sendError( HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, exception.getMessage() );
+    } else {
+      ChunkedUpload upload = getChunkedUpload( request, range[ 2 ] );
+      if( upload.isCompleted() ) {
+        rejectCompleted( response, upload );
+      } else if( upload.getContentLength() != range[ 2 ] ) {
+        String message = "File size does not match previous chunks";
+        response.sendError( HttpServletResponse.SC_BAD_REQUEST, message );
+      } else {
+        receiveChunk( request, response, upload, range[ 0 ], range[ 1 ] + 1 );
+      }
+    }
+  }
+
+  private void receiveChunk( HttpServletRequest request,
+                             HttpServletResponse response,
+                             ChunkedUpload upload,
+                             long start,
+                             long end )
+    throws IOException
+  {
+    FileUploadReceiver receiver = handler.getReceiver();
+    ChunkInputStream stream = new ChunkInputStream( request.getInputStream(), end - start );
+    if( !receive( receiver, stream, upload, start ) ) {
+      rejectCompleted( response, upload );
+    } else if( stream.getCount() < end - start ) {
+      // the range is not recorded, the client has to send the chunk again
+      String message = "Incomplete chunk data";
+      response.sendError( HttpServletResponse.SC_BAD_REQUEST, message );
+    } else {
+      if( upload.addRange( start, end ) ) {
+        completeUpload( receiver, upload );
+      }
+      response.setHeader( HEADER_UPLOAD_OFFSET, String.valueOf( upload.getOffset() ) );
+    }
+  }
+
+  /*
+   * Returns false if the receiver rejected the chunk because the upload has been completed by a
+   * concurrent chunk in the meantime.
+   */
+  private static boolean receive( FileUploadReceiver receiver,
+                                  ChunkInputStream stream,
+                                  ChunkedUpload upload,
+                                  long position )
+    throws IOException
+  {
+    boolean result = true;
+    try {
+      receiver.receive( stream, upload.getDetails(), position );
+    } catch( IOException exception ) {
+      if( !upload.isCompleted() ) {
+        throw exception;
+      }
+      result = false;
+    }
+    return result;
+  }
+
+  private static void rejectCompleted( HttpServletResponse response, ChunkedUpload upload )
+    throws IOException
+  {
+    response.setHeader( HEADER_UPLOAD_OFFSET, String.valueOf( upload.getOffset() ) );
+    String message = "The file has already been completed";
+    response.sendError( HttpServletResponse.SC_CONFLICT, message );
+  }
+
+  /*
+   * The completed upload remains in the store, so that the final offset can still be queried and
+   * late chunks are rejected instead of starting a new upload.
+   */
+  private static void completeUpload( FileUploadReceiver receiver, ChunkedUpload upload )
+    throws IOException
+  {
+    try {
+      receiver.complete( upload.getDetails() );
+    } catch( IOException exception ) {
+      upload.handleFailed( exception );
+      throw exception;
+    }
+    upload.handleFinished();
+  }
+
+  private ChunkedUpload getChunkedUpload( HttpServletRequest request, long contentLength ) {
+    FileUploadHandlerStore store = FileUploadHandlerStore.getInstance();
+    ChunkedUpload result = store.getChunkedUpload( token, fileId );
+    if( result == null ) {
+      FileDetails details = createFileDetails( request );
+      ChunkedUpload upload = new ChunkedUpload( handler, details, contentLength );
+      result = store.addChunkedUpload( token, fileId, upload );
+    }
+    return result;
+  }
+
+  private boolean exceedsMaxFileSize( long contentLength ) {
+    long maxFileSize = handler.getMaxFileSize();
+    return maxFileSize != -1 && contentLength > maxFileSize;
+  }
+
+  private Exception createFileSizeLimitExceededException( long contentLength ) {
+    long maxFileSize = handler.getMaxFileSize();
+    String message = "The file exceeds its maximum permitted size of " + maxFileSize + " bytes.";
+    return new FileSizeLimitExceededException( message, contentLength, maxFileSize );
+  }
+
+  private static FileDetails createFileDetails( HttpServletRequest request ) {
+    String fileName = request.getParameter( FileUploadServiceHandler.PARAMETER_FILE_NAME );
+    if( fileName != null ) {
+      fileName = FileUploadProcessor.stripFileName( fileName );
+    }
+    return new FileDetailsImpl( fileName, request.getContentType() );
+  }
+
+  static long[] parseContentRange( String contentRange ) {
+    long[] result = null;
+    if( contentRange != null ) {
+      Matcher matcher = CONTENT_RANGE_PATTERN.matcher( contentRange.trim() );
+      if( matcher.matches() ) {
+        long start = Long.parseLong( matcher.group( 1 ) );
+        long end = Long.parseLong( matcher.group( 2 ) );
+        long total = Long.parseLong( matcher.group( 3 ) );
+        if( start <= end && end < total ) {
+          result = new long[] { start, end, total };
+        }
+      }
+    }
+    return result;
+  }
+
+}
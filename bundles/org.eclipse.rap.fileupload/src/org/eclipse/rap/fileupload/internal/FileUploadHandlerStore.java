@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,9 +12,13 @@ package org.eclipse.rap.fileupload.internal;
 
 import static org.eclipse.rap.rwt.SingletonUtil.getUniqueInstance;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import org.eclipse.rap.fileupload.FileUploadHandler;
 import org.eclipse.rap.rwt.RWT;
@@ -23,9 +27,11 @@ import org.eclipse.rap.rwt.RWT;
 public final class FileUploadHandlerStore {
 
   private final Map<String, FileUploadHandler> handlers;
+  private final Map<String, ChunkedUpload> chunkedUploads;
 
   private FileUploadHandlerStore() {
     handlers = Collections.synchronizedMap( new HashMap<String, FileUploadHandler>() );
+    chunkedUploads = new HashMap<>();
     RWT.getServiceManager().registerServiceHandler( FileUploadServiceHandler.SERVICE_HANDLER_ID,
                                                     new FileUploadServiceHandler() );
   }
@@ -40,12 +46,58 @@ public final class FileUploadHandlerStore {
 
   public void deregisterHandler( String token ) {
     handlers.remove( token );
+    removeChunkedUploads( token );
   }
 
   public FileUploadHandler getHandler( String token ) {
     return handlers.get( token );
   }
 
+  ChunkedUpload getChunkedUpload( String token, String fileId ) {
+    synchronized( chunkedUploads ) {
+      return chunkedUploads.get( getChunkedUploadKey( token, fileId ) );
+    }
+  }
+
+  /*
+   * Adds the given upload unless there is already an upload for this file. Returns the upload that
+   * is registered for the file.
+   */
+  ChunkedUpload addChunkedUpload( String token, String fileId, ChunkedUpload upload ) {
+    String key = getChunkedUploadKey( token, fileId );
+    synchronized( chunkedUploads ) {
+      ChunkedUpload result = chunkedUploads.get( key );
+      if( result == null ) {
+        chunkedUploads.put( key, upload );
+        result = upload;
+      }
+      return result;
+    }
+  }
+
+  private void removeChunkedUploads( String token ) {
+    String prefix = getChunkedUploadKey( token, "" );
+    List<ChunkedUpload> removedUploads = new ArrayList<>();
+    synchronized( chunkedUploads ) {
+      Iterator<Entry<String, ChunkedUpload>> iterator = chunkedUploads.entrySet().iterator();
+      while( iterator.hasNext() ) {
+        Entry<String, ChunkedUpload> entry = iterator.next();
+        if( entry.getKey().startsWith( prefix ) ) {
+          removedUploads.add( entry.getValue() );
+          iterator.remove();
+        }
+      }
+    }
+    // abort outside of the lock, receivers may take their time to delete the data
+    for( ChunkedUpload upload : removedUploads ) {
+      upload.abort();
+    }
+  }
+
+  private static String getChunkedUploadKey( String token, String fileId ) {
+    return token + "/" + fileId;
+  }
+
   public static String createToken() {
     int random1 = ( int )( Math.random() * 0xfffffff );
     int random2 = ( int )( Math.random() * 0xfffffff );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -110,7 +110,7 @@ final class FileUploadProcessor {
     }
   }
 
-  private static String stripFileName( String name ) {
+  static String stripFileName( String name ) {
     String result = name;
     int lastSlash = result.lastIndexOf( '/' );
     if( lastSlash != -1 ) {
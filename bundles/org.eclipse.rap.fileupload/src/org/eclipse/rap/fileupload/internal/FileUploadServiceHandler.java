@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 EclipseSource and others.
+ * Copyright (c) 2002, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -28,6 +28,8 @@ import org.eclipse.rap.rwt.service.ServiceHandler;
 public final class FileUploadServiceHandler implements ServiceHandler {
 
   private static final String PARAMETER_TOKEN = "token";
+  static final String PARAMETER_FILE_ID = "fileId";
+  static final String PARAMETER_FILE_NAME = "fileName";
 
   static final String SERVICE_HANDLER_ID = "org.eclipse.rap.fileupload";
 
@@ -44,6 +46,8 @@ public final class FileUploadServiceHandler implements ServiceHandler {
       if( registeredHandler == null ) {
         String message = "Invalid or missing token";
         response.sendError( HttpServletResponse.SC_FORBIDDEN, message );
+      } else if( request.getParameter( PARAMETER_FILE_ID ) != null ) {
+        handleChunkedUpload( request, response, registeredHandler, token );
       } else if( !"POST".equals( request.getMethod().toUpperCase() ) ) {
         String message = "Only POST requests allowed";
         response.sendError( HttpServletResponse.SC_METHOD_NOT_ALLOWED, message );
@@ -57,6 +61,25 @@ public final class FileUploadServiceHandler implements ServiceHandler {
     }
   }
 
+  private static void handleChunkedUpload( HttpServletRequest request,
+                                           HttpServletResponse response,
+                                           FileUploadHandler handler,
+                                           String token )
+    throws IOException
+  {
+    String fileId = request.getParameter( PARAMETER_FILE_ID );
+    ChunkedUploadProcessor processor = new ChunkedUploadProcessor( handler, token, fileId );
+    String method = request.getMethod().toUpperCase();
+    if( "HEAD".equals( method ) ) {
+      processor.handleOffsetRequest( response );
+    } else if( "POST".equals( method ) ) {
+      processor.handleChunk( request, response );
+    } else {
+      String message = "Only HEAD and POST requests allowed";
+      response.sendError( HttpServletResponse.SC_METHOD_NOT_ALLOWED, message );
+    }
+  }
+
   public static String getUrl( String token ) {
     String serviceHandlerUrl = RWT.getServiceManager().getServiceHandlerUrl( SERVICE_HANDLER_ID );
     return new StringBuilder( serviceHandlerUrl )
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -20,15 +20,23 @@ import org.eclipse.rap.fileupload.FileUploadHandler;
 
 final class FileUploadTracker {
 
+  // progress events are sent for every percent of the content at most, and at least every
+  // PROGRESS_INTERVAL milliseconds as long as data is received
+  private static final int PROGRESS_STEPS = 100;
+  private static final long PROGRESS_INTERVAL = 250;
+
   private final FileUploadHandler handler;
   private final List<FileDetails> files;
   private long contentLength;
   private long bytesRead;
   private Exception exception;
+  private long lastProgressBytesRead;
+  private long lastProgressTime;
 
   FileUploadTracker( FileUploadHandler handler ) {
     this.handler = handler;
     files = new ArrayList<>();
+    lastProgressBytesRead = -1;
   }
 
   void addFile( FileDetails details ) {
@@ -51,8 +59,17 @@ final class FileUploadTracker {
     this.exception = exception;
   }
 
+  long getBytesRead() {
+    return bytesRead;
+  }
+
   void handleProgress() {
-    new InternalFileUploadEvent( handler ).dispatchAsProgress();
+    long now = System.currentTimeMillis();
+    if( isProgressRelevant( now ) ) {
+      lastProgressBytesRead = bytesRead;
+      lastProgressTime = now;
+      new InternalFileUploadEvent( handler ).dispatchAsProgress();
+    }
   }
 
   void handleFinished() {
@@ -63,6 +80,18 @@ final class FileUploadTracker {
     new InternalFileUploadEvent( handler ).dispatchAsFailed();
   }
 
+  private boolean isProgressRelevant( long now ) {
+    boolean result = false;
+    long delta = bytesRead - lastProgressBytesRead;
+    if( lastProgressBytesRead == -1 || bytesRead == contentLength ) {
+      result = true;
+    } else if( delta > 0 ) {
+      result =    contentLength > 0 && delta * PROGRESS_STEPS >= contentLength
+               || now - lastProgressTime >= PROGRESS_INTERVAL;
+    }
+    return result;
+  }
+
   private final class InternalFileUploadEvent extends FileUploadEvent {
 
     private static final long serialVersionUID = 1L;
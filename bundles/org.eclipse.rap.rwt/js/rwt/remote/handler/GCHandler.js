@@ -23,7 +23,7 @@ rwt.remote.HandlerRegistry.add( "rwt.widgets.GC", {
     gc.dispose();
   },
 
-  methods : [ "init", "draw" ],
+  methods : [ "init", "draw", "patch" ],
 
   methodHandler : {
     "init" : function( gc, properties ) {
@@ -34,11 +34,15 @@ rwt.remote.HandlerRegistry.add( "rwt.widgets.GC", {
         properties.height,
         properties.font,
         properties.fillStyle,
-        properties.strokeStyle
+        properties.strokeStyle,
+        properties.incremental
       );
     },
     "draw" : function( gc, properties ) {
       gc.draw( properties.operations );
+    },
+    "patch" : function( gc, properties ) {
+      gc.patch( properties.start, properties.deleteCount, properties.operations );
     }
   }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -70,6 +70,7 @@ rwt.remote.HandlerRegistry.add( "rwt.widgets.Grid", {
     "topItemIndex",
     "scrollLeft",
     "selection",
+    "selectionRanges",
     "focusItem",
     "sortDirection",
     "sortColumn",
@@ -103,6 +104,9 @@ rwt.remote.HandlerRegistry.add( "rwt.widgets.Grid", {
         rwt.remote.HandlerUtil.callWithTarget( value[ i ], applySelection );
       }
     },
+    "selectionRanges" : function( widget, value ) {
+      widget.setSelectionRanges( value );
+    },
     "columnOrder" : function( widget, value ) {
       rwt.remote.HandlerUtil.callWithTargets( value, function( order ) {
         widget.setColumnOrder( order );
@@ -27,6 +27,8 @@ rwt.qx.Class.define( "rwt.widgets.GC", {
       this._addCanvasToDOM();
     }
     this._linearGradient = null;
+    this._initArgs = null;
+    this._operations = null;
   },
 
   destruct : function() {
@@ -37,6 +39,8 @@ rwt.qx.Class.define( "rwt.widgets.GC", {
       this._removeCanvasFromDOM();
     }
     this._control = null;
+    this._initArgs = null;
+    this._operations = null;
     this._canvas.rwtObject = null;
     this._canvas = null;
     if( this._context.dispose ) {
@@ -47,12 +51,30 @@ rwt.qx.Class.define( "rwt.widgets.GC", {
 
   members : {
 
-    init : function( x, y, width, height, font, background, foreground  ) {
+    init : function( x, y, width, height, font, background, foreground, incremental ) {
       this._initClipping( x, y, width, height );
       this._initFields( font, background, foreground );
+      // in incremental mode the operations are recorded to allow for patching them later
+      this._initArgs = incremental ? rwt.util.Arrays.fromArguments( arguments ) : null;
+      this._operations = incremental ? [] : null;
       this._control.dispatchSimpleEvent( "paint" ); // client-side painting on server-side redraw
     },
 
+    /**
+     * Replaces a segment of the operations drawn since the last (incremental) init and repaints
+     * the canvas, which results in the same drawing as init and draw with all operations.
+     */
+    patch : function( start, deleteCount, operations ) {
+      if( this._operations === null ) {
+        throw new Error( "No recorded operations to patch" );
+      }
+      var previous = this._operations;
+      var patched = previous.slice( 0, start ).concat( operations,
+                                                       previous.slice( start + deleteCount ) );
+      this.init.apply( this, this._initArgs );
+      this.draw( patched );
+    },
+
     /**
      * Executes drawing operations using the HTML5-Canvas 2D-Context syntax.
      * Only a subset is supported on all browser, especially IE is limited.
@@ -66,6 +88,9 @@ rwt.qx.Class.define( "rwt.widgets.GC", {
      *  - ellipse is not a W3C standard, only WHATWG, but we need it for SWT arc to work.
      */
     draw : function( operations ) {
+      if( this._operations !== null ) {
+        this._operations = this._operations.concat( operations );
+      }
       for( var i = 0; i < operations.length; i++ ) {
         try {
           var op = operations[ i ][ 0 ];
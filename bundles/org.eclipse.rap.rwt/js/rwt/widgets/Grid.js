@@ -22,6 +22,7 @@ rwt.qx.Class.define( "rwt.widgets.Grid", {
     this._topItemIndex = 0;
     this._topItem = null;
     this._selection = [];
+    this._selectionRanges = null;
     this._focusItem = null;
     this._renderQueue = {};
     this._resizeLine = null;
@@ -275,6 +276,19 @@ rwt.qx.Class.define( "rwt.widgets.Grid", {
       this._scheduleItemUpdate( item );
     },
 
+    /**
+     * Selects the children of the root item within the given index ranges. The ranges are given as
+     * pairs of inclusive start and end indices. The items are only resolved when the selection is
+     * modified on the client, hence selecting a large range does not create placeholder items.
+     */
+    setSelectionRanges : function( ranges ) {
+      this.deselectAll();
+      if( ranges.length > 0 ) {
+        this._selectionRanges = ranges.slice( 0 );
+        this._scheduleUpdate();
+      }
+    },
+
     setFocusItem : function( item ) {
       this._focusItem = item;
       this.dispatchSimpleEvent( "focusItemChanged" );
@@ -390,10 +404,11 @@ rwt.qx.Class.define( "rwt.widgets.Grid", {
     },
 
     isItemSelected : function( item ) {
-      return this._selection.indexOf( item ) != -1;
+      return this._selection.indexOf( item ) != -1 || this._isInSelectionRanges( item );
     },
 
     getSelection : function() {
+      this._resolveSelectionRanges();
       return this._selection.slice( 0 );
     },
 
@@ -1156,6 +1171,7 @@ rwt.qx.Class.define( "rwt.widgets.Grid", {
     },
 
     _selectItem : function( item, render ) {
+      this._resolveSelectionRanges();
       if( !this.isItemSelected( item ) ) {
         this._selection.push( item );
       }
@@ -1165,6 +1181,7 @@ rwt.qx.Class.define( "rwt.widgets.Grid", {
     },
 
     _deselectItem : function( item, render ) {
+      this._resolveSelectionRanges();
       if( this.isItemSelected( item ) ) {
         this._selection.splice( this._selection.indexOf( item ), 1 );
       }
@@ -1180,6 +1197,44 @@ rwt.qx.Class.define( "rwt.widgets.Grid", {
       for( var i = 0; i < oldSelection.length; i++ ) {
         this._rowContainer.renderItem( oldSelection[ i ] );
       }
+      if( this._selectionRanges !== null ) {
+        this._selectionRanges = null;
+        this._scheduleUpdate();
+      }
+    },
+
+    _isInSelectionRanges : function( item ) {
+      var result = false;
+      if( this._selectionRanges !== null && item.getParent() === this._rootItem ) {
+        var index = this._rootItem.indexOf( item );
+        var low = 0;
+        var high = this._selectionRanges.length / 2 - 1;
+        while( !result && low <= high ) {
+          var middle = ( low + high ) >>> 1;
+          if( this._selectionRanges[ middle * 2 + 1 ] < index ) {
+            low = middle + 1;
+          } else if( this._selectionRanges[ middle * 2 ] > index ) {
+            high = middle - 1;
+          } else {
+            result = true;
+          }
+        }
+      }
+      return result;
+    },
+
+    _resolveSelectionRanges : function() {
+      var ranges = this._selectionRanges;
+      if( ranges !== null ) {
+        this._selectionRanges = null;
+        for( var i = 0; i < ranges.length; i += 2 ) {
+          var end = Math.min( ranges[ i + 1 ], this._rootItem.getChildrenLength() - 1 );
+          for( var index = ranges[ i ]; index <= end; index++ ) {
+            // the ranges are only set on an empty selection, hence there are no duplicates
+            this._selection.push( this._rootItem.getChild( index ) );
+          }
+        }
+      }
     },
 
     _toggleCheckSelection : function( item, cell ) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013 EclipseSource.
+ * Copyright (c) 2013, 2016 EclipseSource.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,10 +7,12 @@
  *
  * Contributors:
  *    Ralf Sternberg - initial implementation and API
+ *    EclipseSource - UTF-8 input, name cache and incremental reading
  ******************************************************************************/
 package org.eclipse.rap.json;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
 
@@ -19,9 +21,25 @@ class JsonParser {
 
   private static final int MIN_BUFFER_SIZE = 10;
   private static final int DEFAULT_BUFFER_SIZE = 1024;
+  private static final char REPLACEMENT_CHAR = '\uFFFD';
+  // smallest code point per sequence length, anything below is an overlong encoding
+  private static final int[] MIN_CODE_POINTS = { 0, 0, 0x80, 0x800, 0x10000 };
+  private static final int NAME_CACHE_SIZE = 512;
+  private static final int MAX_CACHED_NAME_LENGTH = 32;
+
+  /*
+   * Member names repeat a lot, especially in protocol messages. Names are looked up in this table
+   * before a new string is created. Concurrent writes to the table are not synchronized, since a
+   * lost update only results in a cache miss and strings are immutable.
+   */
+  private static final String[] NAME_CACHE = new String[ NAME_CACHE_SIZE ];
 
   private final Reader reader;
+  private final InputStream input;
   private final char[] buffer;
+  private byte[] byteBuffer;
+  private int byteIndex;
+  private int byteFill;
   private int bufferOffset;
   private int index;
   private int fill;
@@ -30,6 +48,8 @@ class JsonParser {
   private int current;
   private StringBuilder captureBuffer;
   private int captureStart;
+  private char[] closers;
+  private int depth;
 
   /*
    * |                      bufferOffset
@@ -50,7 +70,21 @@ class JsonParser {
   }
 
   JsonParser( Reader reader, int buffersize ) {
+    this( reader, null, buffersize );
+  }
+
+  /*
+   * Decodes the UTF-8 encoded input directly into the character buffer instead of using an
+   * InputStreamReader.
+   */
+  JsonParser( InputStream input ) {
+    this( null, input, DEFAULT_BUFFER_SIZE );
+    byteBuffer = new byte[ DEFAULT_BUFFER_SIZE ];
+  }
+
+  private JsonParser( Reader reader, InputStream input, int buffersize ) {
     this.reader = reader;
+    this.input = input;
     buffer = new char[ buffersize ];
     line = 1;
     captureStart = -1;
@@ -67,6 +101,112 @@ class JsonParser {
     return result;
   }
 
+  //////////////////////
+  // incremental reading
+
+  void beginObject() throws IOException {
+    beginStructure( '{', '}' );
+  }
+
+  void beginArray() throws IOException {
+    beginStructure( '[', ']' );
+  }
+
+  boolean hasNext() {
+    return depth > 0 && current != closers[ depth - 1 ];
+  }
+
+  String nextName() throws IOException {
+    if( depth == 0 || closers[ depth - 1 ] != '}' ) {
+      throw error( "Not inside an object" );
+    }
+    String name = readName();
+    skipWhiteSpace();
+    if( !readChar( ':' ) ) {
+      throw expected( "':'" );
+    }
+    skipWhiteSpace();
+    return name;
+  }
+
+  JsonValue nextValue() throws IOException {
+    JsonValue value = readValue();
+    endElement();
+    return value;
+  }
+
+  String nextString() throws IOException {
+    if( current != '"' ) {
+      throw expected( "string" );
+    }
+    String string = readStringInternal( false );
+    endElement();
+    return string;
+  }
+
+  void endObject() throws IOException {
+    endStructure( '}' );
+  }
+
+  void endArray() throws IOException {
+    endStructure( ']' );
+  }
+
+  private void beginStructure( char open, char close ) throws IOException {
+    if( depth == 0 ) {
+      read();
+      skipWhiteSpace();
+    }
+    if( !readChar( open ) ) {
+      throw expected( "'" + open + "'" );
+    }
+    if( closers == null ) {
+      closers = new char[ 8 ];
+    } else if( depth == closers.length ) {
+      char[] newClosers = new char[ depth * 2 ];
+      System.arraycopy( closers, 0, newClosers, 0, depth );
+      closers = newClosers;
+    }
+    closers[ depth++ ] = close;
+    skipWhiteSpace();
+  }
+
+  private void endStructure( char close ) throws IOException {
+    if( depth == 0 || closers[ depth - 1 ] != close ) {
+      throw error( "Unexpected '" + close + "'" );
+    }
+    if( !readChar( close ) ) {
+      throw expected( "'" + close + "'" );
+    }
+    depth--;
+    if( depth == 0 ) {
+      skipWhiteSpace();
+      if( !isEndOfText() ) {
+        throw error( "Unexpected character" );
+      }
+    } else {
+      endElement();
+    }
+  }
+
+  private void endElement() throws IOException {
+    skipWhiteSpace();
+    if( depth > 0 ) {
+      char close = closers[ depth - 1 ];
+      if( readChar( ',' ) ) {
+        skipWhiteSpace();
+        if( current == close ) {
+          throw expected( close == '}' ? "name" : "value" );
+        }
+      } else if( current != close ) {
+        throw expected( "',' or '" + close + "'" );
+      }
+    }
+  }
+
+  ////////////
+  // DOM parse
+
   private JsonValue readValue() throws IOException {
     switch( current ) {
     case 'n':
@@ -144,7 +284,7 @@ class JsonParser {
     if( current != '"' ) {
       throw expected( "name" );
     }
-    return readStringInternal();
+    return readStringInternal( true );
   }
 
   private JsonValue readNull() throws IOException {
@@ -179,10 +319,10 @@ class JsonParser {
   }
 
   private JsonValue readString() throws IOException {
-    return new JsonString( readStringInternal() );
+    return new JsonString( readStringInternal( false ) );
   }
 
-  private String readStringInternal() throws IOException {
+  private String readStringInternal( boolean name ) throws IOException {
     read();
     startCapture();
     while( current != '"' ) {
@@ -196,7 +336,7 @@ class JsonParser {
         read();
       }
     }
-    String string = endCapture();
+    String string = name ? endNameCapture() : endCapture();
     read();
     return string;
   }
@@ -316,7 +456,7 @@ class JsonParser {
         captureStart = 0;
       }
       bufferOffset += fill;
-      fill = reader.read( buffer, 0, buffer.length );
+      fill = input != null ? decode() : reader.read( buffer, 0, buffer.length );
       index = 0;
       if( fill == -1 ) {
         current = -1;
@@ -330,6 +470,84 @@ class JsonParser {
     current = buffer[index++];
   }
 
+  /*
+   * Decodes the available bytes, but at least one character, into the character buffer. Malformed
+   * sequences are replaced by U+FFFD like an InputStreamReader does.
+   */
+  private int decode() throws IOException {
+    int count = 0;
+    // keep room for a surrogate pair
+    while( count < buffer.length - 1 && ( count == 0 || byteIndex < byteFill ) ) {
+      if( byteIndex == byteFill && !fillBytes( 1 ) ) {
+        return count == 0 ? -1 : count;
+      }
+      int first = byteBuffer[ byteIndex ] & 0xff;
+      if( first < 0x80 ) {
+        buffer[ count++ ] = (char)first;
+        byteIndex++;
+      } else {
+        count = decodeSequence( first, count );
+      }
+    }
+    return count;
+  }
+
+  private int decodeSequence( int first, int count ) throws IOException {
+    int length = first >= 0xf8 ? 0 : first >= 0xf0 ? 4 : first >= 0xe0 ? 3 : first >= 0xc0 ? 2 : 0;
+    int codePoint = -1;
+    if( length > 0 && fillBytes( length ) ) {
+      codePoint = first & ( 0xff >> ( length + 1 ) );
+      for( int i = 1; i < length && codePoint != -1; i++ ) {
+        int next = byteBuffer[ byteIndex + i ] & 0xff;
+        codePoint = ( next & 0xc0 ) == 0x80 ? codePoint << 6 | next & 0x3f : -1;
+      }
+    }
+    int result = count;
+    if( !isValidCodePoint( codePoint, length ) ) {
+      buffer[ result++ ] = REPLACEMENT_CHAR;
+      byteIndex++;
+    } else {
+      if( codePoint >= 0x10000 ) {
+        buffer[ result++ ] = Character.highSurrogate( codePoint );
+        buffer[ result++ ] = Character.lowSurrogate( codePoint );
+      } else {
+        buffer[ result++ ] = (char)codePoint;
+      }
+      byteIndex += length;
+    }
+    return result;
+  }
+
+  /*
+   * Overlong encodings, surrogates and values above U+10FFFF are not valid in UTF-8. Rejecting
+   * them prevents the decoder from producing characters like '"' from multi-byte sequences.
+   */
+  private static boolean isValidCodePoint( int codePoint, int length ) {
+    return codePoint >= MIN_CODE_POINTS[ length ]
+        && codePoint <= Character.MAX_CODE_POINT
+        && ( codePoint < Character.MIN_SURROGATE || codePoint > Character.MAX_SURROGATE );
+  }
+
+  /*
+   * Ensures that at least the given number of bytes is available in the byte buffer. Returns false
+   * if the input ends before.
+   */
+  private boolean fillBytes( int count ) throws IOException {
+    if( byteIndex > 0 && byteFill - byteIndex < count ) {
+      System.arraycopy( byteBuffer, byteIndex, byteBuffer, 0, byteFill - byteIndex );
+      byteFill -= byteIndex;
+      byteIndex = 0;
+    }
+    while( byteFill - byteIndex < count ) {
+      int read = input.read( byteBuffer, byteFill, byteBuffer.length - byteFill );
+      if( read == -1 ) {
+        return false;
+      }
+      byteFill += read;
+    }
+    return true;
+  }
+
   private void startCapture() {
     if( captureBuffer == null ) {
       captureBuffer = new StringBuilder();
@@ -357,6 +575,48 @@ class JsonParser {
     return captured;
   }
 
+  private String endNameCapture() {
+    String result;
+    if( captureBuffer.length() > 0 ) {
+      result = endCapture();
+    } else {
+      int end = current == -1 ? index : index - 1;
+      result = lookupName( buffer, captureStart, end - captureStart );
+      captureStart = -1;
+    }
+    return result;
+  }
+
+  private static String lookupName( char[] chars, int offset, int length ) {
+    if( length > MAX_CACHED_NAME_LENGTH ) {
+      return new String( chars, offset, length );
+    }
+    int hash = 0;
+    for( int i = 0; i < length; i++ ) {
+      hash = 31 * hash + chars[ offset + i ];
+    }
+    int slot = ( hash ^ hash >>> 16 ) & ( NAME_CACHE_SIZE - 1 );
+    String cached = NAME_CACHE[ slot ];
+    if( cached != null && matches( cached, chars, offset, length ) ) {
+      return cached;
+    }
+    String name = new String( chars, offset, length );
+    NAME_CACHE[ slot ] = name;
+    return name;
+  }
+
+  private static boolean matches( String string, char[] chars, int offset, int length ) {
+    if( string.length() != length ) {
+      return false;
+    }
+    for( int i = 0; i < length; i++ ) {
+      if( string.charAt( i ) != chars[ offset + i ] ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private ParseException expected( String expected ) {
     if( isEndOfText() ) {
       return error( "Unexpected end of input" );
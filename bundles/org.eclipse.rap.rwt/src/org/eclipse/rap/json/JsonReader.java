@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+
+/**
+ * Reads a JSON document incrementally. In contrast to {@link JsonValue#readFrom(Reader)}, the
+ * outer structure of the document is not represented as JSON values, only the values obtained by
+ * {@link #nextValue()} are created. This allows to process large documents without an intermediate
+ * representation of the entire document.
+ * <p>
+ * The following example reads the members of an object:
+ * </p>
+ * <pre>
+ * reader.beginObject();
+ * while( reader.hasNext() ) {
+ *   String name = reader.nextName();
+ *   JsonValue value = reader.nextValue();
+ *   ...
+ * }
+ * reader.endObject();
+ * </pre>
+ * <p>
+ * Characters are read in chunks and buffered internally, therefore wrapping an existing reader or
+ * input stream in an additional buffer does <strong>not</strong> improve reading performance.
+ * </p>
+ * <p>
+ * This class is <strong>not thread-safe</strong>.
+ * </p>
+ *
+ * @since 3.1
+ */
+public final class JsonReader {
+
+  private final JsonParser parser;
+
+  /**
+   * Creates a new JSON reader that reads from the given reader.
+   *
+   * @param reader
+   *          the reader to read the JSON document from
+   */
+  public JsonReader( Reader reader ) {
+    if( reader == null ) {
+      throw new NullPointerException( "reader is null" );
+    }
+    parser = new JsonParser( reader );
+  }
+
+  /**
+   * Creates a new JSON reader that reads the UTF-8 encoded JSON document from the given input
+   * stream. The bytes are decoded directly, hence there is no need to wrap the input stream in an
+   * <code>InputStreamReader</code>.
+   *
+   * @param input
+   *          the UTF-8 encoded input stream to read the JSON document from
+   */
+  public JsonReader( InputStream input ) {
+    if( input == null ) {
+      throw new NullPointerException( "input is null" );
+    }
+    parser = new JsonParser( input );
+  }
+
+  /**
+   * Consumes the beginning of a JSON object.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the next value is not an object
+   */
+  public void beginObject() throws IOException {
+    parser.beginObject();
+  }
+
+  /**
+   * Consumes the end of the current JSON object. If this is the outermost structure, the end of the
+   * input must follow.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the current object has more members or the input is not valid JSON
+   */
+  public void endObject() throws IOException {
+    parser.endObject();
+  }
+
+  /**
+   * Consumes the beginning of a JSON array.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the next value is not an array
+   */
+  public void beginArray() throws IOException {
+    parser.beginArray();
+  }
+
+  /**
+   * Consumes the end of the current JSON array. If this is the outermost structure, the end of the
+   * input must follow.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the current array has more elements or the input is not valid JSON
+   */
+  public void endArray() throws IOException {
+    parser.endArray();
+  }
+
+  /**
+   * Returns whether the current object or array has more members or elements.
+   *
+   * @return <code>true</code> if there is another member or element
+   */
+  public boolean hasNext() {
+    return parser.hasNext();
+  }
+
+  /**
+   * Consumes the name of the next member of the current object. The value of the member must be
+   * consumed subsequently.
+   *
+   * @return the name of the member
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public String nextName() throws IOException {
+    return parser.nextName();
+  }
+
+  /**
+   * Consumes the next value, which must be a JSON string.
+   *
+   * @return the string value
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the next value is not a string
+   */
+  public String nextString() throws IOException {
+    return parser.nextString();
+  }
+
+  /**
+   * Consumes the next value and returns it as a JSON value. Nested objects and arrays are read
+   * entirely.
+   *
+   * @return the JSON value that has been read
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public JsonValue nextValue() throws IOException {
+    return parser.nextValue();
+  }
+
+}
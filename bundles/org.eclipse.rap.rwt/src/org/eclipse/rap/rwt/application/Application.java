@@ -17,6 +17,7 @@ import java.util.Map;
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.client.WebClient;
 import org.eclipse.rap.rwt.service.ApplicationContext;
+import org.eclipse.rap.rwt.service.MetricsExporter;
 import org.eclipse.rap.rwt.service.ResourceLoader;
 import org.eclipse.rap.rwt.service.ServiceHandler;
 import org.eclipse.rap.rwt.service.SettingStore;
@@ -236,4 +237,46 @@ public interface Application {
 
   void addResource( String resourceName, ResourceLoader resourceLoader );
 
+  /**
+   * Registers a font with which texts are measured on the server. Texts in a font whose first
+   * family matches the family of a registered font are measured using the font metrics of the
+   * server instead of being measured by the client. This saves a round trip to the client, but
+   * the results are only exact if the client renders the same font file. Therefore, the
+   * registered fonts should be the ones that are served to the client. The font file will be
+   * loaded with the classloader of the <code>ApplicationConfiguration</code>.
+   *
+   * @param fontLocation the location of a TrueType font file in the format accepted by
+   *          {@link ClassLoader#getResource(String)}, must not be <code>null</code>
+   * @throws IllegalArgumentException if the font file cannot be found or read
+   * @see ApplicationConfiguration
+   * @since 3.1
+   */
+  void addMeasurementFont( String fontLocation );
+
+  /**
+   * Registers a font with which texts are measured on the server. The font file will be loaded
+   * using the given resource loader.
+   *
+   * @param fontLocation the location of a TrueType font file in the format accepted by the given
+   *          resource loader, must not be <code>null</code>
+   * @param resourceLoader the resource loader that is able to load the font file from the given
+   *          location, must not be <code>null</code>
+   * @throws IllegalArgumentException if the font file cannot be found or read
+   * @see #addMeasurementFont(String)
+   * @since 3.1
+   */
+  void addMeasurementFont( String fontLocation, ResourceLoader resourceLoader );
+
+  /**
+   * Adds an exporter that receives the measurements of every completed request of this
+   * application. Measurements are only collected if the system property
+   * <code>org.eclipse.rap.rwt.metrics</code> is set to <code>true</code>, otherwise the exporter
+   * is never called.
+   *
+   * @param exporter the exporter to add, must not be <code>null</code>
+   * @see MetricsExporter
+   * @since 3.1
+   */
+  void addMetricsExporter( MetricsExporter exporter );
+
 }
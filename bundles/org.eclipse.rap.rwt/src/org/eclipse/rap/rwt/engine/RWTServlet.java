@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -29,6 +29,7 @@ import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
+import org.eclipse.rap.rwt.internal.resources.ResourceServiceHandler;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.ServiceContext;
 import org.eclipse.rap.rwt.internal.service.ServiceManagerImpl;
@@ -125,6 +126,17 @@ public class RWTServlet extends HttpServlet {
 
   private void handleValidRequest( HttpServletRequest request, HttpServletResponse response )
     throws IOException, ServletException
+  {
+    if( isResourceRequest( request ) ) {
+      // static resources do not depend on the session, avoid creating one
+      getServiceHandler( ResourceServiceHandler.HANDLER_ID ).service( request, response );
+    } else {
+      handleServiceRequest( request, response );
+    }
+  }
+
+  private void handleServiceRequest( HttpServletRequest request, HttpServletResponse response )
+    throws IOException, ServletException
   {
     ServiceContext context = new ServiceContext( request, response, applicationContext );
     context.setServiceStore( new ServiceStore() );
@@ -145,6 +157,16 @@ public class RWTServlet extends HttpServlet {
     return applicationContext.getServiceManager().getHandler();
   }
 
+  private ServiceHandler getServiceHandler( String id ) {
+    return applicationContext.getServiceManager().getServiceHandler( id );
+  }
+
+  private boolean isResourceRequest( HttpServletRequest request ) {
+    String handlerId = request.getParameter( ServiceManagerImpl.REQUEST_PARAM );
+    return    ResourceServiceHandler.HANDLER_ID.equals( handlerId )
+           && getServiceHandler( handlerId ) != null;
+  }
+
   private static boolean isUIRequest( HttpServletRequest request ) {
     return    METHOD_POST.equals( request.getMethod() )
            && isContentTypeValid( request )
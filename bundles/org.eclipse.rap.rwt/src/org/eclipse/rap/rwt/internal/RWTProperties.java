@@ -23,6 +23,76 @@ public final class RWTProperties {
    */
   public static final String ENABLE_UI_TESTS = "org.eclipse.rap.rwt.enableUITests";
 
+  /*
+   * Enables tracking of changed widgets, so that only those are preserved and rendered instead of
+   * traversing the whole widget tree in every request.
+   */
+  public static final String DIRTY_TRACKING = "org.eclipse.rap.rwt.dirtyTracking";
+
+  /*
+   * Enables parking of server push requests using asynchronous request processing instead of
+   * blocking a container thread. Requires a servlet 3.0 container and the RWT servlet to be
+   * registered with async support. When the application is started from a ServletContextListener,
+   * async support is enabled for the RWT servlets registered in the servlet context, if the
+   * container allows to change the registration. Otherwise it has to be declared for the servlet,
+   * e.g. with <async-supported>true</async-supported> in web.xml. The OSGi HttpService does not
+   * support async servlets. Without async support, server push requests are processed blocking.
+   */
+  public static final String ASYNC_SERVER_PUSH = "org.eclipse.rap.rwt.asyncServerPush";
+
+  /*
+   * Enables incremental rendering of canvas drawings. Only the changed part of the drawing
+   * operations is sent to the client if a canvas is redrawn with mostly the same operations.
+   */
+  public static final String INCREMENTAL_CANVAS = "org.eclipse.rap.rwt.incrementalCanvas";
+
+  /*
+   * Limits the number of runnables posted with asyncExec() that are executed within a single
+   * request. Remaining runnables are executed in subsequent requests. Zero means unlimited.
+   */
+  public static final String ASYNC_EXEC_DRAIN_LIMIT = "org.eclipse.rap.rwt.asyncExecDrainLimit";
+
+  /*
+   * Limits the time in milliseconds that is spent on executing runnables posted with asyncExec()
+   * within a single request. Zero means unlimited.
+   */
+  public static final String ASYNC_EXEC_DRAIN_TIME = "org.eclipse.rap.rwt.asyncExecDrainTime";
+
+  /*
+   * Keeps registered resources in memory and serves them with the resource service handler, using
+   * content-hash URLs, precompressed content and conditional requests.
+   */
+  public static final String RESOURCE_SERVICE = "org.eclipse.rap.rwt.resourceService";
+
+  /*
+   * Enables collecting of per-phase timings, response sizes and server push wait times. The
+   * aggregated values are published as an MXBean per application.
+   */
+  public static final String METRICS = "org.eclipse.rap.rwt.metrics";
+
+  /*
+   * Runs the UI threads of the JEE compatibility mode as virtual threads if the JVM supports them.
+   * Idle UI sessions then do not occupy a platform thread. Ignored on older JVMs.
+   */
+  public static final String VIRTUAL_UI_THREADS = "org.eclipse.rap.rwt.virtualUIThreads";
+
+  /*
+   * Serializes shared images of a UI session without their content. Shared images are those loaded
+   * through the application-level image store, e.g. by JFace image descriptors. Only their
+   * content-derived resource name is written, the content must already be registered with the
+   * application that restores the session. Generated images, e.g. created from ImageData or an
+   * input stream, are always written with their content. Intended for clusters in which all nodes
+   * load the same shared images.
+   */
+  public static final String IMAGE_REFERENCE_SERIALIZATION
+    = "org.eclipse.rap.rwt.imageReferenceSerialization";
+
+  /*
+   * Encodes the static parts of the startup page once per entry point and theme, and lets browsers
+   * revalidate the page with conditional requests instead of always loading it anew.
+   */
+  public static final String STARTUP_PAGE_CACHE = "org.eclipse.rap.rwt.startupPageCache";
+
   private RWTProperties() {
     // prevent instantiation
   }
@@ -35,9 +105,62 @@ public final class RWTProperties {
     return getBooleanProperty( DEVELOPMEMT_MODE, false );
   }
 
+  public static boolean isDirtyTrackingEnabled() {
+    return getBooleanProperty( DIRTY_TRACKING, false );
+  }
+
+  public static boolean isAsyncServerPushEnabled() {
+    return getBooleanProperty( ASYNC_SERVER_PUSH, false );
+  }
+
+  public static boolean isIncrementalCanvasEnabled() {
+    return getBooleanProperty( INCREMENTAL_CANVAS, false );
+  }
+
+  public static boolean isResourceServiceEnabled() {
+    return getBooleanProperty( RESOURCE_SERVICE, false );
+  }
+
+  public static boolean isMetricsEnabled() {
+    return getBooleanProperty( METRICS, false );
+  }
+
+  public static boolean isVirtualUIThreadsEnabled() {
+    return getBooleanProperty( VIRTUAL_UI_THREADS, false );
+  }
+
+  public static boolean isImageReferenceSerializationEnabled() {
+    return getBooleanProperty( IMAGE_REFERENCE_SERIALIZATION, false );
+  }
+
+  public static boolean isStartupPageCacheEnabled() {
+    return getBooleanProperty( STARTUP_PAGE_CACHE, false );
+  }
+
+  public static int getAsyncExecDrainLimit() {
+    return getIntProperty( ASYNC_EXEC_DRAIN_LIMIT, 0 );
+  }
+
+  public static int getAsyncExecDrainTime() {
+    return getIntProperty( ASYNC_EXEC_DRAIN_TIME, 0 );
+  }
+
   public static boolean getBooleanProperty( String name, boolean defaultValue ) {
     String value = System.getProperty( name );
     return value == null ? defaultValue : value.equalsIgnoreCase( "true" );
   }
 
+  public static int getIntProperty( String name, int defaultValue ) {
+    int result = defaultValue;
+    String value = System.getProperty( name );
+    if( value != null ) {
+      try {
+        result = Integer.parseInt( value.trim() );
+      } catch( @SuppressWarnings( "unused" ) NumberFormatException exception ) {
+        // use default value
+      }
+    }
+    return result;
+  }
+
 }
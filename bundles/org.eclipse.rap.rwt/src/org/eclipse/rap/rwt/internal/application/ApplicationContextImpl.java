@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 Frank Appel and others.
+ * Copyright (c) 2011, 2016 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -23,10 +23,12 @@ import javax.servlet.ServletContext;
 
 import org.eclipse.rap.rwt.application.ApplicationConfiguration;
 import org.eclipse.rap.rwt.application.ExceptionHandler;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.client.ClientSelector;
 import org.eclipse.rap.rwt.internal.lifecycle.EntryPointManager;
 import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleFactory;
 import org.eclipse.rap.rwt.internal.lifecycle.PhaseListenerManager;
+import org.eclipse.rap.rwt.internal.metrics.LifeCycleMetrics;
 import org.eclipse.rap.rwt.internal.remote.MessageChainElement;
 import org.eclipse.rap.rwt.internal.remote.MessageChainReference;
 import org.eclipse.rap.rwt.internal.remote.MessageFilter;
@@ -35,6 +37,7 @@ import org.eclipse.rap.rwt.internal.resources.ClientResources;
 import org.eclipse.rap.rwt.internal.resources.ResourceDirectory;
 import org.eclipse.rap.rwt.internal.resources.ResourceManagerImpl;
 import org.eclipse.rap.rwt.internal.resources.ResourceRegistry;
+import org.eclipse.rap.rwt.internal.resources.ResourceServiceHandler;
 import org.eclipse.rap.rwt.internal.serverpush.ServerPushServiceHandler;
 import org.eclipse.rap.rwt.internal.service.ApplicationStoreImpl;
 import org.eclipse.rap.rwt.internal.service.LifeCycleServiceHandler;
@@ -42,6 +45,7 @@ import org.eclipse.rap.rwt.internal.service.RWTMessageHandler;
 import org.eclipse.rap.rwt.internal.service.ServiceManagerImpl;
 import org.eclipse.rap.rwt.internal.service.SettingStoreManager;
 import org.eclipse.rap.rwt.internal.service.StartupPage;
+import org.eclipse.rap.rwt.internal.textsize.FontMetricsMeasurement;
 import org.eclipse.rap.rwt.internal.textsize.ProbeStore;
 import org.eclipse.rap.rwt.internal.textsize.TextSizeStorage;
 import org.eclipse.rap.rwt.internal.theme.ThemeManager;
@@ -61,6 +65,8 @@ import org.eclipse.swt.internal.graphics.ImageFactory;
 import org.eclipse.swt.internal.graphics.InternalImageFactory;
 import org.eclipse.swt.internal.graphics.ResourceFactory;
 import org.eclipse.swt.internal.widgets.DisplaysHolder;
+import org.eclipse.swt.internal.widgets.TimerExecService;
+import org.eclipse.swt.internal.widgets.displaykit.DisplayLCA;
 
 
 public class ApplicationContextImpl implements ApplicationContext {
@@ -101,6 +107,10 @@ public class ApplicationContextImpl implements ApplicationContext {
   private final DisplaysHolder displaysHolder;
   private final TextSizeStorage textSizeStorage;
   private final ProbeStore probeStore;
+  private final LifeCycleMetrics lifeCycleMetrics;
+  private final DisplayLCA displayLCA;
+  private final FontMetricsMeasurement fontMetricsMeasurement;
+  private final TimerExecService timerExecService;
   private final ServletContext servletContext;
   private final ClientSelector clientSelector;
   private final Set<ApplicationContextListener> appContextListeners;
@@ -135,6 +145,10 @@ public class ApplicationContextImpl implements ApplicationContext {
     displaysHolder = new DisplaysHolder();
     textSizeStorage = new TextSizeStorage();
     probeStore = new ProbeStore( textSizeStorage );
+    lifeCycleMetrics = new LifeCycleMetrics( textSizeStorage );
+    displayLCA = new DisplayLCA();
+    fontMetricsMeasurement = new FontMetricsMeasurement();
+    timerExecService = new TimerExecService();
     clientSelector = new ClientSelector();
     appContextListeners = new HashSet<>();
     listenersLock = new SerializableLock();
@@ -340,6 +354,22 @@ public class ApplicationContextImpl implements ApplicationContext {
     return probeStore;
   }
 
+  public LifeCycleMetrics getLifeCycleMetrics() {
+    return lifeCycleMetrics;
+  }
+
+  public DisplayLCA getDisplayLCA() {
+    return displayLCA;
+  }
+
+  public FontMetricsMeasurement getFontMetricsMeasurement() {
+    return fontMetricsMeasurement;
+  }
+
+  public TimerExecService getTimerExecService() {
+    return timerExecService;
+  }
+
   public ClientSelector getClientSelector() {
     return clientSelector;
   }
@@ -371,6 +401,7 @@ public class ApplicationContextImpl implements ApplicationContext {
     applicationConfiguration.configure( new ApplicationImpl( this, applicationConfiguration ) );
     resourceDirectory.configure( getContextDirectory() );
     addInternalServiceHandlers();
+    configureAsyncServerPush();
     setInternalSettingStoreFactory();
     startupPage.activate();
     lifeCycleFactory.activate();
@@ -382,9 +413,11 @@ public class ApplicationContextImpl implements ApplicationContext {
     }
     resourceRegistry.registerResources();
     clientSelector.activate();
+    lifeCycleMetrics.activate( getMetricsName() );
   }
 
   void doDeactivate() {
+    lifeCycleMetrics.deactivate();
     startupPage.deactivate();
     lifeCycleFactory.deactivate();
     serviceManager.clear();
@@ -396,6 +429,7 @@ public class ApplicationContextImpl implements ApplicationContext {
     phaseListenerManager.clear();
     resourceRegistry.clear();
     settingStoreManager.deregisterFactory();
+    timerExecService.shutdown();
     resourceDirectory.reset();
     applicationStore.reset();
   }
@@ -413,9 +447,31 @@ public class ApplicationContextImpl implements ApplicationContext {
     return location;
   }
 
+  private String getMetricsName() {
+    String contextPath = servletContext.getContextPath();
+    return contextPath == null || contextPath.isEmpty() ? "/" : contextPath;
+  }
+
+  private void configureAsyncServerPush() {
+    if( RWTProperties.isAsyncServerPushEnabled() && servletContext.getMajorVersion() >= 3 ) {
+      new AsyncServerPushConfigurator( servletContext ).configure();
+    }
+  }
+
   private void addInternalServiceHandlers() {
     serviceManager.registerServiceHandler( ServerPushServiceHandler.HANDLER_ID,
                                            new ServerPushServiceHandler() );
+    if( RWTProperties.isResourceServiceEnabled() ) {
+      registerResourceServiceHandler();
+    }
+  }
+
+  private void registerResourceServiceHandler() {
+    if( resourceManager instanceof ResourceManagerImpl ) {
+      ResourceManagerImpl manager = ( ResourceManagerImpl )resourceManager;
+      serviceManager.registerServiceHandler( ResourceServiceHandler.HANDLER_ID,
+                                             new ResourceServiceHandler( manager ) );
+    }
   }
 
   private void setInternalSettingStoreFactory() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 Frank Appel and others.
+ * Copyright (c) 2011, 2016 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -22,11 +22,13 @@ import org.eclipse.rap.rwt.application.EntryPointFactory;
 import org.eclipse.rap.rwt.application.ExceptionHandler;
 import org.eclipse.rap.rwt.internal.client.ClientProvider;
 import org.eclipse.rap.rwt.internal.lifecycle.RWTLifeCycle;
+import org.eclipse.rap.rwt.internal.textsize.FontMetricsMeasurement;
 import org.eclipse.rap.rwt.internal.theme.Theme;
 import org.eclipse.rap.rwt.internal.theme.ThemeManager;
 import org.eclipse.rap.rwt.internal.theme.css.CssFileReader;
 import org.eclipse.rap.rwt.internal.theme.css.StyleSheet;
 import org.eclipse.rap.rwt.internal.util.ParamCheck;
+import org.eclipse.rap.rwt.service.MetricsExporter;
 import org.eclipse.rap.rwt.service.ResourceLoader;
 import org.eclipse.rap.rwt.service.ServiceHandler;
 import org.eclipse.rap.rwt.service.ServiceManager;
@@ -149,6 +151,40 @@ public class ApplicationImpl implements Application {
     applicationContext.getThemeManager().addThemeableWidget( widget.getName(), resourceLoader );
   }
 
+  @Override
+  public void addMeasurementFont( String fontLocation ) {
+    addMeasurementFont( fontLocation, new ResourceLoaderImpl( getClassLoader() ) );
+  }
+
+  @Override
+  public void addMeasurementFont( String fontLocation, ResourceLoader resourceLoader ) {
+    ParamCheck.notNull( fontLocation, "fontLocation" );
+    ParamCheck.notNull( resourceLoader, "resourceLoader" );
+
+    FontMetricsMeasurement measurement = applicationContext.getFontMetricsMeasurement();
+    try {
+      InputStream inputStream = resourceLoader.getResourceAsStream( fontLocation );
+      if( inputStream == null ) {
+        throw new IllegalArgumentException( "Font resource not found: " + fontLocation );
+      }
+      try {
+        measurement.addFont( inputStream );
+      } finally {
+        inputStream.close();
+      }
+    } catch( IOException ioe ) {
+      String message = "Failed to read font from resource: " + fontLocation;
+      throw new IllegalArgumentException( message, ioe );
+    }
+  }
+
+  @Override
+  public void addMetricsExporter( MetricsExporter exporter ) {
+    ParamCheck.notNull( exporter, "exporter" );
+
+    applicationContext.getLifeCycleMetrics().addExporter( exporter );
+  }
+
   public void addClientProvider( ClientProvider clientProvider ) {
     applicationContext.getClientSelector().addClientProvider( clientProvider );
   }
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.application;
+
+import java.util.Map;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletRegistration;
+import javax.servlet.ServletRegistration.Dynamic;
+
+import org.eclipse.rap.rwt.engine.RWTServlet;
+
+/*
+ * Enables async support for the RWT servlets that are registered in the servlet context, as
+ * required for asynchronous server push processing.
+ *
+ * This is only possible while the servlet context is being initialized, i.e. when the application
+ * is started from a ServletContextListener. In other cases, e.g. when the servlet is registered
+ * through the OSGi HttpService, the registrations are not available or cannot be changed, and
+ * server push requests are processed blocking.
+ *
+ * This class requires the servlet 3.0 API to be on the class path.
+ */
+class AsyncServerPushConfigurator {
+  private final ServletContext servletContext;
+
+  AsyncServerPushConfigurator( ServletContext servletContext ) {
+    this.servletContext = servletContext;
+  }
+
+  void configure() {
+    Map<String, ? extends ServletRegistration> registrations
+      = servletContext.getServletRegistrations();
+    if( registrations != null ) {
+      for( ServletRegistration registration : registrations.values() ) {
+        if( isRWTServlet( registration ) && registration instanceof Dynamic ) {
+          enableAsyncSupport( ( Dynamic )registration );
+        }
+      }
+    }
+  }
+
+  private static boolean isRWTServlet( ServletRegistration registration ) {
+    return RWTServlet.class.getName().equals( registration.getClassName() );
+  }
+
+  private static void enableAsyncSupport( Dynamic registration ) {
+    try {
+      registration.setAsyncSupported( true );
+    } catch( @SuppressWarnings( "unused" ) IllegalStateException ise ) {
+      // the servlet context is already initialized, async support has to be declared instead
+    }
+  }
+
+}
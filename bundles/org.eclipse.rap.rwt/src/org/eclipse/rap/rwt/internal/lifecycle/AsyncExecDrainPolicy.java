@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.lifecycle;
+
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.ServiceStore;
+
+
+/*
+ * Limits the number of runnables posted with asyncExec() and the time spent on them within a
+ * single request, so that a flood of runnables cannot delay the response. Runnables that exceed
+ * the limits remain in the queue, and the client is forced to request them subsequently.
+ */
+public class AsyncExecDrainPolicy {
+
+  private static final String ATTR_INSTANCE = AsyncExecDrainPolicy.class.getName();
+
+  private final int maxRunnables;
+  private final long maxTime;
+  private int executedRunnables;
+  private long startTime;
+
+  public static AsyncExecDrainPolicy getInstance() {
+    ServiceStore serviceStore = ContextProvider.getServiceStore();
+    Object attribute = serviceStore.getAttribute( ATTR_INSTANCE );
+    AsyncExecDrainPolicy result = ( AsyncExecDrainPolicy )attribute;
+    if( result == null ) {
+      result = new AsyncExecDrainPolicy( RWTProperties.getAsyncExecDrainLimit(),
+                                         RWTProperties.getAsyncExecDrainTime() );
+      serviceStore.setAttribute( ATTR_INSTANCE, result );
+    }
+    return result;
+  }
+
+  AsyncExecDrainPolicy( int maxRunnables, long maxTime ) {
+    this.maxRunnables = maxRunnables;
+    this.maxTime = maxTime;
+  }
+
+  public boolean canExecute() {
+    return !isRunnableLimitReached() && !isTimeLimitReached();
+  }
+
+  /*
+   * Called right before a runnable is executed, so that the time limit includes the first runnable.
+   */
+  public void notifyExecuting() {
+    if( executedRunnables == 0 ) {
+      startTime = getCurrentTime();
+    }
+    executedRunnables++;
+  }
+
+  long getCurrentTime() {
+    return System.currentTimeMillis();
+  }
+
+  private boolean isRunnableLimitReached() {
+    return maxRunnables > 0 && executedRunnables >= maxRunnables;
+  }
+
+  private boolean isTimeLimitReached() {
+    return maxTime > 0 && executedRunnables > 0 && getCurrentTime() - startTime >= maxTime;
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -17,6 +17,9 @@ import static org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil.renderListene
 import static org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil.renderToolTipMarkupEnabled;
 import static org.eclipse.swt.internal.widgets.ControlUtil.getControlAdapter;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import org.eclipse.rap.rwt.internal.util.ActiveKeysUtil;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.internal.widgets.ControlRemoteAdapter;
@@ -79,29 +82,42 @@ public class ControlLCAUtil {
     renderListenHelp( control );
   }
 
-  private static void recalculateTabIndex( Shell shell ) {
-    resetTabIndices( shell );
+  /*
+   * Computes the tab indices of all controls in the given shell. Only the tab indices that
+   * actually change are set, which allows for preserving just the affected controls.
+   */
+  public static void recalculateTabIndex( Shell shell ) {
+    Map<Control, Integer> tabIndices = new IdentityHashMap<>();
     // tabIndex must be a positive value
-    computeTabIndices( shell, 1 );
+    computeTabIndices( shell, 1, tabIndices );
+    applyTabIndices( shell, tabIndices );
   }
 
-  private static void resetTabIndices( Composite composite ) {
+  private static void applyTabIndices( Composite composite, Map<Control, Integer> tabIndices ) {
     for( Control control : composite.getChildren() ) {
-      ControlUtil.getControlAdapter( control ).setTabIndex( -1 );
+      Integer tabIndex = tabIndices.get( control );
+      int actual = tabIndex == null ? -1 : tabIndex.intValue();
+      IControlAdapter controlAdapter = ControlUtil.getControlAdapter( control );
+      if( !getRemoteAdapter( control ).isInitialized() || controlAdapter.getTabIndex() != actual ) {
+        controlAdapter.setTabIndex( actual );
+      }
       if( control instanceof Composite ) {
-        resetTabIndices( ( Composite )control );
+        applyTabIndices( ( Composite )control, tabIndices );
       }
     }
   }
 
-  private static int computeTabIndices( Composite composite, int startIndex ) {
+  private static int computeTabIndices( Composite composite,
+                                        int startIndex,
+                                        Map<Control, Integer> tabIndices )
+  {
     int result = startIndex;
     for( Control control : composite.getTabList() ) {
-      ControlUtil.getControlAdapter( control ).setTabIndex( result );
+      tabIndices.put( control, Integer.valueOf( result ) );
       // for Links, leave a range out to be assigned to hrefs on the client
       result += control instanceof Link ? 300 : 1;
       if( control instanceof Composite ) {
-        result = computeTabIndices( ( Composite )control, result );
+        result = computeTabIndices( ( Composite )control, result, tabIndices );
       }
     }
     return result;
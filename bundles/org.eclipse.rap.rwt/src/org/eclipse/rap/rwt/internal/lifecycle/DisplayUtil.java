@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,7 +11,7 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.lifecycle;
 
-import org.eclipse.rap.rwt.SingletonUtil;
+import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.service.UISession;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 import org.eclipse.swt.internal.widgets.displaykit.DisplayLCA;
@@ -26,7 +26,7 @@ public final class DisplayUtil {
 
   public static DisplayLCA getLCA( Display display ) {
     UISession uiSession = display.getAdapter( IDisplayAdapter.class ).getUISession();
-    return SingletonUtil.getUniqueInstance( DisplayLCA.class, uiSession.getApplicationContext() );
+    return ( ( ApplicationContextImpl )uiSession.getApplicationContext() ).getDisplayLCA();
   }
 
   public static String getId( Display display ) {
@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.lifecycle;
+
+
+/*
+ * A UI thread that is controlled by the RWTLifeCycle. Request thread and UI thread pass control
+ * back and forth with switchThread(). While one of them runs, it owns the lock that is used for
+ * the hand-off, the way this lock is held depends on the implementation.
+ */
+interface IUIThread extends IUIThreadHolder, ISessionShutdownAdapter {
+
+  /*
+   * Starts the UI thread and waits until it passes control back to the calling request thread.
+   */
+  void startThread();
+
+  /*
+   * Runs the given runnable on the UI thread while owning the hand-off lock.
+   */
+  void runExclusive( Runnable runnable );
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,6 +12,7 @@ package org.eclipse.rap.rwt.internal.lifecycle;
 
 import java.io.IOException;
 
+import org.eclipse.rap.rwt.internal.metrics.LifeCycleMetrics;
 import org.eclipse.swt.widgets.Display;
 
 
@@ -21,12 +22,17 @@ abstract class PhaseExecutor {
   private final PhaseListenerManager phaseListenerManager;
   private final IPhase[] phases;
   private final LifeCycle lifecycle;
+  private final LifeCycleMetrics metrics;
 
-  PhaseExecutor( PhaseListenerManager phaseListenerManager, IPhase[] phases, LifeCycle lifecycle )
+  PhaseExecutor( PhaseListenerManager phaseListenerManager,
+                 IPhase[] phases,
+                 LifeCycle lifecycle,
+                 LifeCycleMetrics metrics )
   {
     this.phaseListenerManager = phaseListenerManager;
     this.phases = phases;
     this.lifecycle = lifecycle;
+    this.metrics = metrics;
   }
 
   final void execute( PhaseId startPhaseId ) throws IOException {
@@ -35,7 +41,9 @@ abstract class PhaseExecutor {
       IPhase currentPhase = findPhase( currentPhaseId );
       CurrentPhase.set( currentPhaseId );
       phaseListenerManager.notifyBeforePhase( currentPhaseId, lifecycle );
+      metrics.beginPhase();
       PhaseId nextPhaseId = currentPhase.execute( getDisplay() );
+      metrics.endPhase( currentPhaseId );
       phaseListenerManager.notifyAfterPhase( currentPhaseId, lifecycle );
       currentPhaseId = nextPhaseId;
     }
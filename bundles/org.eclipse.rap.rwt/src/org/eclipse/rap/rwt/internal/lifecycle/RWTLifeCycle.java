@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,9 +16,11 @@ import java.io.IOException;
 import javax.servlet.http.HttpServletRequest;
 
 import org.eclipse.rap.rwt.application.EntryPoint;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.lifecycle.IPhase.IInterruptible;
 import org.eclipse.rap.rwt.internal.lifecycle.UIThread.UIThreadTerminatedError;
+import org.eclipse.rap.rwt.internal.metrics.LifeCycleMetrics;
 import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.ServiceContext;
@@ -136,6 +138,7 @@ public class RWTLifeCycle extends LifeCycle {
         int phaseIndex = currentPhase.intValue();
         // A non-null currentPhase indicates that an IInterruptible phase was executed before. In
         // this case we now need to execute the AfterPhase events
+        applicationContext.getLifeCycleMetrics().endPhase( phaseOrder[ phaseIndex ].getPhaseId() );
         phaseListenerManager.notifyAfterPhase( phaseOrder[ phaseIndex ].getPhaseId(), this );
         start = currentPhase.intValue() + 1;
       }
@@ -149,10 +152,15 @@ public class RWTLifeCycle extends LifeCycle {
           // Phase#execute()
           ServiceStore serviceStore = ContextProvider.getServiceStore();
           serviceStore.setAttribute( CURRENT_PHASE, Integer.valueOf( i ) );
+          // the phase is measured until the user code continues the life cycle
+          applicationContext.getLifeCycleMetrics().beginPhase();
           interrupted = true;
         } else {
+          LifeCycleMetrics metrics = applicationContext.getLifeCycleMetrics();
           try {
+            metrics.beginPhase();
             phase.execute( LifeCycleUtil.getSessionDisplay() );
+            metrics.endPhase( phase.getPhaseId() );
           } catch( Throwable e ) {
             // Wrap exception in a ThreadDeath-derived error to break out of the application
             // call stack
@@ -184,13 +192,11 @@ public class RWTLifeCycle extends LifeCycle {
     UISession uiSession = ContextProvider.getUISession();
     IUIThreadHolder uiThread = getUIThreadHolder();
     if( uiThread == null ) {
-      uiThread = createUIThread();
+      IUIThread newUIThread = createUIThread();
       // The serviceContext MUST be set before thread.start() is called
-      uiThread.setServiceContext( context );
-      synchronized( uiThread.getLock() ) {
-        uiThread.getThread().start();
-        uiThread.switchThread();
-      }
+      newUIThread.setServiceContext( context );
+      newUIThread.startThread();
+      uiThread = newUIThread;
     } else {
       uiThread.setServiceContext( context );
       // See bug 354368
@@ -235,13 +241,30 @@ public class RWTLifeCycle extends LifeCycle {
     continueLifeCycle();
   }
 
-  private IUIThreadHolder createUIThread() {
+  private IUIThread createUIThread() {
     UISession uiSession = ContextProvider.getUISession();
-    IUIThreadHolder result = new UIThread( uiRunnable );
-    result.getThread().setDaemon( true );
-    result.getThread().setName( "UIThread [" + uiSession.getId() + "]" );
+    String name = "UIThread [" + uiSession.getId() + "]";
+    IUIThread result;
+    if( RWTProperties.isVirtualUIThreadsEnabled() && VirtualThreads.isSupported() ) {
+      result = new VirtualUIThread( uiRunnable, name );
+    } else {
+      result = new UIThread( uiRunnable );
+      result.getThread().setDaemon( true );
+      result.getThread().setName( name );
+    }
     LifeCycleUtil.setUIThread( uiSession, result );
-    setShutdownAdapter( ( ISessionShutdownAdapter )result );
+    setShutdownAdapter( result );
+    return result;
+  }
+
+  private static IUIThread getCurrentUIThread() {
+    Thread currentThread = Thread.currentThread();
+    IUIThread result;
+    if( currentThread instanceof IUIThread ) {
+      result = ( IUIThread )currentThread;
+    } else {
+      result = VirtualUIThread.getCurrent();
+    }
     return result;
   }
 
@@ -279,35 +302,42 @@ public class RWTLifeCycle extends LifeCycle {
   private final class UIThreadController implements Runnable {
     @Override
     public void run() {
-      IUIThreadHolder uiThread = ( IUIThreadHolder )Thread.currentThread();
+      final IUIThread uiThread = getCurrentUIThread();
       try {
         // [rh] sync exception handling and switchThread (see bug 316676)
-        synchronized( uiThread.getLock() ) {
-          try {
-            uiThread.updateServiceContext();
-            ServerPushManager.getInstance().notifyUIThreadStart();
-            continueLifeCycle();
-            createUI();
-            continueLifeCycle();
-            ServerPushManager.getInstance().notifyUIThreadEnd();
-          } catch( UIThreadTerminatedError thr ) {
-            throw thr;
-          } catch( Throwable thr ) {
-            ServiceStore serviceStore = ContextProvider.getServiceStore();
-            serviceStore.setAttribute( UI_THREAD_THROWABLE, thr );
+        uiThread.runExclusive( new Runnable() {
+          @Override
+          public void run() {
+            runUIThread( uiThread );
           }
-          // We have to prevent the ui thread from waking up at that point, otherwise
-          // processShutdown would never be executed and session store would not be cleared.
-          // See bug 354368
-          UISession uiSession = ContextProvider.getUISession();
-          uiSession.setAttribute( UI_THREAD_WAITING_FOR_TERMINATION, Boolean.TRUE );
-          // In any case: wait for the thread to be terminated by session timeout
-          uiThread.switchThread();
-        }
+        } );
       } catch( @SuppressWarnings( "unused" ) UIThreadTerminatedError e ) {
         // If we get here, the session is being invalidated, see UIThread#terminateThread()
-        ( ( ISessionShutdownAdapter )uiThread ).processShutdown();
+        uiThread.processShutdown();
+      }
+    }
+
+    private void runUIThread( IUIThread uiThread ) {
+      try {
+        uiThread.updateServiceContext();
+        ServerPushManager.getInstance().notifyUIThreadStart();
+        continueLifeCycle();
+        createUI();
+        continueLifeCycle();
+        ServerPushManager.getInstance().notifyUIThreadEnd();
+      } catch( UIThreadTerminatedError thr ) {
+        throw thr;
+      } catch( Throwable thr ) {
+        ServiceStore serviceStore = ContextProvider.getServiceStore();
+        serviceStore.setAttribute( UI_THREAD_THROWABLE, thr );
       }
+      // We have to prevent the ui thread from waking up at that point, otherwise
+      // processShutdown would never be executed and session store would not be cleared.
+      // See bug 354368
+      UISession uiSession = ContextProvider.getUISession();
+      uiSession.setAttribute( UI_THREAD_WAITING_FOR_TERMINATION, Boolean.TRUE );
+      // In any case: wait for the thread to be terminated by session timeout
+      uiThread.switchThread();
     }
   }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -87,7 +87,7 @@ public class SimpleLifeCycle extends LifeCycle {
   private class SessionDisplayPhaseExecutor extends PhaseExecutor {
 
     SessionDisplayPhaseExecutor( IPhase[] phases, LifeCycle lifecycle ) {
-      super( phaseListenerManager, phases, lifecycle );
+      super( phaseListenerManager, phases, lifecycle, applicationContext.getLifeCycleMetrics() );
     }
 
     @Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -21,7 +21,7 @@ import org.eclipse.swt.widgets.Display;
 
 
 @SuppressWarnings( "deprecation" )
-final class UIThread extends Thread implements IUIThreadHolder, ISessionShutdownAdapter {
+final class UIThread extends Thread implements IUIThread {
 
   static final class UIThreadTerminatedError extends ThreadDeath {
     private static final long serialVersionUID = 1L;
@@ -36,6 +36,24 @@ final class UIThread extends Thread implements IUIThreadHolder, ISessionShutdown
     super( runnable );
   }
 
+  ////////////////////
+  // interface IUIThread
+
+  @Override
+  public void startThread() {
+    synchronized( getLock() ) {
+      start();
+      switchThread();
+    }
+  }
+
+  @Override
+  public void runExclusive( Runnable runnable ) {
+    synchronized( getLock() ) {
+      runnable.run();
+    }
+  }
+
   //////////////////////////
   // interface IThreadHolder
 
@@ -163,6 +181,10 @@ final class UIThread extends Thread implements IUIThreadHolder, ISessionShutdown
   @Override
   public void processShutdown() {
     updateServiceContext();
+    processShutdown( uiSession, shutdownCallback );
+  }
+
+  static void processShutdown( UISession uiSession, Runnable shutdownCallback ) {
     try {
       // Simulate PROCESS_ACTION phase if the session times out
       CurrentPhase.set( PhaseId.PROCESS_ACTION );
@@ -175,7 +197,7 @@ final class UIThread extends Thread implements IUIThreadHolder, ISessionShutdown
       //                deactivation of ApplicationContext instances. In case the HttpService
       //                gets halted the corresponding ApplicationContext instances have already
       //                been deactivated and this will cause a NPE.
-      if( isApplicationContextActive() && display != null ) {
+      if( isApplicationContextActive( uiSession ) && display != null ) {
         display.dispose();
       }
       shutdownCallback.run();
@@ -184,7 +206,7 @@ final class UIThread extends Thread implements IUIThreadHolder, ISessionShutdown
     }
   }
 
-  private boolean isApplicationContextActive() {
+  private static boolean isApplicationContextActive( UISession uiSession ) {
     ApplicationContextImpl applicationContext = ( ( UISessionImpl )uiSession ).getApplicationContext();
     return applicationContext != null && applicationContext.isActive();
   }
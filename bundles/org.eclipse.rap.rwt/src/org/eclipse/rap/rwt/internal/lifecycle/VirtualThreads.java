@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.lifecycle;
+
+import java.lang.reflect.Method;
+
+
+/*
+ * Creates virtual threads on JVMs that provide them. The thread builder API is accessed
+ * reflectively as it is not available on the Java versions this bundle is compiled against.
+ */
+final class VirtualThreads {
+
+  private static final String BUILDER_CLASS = "java.lang.Thread$Builder";
+  private static final Method OF_VIRTUAL_METHOD = findOfVirtualMethod();
+
+  private VirtualThreads() {
+    // prevent instantiation
+  }
+
+  static boolean isSupported() {
+    return OF_VIRTUAL_METHOD != null;
+  }
+
+  /*
+   * Returns an unstarted virtual thread, or an unstarted daemon platform thread if virtual threads
+   * are not supported.
+   */
+  static Thread newThread( Runnable runnable, String name ) {
+    Thread result = null;
+    if( OF_VIRTUAL_METHOD != null ) {
+      result = newVirtualThread( runnable, name );
+    }
+    if( result == null ) {
+      result = new Thread( runnable, name );
+      result.setDaemon( true );
+    }
+    return result;
+  }
+
+  private static Thread newVirtualThread( Runnable runnable, String name ) {
+    try {
+      Class<?> builderClass = Class.forName( BUILDER_CLASS );
+      Object builder = OF_VIRTUAL_METHOD.invoke( null );
+      builder = builderClass.getMethod( "name", String.class ).invoke( builder, name );
+      Method unstartedMethod = builderClass.getMethod( "unstarted", Runnable.class );
+      return ( Thread )unstartedMethod.invoke( builder, runnable );
+    } catch( @SuppressWarnings( "unused" ) Exception exception ) {
+      return null;
+    }
+  }
+
+  private static Method findOfVirtualMethod() {
+    try {
+      Method method = Thread.class.getMethod( "ofVirtual" );
+      // fails if virtual threads are a preview feature that is not enabled
+      method.invoke( null );
+      return method;
+    } catch( @SuppressWarnings( "unused" ) Exception exception ) {
+      return null;
+    }
+  }
+
+}
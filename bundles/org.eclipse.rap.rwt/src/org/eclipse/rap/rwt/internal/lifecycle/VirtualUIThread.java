@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.lifecycle;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.rap.rwt.internal.lifecycle.UIThread.UIThreadTerminatedError;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.ServiceContext;
+import org.eclipse.rap.rwt.internal.service.ServletLog;
+import org.eclipse.rap.rwt.service.UISession;
+
+
+/*
+ * A UI thread that runs on a virtual thread if the JVM supports them. In contrast to UIThread,
+ * control is passed with a ReentrantLock and a Condition instead of an object monitor. A virtual
+ * thread that waits on a monitor stays pinned to its carrier thread, whereas waiting on a
+ * Condition releases the carrier, so that idle UI sessions do not occupy platform threads.
+ */
+final class VirtualUIThread implements IUIThread {
+
+  private static final ThreadLocal<VirtualUIThread> CURRENT = new ThreadLocal<>();
+
+  private final ReentrantLock lock;
+  private final Condition switched;
+  private final Thread thread;
+  private ServiceContext serviceContext;
+  private UISession uiSession;
+  private Runnable shutdownCallback;
+  private volatile boolean uiThreadTerminating;
+
+  VirtualUIThread( Runnable runnable, String name ) {
+    lock = new ReentrantLock();
+    switched = lock.newCondition();
+    thread = VirtualThreads.newThread( new CurrentUIThreadRunnable( runnable ), name );
+  }
+
+  static VirtualUIThread getCurrent() {
+    return CURRENT.get();
+  }
+
+  ////////////////////
+  // interface IUIThread
+
+  @Override
+  public void startThread() {
+    lock.lock();
+    try {
+      thread.start();
+      switchThread();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void runExclusive( Runnable runnable ) {
+    lock.lock();
+    try {
+      runnable.run();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  //////////////////////////
+  // interface IThreadHolder
+
+  @Override
+  public void setServiceContext( ServiceContext serviceContext ) {
+    this.serviceContext = serviceContext;
+  }
+
+  @Override
+  public void updateServiceContext() {
+    if( ContextProvider.hasContext() ) {
+      ContextProvider.releaseContextHolder();
+    }
+    ContextProvider.setContext( serviceContext );
+  }
+
+  @Override
+  public void switchThread() {
+    lock.lock();
+    try {
+      checkAndReportTerminatedUIThread();
+      switched.signalAll();
+      boolean done = false;
+      while( !done ) {
+        try {
+          switched.await();
+          done = true;
+        } catch( InterruptedException e ) {
+          handleInterruptInSwitchThread( e );
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void terminateThread() {
+    ServiceContext serviceContext = ContextUtil.createFakeContext( uiSession );
+    setServiceContext( serviceContext );
+    uiThreadTerminating = true;
+    lock.lock();
+    try {
+      thread.interrupt();
+    } finally {
+      lock.unlock();
+    }
+    try {
+      thread.join();
+    } catch( InterruptedException e ) {
+      String msg = "Received InterruptedException while terminating UIThread";
+      ServletLog.log( msg, e );
+    }
+    uiThreadTerminating = false;
+  }
+
+  @Override
+  public Thread getThread() {
+    return thread;
+  }
+
+  /*
+   * Returns the ReentrantLock that guards the hand-off. Synchronizing on it has no effect.
+   */
+  @Override
+  public Object getLock() {
+    return lock;
+  }
+
+  ////////////////////////////////////
+  // interface ISessionShutdownAdapter
+
+  @Override
+  public void setUISession( UISession uiSession ) {
+    this.uiSession = uiSession;
+  }
+
+  @Override
+  public void setShutdownCallback( Runnable shutdownCallback ) {
+    this.shutdownCallback = shutdownCallback;
+  }
+
+  @Override
+  public void interceptShutdown() {
+    terminateThread();
+  }
+
+  @Override
+  public void processShutdown() {
+    updateServiceContext();
+    UIThread.processShutdown( uiSession, shutdownCallback );
+  }
+
+  private void checkAndReportTerminatedUIThread() {
+    if( !thread.isAlive() ) {
+      String msg
+        = "Thread '"
+        + Thread.currentThread()
+        + "' is waiting for already terminated UIThread";
+      ServletLog.log( "", new RuntimeException( msg ) );
+    }
+  }
+
+  private void handleInterruptInSwitchThread( InterruptedException e )
+    throws UIThreadTerminatedError
+  {
+    Thread.interrupted();
+    if( uiThreadTerminating ) {
+      // Equip the UI thread that is continuing its execution with a service context and the
+      // proper phase (see terminateThread).
+      updateServiceContext();
+      CurrentPhase.set( PhaseId.PROCESS_ACTION );
+      uiThreadTerminating = false;
+      throw new UIThreadTerminatedError();
+    }
+    if( Thread.currentThread() != thread ) {
+      String msg = "Received InterruptedException on request thread";
+      ServletLog.log( msg, e );
+    }
+  }
+
+  private final class CurrentUIThreadRunnable implements Runnable {
+
+    private final Runnable runnable;
+
+    CurrentUIThreadRunnable( Runnable runnable ) {
+      this.runnable = runnable;
+    }
+
+    @Override
+    public void run() {
+      CURRENT.set( VirtualUIThread.this );
+      try {
+        runnable.run();
+      } finally {
+        CURRENT.remove();
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/*
+ * Records non-negative values into buckets with power-of-two boundaries. Recording does not block,
+ * so that concurrent requests can share a histogram. Percentiles are approximated by the upper
+ * boundary of the bucket they fall into.
+ */
+public class Histogram {
+
+  static final int BUCKET_COUNT = 64;
+
+  private final AtomicLongArray buckets;
+  private final AtomicLong count;
+  private final AtomicLong sum;
+  private final AtomicLong max;
+
+  public Histogram() {
+    buckets = new AtomicLongArray( BUCKET_COUNT );
+    count = new AtomicLong();
+    sum = new AtomicLong();
+    max = new AtomicLong();
+  }
+
+  public void record( long value ) {
+    long normalizedValue = Math.max( 0, value );
+    buckets.incrementAndGet( getBucket( normalizedValue ) );
+    count.incrementAndGet();
+    sum.addAndGet( normalizedValue );
+    updateMax( normalizedValue );
+  }
+
+  public HistogramSnapshot getSnapshot() {
+    long[] bucketCounts = new long[ BUCKET_COUNT ];
+    long snapshotCount = 0;
+    for( int i = 0; i < BUCKET_COUNT; i++ ) {
+      bucketCounts[ i ] = buckets.get( i );
+      snapshotCount += bucketCounts[ i ];
+    }
+    return new HistogramSnapshot( bucketCounts, snapshotCount, sum.get(), max.get() );
+  }
+
+  public void reset() {
+    for( int i = 0; i < BUCKET_COUNT; i++ ) {
+      buckets.set( i, 0 );
+    }
+    count.set( 0 );
+    sum.set( 0 );
+    max.set( 0 );
+  }
+
+  public long getCount() {
+    return count.get();
+  }
+
+  static int getBucket( long value ) {
+    return Math.min( BUCKET_COUNT - 1, Long.SIZE - Long.numberOfLeadingZeros( value ) );
+  }
+
+  static long getUpperBound( int bucket ) {
+    return bucket == 0 ? 0 : ( 1L << bucket ) - 1;
+  }
+
+  private void updateMax( long value ) {
+    long current = max.get();
+    while( value > current && !max.compareAndSet( current, value ) ) {
+      current = max.get();
+    }
+  }
+
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.metrics;
+
+import java.beans.ConstructorProperties;
+
+
+/*
+ * Immutable summary of a histogram. Only consists of simple properties, so that it can be
+ * published as composite data through an MXBean.
+ */
+public class HistogramSnapshot {
+
+  private final long count;
+  private final long sum;
+  private final long max;
+  private final long percentile50;
+  private final long percentile90;
+  private final long percentile99;
+
+  @ConstructorProperties( {
+    "count", "sum", "max", "percentile50", "percentile90", "percentile99"
+  } )
+  public HistogramSnapshot( long count,
+                            long sum,
+                            long max,
+                            long percentile50,
+                            long percentile90,
+                            long percentile99 )
+  {
+    this.count = count;
+    this.sum = sum;
+    this.max = max;
+    this.percentile50 = percentile50;
+    this.percentile90 = percentile90;
+    this.percentile99 = percentile99;
+  }
+
+  HistogramSnapshot( long[] buckets, long count, long sum, long max ) {
+    this( count,
+          sum,
+          max,
+          getPercentile( buckets, count, max, 50 ),
+          getPercentile( buckets, count, max, 90 ),
+          getPercentile( buckets, count, max, 99 ) );
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getSum() {
+    return sum;
+  }
+
+  public long getMax() {
+    return max;
+  }
+
+  public double getMean() {
+    return count == 0 ? 0 : ( double )sum / count;
+  }
+
+  public long getPercentile50() {
+    return percentile50;
+  }
+
+  public long getPercentile90() {
+    return percentile90;
+  }
+
+  public long getPercentile99() {
+    return percentile99;
+  }
+
+  private static long getPercentile( long[] buckets, long count, long max, int percent ) {
+    long result = 0;
+    if( count > 0 ) {
+      long rank = ( count * percent + 99 ) / 100;
+      long seen = 0;
+      boolean found = false;
+      for( int i = 0; !found && i < buckets.length; i++ ) {
+        seen += buckets[ i ];
+        if( seen >= rank ) {
+          result = Math.min( Histogram.getUpperBound( i ), max );
+          found = true;
+        }
+      }
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,264 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.textsize.TextSizeStorage;
+import org.eclipse.rap.rwt.internal.util.ParamCheck;
+import org.eclipse.rap.rwt.service.MetricsExporter;
+
+
+/*
+ * Aggregates the measurements of all requests of an application and publishes them as an MXBean.
+ * Unless enabled with the system property RWTProperties.METRICS, nothing is measured and the
+ * recording methods return immediately.
+ */
+public class LifeCycleMetrics implements LifeCycleMetricsMXBean {
+
+  private static final String DOMAIN = "org.eclipse.rap.rwt";
+
+  private final boolean enabled;
+  private final TextSizeStorage textSizeStorage;
+  private final Histogram[] phaseTimes;
+  private final Histogram requestTime;
+  private final Histogram allocatedBytes;
+  private final Histogram responseOperations;
+  private final Histogram responseBytes;
+  private final Histogram widgetsVisited;
+  private final Histogram serverPushWaitTime;
+  private final List<MetricsExporter> exporters;
+  private ObjectName objectName;
+
+  public LifeCycleMetrics( TextSizeStorage textSizeStorage ) {
+    this( RWTProperties.isMetricsEnabled(), textSizeStorage );
+  }
+
+  LifeCycleMetrics( boolean enabled, TextSizeStorage textSizeStorage ) {
+    this.enabled = enabled;
+    this.textSizeStorage = textSizeStorage;
+    phaseTimes = new Histogram[ PhaseId.RENDER.getOrdinal() + 1 ];
+    for( int i = 0; i < phaseTimes.length; i++ ) {
+      phaseTimes[ i ] = new Histogram();
+    }
+    requestTime = new Histogram();
+    allocatedBytes = new Histogram();
+    responseOperations = new Histogram();
+    responseBytes = new Histogram();
+    widgetsVisited = new Histogram();
+    serverPushWaitTime = new Histogram();
+    exporters = new CopyOnWriteArrayList<>();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void activate( String name ) {
+    if( enabled ) {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      try {
+        ObjectName candidate = createObjectName( name );
+        server.registerMBean( this, candidate );
+        objectName = candidate;
+      } catch( @SuppressWarnings( "unused" ) JMException exception ) {
+        // metrics are still collected and passed to exporters, but not published
+        objectName = null;
+      }
+    }
+  }
+
+  public void deactivate() {
+    if( objectName != null ) {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      try {
+        server.unregisterMBean( objectName );
+      } catch( @SuppressWarnings( "unused" ) JMException exception ) {
+        // already unregistered
+      }
+      objectName = null;
+    }
+    exporters.clear();
+    reset();
+  }
+
+  ObjectName getObjectName() {
+    return objectName;
+  }
+
+  public void addExporter( MetricsExporter exporter ) {
+    ParamCheck.notNull( exporter, "exporter" );
+    exporters.add( exporter );
+  }
+
+  public void removeExporter( MetricsExporter exporter ) {
+    ParamCheck.notNull( exporter, "exporter" );
+    exporters.remove( exporter );
+  }
+
+  public List<MetricsExporter> getExporters() {
+    return Collections.unmodifiableList( exporters );
+  }
+
+  /*
+   * Marks the start of the current request. The request time is measured from here until the
+   * response has been written.
+   */
+  public void requestStarted() {
+    if( enabled && ContextProvider.hasContext() ) {
+      RequestMetricsImpl.getInstance().requestStarted( System.nanoTime() );
+    }
+  }
+
+  public void beginPhase() {
+    if( enabled && ContextProvider.hasContext() ) {
+      RequestMetricsImpl.getInstance().beginPhase( System.nanoTime(),
+                                                   ThreadAllocation.getAllocatedBytes() );
+    }
+  }
+
+  public void endPhase( PhaseId phaseId ) {
+    if( enabled && ContextProvider.hasContext() ) {
+      RequestMetricsImpl requestMetrics = RequestMetricsImpl.getInstance();
+      long duration = requestMetrics.endPhase( phaseId,
+                                               System.nanoTime(),
+                                               ThreadAllocation.getAllocatedBytes() );
+      if( duration >= 0 ) {
+        phaseTimes[ phaseId.getOrdinal() ].record( toMicros( duration ) );
+      }
+    }
+  }
+
+  public void recordWidgetsVisited( int count ) {
+    if( enabled && ContextProvider.hasContext() ) {
+      RequestMetricsImpl.getInstance().addWidgetsVisited( count );
+    }
+  }
+
+  public void recordServerPushWait( long nanos ) {
+    if( enabled ) {
+      serverPushWaitTime.record( toMicros( nanos ) );
+    }
+  }
+
+  public void requestCompleted( int operations, int bytes ) {
+    if( enabled && ContextProvider.hasContext() ) {
+      RequestMetricsImpl requestMetrics = RequestMetricsImpl.getInstance();
+      requestMetrics.requestCompleted( operations, bytes, System.nanoTime() );
+      requestTime.record( toMicros( requestMetrics.getRequestTime() ) );
+      if( requestMetrics.getAllocatedBytes() >= 0 ) {
+        allocatedBytes.record( requestMetrics.getAllocatedBytes() );
+      }
+      responseOperations.record( operations );
+      responseBytes.record( bytes );
+      widgetsVisited.record( requestMetrics.getWidgetsVisited() );
+      for( MetricsExporter exporter : exporters ) {
+        exporter.export( requestMetrics );
+      }
+    }
+  }
+
+  @Override
+  public HistogramSnapshot getPrepareUIRootTime() {
+    return getPhaseTime( PhaseId.PREPARE_UI_ROOT );
+  }
+
+  @Override
+  public HistogramSnapshot getReadDataTime() {
+    return getPhaseTime( PhaseId.READ_DATA );
+  }
+
+  @Override
+  public HistogramSnapshot getProcessActionTime() {
+    return getPhaseTime( PhaseId.PROCESS_ACTION );
+  }
+
+  @Override
+  public HistogramSnapshot getRenderTime() {
+    return getPhaseTime( PhaseId.RENDER );
+  }
+
+  @Override
+  public HistogramSnapshot getRequestTime() {
+    return requestTime.getSnapshot();
+  }
+
+  @Override
+  public HistogramSnapshot getAllocatedBytes() {
+    return allocatedBytes.getSnapshot();
+  }
+
+  @Override
+  public HistogramSnapshot getResponseOperations() {
+    return responseOperations.getSnapshot();
+  }
+
+  @Override
+  public HistogramSnapshot getResponseBytes() {
+    return responseBytes.getSnapshot();
+  }
+
+  @Override
+  public HistogramSnapshot getWidgetsVisited() {
+    return widgetsVisited.getSnapshot();
+  }
+
+  @Override
+  public HistogramSnapshot getServerPushWaitTime() {
+    return serverPushWaitTime.getSnapshot();
+  }
+
+  @Override
+  public double getTextSizeHitRatio() {
+    long hits = textSizeStorage.getHitCount();
+    long total = hits + textSizeStorage.getMissCount();
+    return total == 0 ? 0 : ( double )hits / total;
+  }
+
+  @Override
+  public void reset() {
+    for( Histogram histogram : phaseTimes ) {
+      histogram.reset();
+    }
+    requestTime.reset();
+    allocatedBytes.reset();
+    responseOperations.reset();
+    responseBytes.reset();
+    widgetsVisited.reset();
+    serverPushWaitTime.reset();
+  }
+
+  private HistogramSnapshot getPhaseTime( PhaseId phaseId ) {
+    return phaseTimes[ phaseId.getOrdinal() ].getSnapshot();
+  }
+
+  private ObjectName createObjectName( String name ) throws JMException {
+    String value = ObjectName.quote( name == null ? "" : name );
+    String id = Integer.toHexString( System.identityHashCode( this ) );
+    return new ObjectName( DOMAIN + ":type=LifeCycleMetrics,name=" + value + ",id=" + id );
+  }
+
+  private static long toMicros( long nanos ) {
+    return TimeUnit.NANOSECONDS.toMicros( nanos );
+  }
+
+}
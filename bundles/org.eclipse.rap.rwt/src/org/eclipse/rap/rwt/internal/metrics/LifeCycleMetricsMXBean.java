@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.metrics;
+
+
+/*
+ * Management interface of the life cycle metrics. Times are in microseconds.
+ */
+public interface LifeCycleMetricsMXBean {
+
+  HistogramSnapshot getPrepareUIRootTime();
+
+  HistogramSnapshot getReadDataTime();
+
+  HistogramSnapshot getProcessActionTime();
+
+  HistogramSnapshot getRenderTime();
+
+  HistogramSnapshot getRequestTime();
+
+  HistogramSnapshot getAllocatedBytes();
+
+  HistogramSnapshot getResponseOperations();
+
+  HistogramSnapshot getResponseBytes();
+
+  HistogramSnapshot getWidgetsVisited();
+
+  HistogramSnapshot getServerPushWaitTime();
+
+  double getTextSizeHitRatio();
+
+  void reset();
+
+}
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.metrics;
+
+import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.ServiceStore;
+import org.eclipse.rap.rwt.service.RequestMetrics;
+
+
+/*
+ * Collects the measurements of a single request. Times are in nanoseconds. An allocation value of
+ * -1 indicates that the JVM does not support measuring allocated memory per thread.
+ */
+public class RequestMetricsImpl implements RequestMetrics {
+
+  private static final String ATTR_INSTANCE = RequestMetricsImpl.class.getName();
+  private static final int PHASE_COUNT = PhaseId.RENDER.getOrdinal() + 1;
+
+  private final long[] phaseTimes;
+  private boolean requestStarted;
+  private long requestStartTime;
+  private long requestTime;
+  private long allocatedBytes;
+  private int responseOperations;
+  private int responseBytes;
+  private int widgetsVisited;
+  private boolean phaseStarted;
+  private long phaseStartTime;
+  private long phaseStartAllocation;
+
+  public static RequestMetricsImpl getInstance() {
+    ServiceStore serviceStore = ContextProvider.getServiceStore();
+    RequestMetricsImpl result = ( RequestMetricsImpl )serviceStore.getAttribute( ATTR_INSTANCE );
+    if( result == null ) {
+      result = new RequestMetricsImpl();
+      serviceStore.setAttribute( ATTR_INSTANCE, result );
+    }
+    return result;
+  }
+
+  RequestMetricsImpl() {
+    phaseTimes = new long[ PHASE_COUNT ];
+  }
+
+  public long getPhaseTime( PhaseId phaseId ) {
+    return phaseTimes[ phaseId.getOrdinal() ];
+  }
+
+  /*
+   * Returns the sum of all phase times. Unlike the request time, this does not include reading
+   * the request, waiting for the session lock and writing the response.
+   */
+  public long getTotalTime() {
+    long result = 0;
+    for( long phaseTime : phaseTimes ) {
+      result += phaseTime;
+    }
+    return result;
+  }
+
+  @Override
+  public long getRequestTime() {
+    return requestTime;
+  }
+
+  @Override
+  public long getPrepareUIRootTime() {
+    return getPhaseTime( PhaseId.PREPARE_UI_ROOT );
+  }
+
+  @Override
+  public long getReadDataTime() {
+    return getPhaseTime( PhaseId.READ_DATA );
+  }
+
+  @Override
+  public long getProcessActionTime() {
+    return getPhaseTime( PhaseId.PROCESS_ACTION );
+  }
+
+  @Override
+  public long getRenderTime() {
+    return getPhaseTime( PhaseId.RENDER );
+  }
+
+  @Override
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  @Override
+  public int getResponseOperations() {
+    return responseOperations;
+  }
+
+  @Override
+  public int getResponseBytes() {
+    return responseBytes;
+  }
+
+  @Override
+  public int getWidgetsVisited() {
+    return widgetsVisited;
+  }
+
+  void requestStarted( long time ) {
+    requestStarted = true;
+    requestStartTime = time;
+  }
+
+  void beginPhase( long time, long allocation ) {
+    phaseStarted = true;
+    phaseStartTime = time;
+    phaseStartAllocation = allocation;
+  }
+
+  /*
+   * Returns the duration of the phase or -1 if the phase was not begun within this request.
+   */
+  long endPhase( PhaseId phaseId, long time, long allocation ) {
+    if( !phaseStarted ) {
+      return -1;
+    }
+    phaseStarted = false;
+    long duration = time - phaseStartTime;
+    phaseTimes[ phaseId.getOrdinal() ] += duration;
+    if( allocation < 0 || phaseStartAllocation < 0 ) {
+      allocatedBytes = -1;
+    } else if( allocatedBytes >= 0 ) {
+      allocatedBytes += allocation - phaseStartAllocation;
+    }
+    return duration;
+  }
+
+  void requestCompleted( int operations, int bytes, long time ) {
+    responseOperations = operations;
+    responseBytes = bytes;
+    // fall back to the phase times if the start of the request was not recorded
+    requestTime = requestStarted ? time - requestStartTime : getTotalTime();
+  }
+
+  void addWidgetsVisited( int count ) {
+    widgetsVisited += count;
+  }
+
+}
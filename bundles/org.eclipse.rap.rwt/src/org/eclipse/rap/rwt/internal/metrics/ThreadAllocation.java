@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+
+/*
+ * Reads the number of bytes allocated by the current thread. This is not part of the standard
+ * ThreadMXBean interface, hence the JVM specific extension is looked up reflectively. Returns -1
+ * if the JVM does not provide it.
+ */
+final class ThreadAllocation {
+
+  private static final String EXTENDED_INTERFACE = "com.sun.management.ThreadMXBean";
+  private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+  private static final Method ALLOCATED_BYTES_METHOD = findAllocatedBytesMethod();
+
+  private ThreadAllocation() {
+    // prevent instantiation
+  }
+
+  static boolean isSupported() {
+    return ALLOCATED_BYTES_METHOD != null;
+  }
+
+  static long getAllocatedBytes() {
+    long result = -1;
+    if( ALLOCATED_BYTES_METHOD != null ) {
+      try {
+        Object[] args = new Object[] { Long.valueOf( Thread.currentThread().getId() ) };
+        result = ( ( Long )ALLOCATED_BYTES_METHOD.invoke( THREAD_BEAN, args ) ).longValue();
+      } catch( @SuppressWarnings( "unused" ) Exception exception ) {
+        result = -1;
+      }
+    }
+    return result;
+  }
+
+  private static Method findAllocatedBytesMethod() {
+    Method result = null;
+    for( Class<?> type : THREAD_BEAN.getClass().getInterfaces() ) {
+      if( EXTENDED_INTERFACE.equals( type.getName() ) ) {
+        try {
+          Method method = type.getMethod( "getThreadAllocatedBytes", long.class );
+          if( isEnabled( type ) ) {
+            result = method;
+          }
+        } catch( @SuppressWarnings( "unused" ) Exception exception ) {
+          result = null;
+        }
+      }
+    }
+    return result;
+  }
+
+  private static boolean isEnabled( Class<?> type ) throws Exception {
+    Method supported = type.getMethod( "isThreadAllocatedMemorySupported" );
+    Method enabled = type.getMethod( "isThreadAllocatedMemoryEnabled" );
+    return    Boolean.TRUE.equals( supported.invoke( THREAD_BEAN ) )
+           && Boolean.TRUE.equals( enabled.invoke( THREAD_BEAN ) );
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 EclipseSource and others.
+ * Copyright (c) 2012, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -32,7 +32,11 @@ public class ClientMessage extends RequestMessage {
   }
 
   public ClientMessage( Message message ) {
-    super( message.getHead(), message.getOperations() );
+    this( message.getHead(), message.getOperations() );
+  }
+
+  public ClientMessage( JsonObject head, List<Operation> operations ) {
+    super( head, operations );
     createOperationsIndex();
   }
 
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.protocol;
+
+import static org.eclipse.rap.rwt.internal.protocol.OperationReader.readOperation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonReader;
+import org.eclipse.rap.json.JsonValue;
+import org.eclipse.rap.rwt.internal.util.ParamCheck;
+
+
+/*
+ * Reads a client message directly from a JSON reader. Other than new ClientMessage( JsonObject ),
+ * no JSON structure is created for the message and its operations, only for the head and the
+ * operation properties.
+ */
+public class ClientMessageReader {
+
+  private static final String HEAD = "head";
+  private static final String OPERATIONS = "operations";
+
+  public static ClientMessage readClientMessage( JsonReader reader ) throws IOException {
+    ParamCheck.notNull( reader, "reader" );
+    JsonObject head = null;
+    List<Operation> operations = null;
+    reader.beginObject();
+    while( reader.hasNext() ) {
+      String name = reader.nextName();
+      if( HEAD.equals( name ) ) {
+        head = readHead( reader );
+      } else if( OPERATIONS.equals( name ) ) {
+        operations = readOperations( reader );
+      } else {
+        reader.nextValue();
+      }
+    }
+    reader.endObject();
+    if( head == null ) {
+      throw new IllegalArgumentException( "Failed to read head from JSON message" );
+    }
+    if( operations == null ) {
+      throw new IllegalArgumentException( "Failed to read operations from JSON message" );
+    }
+    return new ClientMessage( head, operations );
+  }
+
+  private static JsonObject readHead( JsonReader reader ) throws IOException {
+    JsonValue head = reader.nextValue();
+    if( !head.isObject() ) {
+      throw new IllegalArgumentException( "Failed to read head from JSON message" );
+    }
+    return head.asObject();
+  }
+
+  private static List<Operation> readOperations( JsonReader reader ) throws IOException {
+    List<Operation> operations = new ArrayList<>();
+    reader.beginArray();
+    while( reader.hasNext() ) {
+      operations.add( readOperation( reader ) );
+    }
+    reader.endArray();
+    return operations;
+  }
+
+  private ClientMessageReader() {
+    // prevent instantiation
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 EclipseSource and others.
+ * Copyright (c) 2015, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,7 +12,9 @@ package org.eclipse.rap.rwt.internal.protocol;
 
 import static org.eclipse.rap.rwt.internal.protocol.OperationReader.readOperation;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -59,6 +61,26 @@ public class Message implements Serializable {
     return new JsonObject().add( HEAD, head ).add( OPERATIONS, operationsArray );
   }
 
+  /**
+   * Writes the JSON representation of this message to the given writer. In contrast to
+   * <code>toJson().writeTo( writer )</code>, this method does not create an intermediate JSON
+   * structure for the entire message.
+   */
+  public void writeTo( Writer writer ) throws IOException {
+    writer.write( "{\"" + HEAD + "\":" );
+    head.writeTo( writer );
+    writer.write( ",\"" + OPERATIONS + "\":[" );
+    boolean first = true;
+    for( Operation operation : operations ) {
+      if( !first ) {
+        writer.write( ',' );
+      }
+      operation.toJson().writeTo( writer );
+      first = false;
+    }
+    writer.write( "]}" );
+  }
+
   @Override
   public String toString() {
     return toJson().toString();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014 EclipseSource and others.
+ * Copyright (c) 2014, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,8 +10,11 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.protocol;
 
+import java.io.IOException;
+
 import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonReader;
 import org.eclipse.rap.json.JsonValue;
 import org.eclipse.rap.rwt.internal.protocol.Operation.CallOperation;
 import org.eclipse.rap.rwt.internal.protocol.Operation.CreateOperation;
@@ -33,6 +36,62 @@ public class OperationReader {
     }
   }
 
+  /**
+   * Reads the next operation from the given reader without creating an intermediate JSON array
+   * for the operation. Only the properties of the operation are created as JSON values.
+   */
+  public static Operation readOperation( JsonReader reader ) throws IOException {
+    ParamCheck.notNull( reader, "reader" );
+    reader.beginArray();
+    String action = readString( reader );
+    String target = readString( reader );
+    Operation operation;
+    if( action.equals( "create" ) ) {
+      String type = readString( reader );
+      operation = new CreateOperation( target, type, readObject( reader ) );
+    } else if( action.equals( "destroy" ) ) {
+      operation = new DestroyOperation( target );
+    } else if( action.equals( "set" ) ) {
+      operation = new SetOperation( target, readObject( reader ) );
+    } else if( action.equals( "call" ) ) {
+      String method = readString( reader );
+      operation = new CallOperation( target, method, readObject( reader ) );
+    } else if( action.equals( "listen" ) ) {
+      operation = new ListenOperation( target, readObject( reader ) );
+    } else if( action.equals( "notify" ) ) {
+      String event = readString( reader );
+      operation = new NotifyOperation( target, event, readObject( reader ) );
+    } else {
+      throw new IllegalArgumentException( "Unknown operation type: " + action );
+    }
+    // additional elements are ignored like in readOperation( JsonValue )
+    while( reader.hasNext() ) {
+      reader.nextValue();
+    }
+    reader.endArray();
+    return operation;
+  }
+
+  private static String readString( JsonReader reader ) throws IOException {
+    checkHasNext( reader );
+    return reader.nextString();
+  }
+
+  private static JsonObject readObject( JsonReader reader ) throws IOException {
+    checkHasNext( reader );
+    JsonValue value = reader.nextValue();
+    if( !value.isObject() ) {
+      throw new IllegalArgumentException( "Could not read operation, expected object: " + value );
+    }
+    return value.asObject();
+  }
+
+  private static void checkHasNext( JsonReader reader ) {
+    if( !reader.hasNext() ) {
+      throw new IllegalArgumentException( "Could not read operation, missing element" );
+    }
+  }
+
   private static Operation readOperation( JsonArray json ) {
     String action = json.get( 0 ).asString();
     String target = json.get( 1 ).asString();
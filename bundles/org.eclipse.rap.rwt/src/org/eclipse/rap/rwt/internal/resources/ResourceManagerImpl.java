@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,6 +14,7 @@ package org.eclipse.rap.rwt.internal.resources;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -21,10 +22,16 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.internal.service.ServiceManagerImpl;
 import org.eclipse.rap.rwt.internal.util.ParamCheck;
 import org.eclipse.rap.rwt.internal.util.StreamUtil;
 import org.eclipse.rap.rwt.service.ResourceLoader;
@@ -38,6 +45,11 @@ import org.eclipse.rap.rwt.service.ResourceManager;
  * requested. Usually resources are stored in libraries in the WEB-INF/lib
  * directory of a web-application
  * <p>
+ * If the resource service is enabled, the content of the registered resources is also kept in
+ * memory and the returned locations refer to the {@link ResourceServiceHandler}, which serves
+ * them with content-hash URLs, precompressed content and conditional requests.
+ * </p>
+ * <p>
  * Implementation as singleton.
  * </p>
  * <p>
@@ -48,10 +60,16 @@ public class ResourceManagerImpl implements ResourceManager {
 
   private final ResourceDirectory resourceDirectory;
   private final Set<String> resources;
+  private final Map<String, StaticResource> staticResources;
 
   public ResourceManagerImpl( ResourceDirectory resourceDirectory ) {
     this.resourceDirectory = resourceDirectory;
     resources = Collections.synchronizedSet( new HashSet<String>() );
+    if( RWTProperties.isResourceServiceEnabled() ) {
+      staticResources = Collections.synchronizedMap( new HashMap<String, StaticResource>() );
+    } else {
+      staticResources = null;
+    }
   }
 
   /////////////////////////////
@@ -90,6 +108,9 @@ public class ResourceManagerImpl implements ResourceManager {
     boolean result = false;
     if( resources.remove( name ) ) {
       result = true;
+      if( staticResources != null ) {
+        staticResources.remove( name );
+      }
       File file = getDiskLocation( name );
       file.delete();
     }
@@ -108,14 +129,20 @@ public class ResourceManagerImpl implements ResourceManager {
     if( !resources.contains( name ) ) {
       throw new IllegalArgumentException( "Resource does not exist: " + name );
     }
-    return createRequestUrl( name );
+    StaticResource staticResource = getStaticResource( name );
+    return staticResource == null
+         ? createRequestUrl( name )
+         : createServiceHandlerUrl( name, staticResource );
   }
 
   @Override
   public InputStream getRegisteredContent( String name ) {
     ParamCheck.notNull( name, "name" );
     InputStream result = null;
-    if( resources.contains( name ) ) {
+    StaticResource staticResource = getStaticResource( name );
+    if( staticResource != null ) {
+      result = new ByteArrayInputStream( staticResource.getContent() );
+    } else if( resources.contains( name ) ) {
       File file = getDiskLocation( name );
       try {
         result = new FileInputStream( file );
@@ -126,6 +153,16 @@ public class ResourceManagerImpl implements ResourceManager {
     return result;
   }
 
+  /**
+   * Returns the in-memory content of the given resource.
+   *
+   * @return the resource or <code>null</code> if the resource is not registered or the resource
+   *         service is not enabled
+   */
+  public StaticResource getStaticResource( String name ) {
+    return staticResources == null ? null : staticResources.get( name );
+  }
+
   //////////////////
   // helping methods
 
@@ -137,11 +174,35 @@ public class ResourceManagerImpl implements ResourceManager {
       .toString();
   }
 
+  private static String createServiceHandlerUrl( String name, StaticResource staticResource ) {
+    // relative to the URL of the application, like the default resource locations
+    return new StringBuilder()
+      .append( '?' )
+      .append( ServiceManagerImpl.REQUEST_PARAM )
+      .append( '=' )
+      .append( ResourceServiceHandler.HANDLER_ID )
+      .append( '&' )
+      .append( ResourceServiceHandler.PARAM_PATH )
+      .append( '=' )
+      .append( encodeParameter( name ) )
+      .append( '&' )
+      .append( ResourceServiceHandler.PARAM_VERSION )
+      .append( '=' )
+      .append( staticResource.getHash() )
+      .toString();
+  }
+
   private void internalRegister( String name, InputStream inputStream ) {
     File location = getDiskLocation( name );
     try {
       createDirectories( location );
-      writeResource( inputStream, location );
+      if( staticResources != null ) {
+        byte[] content = ResourceUtil.readBinary( inputStream );
+        ResourceUtil.write( location, content );
+        staticResources.put( name, new StaticResource( name, content ) );
+      } else {
+        writeResource( inputStream, location );
+      }
     } catch ( IOException ioe ) {
       throw new RuntimeException( "Failed to register resource: " + name, ioe );
     }
@@ -191,6 +252,14 @@ public class ResourceManagerImpl implements ResourceManager {
     }
   }
 
+  private static String encodeParameter( String value ) {
+    try {
+      return URLEncoder.encode( value, "UTF-8" ).replace( "+", "%20" );
+    } catch( UnsupportedEncodingException exception ) {
+      throw new RuntimeException( exception );
+    }
+  }
+
   private static String escapeResourceName( String name ) {
     return name
       .replaceAll( "\\$", "\\$\\$" )
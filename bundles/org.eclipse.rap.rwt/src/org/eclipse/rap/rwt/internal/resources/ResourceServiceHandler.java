@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.resources;
+
+import static org.eclipse.rap.rwt.internal.util.HTTP.METHOD_GET;
+import static org.eclipse.rap.rwt.internal.util.HTTP.METHOD_HEAD;
+
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.rap.rwt.service.ServiceHandler;
+
+
+/**
+ * Serves the resources that are kept in memory by the resource manager. The location of a resource
+ * contains the hash of its content, hence a response to a request with the current hash can be
+ * cached forever. Compressed content is sent to clients that accept it, conditional requests and
+ * single byte ranges are supported.
+ * <p>
+ * This handler does not depend on the UI session, it is called by the RWT servlet without
+ * creating a service context.
+ * </p>
+ */
+public class ResourceServiceHandler implements ServiceHandler {
+
+  public static final String HANDLER_ID = "org.eclipse.rap.resources";
+  static final String PARAM_PATH = "path";
+  static final String PARAM_VERSION = "v";
+
+  private static final String CACHE_CONTROL_IMMUTABLE = "public, max-age=31536000, immutable";
+  private static final String CACHE_CONTROL_REVALIDATE = "no-cache";
+  private static final String GZIP = "gzip";
+  private static final String BYTES_UNIT = "bytes=";
+  private static final int[] UNSATISFIABLE_RANGE = new int[ 0 ];
+
+  private final ResourceManagerImpl resourceManager;
+
+  public ResourceServiceHandler( ResourceManagerImpl resourceManager ) {
+    this.resourceManager = resourceManager;
+  }
+
+  @Override
+  public void service( HttpServletRequest request, HttpServletResponse response )
+    throws IOException
+  {
+    String method = request.getMethod();
+    if( !METHOD_GET.equals( method ) && !METHOD_HEAD.equals( method ) ) {
+      response.setHeader( "Allow", METHOD_GET + ", " + METHOD_HEAD );
+      response.sendError( HttpServletResponse.SC_METHOD_NOT_ALLOWED );
+    } else {
+      String path = request.getParameter( PARAM_PATH );
+      StaticResource resource = path == null ? null : resourceManager.getStaticResource( path );
+      if( resource == null ) {
+        response.sendError( HttpServletResponse.SC_NOT_FOUND );
+      } else {
+        sendResource( request, response, resource );
+      }
+    }
+  }
+
+  private static void sendResource( HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    StaticResource resource )
+    throws IOException
+  {
+    String range = getRange( request, resource );
+    boolean gzip = range == null && resource.getGzipContent() != null && acceptsGzip( request );
+    boolean current = resource.getHash().equals( request.getParameter( PARAM_VERSION ) );
+    response.setHeader( "ETag", getETag( resource, gzip ) );
+    String cacheControl = current ? CACHE_CONTROL_IMMUTABLE : CACHE_CONTROL_REVALIDATE;
+    response.setHeader( "Cache-Control", cacheControl );
+    response.setHeader( "Accept-Ranges", "bytes" );
+    if( resource.getGzipContent() != null ) {
+      response.setHeader( "Vary", "Accept-Encoding" );
+    }
+    if( matchesETag( request.getHeader( "If-None-Match" ), resource ) ) {
+      response.setStatus( HttpServletResponse.SC_NOT_MODIFIED );
+    } else {
+      byte[] content = gzip ? resource.getGzipContent() : resource.getContent();
+      int[] bounds = range == null ? null : parseRange( range, content.length );
+      if( bounds == UNSATISFIABLE_RANGE ) {
+        response.setHeader( "Content-Range", "bytes */" + content.length );
+        response.sendError( HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE );
+      } else {
+        response.setContentType( resource.getContentType() );
+        if( gzip ) {
+          response.setHeader( "Content-Encoding", GZIP );
+        }
+        int offset = 0;
+        int length = content.length;
+        if( bounds != null ) {
+          offset = bounds[ 0 ];
+          length = bounds[ 1 ] - bounds[ 0 ] + 1;
+          String contentRange = "bytes " + bounds[ 0 ] + "-" + bounds[ 1 ] + "/" + content.length;
+          response.setStatus( HttpServletResponse.SC_PARTIAL_CONTENT );
+          response.setHeader( "Content-Range", contentRange );
+        }
+        response.setContentLength( length );
+        if( !METHOD_HEAD.equals( request.getMethod() ) ) {
+          response.getOutputStream().write( content, offset, length );
+        }
+      }
+    }
+  }
+
+  /*
+   * Returns the requested range unless there is an If-Range header that does not match the
+   * resource, in which case the entire resource is sent.
+   */
+  private static String getRange( HttpServletRequest request, StaticResource resource ) {
+    String result = request.getHeader( "Range" );
+    String ifRange = request.getHeader( "If-Range" );
+    if( result != null && ifRange != null && !ifRange.equals( getETag( resource, false ) ) ) {
+      result = null;
+    }
+    return result;
+  }
+
+  /*
+   * Returns the first and last byte position of a single byte range, UNSATISFIABLE_RANGE if the
+   * range does not overlap the content, or null if the range cannot be served and should be
+   * ignored.
+   */
+  static int[] parseRange( String range, int length ) {
+    int[] result = null;
+    if( range.startsWith( BYTES_UNIT ) && range.indexOf( ',' ) == -1 ) {
+      String spec = range.substring( BYTES_UNIT.length() ).trim();
+      int dashIndex = spec.indexOf( '-' );
+      if( dashIndex != -1 ) {
+        try {
+          String first = spec.substring( 0, dashIndex ).trim();
+          String last = spec.substring( dashIndex + 1 ).trim();
+          if( first.length() == 0 ) {
+            long suffixLength = Long.parseLong( last );
+            if( suffixLength > 0 && length > 0 ) {
+              result = new int[] { ( int )Math.max( 0, length - suffixLength ), length - 1 };
+            } else {
+              result = UNSATISFIABLE_RANGE;
+            }
+          } else {
+            long start = Long.parseLong( first );
+            long end = last.length() == 0 ? Long.MAX_VALUE : Long.parseLong( last );
+            if( start <= end ) {
+              if( start >= length ) {
+                result = UNSATISFIABLE_RANGE;
+              } else {
+                result = new int[] { ( int )start, ( int )Math.min( end, length - 1 ) };
+              }
+            }
+          }
+        } catch( @SuppressWarnings( "unused" ) NumberFormatException exception ) {
+          // ignore malformed ranges
+        }
+      }
+    }
+    return result;
+  }
+
+  private static boolean matchesETag( String ifNoneMatch, StaticResource resource ) {
+    boolean result = false;
+    if( ifNoneMatch != null ) {
+      if( "*".equals( ifNoneMatch.trim() ) ) {
+        result = true;
+      } else {
+        for( String tag : ifNoneMatch.split( "," ) ) {
+          String trimmedTag = tag.trim();
+          if( trimmedTag.startsWith( "W/" ) ) {
+            trimmedTag = trimmedTag.substring( 2 );
+          }
+          if(    trimmedTag.equals( getETag( resource, false ) )
+              || trimmedTag.equals( getETag( resource, true ) ) )
+          {
+            result = true;
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  private static boolean acceptsGzip( HttpServletRequest request ) {
+    boolean result = false;
+    String acceptEncoding = request.getHeader( "Accept-Encoding" );
+    if( acceptEncoding != null ) {
+      for( String coding : acceptEncoding.split( "," ) ) {
+        String[] parts = coding.trim().split( ";" );
+        if( GZIP.equalsIgnoreCase( parts[ 0 ].trim() ) ) {
+          result = parts.length == 1 || !parts[ 1 ].trim().matches( "q\\s*=\\s*0(\\.0*)?" );
+        }
+      }
+    }
+    return result;
+  }
+
+  private static String getETag( StaticResource resource, boolean gzip ) {
+    return "\"" + resource.getHash() + ( gzip ? "-" + GZIP : "" ) + "\"";
+  }
+
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.resources;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * The content of a registered resource that is kept in memory, along with a gzip compressed
+ * variant and a hash of the content. All values are computed once at registration.
+ */
+public final class StaticResource {
+
+  private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+  private static final int MIN_COMPRESSION_SIZE = 256;
+  private static final int HASH_LENGTH = 10;
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+  private static final Map<String, String> CONTENT_TYPES = createContentTypes();
+
+  private final byte[] content;
+  private final byte[] gzipContent;
+  private final String hash;
+  private final String contentType;
+
+  public StaticResource( String name, byte[] content ) {
+    this.content = content;
+    contentType = getContentType( name );
+    hash = createHash( content );
+    gzipContent = isCompressible( contentType ) ? compress( content ) : null;
+  }
+
+  public byte[] getContent() {
+    return content;
+  }
+
+  /*
+   * Returns the gzip compressed content or null if the content is not worth compressing.
+   */
+  public byte[] getGzipContent() {
+    return gzipContent;
+  }
+
+  public String getHash() {
+    return hash;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  static String getContentType( String name ) {
+    String result = null;
+    int dotIndex = name.lastIndexOf( '.' );
+    if( dotIndex != -1 ) {
+      result = CONTENT_TYPES.get( name.substring( dotIndex + 1 ).toLowerCase() );
+    }
+    if( result == null ) {
+      result = URLConnection.guessContentTypeFromName( name );
+    }
+    return result == null ? DEFAULT_CONTENT_TYPE : result;
+  }
+
+  private static boolean isCompressible( String contentType ) {
+    return    contentType.startsWith( "text/" )
+           || contentType.endsWith( "javascript" )
+           || contentType.endsWith( "json" )
+           || contentType.endsWith( "xml" );
+  }
+
+  private static byte[] compress( byte[] content ) {
+    byte[] result = null;
+    if( content.length >= MIN_COMPRESSION_SIZE ) {
+      try {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream( content.length / 4 );
+        GZIPOutputStream gzipStream = new GZIPOutputStream( buffer ) {
+          {
+            def.setLevel( Deflater.BEST_COMPRESSION );
+          }
+        };
+        gzipStream.write( content );
+        gzipStream.close();
+        if( buffer.size() < content.length ) {
+          result = buffer.toByteArray();
+        }
+      } catch( IOException exception ) {
+        throw new RuntimeException( "Failed to compress resource", exception );
+      }
+    }
+    return result;
+  }
+
+  private static String createHash( byte[] content ) {
+    byte[] digest;
+    try {
+      digest = MessageDigest.getInstance( "SHA-1" ).digest( content );
+    } catch( NoSuchAlgorithmException exception ) {
+      throw new RuntimeException( "SHA-1 is not available", exception );
+    }
+    char[] result = new char[ HASH_LENGTH * 2 ];
+    for( int i = 0; i < HASH_LENGTH; i++ ) {
+      result[ i * 2 ] = HEX_DIGITS[ ( digest[ i ] >> 4 ) & 0xf ];
+      result[ i * 2 + 1 ] = HEX_DIGITS[ digest[ i ] & 0xf ];
+    }
+    return new String( result );
+  }
+
+  private static Map<String, String> createContentTypes() {
+    Map<String, String> result = new HashMap<>();
+    result.put( "js", "application/javascript" );
+    result.put( "css", "text/css" );
+    result.put( "html", "text/html" );
+    result.put( "htm", "text/html" );
+    result.put( "json", "application/json" );
+    result.put( "svg", "image/svg+xml" );
+    result.put( "png", "image/png" );
+    result.put( "gif", "image/gif" );
+    result.put( "jpg", "image/jpeg" );
+    result.put( "jpeg", "image/jpeg" );
+    result.put( "ico", "image/x-icon" );
+    result.put( "cur", "image/x-icon" );
+    result.put( "woff", "application/font-woff" );
+    result.put( "ttf", "application/x-font-ttf" );
+    return result;
+  }
+
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.serverpush;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+
+import org.eclipse.rap.rwt.internal.metrics.LifeCycleMetrics;
+import org.eclipse.rap.rwt.service.UISession;
+import org.eclipse.rap.rwt.service.UISessionEvent;
+import org.eclipse.rap.rwt.service.UISessionListener;
+
+
+/*
+ * A server push request that is parked using asynchronous request processing.
+ *
+ * This class requires the servlet 3.0 API to be on the class path. It must only be loaded after
+ * checking the servlet version, see ServerPushServiceHandler.
+ */
+final class AsyncServerPushRequest implements AsyncListener, UISessionListener {
+
+  private final ServerPushManager pushManager;
+  private final AsyncContext asyncContext;
+  private final UISession uiSession;
+  private final LifeCycleMetrics metrics;
+  private final long startTime;
+
+  AsyncServerPushRequest( ServerPushManager pushManager,
+                          HttpServletRequest request,
+                          UISession uiSession,
+                          LifeCycleMetrics metrics )
+  {
+    this.pushManager = pushManager;
+    this.uiSession = uiSession;
+    this.metrics = metrics;
+    startTime = System.nanoTime();
+    asyncContext = request.startAsync();
+    asyncContext.setTimeout( getTimeout( uiSession ) );
+    asyncContext.addListener( this );
+    uiSession.addUISessionListener( this );
+  }
+
+  void complete() {
+    asyncContext.complete();
+  }
+
+  @Override
+  public void onComplete( AsyncEvent event ) {
+    uiSession.removeUISessionListener( this );
+    pushManager.clearAsyncRequest( this );
+    metrics.recordServerPushWait( System.nanoTime() - startTime );
+  }
+
+  @Override
+  public void onTimeout( AsyncEvent event ) {
+    pushManager.releaseAsyncRequest( this );
+  }
+
+  @Override
+  public void onError( AsyncEvent event ) {
+    pushManager.releaseAsyncRequest( this );
+  }
+
+  @Override
+  public void onStartAsync( AsyncEvent event ) {
+    // nothing to do
+  }
+
+  @Override
+  public void beforeDestroy( UISessionEvent event ) {
+    pushManager.releaseAsyncRequest( this );
+  }
+
+  private static long getTimeout( UISession uiSession ) {
+    int maxInactiveInterval = uiSession.getHttpSession().getMaxInactiveInterval();
+    return maxInactiveInterval > 0 ? maxInactiveInterval * 1000L : 0;
+  }
+
+}
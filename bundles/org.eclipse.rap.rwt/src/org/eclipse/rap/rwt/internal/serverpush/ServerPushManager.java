@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,10 +14,12 @@ package org.eclipse.rap.rwt.internal.serverpush;
 import java.io.IOException;
 import java.io.PrintWriter;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
 import org.eclipse.rap.rwt.SingletonUtil;
+import org.eclipse.rap.rwt.internal.metrics.LifeCycleMetrics;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.ServiceStore;
 import org.eclipse.rap.rwt.internal.util.SerializableLock;
@@ -41,6 +43,8 @@ public final class ServerPushManager implements SerializableCompatibility {
   private boolean hasRunnables;
   private int requestCheckInterval;
   private transient ServerPushRequestTracker serverPushRequestTracker;
+  // parked server push request in async mode, see processAsyncRequest
+  private transient AsyncServerPushRequest asyncRequest;
 
   private ServerPushManager() {
     lock = new SerializableLock();
@@ -56,7 +60,7 @@ public final class ServerPushManager implements SerializableCompatibility {
 
   public boolean isCallBackRequestBlocked() {
     synchronized( lock ) {
-      return !serverPushRequestTracker.hasActive();
+      return !serverPushRequestTracker.hasActive() || asyncRequest != null;
     }
   }
 
@@ -71,6 +75,9 @@ public final class ServerPushManager implements SerializableCompatibility {
   public void releaseBlockedRequest() {
     synchronized( lock ) {
       lock.notifyAll();
+      if( asyncRequest != null && !mustBlockCallBackRequest() ) {
+        completeAsyncRequest();
+      }
     }
   }
 
@@ -84,6 +91,17 @@ public final class ServerPushManager implements SerializableCompatibility {
     }
   }
 
+  /*
+   * Makes the client send a subsequent request for the pending runnables after the current
+   * request, even if server push is not active.
+   */
+  public void forceServerPush() {
+    ServiceStore serviceStore = ContextProvider.getServiceStore();
+    if( serviceStore != null ) {
+      serviceStore.setAttribute( FORCE_PUSH, Boolean.TRUE );
+    }
+  }
+
   public void setRequestCheckInterval( int requestCheckInterval ) {
     this.requestCheckInterval = requestCheckInterval;
   }
@@ -131,6 +149,7 @@ public final class ServerPushManager implements SerializableCompatibility {
       }
       if( mustBlockCallBackRequest() ) {
         long requestStartTime = System.currentTimeMillis();
+        long waitStartTime = System.nanoTime();
         serverPushRequestTracker.activate( Thread.currentThread() );
         TerminationListener listener = attachTerminationListener();
         try {
@@ -144,11 +163,54 @@ public final class ServerPushManager implements SerializableCompatibility {
         } finally {
           listener.detach();
           serverPushRequestTracker.deactivate( Thread.currentThread() );
+          getMetrics().recordServerPushWait( System.nanoTime() - waitStartTime );
         }
       }
     }
   }
 
+  /*
+   * Parks the request using asynchronous processing instead of blocking the calling thread. The
+   * parked request is completed by the thread that calls releaseBlockedRequest, by a subsequent
+   * server push request, or by the container on timeout or error.
+   */
+  void processAsyncRequest( HttpServletRequest request ) {
+    synchronized( lock ) {
+      if( isCallBackRequestBlocked() ) {
+        lock.notifyAll();
+        completeAsyncRequest();
+      }
+      if( mustBlockCallBackRequest() ) {
+        UISession uiSession = ContextProvider.getUISession();
+        asyncRequest = new AsyncServerPushRequest( this, request, uiSession, getMetrics() );
+      }
+    }
+  }
+
+  private void completeAsyncRequest() {
+    if( asyncRequest != null ) {
+      AsyncServerPushRequest request = asyncRequest;
+      asyncRequest = null;
+      request.complete();
+    }
+  }
+
+  void releaseAsyncRequest( AsyncServerPushRequest request ) {
+    synchronized( lock ) {
+      if( asyncRequest == request ) {
+        completeAsyncRequest();
+      }
+    }
+  }
+
+  void clearAsyncRequest( AsyncServerPushRequest request ) {
+    synchronized( lock ) {
+      if( asyncRequest == request ) {
+        asyncRequest = null;
+      }
+    }
+  }
+
   private boolean canReleaseBlockedRequest( HttpServletResponse response, long requestStartTime ) {
     boolean result = false;
     if( !mustBlockCallBackRequest() ) {
@@ -183,6 +245,10 @@ public final class ServerPushManager implements SerializableCompatibility {
     return result;
   }
 
+  private static LifeCycleMetrics getMetrics() {
+    return ContextProvider.getApplicationContext().getLifeCycleMetrics();
+  }
+
   private static boolean isSessionExpired( long requestStartTime ) {
     return isSessionExpired( requestStartTime, System.currentTimeMillis() );
   }
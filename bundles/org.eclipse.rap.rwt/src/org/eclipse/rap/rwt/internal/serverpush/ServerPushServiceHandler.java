@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,9 +13,12 @@ package org.eclipse.rap.rwt.internal.serverpush;
 
 import java.io.IOException;
 
+import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.service.ServiceHandler;
 
 
@@ -28,7 +31,25 @@ public class ServerPushServiceHandler implements ServiceHandler {
     throws IOException
   {
     setResponseHeaders( response );
-    ServerPushManager.getInstance().processRequest( response );
+    if( isAsyncProcessingSupported( request ) ) {
+      ServerPushManager.getInstance().processAsyncRequest( request );
+    } else {
+      ServerPushManager.getInstance().processRequest( response );
+    }
+  }
+
+  /*
+   * The async API is only available with servlet 3.0 or later. The servlet version is checked
+   * first, so that the API is not touched in older containers.
+   */
+  private static boolean isAsyncProcessingSupported( HttpServletRequest request ) {
+    return    RWTProperties.isAsyncServerPushEnabled()
+           && getServletContext().getMajorVersion() >= 3
+           && request.isAsyncSupported();
+  }
+
+  private static ServletContext getServletContext() {
+    return ContextProvider.getApplicationContext().getServletContext();
   }
 
   private static void setResponseHeaders( HttpServletResponse response ) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,22 +15,29 @@ import static javax.servlet.http.HttpServletResponse.SC_FORBIDDEN;
 import static javax.servlet.http.HttpServletResponse.SC_PRECONDITION_FAILED;
 import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.REQUEST_COUNTER;
 import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.SHUTDOWN;
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageReader.readClientMessage;
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
 import static org.eclipse.rap.rwt.internal.service.ContextProvider.getUISession;
 import static org.eclipse.rap.rwt.internal.util.HTTP.CHARSET_UTF_8;
 import static org.eclipse.rap.rwt.internal.util.HTTP.CONTENT_TYPE_JSON;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.Reader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonReader;
 import org.eclipse.rap.json.JsonValue;
 import org.eclipse.rap.rwt.internal.lifecycle.RequestCounter;
-import org.eclipse.rap.rwt.internal.protocol.ClientMessage;
+import org.eclipse.rap.rwt.internal.metrics.LifeCycleMetrics;
+import org.eclipse.rap.rwt.internal.protocol.Message;
 import org.eclipse.rap.rwt.internal.protocol.ProtocolMessageWriter;
 import org.eclipse.rap.rwt.internal.protocol.RequestMessage;
 import org.eclipse.rap.rwt.internal.protocol.ResponseMessage;
@@ -44,6 +51,7 @@ public class LifeCycleServiceHandler implements ServiceHandler {
   private static final String PROP_ERROR = "error";
   private static final String ATTR_LAST_RESPONSE_MESSAGE
     = LifeCycleServiceHandler.class.getName() + "#lastResponseMessage";
+  private static final int INITIAL_BUFFER_SIZE = 8192;
 
   private final MessageChainReference messageChainReference;
 
@@ -55,6 +63,7 @@ public class LifeCycleServiceHandler implements ServiceHandler {
   public void service( HttpServletRequest request, HttpServletResponse response )
     throws IOException
   {
+    getApplicationContext().getLifeCycleMetrics().requestStarted();
     UISessionImpl uiSession = ( UISessionImpl )getUISession();
     if( uiSession == null ) {
       setJsonResponseHeaders( response );
@@ -105,7 +114,7 @@ public class LifeCycleServiceHandler implements ServiceHandler {
 
   private static RequestMessage readRequestMessage( HttpServletRequest request ) {
     try {
-      return new ClientMessage( JsonObject.readFrom( getReader( request ) ) );
+      return readClientMessage( getJsonReader( request ) );
     } catch( IOException ioe ) {
       throw new IllegalStateException( "Unable to read the json message", ioe );
     }
@@ -115,13 +124,17 @@ public class LifeCycleServiceHandler implements ServiceHandler {
    * Workaround for bug in certain servlet containers where the reader is sometimes empty.
    * 411616: Application crash with very long messages
    * https://bugs.eclipse.org/bugs/show_bug.cgi?id=411616
+   * UTF-8 encoded messages are decoded directly by the JSON reader.
    */
-  private static Reader getReader( HttpServletRequest request ) throws IOException {
+  private static JsonReader getJsonReader( HttpServletRequest request ) throws IOException {
     String encoding = request.getCharacterEncoding();
-    if( encoding == null ) {
-      encoding = CHARSET_UTF_8;
+    JsonReader result;
+    if( encoding == null || CHARSET_UTF_8.equalsIgnoreCase( encoding ) ) {
+      result = new JsonReader( request.getInputStream() );
+    } else {
+      result = new JsonReader( new InputStreamReader( request.getInputStream(), encoding ) );
     }
-    return new InputStreamReader( request.getInputStream(), encoding );
+    return result;
   }
 
   private ResponseMessage processMessage( RequestMessage requestMessage ) {
@@ -165,7 +178,7 @@ public class LifeCycleServiceHandler implements ServiceHandler {
     response.setStatus( statusCode );
     ProtocolMessageWriter writer = new ProtocolMessageWriter();
     writer.appendHead( PROP_ERROR, JsonValue.valueOf( errorType ) );
-    writer.createMessage().toJson().writeTo( response.getWriter() );
+    writeMessage( writer.createMessage(), response.getOutputStream() );
   }
 
   private static boolean isSessionShutdown( RequestMessage requestMessage ) {
@@ -178,30 +191,91 @@ public class LifeCycleServiceHandler implements ServiceHandler {
   }
 
   private static void writeEmptyMessage( ServletResponse response ) throws IOException {
-    new ProtocolMessageWriter().createMessage().toJson().writeTo( response.getWriter() );
+    writeMessage( new ProtocolMessageWriter().createMessage(), response.getOutputStream() );
   }
 
   private static void writeResponseMessage( ResponseMessage responseMessage,
                                             ServletResponse response )
     throws IOException
   {
-    bufferMessage( responseMessage );
-    responseMessage.toJson().writeTo( response.getWriter() );
+    ByteArrayOutputStream replayBuffer = new ByteArrayOutputStream( INITIAL_BUFFER_SIZE );
+    writeMessage( responseMessage, new TeeOutputStream( response.getOutputStream(), replayBuffer ) );
+    bufferMessage( replayBuffer.toByteArray() );
+    recordMetrics( responseMessage, replayBuffer.size() );
+  }
+
+  private static void recordMetrics( ResponseMessage responseMessage, int contentLength ) {
+    LifeCycleMetrics metrics = getApplicationContext().getLifeCycleMetrics();
+    if( metrics.isEnabled() ) {
+      metrics.requestCompleted( responseMessage.getOperations().size(), contentLength );
+    }
   }
 
   private static void writeBufferedResponse( HttpServletResponse response ) throws IOException {
-    getBufferedMessage().toJson().writeTo( response.getWriter() );
+    writeContent( getBufferedMessage(), response );
   }
 
-  private static void bufferMessage( ResponseMessage responseMessage ) {
+  private static void bufferMessage( byte[] content ) {
     UISession uiSession = getUISession();
     if( uiSession != null ) {
-      uiSession.setAttribute( ATTR_LAST_RESPONSE_MESSAGE, responseMessage );
+      uiSession.setAttribute( ATTR_LAST_RESPONSE_MESSAGE, content );
     }
   }
 
-  private static ResponseMessage getBufferedMessage() {
-    return ( ResponseMessage )getUISession().getAttribute( ATTR_LAST_RESPONSE_MESSAGE );
+  private static byte[] getBufferedMessage() {
+    return ( byte[] )getUISession().getAttribute( ATTR_LAST_RESPONSE_MESSAGE );
+  }
+
+  /*
+   * The message is encoded while it is written to the response. Each operation is serialized on
+   * its own, there is no JSON structure for the entire message.
+   */
+  private static void writeMessage( Message message, OutputStream outputStream )
+    throws IOException
+  {
+    OutputStreamWriter streamWriter = new OutputStreamWriter( outputStream, CHARSET_UTF_8 );
+    Writer writer = new BufferedWriter( streamWriter, INITIAL_BUFFER_SIZE );
+    message.writeTo( writer );
+    writer.flush();
+  }
+
+  private static void writeContent( byte[] content, ServletResponse response ) throws IOException {
+    response.setContentLength( content.length );
+    response.getOutputStream().write( content );
+  }
+
+  /*
+   * Passes the encoded message to the response and keeps a copy for re-sending the response of
+   * duplicate requests, which is considerably smaller than the message object graph.
+   */
+  private static final class TeeOutputStream extends OutputStream {
+
+    private final OutputStream outputStream;
+    private final OutputStream copy;
+
+    TeeOutputStream( OutputStream outputStream, OutputStream copy ) {
+      this.outputStream = outputStream;
+      this.copy = copy;
+    }
+
+    @Override
+    public void write( int b ) throws IOException {
+      outputStream.write( b );
+      copy.write( b );
+    }
+
+    @Override
+    public void write( byte[] bytes, int offset, int length ) throws IOException {
+      outputStream.write( bytes, offset, length );
+      copy.write( bytes, offset, length );
+    }
+
+    @Override
+    public void flush() throws IOException {
+      outputStream.flush();
+      copy.flush();
+    }
+
   }
 
 }
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.rap.rwt.internal.service.StartupPageTemplate.Token;
+import org.eclipse.rap.rwt.internal.service.StartupPageTemplate.VariableWriter;
+import org.eclipse.rap.rwt.internal.util.HTTP;
+
+
+/*
+ * A startup page whose static parts are encoded once. Only the variables that differ between
+ * requests are written anew for every request and spliced in between the static segments.
+ */
+final class PrecompiledStartupPage {
+
+  private static final Charset UTF_8 = Charset.forName( HTTP.CHARSET_UTF_8 );
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  // byte[] for static segments, String for the names of dynamic variables
+  private final Object[] segments;
+  private final byte[] staticDigest;
+
+  PrecompiledStartupPage( StartupPageTemplate template,
+                          VariableWriter variableWriter,
+                          Collection<String> dynamicVariables )
+  {
+    List<Object> segmentList = new ArrayList<>();
+    MessageDigest digest = createDigest();
+    StringWriter buffer = new StringWriter();
+    PrintWriter printWriter = new PrintWriter( buffer );
+    for( Token token : template.getTokens() ) {
+      String string = token.toString();
+      boolean variable = token.isVariable();
+      if( variable && dynamicVariables.contains( string ) ) {
+        printWriter.flush();
+        addStaticSegment( segmentList, digest, buffer );
+        buffer = new StringWriter();
+        printWriter = new PrintWriter( buffer );
+        segmentList.add( string );
+      } else if( variable ) {
+        variableWriter.writeVariable( printWriter, string );
+      } else {
+        printWriter.print( string );
+      }
+    }
+    printWriter.flush();
+    addStaticSegment( segmentList, digest, buffer );
+    segments = segmentList.toArray();
+    staticDigest = digest.digest();
+  }
+
+  /*
+   * Writes the dynamic variables and returns the content of the page together with an entity tag
+   * that covers both, the static and the dynamic parts.
+   */
+  Content render( VariableWriter variableWriter ) {
+    byte[][] parts = new byte[ segments.length ][];
+    MessageDigest digest = createDigest();
+    digest.update( staticDigest );
+    for( int i = 0; i < segments.length; i++ ) {
+      if( segments[ i ] instanceof String ) {
+        StringWriter buffer = new StringWriter();
+        PrintWriter printWriter = new PrintWriter( buffer );
+        variableWriter.writeVariable( printWriter, ( String )segments[ i ] );
+        printWriter.flush();
+        parts[ i ] = buffer.toString().getBytes( UTF_8 );
+        updateDigest( digest, parts[ i ] );
+      } else {
+        parts[ i ] = ( byte[] )segments[ i ];
+      }
+    }
+    return new Content( parts, "\"" + toHex( digest.digest() ) + "\"" );
+  }
+
+  private static void addStaticSegment( List<Object> segmentList,
+                                        MessageDigest digest,
+                                        StringWriter buffer )
+  {
+    if( buffer.getBuffer().length() > 0 ) {
+      byte[] bytes = buffer.toString().getBytes( UTF_8 );
+      updateDigest( digest, bytes );
+      segmentList.add( bytes );
+    }
+  }
+
+  private static void updateDigest( MessageDigest digest, byte[] bytes ) {
+    // include the length, so that content cannot move between adjacent segments unnoticed
+    int length = bytes.length;
+    digest.update( new byte[] {
+      ( byte )( length >>> 24 ), ( byte )( length >>> 16 ), ( byte )( length >>> 8 ), ( byte )length
+    } );
+    digest.update( bytes );
+  }
+
+  private static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance( "SHA-1" );
+    } catch( NoSuchAlgorithmException exception ) {
+      throw new RuntimeException( "SHA-1 is not available", exception );
+    }
+  }
+
+  private static String toHex( byte[] bytes ) {
+    char[] result = new char[ bytes.length * 2 ];
+    for( int i = 0; i < bytes.length; i++ ) {
+      result[ i * 2 ] = HEX_DIGITS[ ( bytes[ i ] >> 4 ) & 0xf ];
+      result[ i * 2 + 1 ] = HEX_DIGITS[ bytes[ i ] & 0xf ];
+    }
+    return new String( result );
+  }
+
+  static final class Content {
+
+    private final byte[][] parts;
+    private final String eTag;
+
+    private Content( byte[][] parts, String eTag ) {
+      this.parts = parts;
+      this.eTag = eTag;
+    }
+
+    String getETag() {
+      return eTag;
+    }
+
+    int getLength() {
+      int result = 0;
+      for( byte[] part : parts ) {
+        result += part.length;
+      }
+      return result;
+    }
+
+    void writeTo( OutputStream outputStream ) throws IOException {
+      for( byte[] part : parts ) {
+        outputStream.write( part );
+      }
+    }
+
+  }
+
+}
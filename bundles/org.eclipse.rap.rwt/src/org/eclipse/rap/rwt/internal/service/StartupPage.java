@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -20,15 +20,22 @@ import static org.eclipse.rap.rwt.internal.theme.ThemeUtil.getThemeIdFor;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.rap.rwt.client.WebClient;
 import org.eclipse.rap.rwt.internal.RWTMessages;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.lifecycle.EntryPointManager;
+import org.eclipse.rap.rwt.internal.service.PrecompiledStartupPage.Content;
 import org.eclipse.rap.rwt.internal.service.StartupPageTemplate.VariableWriter;
 import org.eclipse.rap.rwt.internal.theme.CssImage;
 import org.eclipse.rap.rwt.internal.theme.SimpleSelector;
@@ -36,35 +43,86 @@ import org.eclipse.rap.rwt.internal.util.HTTP;
 
 
 public class StartupPage {
+
+  /*
+   * The variables that depend on the request rather than on the entry point and its theme
+   */
+  private static final Collection<String> DYNAMIC_VARIABLES = Arrays.asList(
+    StartupPageTemplate.TOKEN_NO_SCRIPT_MESSAGE,
+    StartupPageTemplate.TOKEN_APP_SCRIPT
+  );
+
   private final ApplicationContextImpl applicationContext;
   private final List<String> jsLibraries;
+  private final ConcurrentMap<String, PrecompiledStartupPage> precompiledPages;
   private String clientJsLibrary;
   StartupPageTemplate startupPageTemplate;
 
   public StartupPage( ApplicationContextImpl applicationContext ) {
     this.applicationContext = applicationContext;
     jsLibraries = new ArrayList<>();
+    precompiledPages = new ConcurrentHashMap<>();
   }
 
   public void activate() {
     startupPageTemplate = new StartupPageTemplate();
+    precompiledPages.clear();
   }
 
   public void deactivate() {
     startupPageTemplate = null;
+    precompiledPages.clear();
   }
 
   public void setClientJsLibrary( String location ) {
     clientJsLibrary = location;
+    precompiledPages.clear();
   }
 
   public void addJsLibrary( String location ) {
     jsLibraries.add( location );
+    precompiledPages.clear();
   }
 
   public void send( HttpServletResponse response ) throws IOException {
-    setResponseHeaders( response );
-    startupPageTemplate.writePage( response.getWriter(), new StartupPageValueProvider() );
+    if( RWTProperties.isStartupPageCacheEnabled() ) {
+      sendPrecompiledPage( response );
+    } else {
+      setResponseHeaders( response );
+      startupPageTemplate.writePage( response.getWriter(), new StartupPageValueProvider() );
+    }
+  }
+
+  private void sendPrecompiledPage( HttpServletResponse response ) throws IOException {
+    Content content = getPrecompiledPage().render( new StartupPageValueProvider() );
+    setRevalidatingResponseHeaders( response );
+    response.setHeader( "ETag", content.getETag() );
+    if( matchesETag( getRequest(), content.getETag() ) ) {
+      response.setStatus( HttpServletResponse.SC_NOT_MODIFIED );
+    } else {
+      response.setContentLength( content.getLength() );
+      content.writeTo( response.getOutputStream() );
+    }
+  }
+
+  /*
+   * The page is precompiled lazily because the values of the static variables can only be
+   * obtained within a request to the respective entry point.
+   */
+  private PrecompiledStartupPage getPrecompiledPage() {
+    String servletPath = getRequest().getServletPath();
+    String key = servletPath + "|" + getThemeIdFor( servletPath );
+    PrecompiledStartupPage result = precompiledPages.get( key );
+    if( result == null ) {
+      result = new PrecompiledStartupPage( startupPageTemplate,
+                                           new StartupPageValueProvider(),
+                                           DYNAMIC_VARIABLES );
+      PrecompiledStartupPage existing = precompiledPages.putIfAbsent( key, result );
+      if( existing != null ) {
+        result = existing;
+      }
+    }
+    return result;
   }
 
   static void setResponseHeaders( HttpServletResponse response ) {
@@ -81,6 +139,34 @@ public class StartupPage {
     response.setDateHeader( "Expires", 0 );
   }
 
+  /*
+   * Unlike setResponseHeaders, this allows browsers to store the page, but obliges them to
+   * revalidate it on every use. This still avoids the cached page being used without a request, see
+   * bug 220733.
+   */
+  static void setRevalidatingResponseHeaders( HttpServletResponse response ) {
+    response.setContentType( HTTP.CONTENT_TYPE_HTML );
+    response.setCharacterEncoding( HTTP.CHARSET_UTF_8 );
+    response.addHeader( "Cache-Control", "max-age=0, no-cache, must-revalidate" );
+  }
+
+  private static boolean matchesETag( HttpServletRequest request, String eTag ) {
+    boolean result = false;
+    String ifNoneMatch = request.getHeader( "If-None-Match" );
+    if( ifNoneMatch != null ) {
+      for( String tag : ifNoneMatch.split( "," ) ) {
+        String trimmedTag = tag.trim();
+        if( trimmedTag.startsWith( "W/" ) ) {
+          trimmedTag = trimmedTag.substring( 2 );
+        }
+        if( trimmedTag.equals( eTag ) ) {
+          result = true;
+        }
+      }
+    }
+    return result;
+  }
+
   protected void writeTitle( PrintWriter printWriter ) {
     writeEntryPointProperty( printWriter, WebClient.PAGE_TITLE );
   }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -57,6 +57,10 @@ public final class StartupPageTemplate {
     printWriter.flush();
   }
 
+  Token[] getTokens() {
+    return tokens.clone();
+  }
+
   private static String loadStatupPageTemplate() {
     StringBuilder buffer = new StringBuilder();
     try {
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.textsize;
+
+import static org.eclipse.rap.rwt.internal.util.EncodingUtil.splitNewLines;
+
+import java.awt.FontFormatException;
+import java.awt.font.FontRenderContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.rap.rwt.internal.util.ParamCheck;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Point;
+
+
+/*
+ * Measures texts on the server using the font metrics of Java2D. Only fonts that have been added
+ * to this instance are measured. Since the results are only exact if the client renders the same
+ * font, the fonts added here should be the same font files that are served to the client.
+ */
+public final class FontMetricsMeasurement {
+
+  private static final String LINE_HEIGHT_SAMPLE = "Xg";
+
+  private final ConcurrentMap<String, java.awt.Font> fonts;
+  private final ConcurrentMap<FontData, java.awt.Font> derivedFonts;
+  private final FontRenderContext renderContext;
+
+  public FontMetricsMeasurement() {
+    fonts = new ConcurrentHashMap<>();
+    derivedFonts = new ConcurrentHashMap<>();
+    renderContext = new FontRenderContext( null, true, true );
+  }
+
+  public void addFont( InputStream inputStream ) throws IOException {
+    ParamCheck.notNull( inputStream, "inputStream" );
+    try {
+      addFont( java.awt.Font.createFont( java.awt.Font.TRUETYPE_FONT, inputStream ) );
+    } catch( FontFormatException exception ) {
+      throw new IllegalArgumentException( "Unsupported font format", exception );
+    }
+  }
+
+  public void addFont( java.awt.Font font ) {
+    ParamCheck.notNull( font, "font" );
+    fonts.put( normalizeName( font.getFamily( Locale.ENGLISH ) ), font );
+    derivedFonts.clear();
+  }
+
+  public boolean canMeasure( FontData fontData ) {
+    return !fonts.isEmpty() && getFont( fontData ) != null;
+  }
+
+  Point measure( FontData fontData, String string, int wrapWidth, int mode ) {
+    java.awt.Font font = getFont( fontData );
+    if( font == null || mode == TextSizeUtil.MARKUP_EXTENT ) {
+      return null;
+    }
+    if( mode == TextSizeUtil.STRING_EXTENT ) {
+      return new Point( getLineWidth( font, string ), getLineHeight( font ) );
+    }
+    return textExtent( font, string, wrapWidth );
+  }
+
+  int getCharHeight( FontData fontData ) {
+    return getLineHeight( getFont( fontData ) );
+  }
+
+  float getAvgCharWidth( FontData fontData ) {
+    String text = Probe.DEFAULT_PROBE_STRING;
+    return ( float )getFont( fontData ).getStringBounds( text, renderContext ).getWidth()
+         / text.length();
+  }
+
+  private Point textExtent( java.awt.Font font, String string, int wrapWidth ) {
+    int lineCount = 0;
+    int maxWidth = 0;
+    for( String line : splitNewLines( string ) ) {
+      String remaining = line;
+      boolean done = false;
+      while( !done ) {
+        lineCount++;
+        int index = wrapWidth > 0 ? getWrapIndex( font, remaining, wrapWidth ) : 0;
+        if( index == 0 ) {
+          maxWidth = Math.max( maxWidth, getLineWidth( font, remaining ) );
+          done = true;
+        } else {
+          maxWidth = Math.max( maxWidth, getLineWidth( font, remaining.substring( 0, index ) ) );
+          remaining = remaining.substring( index + 1 );
+        }
+      }
+    }
+    return new Point( maxWidth, lineCount * getLineHeight( font ) );
+  }
+
+  /*
+   * Returns the index of the last space at which the line must be wrapped, or zero if the line
+   * fits or cannot be wrapped.
+   */
+  private int getWrapIndex( java.awt.Font font, String line, int wrapWidth ) {
+    int result = 0;
+    if( getLineWidth( font, line ) > wrapWidth ) {
+      int index = line.indexOf( ' ' );
+      while( index > 0 && getLineWidth( font, line.substring( 0, index ) ) <= wrapWidth ) {
+        result = index;
+        index = line.indexOf( ' ', index + 1 );
+      }
+      if( result == 0 && index > 0 ) {
+        // the first word does not fit, wrap after it
+        result = index;
+      }
+    }
+    return result;
+  }
+
+  private int getLineWidth( java.awt.Font font, String line ) {
+    return ( int )Math.ceil( font.getStringBounds( line, renderContext ).getWidth() );
+  }
+
+  private int getLineHeight( java.awt.Font font ) {
+    float height = font.getLineMetrics( LINE_HEIGHT_SAMPLE, renderContext ).getHeight();
+    return ( int )Math.ceil( height );
+  }
+
+  private java.awt.Font getFont( FontData fontData ) {
+    java.awt.Font result = derivedFonts.get( fontData );
+    if( result == null ) {
+      java.awt.Font baseFont = fonts.get( getFirstFamily( fontData.getName() ) );
+      if( baseFont != null ) {
+        result = baseFont.deriveFont( getAwtStyle( fontData ), fontData.getHeight() );
+        derivedFonts.put( fontData, result );
+      }
+    }
+    return result;
+  }
+
+  // font names may contain a list of families, e.g. "Verdana, 'Lucida Sans', sans-serif", the
+  // client renders the first one if available
+  private static String getFirstFamily( String name ) {
+    int index = name.indexOf( ',' );
+    return normalizeName( index == -1 ? name : name.substring( 0, index ) );
+  }
+
+  private static String normalizeName( String name ) {
+    return name.replace( "\"", "" ).replace( "'", "" ).trim().toLowerCase( Locale.ENGLISH );
+  }
+
+  private static int getAwtStyle( FontData fontData ) {
+    int result = java.awt.Font.PLAIN;
+    if( ( fontData.getStyle() & SWT.BOLD ) != 0 ) {
+      result |= java.awt.Font.BOLD;
+    }
+    if( ( fontData.getStyle() & SWT.ITALIC ) != 0 ) {
+      result |= java.awt.Font.ITALIC;
+    }
+    return result;
+  }
+
+}
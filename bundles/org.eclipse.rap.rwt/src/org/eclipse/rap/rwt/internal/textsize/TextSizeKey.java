@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.textsize;
+
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Point;
+
+
+/*
+ * Key for the text size storage. The probe is part of the key, since clients with different
+ * probe results render the same font differently.
+ */
+final class TextSizeKey {
+
+  private final String probeText;
+  private final Point probeSize;
+  private final FontData fontData;
+  private final String string;
+  private final int wrapWidth;
+  private final int mode;
+  private final int hashCode;
+
+  TextSizeKey( ProbeResult probeResult, FontData fontData, String string, int wrapWidth, int mode ) {
+    probeText = probeResult.getProbe().getText();
+    probeSize = probeResult.getSize();
+    this.fontData = fontData;
+    this.string = string;
+    this.wrapWidth = wrapWidth;
+    this.mode = mode;
+    hashCode = computeHashCode();
+  }
+
+  @Override
+  public boolean equals( Object object ) {
+    if( this == object ) {
+      return true;
+    }
+    if( object == null || getClass() != object.getClass() ) {
+      return false;
+    }
+    TextSizeKey other = ( TextSizeKey )object;
+    return    hashCode == other.hashCode
+           && wrapWidth == other.wrapWidth
+           && mode == other.mode
+           && string.equals( other.string )
+           && fontData.equals( other.fontData )
+           && probeSize.equals( other.probeSize )
+           && probeText.equals( other.probeText );
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+  private int computeHashCode() {
+    int result = 1;
+    result = 31 * result + probeText.hashCode();
+    result = 31 * result + probeSize.hashCode();
+    result = 31 * result + fontData.hashCode();
+    result = 31 * result + string.hashCode();
+    result = 31 * result + wrapWidth;
+    result = 31 * result + mode;
+    return result;
+  }
+
+}
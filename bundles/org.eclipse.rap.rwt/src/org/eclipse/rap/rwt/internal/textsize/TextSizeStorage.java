@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,97 +11,124 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.textsize;
 
-import java.io.Serializable;
 import java.math.BigDecimal;
 import java.text.MessageFormat;
-import java.util.Arrays;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
+import java.util.Collections;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.graphics.Point;
 
 
+/*
+ * Lookups are served from a concurrent map without locking. The access order of the entries is
+ * kept in a linked list that is guarded by 'evictionLock'. Readers only try to acquire this lock
+ * to record an access. If the lock is held by another thread, the access is recorded in a bounded
+ * buffer that is drained by the next thread holding the lock.
+ */
 public final class TextSizeStorage {
   public static final int MIN_STORE_SIZE = 1000;
   public static final int DEFAULT_STORE_SIZE = 10000;
+  private static final int READ_BUFFER_SIZE = 128;
 
-  private final Object lock;
-  // access is guarded by 'lock'
   private final Set<FontData> fontDatas;
-  // access is guarded by 'lock'
-  private final Map<Integer,Entry> data;
-  private int maximumStoreSize;
-  private int clearRange;
-  private long clock;
-
+  private final ConcurrentMap<TextSizeKey, Entry> data;
+  private final Lock evictionLock;
+  private final Queue<Entry> readBuffer;
+  private final AtomicInteger readBufferSize;
+  private final AtomicLong hitCount;
+  private final AtomicLong missCount;
+  private final AtomicLong evictionCount;
+  // access is guarded by 'evictionLock', the list is ordered from most to least recently used
+  private final Entry head;
+  // access is guarded by 'evictionLock'
+  private int size;
+  private volatile int maximumStoreSize;
+  private volatile int clearRange;
 
   private static class Entry {
-    private Point point;
-    private long timeStamp;
-  }
-
-  private static class EntryComparator implements Comparator<Entry>, Serializable {
-
-    @Override
-    public int compare( Entry entry1, Entry entry2 ) {
-      int result = 0;
-      if( entry1.timeStamp > entry2.timeStamp ) {
-        result = 1;
-      } else if( entry1.timeStamp < entry2.timeStamp ) {
-        result = -1;
-      }
-      return result;
+    private final TextSizeKey key;
+    private final Point point;
+    private Entry previous;
+    private Entry next;
+
+    private Entry( TextSizeKey key, Point point ) {
+      this.key = key;
+      this.point = point;
     }
   }
 
-
   public TextSizeStorage() {
-    lock = new Object();
-    data = new HashMap<>();
-    fontDatas = new HashSet<>();
+    fontDatas = Collections.newSetFromMap( new ConcurrentHashMap<FontData, Boolean>() );
+    data = new ConcurrentHashMap<>();
+    evictionLock = new ReentrantLock();
+    readBuffer = new ConcurrentLinkedQueue<>();
+    readBufferSize = new AtomicInteger();
+    hitCount = new AtomicLong();
+    missCount = new AtomicLong();
+    evictionCount = new AtomicLong();
+    head = new Entry( null, null );
+    head.previous = head;
+    head.next = head;
     setMaximumStoreSize( DEFAULT_STORE_SIZE );
   }
 
   FontData[] getFontList() {
-    FontData[] result;
-    synchronized( lock ) {
-      result = new FontData[ fontDatas.size() ];
-      fontDatas.toArray( result );
-    }
-    return result;
+    return fontDatas.toArray( new FontData[ 0 ] );
   }
 
   void storeFont( FontData fontData ) {
-    synchronized( lock ) {
-      fontDatas.add( fontData );
+    fontDatas.add( fontData );
+  }
+
+  Point lookupTextSize( TextSizeKey key ) {
+    Entry entry = data.get( key );
+    if( entry == null ) {
+      missCount.incrementAndGet();
+      return null;
     }
+    hitCount.incrementAndGet();
+    recordAccess( entry );
+    return defensiveCopy( entry.point );
   }
 
-  Point lookupTextSize( Integer key ) {
-    Point result = null;
-    synchronized( lock ) {
-      Entry entry = data.get( key );
-      if( entry != null ) {
-        updateTimestamp( entry );
-        result = entry.point;
+  void storeTextSize( TextSizeKey key, Point size ) {
+    Entry entry = new Entry( key, defensiveCopy( size ) );
+    Entry replaced = data.put( key, entry );
+    evictionLock.lock();
+    try {
+      drainReadBuffer();
+      if( replaced != null && isLinked( replaced ) ) {
+        unlink( replaced );
+      }
+      // another thread may have replaced the entry in the meantime
+      if( data.get( key ) == entry ) {
+        linkFirst( entry );
+        handleOverFlow();
       }
+    } finally {
+      evictionLock.unlock();
     }
-    result = defensiveCopy( result );
-    return result;
   }
 
-  void storeTextSize( Integer key, Point size ) {
-    Entry entry = new Entry();
-    entry.point = defensiveCopy( size );
-    updateTimestamp( entry );
-    synchronized( lock ) {
-      data.put( key, entry );
-      handleOverFlow();
-    }
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.get();
   }
 
   ////////////////////
@@ -118,21 +145,70 @@ public final class TextSizeStorage {
   }
 
   private void handleOverFlow() {
-    if( data.size() >= maximumStoreSize ) {
-      Entry[] entries = sortEntries();
-      for( int i = 0; i < clearRange; i++ ) {
-        data.values().remove( entries[ i ] );
+    if( size >= maximumStoreSize ) {
+      for( int i = 0; i < clearRange && size > 0; i++ ) {
+        Entry eldest = head.previous;
+        unlink( eldest );
+        data.remove( eldest.key, eldest );
+        evictionCount.incrementAndGet();
       }
     }
   }
 
-  private Entry[] sortEntries() {
-    Entry[] result = new Entry[ data.size() ];
-    data.values().toArray( result );
-    Arrays.sort( result, new EntryComparator() );
-    return result;
+  ////////////////////
+  // access order
+
+  private void recordAccess( Entry entry ) {
+    if( evictionLock.tryLock() ) {
+      try {
+        drainReadBuffer();
+        moveToFront( entry );
+      } finally {
+        evictionLock.unlock();
+      }
+    } else if( readBufferSize.get() < READ_BUFFER_SIZE ) {
+      // accesses that do not fit into the buffer are dropped, which only affects the LRU order
+      readBufferSize.incrementAndGet();
+      readBuffer.offer( entry );
+    }
+  }
+
+  private void drainReadBuffer() {
+    Entry entry = readBuffer.poll();
+    while( entry != null ) {
+      readBufferSize.decrementAndGet();
+      moveToFront( entry );
+      entry = readBuffer.poll();
+    }
   }
 
+  private void moveToFront( Entry entry ) {
+    // ignore entries that have been evicted or replaced meanwhile
+    if( isLinked( entry ) ) {
+      unlink( entry );
+      linkFirst( entry );
+    }
+  }
+
+  private void linkFirst( Entry entry ) {
+    entry.previous = head;
+    entry.next = head.next;
+    head.next.previous = entry;
+    head.next = entry;
+    size++;
+  }
+
+  private void unlink( Entry entry ) {
+    entry.previous.next = entry.next;
+    entry.next.previous = entry.previous;
+    entry.previous = null;
+    entry.next = null;
+    size--;
+  }
+
+  private static boolean isLinked( Entry entry ) {
+    return entry.next != null;
+  }
 
   //////////////////
   // helping methods
@@ -149,10 +225,6 @@ public final class TextSizeStorage {
     return point == null ? null : new Point( point.x, point.y );
   }
 
-  private void updateTimestamp( Entry entry ) {
-    entry.timeStamp = clock++;
-  }
-
   private void calculateClearRange( int maximumStoreSize ) {
     BigDecimal ten = new BigDecimal( 10 );
     BigDecimal bdStoreSize = new BigDecimal( maximumStoreSize );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -55,7 +55,9 @@ public class TextSizeUtil {
 
   public static int getCharHeight( Font font ) {
     int result;
-    if( containsProbeResult( font ) ) {
+    if( canMeasure( font ) ) {
+      result = getFontMetricsMeasurement().getCharHeight( FontUtil.getData( font ) );
+    } else if( containsProbeResult( font ) ) {
       result = lookupCharHeight( font );
     } else {
       result = estimateCharHeight( font );
@@ -66,7 +68,9 @@ public class TextSizeUtil {
 
   public static float getAvgCharWidth( Font font ) {
     float result;
-    if( containsProbeResult( font ) ) {
+    if( canMeasure( font ) ) {
+      result = getFontMetricsMeasurement().getAvgCharWidth( FontUtil.getData( font ) );
+    } else if( containsProbeResult( font ) ) {
       result = lookupAvgCharWidth( font );
     } else {
       result = estimateAvgCharWidth( font );
@@ -94,7 +98,10 @@ public class TextSizeUtil {
 
   private static Point determineTextSize( Font font, String string, int wrapWidth, int mode ) {
     int normalizedWrapWidth = normalizeWrapWidth( wrapWidth );
-    Point result = lookup( font, string, normalizedWrapWidth, mode );
+    Point result = measure( font, string, normalizedWrapWidth, mode );
+    if( result == null ) {
+      result = lookup( font, string, normalizedWrapWidth, mode );
+    }
     if( result == null ) {
       result = estimate( font, string, normalizedWrapWidth, mode );
       if( !isTemporaryResize() ) {
@@ -124,6 +131,29 @@ public class TextSizeUtil {
     return TextSizeStorageUtil.lookup( fontData, measurementString, wrapWidth, mode );
   }
 
+  private static Point measure( Font font, String string, int wrapWidth, int mode ) {
+    Point result = null;
+    if( canMeasure( font ) ) {
+      String measurementString = createMeasurementString( string, mode );
+      FontData fontData = FontUtil.getData( font );
+      result = getFontMetricsMeasurement().measure( fontData, measurementString, wrapWidth, mode );
+    }
+    return result;
+  }
+
+  /*
+   * Fonts registered for server side measurement take precedence over client measurements, so that
+   * the text sizes and the character metrics of a font are always taken from the same source.
+   */
+  private static boolean canMeasure( Font font ) {
+    FontMetricsMeasurement measurement = getFontMetricsMeasurement();
+    return measurement != null && measurement.canMeasure( FontUtil.getData( font ) );
+  }
+
+  private static FontMetricsMeasurement getFontMetricsMeasurement() {
+    return ContextProvider.getApplicationContext().getFontMetricsMeasurement();
+  }
+
   private static Point estimate( Font font, String string, int wrapWidth, int mode ) {
     Point result;
     switch( mode ) {
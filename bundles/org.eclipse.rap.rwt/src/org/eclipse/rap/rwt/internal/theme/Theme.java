@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,23 +15,30 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.internal.theme.css.ConditionalValue;
 import org.eclipse.rap.rwt.internal.theme.css.CssElementHolder;
 import org.eclipse.rap.rwt.internal.theme.css.StyleSheet;
 import org.eclipse.rap.rwt.service.ApplicationContext;
 import org.eclipse.rap.rwt.service.ResourceManager;
+import org.eclipse.swt.widgets.Widget;
 
 
 public class Theme {
 
   private static final String JS_THEME_PREFIX = "rwt.theme.";
+  private static final Object NO_VALUE = new Object();
 
   private final String id;
   private final String jsId;
   private final String name;
   private StyleSheetBuilder styleSheetBuilder;
   private CssValuesMap valuesMap;
+  private final ConcurrentMap<String, ConcurrentMap<String, ConditionalValue[]>> resolvedValues;
+  private final ConcurrentMap<String, ConcurrentMap<SelectionKey, Object>> selectedValues;
 
   private String registeredLocation;
 
@@ -45,6 +52,8 @@ public class Theme {
     this.name = name != null ? name : "Unnamed Theme";
     jsId = createUniqueJsId( id );
     valuesMap = null;
+    resolvedValues = new ConcurrentHashMap<>();
+    selectedValues = new ConcurrentHashMap<>();
     styleSheetBuilder = new StyleSheetBuilder();
     if( styleSheet != null ) {
       styleSheetBuilder.addStyleSheet( styleSheet );
@@ -103,6 +112,101 @@ public class Theme {
     return valuesMap;
   }
 
+  /**
+   * Returns the conditional values of this theme for the given element and property, followed by
+   * the values of the given fallback theme. As selectors return the first matching value, selecting
+   * from the result is equivalent to selecting from this theme and resorting to the fallback theme
+   * if no value matches. The result is computed only once per element and property.
+   */
+  public ConditionalValue[] getResolvedValues( String element,
+                                               String property,
+                                               Theme fallbackTheme )
+  {
+    ConcurrentMap<String, ConditionalValue[]> elementValues = resolvedValues.get( element );
+    if( elementValues == null ) {
+      elementValues = new ConcurrentHashMap<>();
+      ConcurrentMap<String, ConditionalValue[]> existing
+        = resolvedValues.putIfAbsent( element, elementValues );
+      if( existing != null ) {
+        elementValues = existing;
+      }
+    }
+    ConditionalValue[] result = elementValues.get( property );
+    if( result == null ) {
+      // Resolving is deterministic, concurrent insertions of the same values are not critical
+      result = resolveValues( element, property, fallbackTheme );
+      elementValues.put( property, result );
+    }
+    return result;
+  }
+
+  /**
+   * Selects the value of the given element and property for the given widget from the resolved
+   * values. If the selector is a widget matcher, the selected value is remembered per element,
+   * property and signature of the widget, so that widgets with equal signatures skip the matching.
+   */
+  public CssValue selectValue( String element,
+                               String property,
+                               ValueSelector selector,
+                               Widget widget,
+                               Theme fallbackTheme )
+  {
+    Object signature = null;
+    if( selector instanceof WidgetMatcher && widget != null ) {
+      signature = ( ( WidgetMatcher )selector ).getSignature( widget );
+    }
+    CssValue result;
+    if( signature == null ) {
+      result = selector.select( widget, getResolvedValues( element, property, fallbackTheme ) );
+    } else {
+      ConcurrentMap<SelectionKey, Object> elementValues = getSelectedValues( element );
+      SelectionKey key = new SelectionKey( property, signature );
+      Object value = elementValues.get( key );
+      if( value == null ) {
+        // Selecting is deterministic, concurrent insertions of the same value are not critical
+        ConditionalValue[] values = getResolvedValues( element, property, fallbackTheme );
+        result = selector.select( widget, values );
+        elementValues.put( key, result != null ? result : NO_VALUE );
+      } else {
+        result = value != NO_VALUE ? ( CssValue )value : null;
+      }
+    }
+    return result;
+  }
+
+  private ConcurrentMap<SelectionKey, Object> getSelectedValues( String element ) {
+    ConcurrentMap<SelectionKey, Object> result = selectedValues.get( element );
+    if( result == null ) {
+      result = new ConcurrentHashMap<>();
+      ConcurrentMap<SelectionKey, Object> existing = selectedValues.putIfAbsent( element, result );
+      if( existing != null ) {
+        result = existing;
+      }
+    }
+    return result;
+  }
+
+  private ConditionalValue[] resolveValues( String element, String property, Theme fallbackTheme ) {
+    ConditionalValue[] values = getValues( getValuesMap(), element, property );
+    ConditionalValue[] result = values;
+    if( fallbackTheme != null && fallbackTheme != this ) {
+      CssValuesMap fallbackValuesMap = fallbackTheme.getValuesMap();
+      ConditionalValue[] fallbackValues = getValues( fallbackValuesMap, element, property );
+      result = new ConditionalValue[ values.length + fallbackValues.length ];
+      System.arraycopy( values, 0, result, 0, values.length );
+      System.arraycopy( fallbackValues, 0, result, values.length, fallbackValues.length );
+    }
+    return result;
+  }
+
+  private static ConditionalValue[] getValues( CssValuesMap valuesMap,
+                                               String element,
+                                               String property )
+  {
+    ConditionalValue[] result = valuesMap.getValues( element, property );
+    return result != null ? result : new ConditionalValue[ 0 ];
+  }
+
   public String getRegisteredLocation() {
     return registeredLocation;
   }
@@ -176,4 +280,31 @@ public class Theme {
     return JS_THEME_PREFIX + "Custom_" + hash;
   }
 
+  private static final class SelectionKey {
+
+    private final String property;
+    private final Object signature;
+
+    SelectionKey( String property, Object signature ) {
+      this.property = property;
+      this.signature = signature;
+    }
+
+    @Override
+    public boolean equals( Object object ) {
+      boolean result = object == this;
+      if( !result && object instanceof SelectionKey ) {
+        SelectionKey other = ( SelectionKey )object;
+        result = property.equals( other.property ) && signature.equals( other.signature );
+      }
+      return result;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * property.hashCode() + signature.hashCode();
+    }
+
+  }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2015 EclipseSource and others.
+ * Copyright (c) 2009, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,8 +11,8 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.theme;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleAdapterUtil;
 import org.eclipse.rap.rwt.internal.util.ClassInstantiationException;
@@ -24,10 +24,10 @@ import org.eclipse.swt.widgets.Widget;
 
 public final class ThemeAdapterManager {
 
-  private final Map<Class<? extends Widget>, ThemeAdapter> themeAdapters;
+  private final ConcurrentMap<Class<? extends Widget>, ThemeAdapter> themeAdapters;
 
   public ThemeAdapterManager() {
-    themeAdapters = new HashMap<>();
+    themeAdapters = new ConcurrentHashMap<>();
   }
 
   public void reset() {
@@ -36,16 +36,14 @@ public final class ThemeAdapterManager {
 
   public ThemeAdapter getThemeAdapter( Widget widget ) {
     Class<? extends Widget> widgetClass = widget.getClass();
-    ThemeAdapter result;
-    synchronized( themeAdapters ) {
-      result = themeAdapters.get( widgetClass );
-      if( result == null ) {
-        ThemeAdapter adapter = findThemeAdapter( widgetClass );
-        themeAdapters.put( widgetClass, adapter );
-        result = adapter;
-      }
+    // Adapters are looked up for every rendered widget, reads must not block
+    ThemeAdapter result = themeAdapters.get( widgetClass );
+    if( result == null ) {
+      ThemeAdapter adapter = findThemeAdapter( widgetClass );
+      ensureThemeAdapterWasFound( widgetClass, adapter );
+      ThemeAdapter existing = themeAdapters.putIfAbsent( widgetClass, adapter );
+      result = existing != null ? existing : adapter;
     }
-    ensureThemeAdapterWasFound( widgetClass, result );
     return result;
   }
 
@@ -23,7 +23,6 @@ import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.lifecycle.EntryPointManager;
 import org.eclipse.rap.rwt.internal.lifecycle.EntryPointRegistration;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
-import org.eclipse.rap.rwt.internal.theme.css.ConditionalValue;
 import org.eclipse.rap.rwt.internal.theme.css.CssFileReader;
 import org.eclipse.rap.rwt.internal.theme.css.StyleSheet;
 import org.eclipse.rap.rwt.service.ResourceLoader;
@@ -143,18 +142,9 @@ public final class ThemeUtil {
                                       ValueSelector selector,
                                       Widget widget )
   {
-    Theme theme =  getApplicationContext().getThemeManager().getTheme( themeId );
-    CssValuesMap valuesMap = theme.getValuesMap();
-    ConditionalValue[] values = valuesMap.getValues( cssElement, cssProperty );
-    CssValue result = selector.select( widget, values );
-    if( result == null ) {
-      // resort to fallback theme
-      theme = getFallbackTheme();
-      valuesMap = theme.getValuesMap();
-      values = valuesMap.getValues( cssElement, cssProperty );
-      result = selector.select( widget, values );
-    }
-    return result;
+    Theme theme = getApplicationContext().getThemeManager().getTheme( themeId );
+    // values of the fallback theme are appended to the resolved values
+    return theme.selectValue( cssElement, cssProperty, selector, widget, getFallbackTheme() );
   }
 
   private ThemeUtil() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,8 +11,10 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.theme;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil;
 import org.eclipse.rap.rwt.internal.theme.css.ConditionalValue;
@@ -25,21 +27,52 @@ public final class WidgetMatcher implements ValueSelector {
     boolean matches( Widget widget );
   }
 
+  private static final int MAX_STATES = Long.SIZE;
+
   private final Map<String, Constraint> constraintMap;
+  private final List<Constraint> states;
+  private volatile int styleMask;
 
   public WidgetMatcher() {
     // This map is accessed by all UI sessions simultaneously. However, We don't need to
     // synchronize get and put since constraints are deterministic, i.e. in case of concurrent
     // insertions one constraint overwriting the other is not critical.
     constraintMap = new ConcurrentHashMap<>();
+    states = new CopyOnWriteArrayList<>();
   }
 
-  public void addStyle( String string, int style ) {
+  public synchronized void addStyle( String string, int style ) {
     constraintMap.put( "[" + string, createStyleConstraint( style ) );
+    styleMask |= style;
   }
 
   public void addState( String string, Constraint constraint ) {
     constraintMap.put( ":" + string, constraint );
+    states.add( constraint );
+  }
+
+  /**
+   * Returns a signature of the given widget that covers everything this matcher can match on: the
+   * registered style bits, the registered states and the variant. Widgets with equal signatures
+   * select the same value from any conditional values array, hence the selected values can be
+   * remembered per signature. Signatures of different matchers are never equal. Returns
+   * <code>null</code> if the states of this matcher do not fit into a signature.
+   */
+  public Object getSignature( Widget widget ) {
+    Object result = null;
+    if( states.size() <= MAX_STATES ) {
+      long stateBits = 0;
+      int index = 0;
+      for( Constraint state : states ) {
+        if( index < MAX_STATES && state.matches( widget ) ) {
+          stateBits |= 1L << index;
+        }
+        index++;
+      }
+      int styleBits = widget.getStyle() & styleMask;
+      result = new Signature( this, styleBits, stateBits, WidgetUtil.getVariant( widget ) );
+    }
+    return result;
   }
 
   @Override
@@ -97,4 +130,42 @@ public final class WidgetMatcher implements ValueSelector {
     return actualVariant != null && actualVariant.equals( variant );
   }
 
+  private static final class Signature {
+
+    private final WidgetMatcher matcher;
+    private final int styleBits;
+    private final long stateBits;
+    private final String variant;
+
+    Signature( WidgetMatcher matcher, int styleBits, long stateBits, String variant ) {
+      this.matcher = matcher;
+      this.styleBits = styleBits;
+      this.stateBits = stateBits;
+      this.variant = variant;
+    }
+
+    @Override
+    public boolean equals( Object object ) {
+      boolean result = object == this;
+      if( !result && object instanceof Signature ) {
+        Signature other = ( Signature )object;
+        result =    matcher == other.matcher
+                 && styleBits == other.styleBits
+                 && stateBits == other.stateBits
+                 && ( variant == null ? other.variant == null : variant.equals( other.variant ) );
+      }
+      return result;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = System.identityHashCode( matcher );
+      result = 31 * result + styleBits;
+      result = 31 * result + ( int )( stateBits ^ ( stateBits >>> 32 ) );
+      result = 31 * result + ( variant == null ? 0 : variant.hashCode() );
+      return result;
+    }
+
+  }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -24,6 +24,7 @@ public final class HTTP {
   public final static String CHARSET_UTF_8 = "UTF-8";
   public static final String METHOD_GET = "GET";
   public static final String METHOD_POST = "POST";
+  public static final String METHOD_HEAD = "HEAD";
   public static final String HEADER_ACCEPT = "Accept";
 
   private HTTP() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,70 +10,279 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.util;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
 
+/*
+ * Lookups of existing instances do not lock, only the creation of a missing instance is
+ * serialized, so that there is never more than one instance per key.
+ *
+ * With a retention other than STRONG, instances are held by soft or weak references and can be
+ * reclaimed by the garbage collector once they are no longer referenced elsewhere. As long as an
+ * instance is referenced, the buffer returns this very instance for its key. The most recently
+ * returned instances are additionally pinned in a ring of the given size, so that instances
+ * which are used frequently but held only briefly are not recreated over and over.
+ */
 public class SharedInstanceBuffer<K, I> implements Serializable {
 
-  private final Lock readLock;
-  private final Lock writeLock;
-  private final Map<K, I> store;
+  public enum Retention {
+    STRONG,
+    SOFT,
+    WEAK
+  }
+
+  private final Retention retention;
+  private final int recentlyUsedSize;
+  private final Lock lock;
+  private final AtomicLong hitCount;
+  private final AtomicLong missCount;
+  private final AtomicLong evictionCount;
+  private transient ConcurrentMap<Object, Object> store;
+  private transient ReferenceQueue<I> referenceQueue;
+  private transient AtomicReferenceArray<Object> recentlyUsed;
+  private transient AtomicInteger recentlyUsedIndex;
 
   public SharedInstanceBuffer() {
-    ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
-    readLock = readWriteLock.readLock();
-    writeLock = readWriteLock.writeLock();
-    store = new HashMap<>();
+    this( Retention.STRONG, 0 );
+  }
+
+  public SharedInstanceBuffer( Retention retention, int recentlyUsedSize ) {
+    ParamCheck.notNull( retention, "retention" );
+    if( recentlyUsedSize < 0 ) {
+      throw new IllegalArgumentException( "recentlyUsedSize must not be negative" );
+    }
+    this.retention = retention;
+    this.recentlyUsedSize = retention == Retention.STRONG ? 0 : recentlyUsedSize;
+    lock = new ReentrantLock();
+    hitCount = new AtomicLong();
+    missCount = new AtomicLong();
+    evictionCount = new AtomicLong();
+    initialize();
   }
 
   public I get( K key, InstanceCreator<K, I> instanceCreator ) {
-    I result = getInstance( key );
+    Object storeKey = toStoreKey( key );
+    I result = getInstance( storeKey );
     if( result == null ) {
-      result = createInstance( key, instanceCreator );
+      result = createInstance( key, storeKey, instanceCreator );
+    } else {
+      hitCount.incrementAndGet();
+      markRecentlyUsed( result );
     }
     return result;
   }
 
   public I remove( K key ) {
-    writeLock.lock();
+    lock.lock();
     try {
-      return store.remove( key );
+      return dereference( store.remove( toStoreKey( key ) ) );
     } finally {
-      writeLock.unlock();
+      lock.unlock();
     }
   }
 
-  private I getInstance( K key ) {
-    readLock.lock();
-    try {
-      return store.get( key );
-    } finally {
-      readLock.unlock();
+  public Retention getRetention() {
+    return retention;
+  }
+
+  /*
+   * Returns the number of instances in the buffer that have not been reclaimed.
+   */
+  public int size() {
+    expungeReclaimedInstances();
+    int result = 0;
+    for( Object entry : store.values() ) {
+      if( dereference( entry ) != null ) {
+        result++;
+      }
     }
+    return result;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
   }
 
-  private I createInstance( K key, InstanceCreator<K, I> instanceCreator ) {
-    writeLock.lock();
+  /*
+   * Returns the number of instances that were reclaimed by the garbage collector.
+   */
+  public long getEvictionCount() {
+    expungeReclaimedInstances();
+    return evictionCount.get();
+  }
+
+  private I getInstance( Object storeKey ) {
+    return dereference( store.get( storeKey ) );
+  }
+
+  private I createInstance( K key, Object storeKey, InstanceCreator<K, I> instanceCreator ) {
+    lock.lock();
     try {
-      // Re-check because another thread might have acquired write lock and created an instance
-      // before we did. See doc on ReentrantReadWriteLock.
-      I result = store.get( key );
+      expungeReclaimedInstances();
+      // Re-check because another thread might have created an instance before we acquired the
+      // lock
+      I result = getInstance( storeKey );
       if( result == null ) {
         result = instanceCreator.createInstance( key );
-        store.put( key, result );
+        store.put( storeKey, wrap( storeKey, result ) );
+        missCount.incrementAndGet();
+      } else {
+        hitCount.incrementAndGet();
       }
+      markRecentlyUsed( result );
       return result;
     } finally {
-      writeLock.unlock();
+      lock.unlock();
+    }
+  }
+
+  private Object wrap( Object storeKey, I instance ) {
+    Object result;
+    if( retention == Retention.SOFT ) {
+      result = new SoftInstanceReference<>( storeKey, instance, referenceQueue );
+    } else if( retention == Retention.WEAK ) {
+      result = new WeakInstanceReference<>( storeKey, instance, referenceQueue );
+    } else {
+      result = instance;
+    }
+    return result;
+  }
+
+  @SuppressWarnings( "unchecked" )
+  private I dereference( Object entry ) {
+    I result;
+    if( retention != Retention.STRONG && entry != null ) {
+      result = ( ( Reference<I> )entry ).get();
+    } else {
+      result = ( I )entry;
+    }
+    return result;
+  }
+
+  private void markRecentlyUsed( I instance ) {
+    if( recentlyUsedSize > 0 ) {
+      int index = ( recentlyUsedIndex.getAndIncrement() & Integer.MAX_VALUE ) % recentlyUsedSize;
+      recentlyUsed.set( index, instance );
+    }
+  }
+
+  private void expungeReclaimedInstances() {
+    Reference<? extends I> reference = referenceQueue.poll();
+    while( reference != null ) {
+      Object storeKey = ( ( InstanceReference )reference ).getStoreKey();
+      if( store.remove( storeKey, reference ) ) {
+        evictionCount.incrementAndGet();
+      }
+      reference = referenceQueue.poll();
     }
   }
 
+  private void initialize() {
+    store = new ConcurrentHashMap<>();
+    referenceQueue = new ReferenceQueue<>();
+    recentlyUsed = new AtomicReferenceArray<>( recentlyUsedSize );
+    recentlyUsedIndex = new AtomicInteger();
+  }
+
+  private void writeObject( ObjectOutputStream stream ) throws IOException {
+    stream.defaultWriteObject();
+    Map<Object, I> instances = new HashMap<>();
+    for( Entry<Object, Object> entry : store.entrySet() ) {
+      I instance = dereference( entry.getValue() );
+      if( instance != null ) {
+        instances.put( entry.getKey(), instance );
+      }
+    }
+    stream.writeObject( instances );
+  }
+
+  @SuppressWarnings( "unchecked" )
+  private void readObject( ObjectInputStream stream ) throws IOException, ClassNotFoundException {
+    stream.defaultReadObject();
+    initialize();
+    Map<Object, I> instances = ( Map<Object, I> )stream.readObject();
+    for( Entry<Object, I> entry : instances.entrySet() ) {
+      store.put( entry.getKey(), wrap( entry.getKey(), entry.getValue() ) );
+      markRecentlyUsed( entry.getValue() );
+    }
+  }
+
+  private static Object toStoreKey( Object key ) {
+    return key == null ? NullKey.INSTANCE : key;
+  }
+
   public interface InstanceCreator<K, T> extends Serializable {
     T createInstance( K key );
   }
 
+  private interface InstanceReference {
+    Object getStoreKey();
+  }
+
+  private static final class SoftInstanceReference<I>
+    extends SoftReference<I>
+    implements InstanceReference
+  {
+
+    private final Object storeKey;
+
+    SoftInstanceReference( Object storeKey, I instance, ReferenceQueue<? super I> queue ) {
+      super( instance, queue );
+      this.storeKey = storeKey;
+    }
+
+    @Override
+    public Object getStoreKey() {
+      return storeKey;
+    }
+
+  }
+
+  private static final class WeakInstanceReference<I>
+    extends WeakReference<I>
+    implements InstanceReference
+  {
+
+    private final Object storeKey;
+
+    WeakInstanceReference( Object storeKey, I instance, ReferenceQueue<? super I> queue ) {
+      super( instance, queue );
+      this.storeKey = storeKey;
+    }
+
+    @Override
+    public Object getStoreKey() {
+      return storeKey;
+    }
+
+  }
+
+  /*
+   * ConcurrentHashMap does not accept null keys
+   */
+  private enum NullKey {
+    INSTANCE
+  }
+
 }
@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.service;
+
+
+/**
+ * Receives the measurements of each completed request, e.g. to forward them to an external
+ * monitoring system. Metrics are only collected if the system property
+ * <code>org.eclipse.rap.rwt.metrics</code> is set to <code>true</code>.
+ * <p>
+ * Exporters are called on the request thread after the response has been written and should
+ * return quickly.
+ * </p>
+ *
+ * @see org.eclipse.rap.rwt.application.Application#addMetricsExporter(MetricsExporter)
+ * @since 3.1
+ */
+public interface MetricsExporter {
+
+  /**
+   * Called when a request of the application has been completed.
+   *
+   * @param requestMetrics the measurements of the request, only valid during this call
+   */
+  void export( RequestMetrics requestMetrics );
+
+}
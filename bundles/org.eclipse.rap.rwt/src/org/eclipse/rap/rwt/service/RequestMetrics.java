@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.service;
+
+
+/**
+ * The measurements of a single request that are passed to a {@link MetricsExporter}. All times
+ * are in nanoseconds.
+ *
+ * @noimplement This interface is not intended to be implemented by clients.
+ * @since 3.1
+ */
+public interface RequestMetrics {
+
+  /**
+   * Returns the wall-clock time from the start of the request until the response was written.
+   *
+   * @return the request time in nanoseconds
+   */
+  long getRequestTime();
+
+  /**
+   * @return the time spent to prepare the UI root in nanoseconds
+   */
+  long getPrepareUIRootTime();
+
+  /**
+   * @return the time spent to read the data sent by the client in nanoseconds
+   */
+  long getReadDataTime();
+
+  /**
+   * @return the time spent to process events in nanoseconds
+   */
+  long getProcessActionTime();
+
+  /**
+   * @return the time spent to render the response in nanoseconds
+   */
+  long getRenderTime();
+
+  /**
+   * Returns the number of bytes that were allocated while executing the life cycle phases.
+   *
+   * @return the allocated bytes or -1 if the JVM does not support measuring allocations
+   */
+  long getAllocatedBytes();
+
+  /**
+   * @return the number of operations in the response
+   */
+  int getResponseOperations();
+
+  /**
+   * @return the size of the response in bytes
+   */
+  int getResponseBytes();
+
+  /**
+   * @return the number of widgets visited while rendering the response
+   */
+  int getWidgetsVisited();
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2015 EclipseSource and others.
+ * Copyright (c) 2013, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -27,6 +27,7 @@ import org.eclipse.rap.rwt.scripting.ClientListener;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.internal.events.EventLCAUtil;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.WidgetRemoteAdapter;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Event;
@@ -124,6 +125,7 @@ public class DropDown extends Widget {
    */
   public void setItems( String[] items ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( items == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -174,6 +176,7 @@ public class DropDown extends Widget {
    */
   public void setSelectionIndex( int selection ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( selectionIndex != selection && selection >= -1 && selection < items.size() ) {
       setSelectionIndexImpl( selection );
       remoteObject.set( "selectionIndex", selection );
@@ -208,6 +211,7 @@ public class DropDown extends Widget {
    */
   public void setVisibleItemCount( int itemCount ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( visibleItemCount != itemCount ) {
       visibleItemCount = itemCount;
       remoteObject.set( "visibleItemCount", itemCount );
@@ -242,6 +246,7 @@ public class DropDown extends Widget {
    */
   public void setVisible( boolean visible ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( visibility != visible ) {
       setVisibleImpl( visible );
       remoteObject.set( "visible", visible );
@@ -32,6 +32,7 @@ import org.eclipse.swt.events.DisposeListener;
 import org.eclipse.swt.internal.SWTEventListener;
 import org.eclipse.swt.internal.browser.browserkit.BrowserLCA;
 import org.eclipse.swt.internal.events.EventTypes;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.IBrowserAdapter;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
@@ -137,6 +138,7 @@ public class Browser extends Composite {
    */
   public boolean setUrl( String url ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( url == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -193,6 +195,7 @@ public class Browser extends Composite {
    */
   public boolean setText( String html ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( html == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -252,6 +255,7 @@ public class Browser extends Composite {
   public boolean execute( String script ) {
     checkOperationMode();
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( script == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -533,6 +537,7 @@ public class Browser extends Composite {
   }
 
   void createFunction( BrowserFunction function ) {
+    DirtyWidgets.markChanged( this );
     boolean removed = false;
     for( int i = 0; !removed && i < functions.size(); i++ ) {
       BrowserFunction current = functions.get( i );
@@ -548,6 +553,7 @@ public class Browser extends Composite {
   }
 
   void destroyFunction( BrowserFunction function ) {
+    DirtyWidgets.markChanged( this );
     functions.remove( function );
     updateBrowserFunctions( function.getName(), false );
   }
@@ -637,6 +643,7 @@ public class Browser extends Composite {
 
   private void evaluateNonBlocking( String script, BrowserCallback browserCallback ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( executeScript != null ) {
       throw new IllegalStateException( "Another script is already pending" );
     }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2006 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -21,6 +21,7 @@ import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.SerializableCompatibility;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Layout;
@@ -373,6 +374,7 @@ public class CBanner extends Composite {
    */
   public void setBottom( Control control ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( control != null && control.getParent() != this ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -402,6 +404,7 @@ public class CBanner extends Composite {
    */
   public void setLayout( Layout layout ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     return;
   }
 
@@ -423,6 +426,7 @@ public class CBanner extends Composite {
    */
   public void setLeft( Control control ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( control != null && control.getParent() != this ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -452,6 +456,7 @@ public class CBanner extends Composite {
    */
   public void setRight( Control control ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( control != null && control.getParent() != this ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -479,6 +484,7 @@ public class CBanner extends Composite {
    */
   public void setRightMinimumSize( Point size ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( size == null || size.x < SWT.DEFAULT || size.y < SWT.DEFAULT )
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     rightMinWidth = size.x;
@@ -501,6 +507,7 @@ public class CBanner extends Composite {
    */
   public void setRightWidth( int width ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( width < SWT.DEFAULT )
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     rightWidth = width;
@@ -521,6 +528,7 @@ public class CBanner extends Composite {
    */
   public void setSimple( boolean simple ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( this.simple != simple ) {
       this.simple = simple;
       if( simple ) {
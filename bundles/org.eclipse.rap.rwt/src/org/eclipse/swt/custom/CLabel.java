@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -31,6 +31,7 @@ import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.custom.clabelkit.CLabelLCA;
 import org.eclipse.swt.internal.custom.clabelkit.CLabelThemeAdapter;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.IWidgetGraphicsAdapter;
 import org.eclipse.swt.internal.widgets.MarkupValidator;
 import org.eclipse.swt.widgets.Canvas;
@@ -277,6 +278,7 @@ public class CLabel extends Canvas {
    */
   public void setAlignment( int align ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if ( align != SWT.LEFT && align != SWT.RIGHT && align != SWT.CENTER ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -317,6 +319,7 @@ public class CLabel extends Canvas {
    */
   public void setBackground( Image image ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( image != backgroundImage ) {
       backgroundImage = image;
       if( image != null ) {
@@ -388,6 +391,7 @@ public class CLabel extends Canvas {
    */
   public void setBackground( Color[] colors, int[] percents, boolean vertical ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( colors != null ) {
       if( percents == null || percents.length != colors.length - 1 ) {
         SWT.error( SWT.ERROR_INVALID_ARGUMENT );
@@ -441,6 +445,7 @@ public class CLabel extends Canvas {
    */
   public void setImage( Image image ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if ( image != this.image ) {
       this.image = image;
     }
@@ -459,6 +464,7 @@ public class CLabel extends Canvas {
    */
   public void setText( String text ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( text == null ) {
       this.text = "";
     } else if( !text.equals( this.text ) ) {
@@ -550,6 +556,7 @@ public class CLabel extends Canvas {
    */
   public void setMargins( int leftMargin, int topMargin, int rightMargin, int bottomMargin ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     this.leftMargin = Math.max( 0, leftMargin );
     this.topMargin = Math.max( 0, topMargin );
     this.rightMargin = Math.max( 0, rightMargin );
@@ -570,6 +577,7 @@ public class CLabel extends Canvas {
    */
   public void setLeftMargin( int leftMargin ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( leftMargin >= 0 ) {
       this.leftMargin = leftMargin;
     }
@@ -601,6 +609,7 @@ public class CLabel extends Canvas {
    */
   public void setTopMargin( int topMargin ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( topMargin >= 0 ) {
       this.topMargin = topMargin;
     }
@@ -632,6 +641,7 @@ public class CLabel extends Canvas {
    */
   public void setRightMargin( int rightMargin ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( rightMargin >= 0 ) {
       this.rightMargin = rightMargin;
     }
@@ -663,6 +673,7 @@ public class CLabel extends Canvas {
    */
   public void setBottomMargin( int bottomMargin ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( bottomMargin >= 0 ) {
       this.bottomMargin = bottomMargin;
     }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -36,6 +36,7 @@ import org.eclipse.swt.internal.custom.ICTabFolderAdapter;
 import org.eclipse.swt.internal.custom.ctabfolderkit.CTabFolderLCA;
 import org.eclipse.swt.internal.custom.ctabfolderkit.CTabFolderThemeAdapter;
 import org.eclipse.swt.internal.events.EventTypes;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.IItemHolderAdapter;
 import org.eclipse.swt.internal.widgets.IWidgetGraphicsAdapter;
 import org.eclipse.swt.internal.widgets.ItemHolder;
@@ -342,10 +343,12 @@ public class CTabFolder extends Composite {
    */
   public void setSelection( int index ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( index >= 0 && index <= itemHolder.size() - 1 ) {
       if( selectedIndex != index ) {
         int oldSelectionIndex = selectedIndex;
         selectedIndex = index;
+        DirtyWidgets.markChanged( getItem( selectedIndex ) );
         getItem( selectedIndex ).showing = false;
         Control control = getItem( selectedIndex ).getControl();
         // Adjust bounds of selected control and make it visible (if any)
@@ -397,6 +400,7 @@ public class CTabFolder extends Composite {
    */
   public void setSelection( CTabItem item ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( item == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -462,6 +466,7 @@ public class CTabFolder extends Composite {
    */
   public void showItem( CTabItem item ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( item == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -524,6 +529,7 @@ public class CTabFolder extends Composite {
    */
   public void setMRUVisible( boolean show ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( mru != show ) {
       mru = show;
       if( !mru ) {
@@ -589,6 +595,7 @@ public class CTabFolder extends Composite {
    */
   public void setMaximizeVisible( boolean maximizeVisible ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( showMax != maximizeVisible ) {
       showMax = maximizeVisible;
       updateItems();
@@ -624,6 +631,7 @@ public class CTabFolder extends Composite {
    */
   public void setMinimizeVisible( boolean minimizeVisible ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( showMin != minimizeVisible ) {
       showMin = minimizeVisible;
       updateItems();
@@ -659,6 +667,7 @@ public class CTabFolder extends Composite {
    */
   public void setMinimized( boolean minimized ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( this.minimized != minimized ) {
       if( minimized && maximized ) {
         setMaximized( false );
@@ -694,6 +703,7 @@ public class CTabFolder extends Composite {
    */
   public void setMaximized( boolean maximized ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( this.maximized != maximized ) {
       if( maximized && minimized ) {
         setMinimized( false );
@@ -739,6 +749,7 @@ public class CTabFolder extends Composite {
   @Override
   public void setLayout( Layout layout ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     // ignore - CTabFolder manages its own layout
   }
 
@@ -757,6 +768,7 @@ public class CTabFolder extends Composite {
    */
   public void setTabHeight( int height ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( height < -1 ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -810,6 +822,7 @@ public class CTabFolder extends Composite {
    */
   public void setMinimumCharacters( int minimumCharacters ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( minimumCharacters < 0 ) {
       SWT.error( SWT.ERROR_INVALID_RANGE );
     }
@@ -856,6 +869,7 @@ public class CTabFolder extends Composite {
    */
   public void setSingle( boolean single ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( this.single != single ) {
       this.single = single;
       updateItemsWithResizeEvent();
@@ -891,6 +905,7 @@ public class CTabFolder extends Composite {
    */
   public void setTabPosition( int position ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( position != SWT.TOP && position != SWT.BOTTOM ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -930,6 +945,7 @@ public class CTabFolder extends Composite {
    */
   public void setBorderVisible( boolean show ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( ( borderLeft != 1 ) != !show ) {
       borderLeft = borderRight = show ? 1 : 0;
       borderTop = onBottom ? borderLeft : 0;
@@ -965,6 +981,7 @@ public class CTabFolder extends Composite {
    */
   public void setUnselectedImageVisible( boolean visible ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( showUnselectedImage != visible ) {
       showUnselectedImage = visible;
       updateItems();
@@ -995,6 +1012,7 @@ public class CTabFolder extends Composite {
    */
   public void setUnselectedCloseVisible( boolean visible ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( showUnselectedClose != visible ) {
       showUnselectedClose = visible;
       updateItems();
@@ -1053,6 +1071,7 @@ public class CTabFolder extends Composite {
    */
   public void setSelectionBackground( Color color ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( null != color && color.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -1144,6 +1163,7 @@ public class CTabFolder extends Composite {
    */
   public void setSelectionBackground( Color[] colors, int[] percents, boolean vertical ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( colors != null ) {
       for( int i = 0; i < colors.length; i++ ) {
         if( colors[ i ] != null && colors[ i ].isDisposed() ) {
@@ -1207,6 +1227,7 @@ public class CTabFolder extends Composite {
    */
   public void setSelectionBackground( Image image ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     selectionBgImage = image;
   }
 
@@ -1222,6 +1243,7 @@ public class CTabFolder extends Composite {
    */
   public void setSelectionForeground( Color color ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     selectionForeground = color;
   }
 
@@ -1268,6 +1290,7 @@ public class CTabFolder extends Composite {
    */
   public void setTopRight( Control control ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     setTopRight( control, SWT.RIGHT );
   }
 
@@ -1295,6 +1318,7 @@ public class CTabFolder extends Composite {
    */
   public void setTopRight( Control control, int alignment ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( alignment != SWT.RIGHT && alignment != SWT.FILL ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -1371,6 +1395,7 @@ public class CTabFolder extends Composite {
   @Override
   public void setFont( Font font ) {
     checkWidget();
+    DirtyWidgets.markChanged( this );
     if( font != getFont() ) {
       super.setFont( font );
       if( !updateTabHeight( false ) ) {
@@ -1614,8 +1639,18 @@ public class CTabFolder extends Composite {
     return changed;
   }
 
+  /*
+   * The bounds of the items are computed from all items and the size of the folder.
+   */
+  private static void markChanged( CTabItem[] items ) {
+    for( CTabItem item : items ) {
+      DirtyWidgets.markChanged( item );
+    }
+  }
+
   boolean setItemLocation() {
     CTabItem[] items = itemHolder.getItems();
+    markChanged( items );
     boolean changed = false;
     if( items.length == 0 ) {
       return false;
@@ -1701,6 +1736,7 @@ public class CTabFolder extends Composite {
 
   boolean setItemSize() {
     CTabItem[] items = itemHolder.getItems();
+    markChanged( items );
     boolean changed = false;
     if( isDisposed() ) {
       return changed;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -200,7 +200,8 @@ public class Image extends Resource {
         internalImage = srcImage.internalImage;
       break;
       case SWT.IMAGE_DISABLE: {
-        ImageData data = srcImage.getImageData();
+        // the source data is only read, its mask and alpha data are copied below
+        ImageData data = srcImage.internalImage.getSharedImageData();
         PaletteData palette = data.palette;
         RGB[] rgbs = new RGB[ 3 ];
         rgbs[ 0 ] = device.getSystemColor( SWT.COLOR_BLACK ).getRGB();
@@ -208,8 +209,8 @@ public class Image extends Resource {
         rgbs[ 2 ] = device.getSystemColor( SWT.COLOR_WIDGET_BACKGROUND ).getRGB();
         ImageData newData = new ImageData( rect.width, rect.height, 8, new PaletteData( rgbs ) );
         newData.alpha = data.alpha;
-        newData.alphaData = data.alphaData;
-        newData.maskData = data.maskData;
+        newData.alphaData = data.alphaData == null ? null : data.alphaData.clone();
+        newData.maskData = data.maskData == null ? null : data.maskData.clone();
         newData.maskPad = data.maskPad;
         if( data.transparentPixel != -1 ) {
           newData.transparentPixel = 0;
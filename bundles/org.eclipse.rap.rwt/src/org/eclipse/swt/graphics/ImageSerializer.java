@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2013 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -19,8 +19,10 @@ import java.io.ObjectInputValidation;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.engine.PostDeserialization;
 import org.eclipse.rap.rwt.internal.resources.ResourceUtil;
+import org.eclipse.rap.rwt.internal.service.ServletLog;
 import org.eclipse.rap.rwt.internal.util.StreamUtil;
 import org.eclipse.rap.rwt.service.ResourceManager;
 import org.eclipse.rap.rwt.service.UISession;
@@ -49,8 +51,7 @@ class ImageSerializer {
     public void validateObject() throws InvalidObjectException {
       PostDeserialization.addProcessor( getUISession(), new Runnable() {
         public void run() {
-          InputStream inputStream = new ByteArrayInputStream( imageBytes.data );
-          getResourceManager().register( image.internalImage.getResourceName(), inputStream );
+          registerImage( imageBytes.data );
         }
       } );
     }
@@ -64,7 +65,8 @@ class ImageSerializer {
 
   void writeObject( ObjectOutputStream stream ) throws IOException {
     stream.defaultWriteObject();
-    stream.writeObject( new SerializableBytes( getImageBytes() ) );
+    byte[] data = isWrittenByReference() ? null : getImageBytes();
+    stream.writeObject( new SerializableBytes( data ) );
   }
 
   void readObject( ObjectInputStream stream ) throws IOException, ClassNotFoundException {
@@ -73,6 +75,30 @@ class ImageSerializer {
     stream.registerValidation( new PostDeserializationValidation( imageBytes ), 0 );
   }
 
+  /*
+   * The resource names of images are derived from their content. If the name is already registered,
+   * e.g. by another restored UI session, the content is the same and is not registered again.
+   */
+  private void registerImage( byte[] data ) {
+    String resourceName = image.internalImage.getResourceName();
+    ResourceManager resourceManager = getResourceManager();
+    if( !resourceManager.isRegistered( resourceName ) ) {
+      if( data != null ) {
+        resourceManager.register( resourceName, new ByteArrayInputStream( data ) );
+      } else {
+        ServletLog.log( "Content of deserialized image is not registered: " + resourceName, null );
+      }
+    }
+  }
+
+  /*
+   * Only the content of shared images is known to be available to the application that restores
+   * the session, all other images are written with their content.
+   */
+  private boolean isWrittenByReference() {
+    return RWTProperties.isImageReferenceSerializationEnabled() && image.internalImage.isShared();
+  }
+
   private byte[] getImageBytes() {
     String resourceName = image.internalImage.getResourceName();
     InputStream inputStream = getResourceManager().getRegisteredContent( resourceName );
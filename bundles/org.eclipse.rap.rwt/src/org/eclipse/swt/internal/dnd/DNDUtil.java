@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2015 EclipseSource and others.
+ * Copyright (c) 2009, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,12 +11,15 @@
 package org.eclipse.swt.internal.dnd;
 
 import org.eclipse.rap.json.JsonArray;
+import org.eclipse.rap.rwt.internal.lifecycle.ProcessActionRunner;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.ServiceStore;
 import org.eclipse.swt.dnd.DND;
 import org.eclipse.swt.dnd.Transfer;
 import org.eclipse.swt.dnd.TransferData;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Widget;
 
 
 public final class DNDUtil {
@@ -30,6 +33,20 @@ public final class DNDUtil {
   private static final String DATATYPE_CHANGED_VALUE = PREFIX.concat( "#dataTypeChangedValue" );
   private static final String DATATYPE_CHANGED_CONTROL = PREFIX.concat( "#dataTypeChangedControl" );
 
+  /*
+   * The listeners of drag and drop events change values that are rendered by the drag source and
+   * the drop target, e.g. the detail of an event. Hence these widgets are marked as changed before
+   * their listeners are notified.
+   */
+  public static void markChanged( final Widget widget ) {
+    ProcessActionRunner.add( new Runnable() {
+      @Override
+      public void run() {
+        DirtyWidgets.markChanged( widget );
+      }
+    } );
+  }
+
   public static void cancel() {
     ServiceStore serviceStore = ContextProvider.getServiceStore();
     serviceStore.setAttribute( CANCEL, Boolean.TRUE );
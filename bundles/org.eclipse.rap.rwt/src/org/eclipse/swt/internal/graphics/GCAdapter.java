@@ -13,6 +13,8 @@ package org.eclipse.swt.internal.graphics;
 import java.util.LinkedList;
 import java.util.List;
 
+import org.eclipse.rap.json.JsonArray;
+import org.eclipse.rap.json.JsonObject;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.graphics.GCOperation.SetProperty;
 
@@ -21,6 +23,8 @@ public final class GCAdapter {
   private final List<GCOperation> gcOperations;
   private boolean forceRedraw;
   private Rectangle paintRect;
+  private JsonObject renderedInitParameters;
+  private JsonArray renderedOperations;
 
   public GCAdapter() {
     gcOperations = new LinkedList<>();
@@ -72,6 +76,19 @@ public final class GCAdapter {
     return paintRect;
   }
 
+  public void setRenderedOperations( JsonObject initParameters, JsonArray operations ) {
+    renderedInitParameters = initParameters;
+    renderedOperations = operations;
+  }
+
+  public JsonObject getRenderedInitParameters() {
+    return renderedInitParameters;
+  }
+
+  public JsonArray getRenderedOperations() {
+    return renderedOperations;
+  }
+
   private static boolean isDrawOperation( GCOperation operation ) {
     return !( operation instanceof SetProperty );
   }
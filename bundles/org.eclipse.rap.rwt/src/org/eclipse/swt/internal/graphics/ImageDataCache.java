@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2012 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,46 +11,238 @@
  ******************************************************************************/
 package org.eclipse.swt.internal.graphics;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.rap.rwt.internal.util.ParamCheck;
 import org.eclipse.swt.graphics.ImageData;
 
 
 /**
- * Cache for small image data, mainly for decorator images.
+ * Memory bounded cache for image data, mainly for decorator and icon images.
+ * <p>
+ * When the total size of the cached image data exceeds the maximum size, the least recently used
+ * entries are evicted. The cache stores copies of the image data, including its mask and alpha
+ * data. <code>getImageData</code> returns a copy as well, <code>getSharedImageData</code> returns
+ * the cached instance for callers that only read it.
+ * </p>
+ */
+/*
+ * Lookups are served from a concurrent map without locking. The access order of the entries is
+ * kept in a linked list that is guarded by 'evictionLock'. Readers only try to acquire this lock
+ * to record an access. If the lock is held by another thread, the access is recorded in a bounded
+ * buffer that is drained by the next thread holding the lock.
  */
 final class ImageDataCache {
 
-  /** Maximum size of image data that is being cached */
-  private static final int MAX_DATA_SIZE = 1024;
+  /** Default maximum of the total size of all cached image data in bytes */
+  static final int DEFAULT_MAX_SIZE = 4 * 1024 * 1024;
+
+  /** Fraction of the maximum size that a single image data may occupy */
+  private static final int MAX_ENTRY_FRACTION = 16;
+  private static final int READ_BUFFER_SIZE = 128;
+
+  private final ConcurrentMap<InternalImage, Entry> cache;
+  private final Lock evictionLock;
+  private final Queue<Entry> readBuffer;
+  private final AtomicInteger readBufferSize;
+  private final AtomicLong hitCount;
+  private final AtomicLong missCount;
+  private final AtomicLong evictionCount;
+  private final int maxSize;
+  private final int maxEntrySize;
+  // access is guarded by 'evictionLock', the list is ordered from most to least recently used
+  private final Entry head;
+  // access is guarded by 'evictionLock'
+  private long size;
 
-  private final Map<InternalImage,ImageData> cache;
-  private final Object cacheLock;
+  private static class Entry {
+    private final InternalImage key;
+    private final ImageData imageData;
+    private final int size;
+    private Entry previous;
+    private Entry next;
+
+    private Entry( InternalImage key, ImageData imageData, int size ) {
+      this.key = key;
+      this.imageData = imageData;
+      this.size = size;
+    }
+  }
 
   ImageDataCache() {
-    cacheLock = new Object();
-    cache = new HashMap<InternalImage,ImageData>( 25 );
+    this( DEFAULT_MAX_SIZE );
+  }
+
+  ImageDataCache( int maxSize ) {
+    if( maxSize <= 0 ) {
+      throw new IllegalArgumentException( "Maximum size must be positive" );
+    }
+    this.maxSize = maxSize;
+    maxEntrySize = maxSize / MAX_ENTRY_FRACTION;
+    cache = new ConcurrentHashMap<>();
+    evictionLock = new ReentrantLock();
+    readBuffer = new ConcurrentLinkedQueue<>();
+    readBufferSize = new AtomicInteger();
+    hitCount = new AtomicLong();
+    missCount = new AtomicLong();
+    evictionCount = new AtomicLong();
+    head = new Entry( null, null, 0 );
+    head.previous = head;
+    head.next = head;
   }
 
   ImageData getImageData( InternalImage internalImage ) {
+    ImageData shared = getSharedImageData( internalImage );
+    return shared != null ? ( ImageData )shared.clone() : null;
+  }
+
+  /**
+   * Returns the cached image data itself instead of a copy. Callers must not modify the returned
+   * image data or any of its arrays.
+   */
+  ImageData getSharedImageData( InternalImage internalImage ) {
     ParamCheck.notNull( internalImage, "internalImage" );
-    ImageData cached;
-    synchronized( cacheLock ) {
-      cached = cache.get( internalImage );
+    Entry entry = cache.get( internalImage );
+    if( entry == null ) {
+      missCount.incrementAndGet();
+      return null;
     }
-    return cached != null ? ( ImageData )cached.clone() : null;
+    hitCount.incrementAndGet();
+    recordAccess( entry );
+    return entry.imageData;
   }
 
-  void putImageData( InternalImage internalImage, ImageData imageData ) {
+  /**
+   * Stores a copy of the given image data and returns this copy, or <code>null</code> if the image
+   * data is too large to be cached. Callers must not modify the returned image data.
+   */
+  ImageData putImageData( InternalImage internalImage, ImageData imageData ) {
     ParamCheck.notNull( internalImage, "internalImage" );
     ParamCheck.notNull( imageData, "imageData" );
-    if( imageData.data.length <= MAX_DATA_SIZE ) {
-      synchronized( cacheLock ) {
-        // TODO [rst] Implement replacement strategy (LRU or LFU)
-        cache.put( internalImage, ( ImageData )imageData.clone() );
+    int entrySize = getSize( imageData );
+    if( entrySize > maxEntrySize ) {
+      return null;
+    }
+    Entry entry = new Entry( internalImage, ( ImageData )imageData.clone(), entrySize );
+    Entry replaced = cache.put( internalImage, entry );
+    evictionLock.lock();
+    try {
+      drainReadBuffer();
+      if( replaced != null && isLinked( replaced ) ) {
+        unlink( replaced );
       }
+      // another thread may have replaced the entry in the meantime
+      if( cache.get( internalImage ) == entry ) {
+        linkFirst( entry );
+        evict();
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+    return entry.imageData;
+  }
+
+  long getSize() {
+    evictionLock.lock();
+    try {
+      return size;
+    } finally {
+      evictionLock.unlock();
     }
   }
+
+  long getHitCount() {
+    return hitCount.get();
+  }
+
+  long getMissCount() {
+    return missCount.get();
+  }
+
+  long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  private void evict() {
+    while( size > maxSize ) {
+      Entry eldest = head.previous;
+      unlink( eldest );
+      cache.remove( eldest.key, eldest );
+      evictionCount.incrementAndGet();
+    }
+  }
+
+  ////////////////////
+  // access order
+
+  private void recordAccess( Entry entry ) {
+    if( evictionLock.tryLock() ) {
+      try {
+        drainReadBuffer();
+        moveToFront( entry );
+      } finally {
+        evictionLock.unlock();
+      }
+    } else if( readBufferSize.get() < READ_BUFFER_SIZE ) {
+      // accesses that do not fit into the buffer are dropped, which only affects the LRU order
+      readBufferSize.incrementAndGet();
+      readBuffer.offer( entry );
+    }
+  }
+
+  private void drainReadBuffer() {
+    Entry entry = readBuffer.poll();
+    while( entry != null ) {
+      readBufferSize.decrementAndGet();
+      moveToFront( entry );
+      entry = readBuffer.poll();
+    }
+  }
+
+  private void moveToFront( Entry entry ) {
+    // ignore entries that have been evicted or replaced meanwhile
+    if( isLinked( entry ) ) {
+      unlink( entry );
+      linkFirst( entry );
+    }
+  }
+
+  private void linkFirst( Entry entry ) {
+    entry.previous = head;
+    entry.next = head.next;
+    head.next.previous = entry;
+    head.next = entry;
+    size += entry.size;
+  }
+
+  private void unlink( Entry entry ) {
+    entry.previous.next = entry.next;
+    entry.next.previous = entry.previous;
+    entry.previous = null;
+    entry.next = null;
+    size -= entry.size;
+  }
+
+  private static boolean isLinked( Entry entry ) {
+    return entry.next != null;
+  }
+
+  private static int getSize( ImageData imageData ) {
+    int result = imageData.data.length;
+    if( imageData.maskData != null ) {
+      result += imageData.maskData.length;
+    }
+    if( imageData.alphaData != null ) {
+      result += imageData.alphaData.length;
+    }
+    return result;
+  }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2012 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -42,6 +42,23 @@ public class ImageDataFactory {
     return result;
   }
 
+  /**
+   * Returns the image data without creating a copy. The result is shared and must not be modified
+   * by the caller.
+   */
+  public ImageData findSharedImageData( InternalImage internalImage ) {
+    ImageData result = imageDataCache.getSharedImageData( internalImage );
+    if( result == null ) {
+      ImageData created = createImageData( internalImage );
+      if( created != null ) {
+        ImageData cached = imageDataCache.putImageData( internalImage, created );
+        // image data that is too large to be cached is not referenced by anyone else
+        result = cached != null ? cached : created;
+      }
+    }
+    return result;
+  }
+
   private ImageData createImageData( InternalImage internalImage ) {
     ImageData result = null;
     String imagePath = internalImage.getResourceName();
@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.graphics;
+
+import org.eclipse.swt.SWT;
+
+
+/**
+ * Reads the type and the size of an image from the header of its encoded bytes, without decoding
+ * the pixel data. Supports PNG, GIF, JPEG and BMP.
+ * <p>
+ * Images whose encoded bytes are visibly incomplete, e.g. truncated, are rejected by checking the
+ * structure of the format (PNG chunks, trailers and declared file sizes). The pixel data itself
+ * is not verified, a corrupt body that passes these checks is only detected when it is decoded.
+ * </p>
+ */
+final class ImageHeader {
+
+  private static final byte[] PNG_SIGNATURE = {
+    ( byte )0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'
+  };
+
+  private final int type;
+  private final int width;
+  private final int height;
+
+  private ImageHeader( int type, int width, int height ) {
+    this.type = type;
+    this.width = width;
+    this.height = height;
+  }
+
+  /**
+   * Returns the header of the given image, or <code>null</code> if the format is not supported,
+   * the header is malformed or the encoded bytes are incomplete.
+   */
+  static ImageHeader read( byte[] bytes ) {
+    ImageHeader result = null;
+    try {
+      if( startsWith( bytes, PNG_SIGNATURE ) ) {
+        result = readPng( bytes );
+      } else if( startsWith( bytes, new byte[] { 'G', 'I', 'F', '8' } ) ) {
+        result = readGif( bytes );
+      } else if( startsWith( bytes, new byte[] { ( byte )0xff, ( byte )0xd8 } ) ) {
+        result = readJpeg( bytes );
+      } else if( startsWith( bytes, new byte[] { 'B', 'M' } ) ) {
+        result = readBmp( bytes );
+      }
+    } catch( @SuppressWarnings( "unused" ) ArrayIndexOutOfBoundsException truncated ) {
+      result = null;
+    }
+    if( result != null && ( result.width <= 0 || result.height <= 0 ) ) {
+      result = null;
+    }
+    return result;
+  }
+
+  int getType() {
+    return type;
+  }
+
+  int getWidth() {
+    return width;
+  }
+
+  int getHeight() {
+    return height;
+  }
+
+  private static ImageHeader readPng( byte[] bytes ) {
+    ImageHeader result = null;
+    // the IHDR chunk must come first
+    if( isChunkType( bytes, 12, "IHDR" ) && hasCompleteChunks( bytes ) ) {
+      result = new ImageHeader( SWT.IMAGE_PNG, readIntBE( bytes, 16 ), readIntBE( bytes, 20 ) );
+    }
+    return result;
+  }
+
+  /*
+   * Walks the chunk lengths without reading the chunk data, the image data must be followed by
+   * the IEND chunk within the given bytes.
+   */
+  private static boolean hasCompleteChunks( byte[] bytes ) {
+    boolean hasData = false;
+    boolean end = false;
+    int offset = PNG_SIGNATURE.length;
+    while( !end && offset + 12 <= bytes.length ) {
+      int length = readIntBE( bytes, offset );
+      if( length < 0 || length > bytes.length - offset - 12 ) {
+        offset = bytes.length;
+      } else {
+        hasData |= isChunkType( bytes, offset + 4, "IDAT" );
+        end = isChunkType( bytes, offset + 4, "IEND" );
+        offset += 12 + length;
+      }
+    }
+    return hasData && end;
+  }
+
+  private static boolean isChunkType( byte[] bytes, int offset, String type ) {
+    boolean result = true;
+    for( int i = 0; i < type.length() && result; i++ ) {
+      result = bytes[ offset + i ] == type.charAt( i );
+    }
+    return result;
+  }
+
+  /*
+   * Like SWT, use the size of the first frame rather than the logical screen size
+   */
+  private static ImageHeader readGif( byte[] bytes ) {
+    ImageHeader result = null;
+    int offset = 13;
+    int flags = bytes[ 10 ] & 0xff;
+    if( ( flags & 0x80 ) != 0 ) {
+      offset += 3 * ( 1 << ( ( flags & 0x07 ) + 1 ) );
+    }
+    // an image without trailer is incomplete
+    boolean done = !endsWith( bytes, new byte[] { 0x3b } );
+    while( !done ) {
+      int blockType = bytes[ offset ] & 0xff;
+      if( blockType == 0x21 ) {
+        offset = skipSubBlocks( bytes, offset + 2 );
+      } else if( blockType == 0x2c ) {
+        result = new ImageHeader( SWT.IMAGE_GIF,
+                                  readShortLE( bytes, offset + 5 ),
+                                  readShortLE( bytes, offset + 7 ) );
+        done = true;
+      } else {
+        done = true;
+      }
+    }
+    return result;
+  }
+
+  private static int skipSubBlocks( byte[] bytes, int offset ) {
+    int result = offset;
+    int size = bytes[ result ] & 0xff;
+    while( size != 0 ) {
+      result += size + 1;
+      size = bytes[ result ] & 0xff;
+    }
+    return result + 1;
+  }
+
+  private static ImageHeader readJpeg( byte[] bytes ) {
+    ImageHeader result = null;
+    int offset = 2;
+    // an image without end of image marker is incomplete
+    boolean done = !endsWith( bytes, new byte[] { ( byte )0xff, ( byte )0xd9 } );
+    while( !done ) {
+      if( ( bytes[ offset ] & 0xff ) != 0xff ) {
+        done = true;
+      } else {
+        int marker = bytes[ offset + 1 ] & 0xff;
+        if( marker == 0xff ) {
+          // fill byte
+          offset++;
+        } else if( marker == 0x01 || ( marker >= 0xd0 && marker <= 0xd7 ) ) {
+          // markers without a segment
+          offset += 2;
+        } else if( isStartOfFrame( marker ) ) {
+          result = new ImageHeader( SWT.IMAGE_JPEG,
+                                    readShortBE( bytes, offset + 7 ),
+                                    readShortBE( bytes, offset + 5 ) );
+          done = true;
+        } else if( marker == 0xd9 || marker == 0xda ) {
+          // end of image or start of scan without a preceding frame header
+          done = true;
+        } else {
+          offset += 2 + readShortBE( bytes, offset + 2 );
+        }
+      }
+    }
+    return result;
+  }
+
+  private static boolean isStartOfFrame( int marker ) {
+    return    marker >= 0xc0
+           && marker <= 0xcf
+           && marker != 0xc4
+           && marker != 0xc8
+           && marker != 0xcc;
+  }
+
+  /*
+   * Only the header variants that the SWT decoders support are accepted, others are left to the
+   * decoder to report
+   */
+  private static ImageHeader readBmp( byte[] bytes ) {
+    ImageHeader result = null;
+    int headerSize = readIntLE( bytes, 14 );
+    if( !hasDeclaredSize( bytes ) ) {
+      result = null;
+    } else if( headerSize == 12 ) {
+      // OS/2 bitmap core header
+      result = new ImageHeader( SWT.IMAGE_BMP, readShortLE( bytes, 18 ), readShortLE( bytes, 20 ) );
+    } else if( headerSize == 40 ) {
+      int compression = readIntLE( bytes, 30 );
+      if( compression >= 0 && compression <= 2 ) {
+        int type = compression == 0 ? SWT.IMAGE_BMP : SWT.IMAGE_BMP_RLE;
+        // the height is negative for top-down bitmaps
+        int height = Math.abs( readIntLE( bytes, 22 ) );
+        result = new ImageHeader( type, readIntLE( bytes, 18 ), height );
+      }
+    }
+    return result;
+  }
+
+  /*
+   * The file size and the offset of the pixel data are declared in the file header
+   */
+  private static boolean hasDeclaredSize( byte[] bytes ) {
+    int fileSize = readIntLE( bytes, 2 );
+    int dataOffset = readIntLE( bytes, 10 );
+    return dataOffset > 0 && dataOffset < fileSize && fileSize <= bytes.length;
+  }
+
+  private static boolean startsWith( byte[] bytes, byte[] prefix ) {
+    boolean result = bytes.length >= prefix.length;
+    for( int i = 0; i < prefix.length && result; i++ ) {
+      result = bytes[ i ] == prefix[ i ];
+    }
+    return result;
+  }
+
+  private static boolean endsWith( byte[] bytes, byte[] suffix ) {
+    int offset = bytes.length - suffix.length;
+    boolean result = offset >= 0;
+    for( int i = 0; i < suffix.length && result; i++ ) {
+      result = bytes[ offset + i ] == suffix[ i ];
+    }
+    return result;
+  }
+
+  private static int readIntBE( byte[] bytes, int offset ) {
+    return   ( bytes[ offset ] & 0xff ) << 24
+           | ( bytes[ offset + 1 ] & 0xff ) << 16
+           | ( bytes[ offset + 2 ] & 0xff ) << 8
+           | bytes[ offset + 3 ] & 0xff;
+  }
+
+  private static int readIntLE( byte[] bytes, int offset ) {
+    return   ( bytes[ offset + 3 ] & 0xff ) << 24
+           | ( bytes[ offset + 2 ] & 0xff ) << 16
+           | ( bytes[ offset + 1 ] & 0xff ) << 8
+           | bytes[ offset ] & 0xff;
+  }
+
+  private static int readShortBE( byte[] bytes, int offset ) {
+    return ( bytes[ offset ] & 0xff ) << 8 | bytes[ offset + 1 ] & 0xff;
+  }
+
+  private static int readShortLE( byte[] bytes, int offset ) {
+    return ( bytes[ offset + 1 ] & 0xff ) << 8 | bytes[ offset ] & 0xff;
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2013 EclipseSource and others.
+ * Copyright (c) 2010, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -27,8 +27,13 @@ public final class InternalImage implements SerializableCompatibility {
   private final int width;
   private final int height;
   private final boolean external;
+  private final boolean shared;
 
   InternalImage( String resourceName, int width, int height, boolean external ) {
+    this( resourceName, width, height, external, false );
+  }
+
+  InternalImage( String resourceName, int width, int height, boolean external, boolean shared ) {
     ParamCheck.notNull( resourceName, "resourceName" );
     if( width <= 0 || height <= 0 ) {
       throw new IllegalArgumentException( "Illegal size" );
@@ -37,6 +42,7 @@ public final class InternalImage implements SerializableCompatibility {
     this.width = width;
     this.height = height;
     this.external = external;
+    this.shared = shared;
   }
 
   public Rectangle getBounds() {
@@ -47,6 +53,10 @@ public final class InternalImage implements SerializableCompatibility {
     return getApplicationContext().getImageDataFactory().findImageData( this );
   }
 
+  public ImageData getSharedImageData() {
+    return getApplicationContext().getImageDataFactory().findSharedImageData( this );
+  }
+
   public String getResourceName() {
     return resourceName;
   }
@@ -55,4 +65,12 @@ public final class InternalImage implements SerializableCompatibility {
     return external;
   }
 
+  /*
+   * Shared images are loaded from a path in the application-level image store (see ImageFactory),
+   * all instances of the application resolve the path to the same content.
+   */
+  public boolean isShared() {
+    return shared;
+  }
+
 }
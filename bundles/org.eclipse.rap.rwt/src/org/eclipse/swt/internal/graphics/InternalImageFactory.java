@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2015 EclipseSource and others.
+ * Copyright (c) 2010, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,17 +11,20 @@
  ******************************************************************************/
 package org.eclipse.swt.internal.graphics;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.zip.CRC32;
 
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer;
 import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer.InstanceCreator;
+import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer.Retention;
+import org.eclipse.rap.rwt.service.ResourceManager;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.ImageData;
@@ -31,10 +34,26 @@ import org.eclipse.swt.graphics.RGB;
 
 public class InternalImageFactory {
 
+  /*
+   * Internal images are held softly, generated images (e.g. charts or thumbnails) would otherwise
+   * remain in the buffer for the lifetime of the application. A reclaimed image is recreated with
+   * the same resource name since the name is derived from the image data.
+   *
+   * The registered resource is deliberately kept when an image is reclaimed. Clients may still
+   * request it, and images restored from a serialized UI session refer to it by name without
+   * being held in this buffer. As the name identifies the content, a recreated image reuses the
+   * registered resource instead of registering it again.
+   */
+  private static final int RECENTLY_USED_IMAGES = 64;
+
   private final SharedInstanceBuffer<String, InternalImage> cache;
 
   public InternalImageFactory() {
-    cache = new SharedInstanceBuffer<String, InternalImage>();
+    cache = new SharedInstanceBuffer<>( Retention.SOFT, RECENTLY_USED_IMAGES );
+  }
+
+  SharedInstanceBuffer<String, InternalImage> getBuffer() {
+    return cache;
   }
 
   public InternalImage findInternalImage( final String fileName ) {
@@ -46,14 +65,27 @@ public class InternalImageFactory {
   }
 
   public InternalImage findInternalImage( InputStream stream ) {
-    final BufferedInputStream bufferedStream = new BufferedInputStream( stream );
-    final ImageData imageData = readImageData( bufferedStream );
-    final String path = createGeneratedImagePath( imageData );
-    return cache.get( path, new InstanceCreator<String, InternalImage>() {
-      public InternalImage createInstance( String path ) {
-        return createInternalImage( path, bufferedStream, imageData );
-      }
-    } );
+    final byte[] bytes = readBytes( stream );
+    final ImageHeader header = ImageHeader.read( bytes );
+    InternalImage result;
+    if( header != null ) {
+      String path = createGeneratedImagePath( header, bytes );
+      result = cache.get( path, new InstanceCreator<String, InternalImage>() {
+        public InternalImage createInstance( String path ) {
+          return createInternalImage( path, bytes, header, false );
+        }
+      } );
+    } else {
+      final InputStream bufferedStream = new ByteArrayInputStream( bytes );
+      final ImageData imageData = readImageData( bufferedStream );
+      String path = createGeneratedImagePath( imageData );
+      result = cache.get( path, new InstanceCreator<String, InternalImage>() {
+        public InternalImage createInstance( String path ) {
+          return createInternalImage( path, bufferedStream, imageData, false );
+        }
+      } );
+    }
+    return result;
   }
 
   public InternalImage findInternalImage( final ImageData imageData ) {
@@ -61,18 +93,18 @@ public class InternalImageFactory {
     return cache.get( path, new InstanceCreator<String, InternalImage>() {
       public InternalImage createInstance( String path ) {
         InputStream stream = createInputStream( imageData );
-        return createInternalImage( path, stream, imageData );
+        return createInternalImage( path, stream, imageData, false );
       }
     } );
   }
 
+  /*
+   * Images found by key make up the application-level image store, see InternalImage#isShared()
+   */
   InternalImage findInternalImage( String key, final InputStream inputStream ) {
     return cache.get( key, new InstanceCreator<String, InternalImage>() {
       public InternalImage createInstance( String key ) {
-        BufferedInputStream bufferedStream = new BufferedInputStream( inputStream );
-        ImageData imageData = readImageData( bufferedStream );
-        String path = createGeneratedImagePath( imageData );
-        return createInternalImage( path, bufferedStream, imageData );
+        return createInternalImage( inputStream, true );
       }
     } );
   }
@@ -112,7 +144,7 @@ public class InternalImageFactory {
     try {
       FileInputStream stream = new FileInputStream( fileName );
       try {
-        result = createInternalImage( stream );
+        result = createInternalImage( stream, false );
       } finally {
         stream.close();
       }
@@ -122,19 +154,66 @@ public class InternalImageFactory {
     return result;
   }
 
-  private static InternalImage createInternalImage( InputStream stream ) {
-    InputStream bufferedStream = new BufferedInputStream( stream );
-    ImageData imageData = readImageData( bufferedStream );
-    String path = createGeneratedImagePath( imageData );
-    return createInternalImage( path, bufferedStream, imageData );
+  /*
+   * If the size can be read from the image header, the image is registered without decoding it.
+   * Decoding is deferred until the image data is requested (see ImageDataFactory).
+   */
+  private static InternalImage createInternalImage( InputStream stream, boolean shared ) {
+    byte[] bytes = readBytes( stream );
+    ImageHeader header = ImageHeader.read( bytes );
+    InternalImage result;
+    if( header != null ) {
+      String path = createGeneratedImagePath( header, bytes );
+      result = createInternalImage( path, bytes, header, shared );
+    } else {
+      InputStream bufferedStream = new ByteArrayInputStream( bytes );
+      ImageData imageData = readImageData( bufferedStream );
+      String path = createGeneratedImagePath( imageData );
+      result = createInternalImage( path, bufferedStream, imageData, shared );
+    }
+    return result;
+  }
+
+  private static InternalImage createInternalImage( String path,
+                                                    byte[] bytes,
+                                                    ImageHeader header,
+                                                    boolean shared )
+  {
+    ResourceManager resourceManager = RWT.getResourceManager();
+    if( !resourceManager.isRegistered( path ) ) {
+      resourceManager.register( path, new ByteArrayInputStream( bytes ) );
+    }
+    return new InternalImage( path, header.getWidth(), header.getHeight(), false, shared );
   }
 
   private static InternalImage createInternalImage( String path,
                                                     InputStream stream,
-                                                    ImageData imageData )
+                                                    ImageData imageData,
+                                                    boolean shared )
   {
-    RWT.getResourceManager().register( path, stream );
-    return new InternalImage( path, imageData.width, imageData.height, false );
+    ResourceManager resourceManager = RWT.getResourceManager();
+    if( !resourceManager.isRegistered( path ) ) {
+      resourceManager.register( path, stream );
+    }
+    return new InternalImage( path, imageData.width, imageData.height, false, shared );
+  }
+
+  private static byte[] readBytes( InputStream stream ) {
+    if( stream == null ) {
+      throw new SWTException( SWT.ERROR_IO );
+    }
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    byte[] buffer = new byte[ 8192 ];
+    try {
+      int read = stream.read( buffer );
+      while( read != -1 ) {
+        outputStream.write( buffer, 0, read );
+        read = stream.read( buffer );
+      }
+    } catch( IOException ioe ) {
+      throw new SWTException( SWT.ERROR_IO, ioe.getMessage() );
+    }
+    return outputStream.toByteArray();
   }
 
   private static int getOutputFormat( ImageData imageData ) {
@@ -145,8 +224,19 @@ public class InternalImageFactory {
     return result;
   }
 
+  /*
+   * Images that are registered without decoding are named by a hash of their encoded bytes
+   */
+  private static String createGeneratedImagePath( ImageHeader header, byte[] bytes ) {
+    return "generated/" + getHash( bytes ) + getExtension( header.getType() );
+  }
+
   private static String createGeneratedImagePath( ImageData data ) {
-    int outputFormat = getOutputFormat( data );
+    String hash = getHash( data ) + getExtension( getOutputFormat( data ) );
+    return "generated/" + hash;
+  }
+
+  private static String getExtension( int outputFormat ) {
     String extension;
     switch( outputFormat ) {
       case SWT.IMAGE_BMP:
@@ -170,8 +260,22 @@ public class InternalImageFactory {
         extension = ".png";
         break;
     }
-    String hash = getHash( data ) + extension;
-    return "generated/" + hash;
+    return extension;
+  }
+
+  private static String getHash( byte[] bytes ) {
+    byte[] digest;
+    try {
+      digest = MessageDigest.getInstance( "SHA-1" ).digest( bytes );
+    } catch( NoSuchAlgorithmException exception ) {
+      throw new RuntimeException( "SHA-1 is not available", exception );
+    }
+    StringBuilder result = new StringBuilder( digest.length * 2 );
+    for( byte value : digest ) {
+      result.append( Character.forDigit( ( value >> 4 ) & 0xf, 16 ) );
+      result.append( Character.forDigit( value & 0xf, 16 ) );
+    }
+    return result.toString();
   }
 
   /*
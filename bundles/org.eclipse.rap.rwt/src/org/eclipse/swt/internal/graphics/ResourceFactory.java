@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,7 @@ package org.eclipse.swt.internal.graphics;
 import org.eclipse.rap.rwt.internal.util.ClassUtil;
 import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer;
 import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer.InstanceCreator;
+import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer.Retention;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Cursor;
 import org.eclipse.swt.graphics.Font;
@@ -23,6 +24,14 @@ import org.eclipse.swt.graphics.FontData;
 
 public class ResourceFactory {
 
+  /*
+   * Colors and fonts are held weakly, applications that compute colors or fonts on the fly would
+   * otherwise fill the buffers for the lifetime of the application. Identity is retained as long as
+   * an instance is referenced.
+   */
+  private static final int RECENTLY_USED_COLORS = 256;
+  private static final int RECENTLY_USED_FONTS = 64;
+
   private final SharedInstanceBuffer<Integer, Color> colors;
   private final SharedInstanceBuffer<FontData, Font> fonts;
   private final SharedInstanceBuffer<Integer, Cursor> cursors;
@@ -31,8 +40,8 @@ public class ResourceFactory {
   private InstanceCreator<FontData, Font> fontCreator;
 
   public ResourceFactory() {
-    colors = new SharedInstanceBuffer<>();
-    fonts = new SharedInstanceBuffer<>();
+    colors = new SharedInstanceBuffer<>( Retention.WEAK, RECENTLY_USED_COLORS );
+    fonts = new SharedInstanceBuffer<>( Retention.WEAK, RECENTLY_USED_FONTS );
     cursors = new SharedInstanceBuffer<>();
     colorCreator = new InstanceCreator<Integer, Color>() {
       @Override
@@ -71,6 +80,14 @@ public class ResourceFactory {
     return cursors.get( Integer.valueOf( style ), cursorCreator );
   }
 
+  SharedInstanceBuffer<Integer, Color> getColorBuffer() {
+    return colors;
+  }
+
+  SharedInstanceBuffer<FontData, Font> getFontBuffer() {
+    return fonts;
+  }
+
   private static Color createColorInstance( int colorNr ) {
     Class<?>[] paramTypes = new Class[] { int.class };
     Object[] paramValues = new Object[] { Integer.valueOf( colorNr ) };
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import static org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil.getAdapter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.rap.rwt.internal.lifecycle.WidgetLCA;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.TreeItem;
+import org.eclipse.swt.widgets.Widget;
+
+
+/*
+ * Keeps track of the widgets that were created or changed during the current request, so that
+ * the lifecycle can preserve, render and clear only those instead of traversing the whole widget
+ * tree. Widgets are preserved lazily right before their first change, which results in the same
+ * preserved values as preserving all widgets at the end of the read data phase.
+ *
+ * Only widgets that are changed through their own API or whose remote adapter is written to are
+ * recorded. Before rendering, the ancestors of all recorded widgets are collected to allow for
+ * pruning the tree traversal.
+ */
+public class DirtyWidgets {
+
+  private final Set<Widget> changedWidgets;
+  private final Map<Widget, Widget> createdWidgets;
+  private final Set<Widget> parents;
+  private boolean preserving;
+
+  /*
+   * Records that the given widget is about to change. To be called by widgets outside of the
+   * org.eclipse.swt.widgets package before they change their rendered state.
+   */
+  public static void markChanged( Widget widget ) {
+    widget.getDisplay().getAdapter( IDisplayAdapter.class ).markChanged( widget );
+  }
+
+  public DirtyWidgets() {
+    changedWidgets = createIdentitySet();
+    createdWidgets = new IdentityHashMap<>();
+    parents = createIdentitySet();
+  }
+
+  public void widgetCreated( Widget widget, Widget parent ) {
+    if( !createdWidgets.containsKey( widget ) ) {
+      createdWidgets.put( widget, parent );
+    }
+  }
+
+  public void widgetChanged( Widget widget ) {
+    if( preserving && !isDirty( widget ) ) {
+      addChanged( widget );
+    }
+  }
+
+  public void valuePreserved( Widget widget ) {
+    if( !changedWidgets.contains( widget ) ) {
+      addChanged( widget );
+    }
+  }
+
+  public void startPreserving() {
+    for( Widget widget : getChangedWidgets() ) {
+      if( !widget.isDisposed() && !createdWidgets.containsKey( widget ) ) {
+        preserveValues( widget );
+      }
+    }
+    preserving = true;
+  }
+
+  public boolean isPreserving() {
+    return preserving;
+  }
+
+  public void startRendering() {
+    preserving = false;
+    for( Widget widget : changedWidgets ) {
+      addParents( widget );
+    }
+    for( Widget widget : createdWidgets.keySet() ) {
+      addParents( widget );
+    }
+  }
+
+  public boolean isDirty( Widget widget ) {
+    return changedWidgets.contains( widget ) || createdWidgets.containsKey( widget );
+  }
+
+  public boolean hasDirtyDescendants( Widget widget ) {
+    if( parents.contains( widget ) ) {
+      return true;
+    }
+    // Sub items of a tree are traversed below their parent item but their remote adapter refers
+    // to the tree. Hence all items of a tree that contains changes are traversed.
+    return widget instanceof TreeItem && parents.contains( getAdapter( widget ).getParent() );
+  }
+
+  public List<Widget> getChangedWidgets() {
+    return new ArrayList<>( changedWidgets );
+  }
+
+  public void clear() {
+    changedWidgets.clear();
+    createdWidgets.clear();
+    parents.clear();
+    preserving = false;
+  }
+
+  private void addChanged( Widget widget ) {
+    changedWidgets.add( widget );
+    if( preserving && !widget.isDisposed() && !createdWidgets.containsKey( widget ) ) {
+      preserveValues( widget );
+    }
+  }
+
+  private void addParents( Widget widget ) {
+    if( !widget.isDisposed() ) {
+      Widget current = getParent( widget );
+      while( current != null && parents.add( current ) ) {
+        current = getParent( current );
+      }
+    }
+  }
+
+  private Widget getParent( Widget widget ) {
+    // the parent of a control may have changed since its remote adapter was created
+    if( widget instanceof Control ) {
+      return ( ( Control )widget ).getParent();
+    }
+    if( createdWidgets.containsKey( widget ) ) {
+      return createdWidgets.get( widget );
+    }
+    return getAdapter( widget ).getParent();
+  }
+  @SuppressWarnings( "unchecked" )
+  private static void preserveValues( Widget widget ) {
+    WidgetLCA<Widget> lca = widget.getAdapter( WidgetLCA.class );
+    if( lca != null ) {
+      lca.preserveValues( widget );
+    }
+  }
+
+  private static Set<Widget> createIdentitySet() {
+    return Collections.newSetFromMap( new IdentityHashMap<Widget, Boolean>() );
+  }
+
+}
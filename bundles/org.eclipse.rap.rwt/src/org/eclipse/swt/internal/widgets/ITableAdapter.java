@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2013 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -37,6 +37,8 @@ public interface ITableAdapter {
   boolean isItemVirtual( int index );
   TableItem[] getCachedItems();
   TableItem[] getCreatedItems();
+  int[] getSelectionRanges();
+  int getItemModCount();
 
   TableItem getMeasureItem();
 
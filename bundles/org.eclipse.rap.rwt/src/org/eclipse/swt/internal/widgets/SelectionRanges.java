@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import org.eclipse.swt.internal.SerializableCompatibility;
+
+
+/**
+ * A set of non-negative indices that is stored as a sorted list of disjoint, non-adjacent ranges.
+ * Membership tests are done by binary search over the ranges, adding or removing a range of
+ * indices only affects the ranges it overlaps. Hence selecting all items of a large table results
+ * in a single range.
+ */
+public final class SelectionRanges implements SerializableCompatibility {
+
+  private static final int INITIAL_CAPACITY = 4;
+
+  // start and end (inclusive) of the ranges, sorted ascending
+  private int[] starts;
+  private int[] ends;
+  private int rangeCount;
+  private int size;
+
+  public SelectionRanges() {
+    starts = new int[ INITIAL_CAPACITY ];
+    ends = new int[ INITIAL_CAPACITY ];
+  }
+
+  public boolean contains( int index ) {
+    int position = findRange( index );
+    return position >= 0 && index <= ends[ position ];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the smallest index or -1 if empty.
+   */
+  public int getFirst() {
+    return rangeCount == 0 ? -1 : starts[ 0 ];
+  }
+
+  public int[] toArray() {
+    int[] result = new int[ size ];
+    int count = 0;
+    for( int i = 0; i < rangeCount; i++ ) {
+      for( int index = starts[ i ]; index <= ends[ i ]; index++ ) {
+        result[ count++ ] = index;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the ranges as consecutive pairs of start and end (inclusive) indices, in ascending
+   * order. The size of the result depends on the number of ranges, not on the number of indices.
+   */
+  public int[] toRanges() {
+    int[] result = new int[ rangeCount * 2 ];
+    for( int i = 0; i < rangeCount; i++ ) {
+      result[ i * 2 ] = starts[ i ];
+      result[ i * 2 + 1 ] = ends[ i ];
+    }
+    return result;
+  }
+
+  public void add( int index ) {
+    add( index, index );
+  }
+
+  public void add( int start, int end ) {
+    if( start < 0 || start > end ) {
+      throw new IllegalArgumentException( "Invalid range: " + start + " - " + end );
+    }
+    // find the ranges that overlap or touch the new range
+    int first = findRange( start - 1 );
+    if( first < 0 || ends[ first ] < start - 1 ) {
+      first++;
+    }
+    int last = findRange( end + 1 );
+    int newStart = start;
+    int newEnd = end;
+    if( first <= last ) {
+      newStart = Math.min( start, starts[ first ] );
+      newEnd = Math.max( end, ends[ last ] );
+      for( int i = first; i <= last; i++ ) {
+        size -= ends[ i ] - starts[ i ] + 1;
+      }
+      removeRanges( first, last - first + 1 );
+    }
+    insertRange( first, newStart, newEnd );
+    size += newEnd - newStart + 1;
+  }
+
+  public void remove( int index ) {
+    remove( index, index );
+  }
+
+  public void remove( int start, int end ) {
+    if( start <= end && rangeCount > 0 ) {
+      int first = findRange( start );
+      if( first < 0 || ends[ first ] < start ) {
+        first++;
+      }
+      int last = findRange( end );
+      if( first <= last ) {
+        int headStart = starts[ first ];
+        int tailEnd = ends[ last ];
+        for( int i = first; i <= last; i++ ) {
+          size -= ends[ i ] - starts[ i ] + 1;
+        }
+        removeRanges( first, last - first + 1 );
+        int position = first;
+        if( headStart < start ) {
+          insertRange( position++, headStart, start - 1 );
+          size += start - headStart;
+        }
+        if( tailEnd > end ) {
+          insertRange( position, end + 1, tailEnd );
+          size += tailEnd - end;
+        }
+      }
+    }
+  }
+
+  public void clear() {
+    rangeCount = 0;
+    size = 0;
+  }
+
+  /**
+   * Adjusts the indices to an item that was inserted at the given index. The inserted item itself
+   * is not contained.
+   */
+  public void itemInserted( int index ) {
+    int position = findRange( index );
+    if( position >= 0 && starts[ position ] < index && index <= ends[ position ] ) {
+      // split the range around the inserted index
+      insertRange( position + 1, index, ends[ position ] );
+      ends[ position ] = index - 1;
+      position++;
+    } else if( position < 0 || ends[ position ] < index ) {
+      position++;
+    }
+    for( int i = position; i < rangeCount; i++ ) {
+      starts[ i ]++;
+      ends[ i ]++;
+    }
+  }
+
+  /**
+   * Adjusts the indices to an item that was removed at the given index. The removed index is no
+   * longer contained afterwards.
+   */
+  public void itemRemoved( int index ) {
+    remove( index );
+    int position = findRange( index );
+    if( position < 0 || ends[ position ] < index ) {
+      position++;
+    }
+    for( int i = position; i < rangeCount; i++ ) {
+      starts[ i ]--;
+      ends[ i ]--;
+    }
+    // ranges that were separated by the removed index are adjacent now
+    if( position > 0 && position < rangeCount && ends[ position - 1 ] + 1 == starts[ position ] ) {
+      ends[ position - 1 ] = ends[ position ];
+      removeRanges( position, 1 );
+    }
+  }
+
+  /*
+   * Returns the position of the last range whose start is less than or equal to the given index,
+   * or -1 if there is no such range.
+   */
+  private int findRange( int index ) {
+    int low = 0;
+    int high = rangeCount - 1;
+    while( low <= high ) {
+      int middle = ( low + high ) >>> 1;
+      if( starts[ middle ] <= index ) {
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return high;
+  }
+
+  private void insertRange( int position, int start, int end ) {
+    if( rangeCount == starts.length ) {
+      int[] newStarts = new int[ rangeCount * 2 ];
+      int[] newEnds = new int[ rangeCount * 2 ];
+      System.arraycopy( starts, 0, newStarts, 0, rangeCount );
+      System.arraycopy( ends, 0, newEnds, 0, rangeCount );
+      starts = newStarts;
+      ends = newEnds;
+    }
+    System.arraycopy( starts, position, starts, position + 1, rangeCount - position );
+    System.arraycopy( ends, position, ends, position + 1, rangeCount - position );
+    starts[ position ] = start;
+    ends[ position ] = end;
+    rangeCount++;
+  }
+
+  private void removeRanges( int position, int count ) {
+    int moved = rangeCount - position - count;
+    System.arraycopy( starts, position + count, starts, position, moved );
+    System.arraycopy( ends, position + count, ends, position, moved );
+    rangeCount -= count;
+  }
+
+}
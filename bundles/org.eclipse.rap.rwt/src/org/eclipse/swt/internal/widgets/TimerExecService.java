@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Provides the executor that runs the tasks scheduled with <code>Display#timerExec()</code> for
+ * all sessions of an application. The tasks only pass the runnable to the display of their session,
+ * hence a few threads serve any number of sessions.
+ */
+public class TimerExecService {
+
+  private static final int THREAD_COUNT = 2;
+  private static final String THREAD_NAME = "RWT timerExec scheduler";
+
+  private final Object lock;
+  private ScheduledThreadPoolExecutor executor;
+
+  public TimerExecService() {
+    lock = new Object();
+  }
+
+  public ScheduledExecutorService getExecutor() {
+    synchronized( lock ) {
+      if( executor == null ) {
+        executor = new ScheduledThreadPoolExecutor( THREAD_COUNT, new TimerThreadFactory() );
+        // do not keep canceled tasks in the queue until their delay elapses
+        executor.setRemoveOnCancelPolicy( true );
+      }
+      return executor;
+    }
+  }
+
+  public void shutdown() {
+    synchronized( lock ) {
+      if( executor != null ) {
+        executor.shutdownNow();
+        executor = null;
+      }
+    }
+  }
+
+  private static class TimerThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger threadNumber = new AtomicInteger();
+
+    @Override
+    public Thread newThread( Runnable runnable ) {
+      String name = THREAD_NAME + " " + threadNumber.incrementAndGet();
+      Thread thread = new Thread( runnable, name );
+      thread.setDaemon( true );
+      return thread;
+    }
+
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -38,6 +38,8 @@ public class WidgetRemoteAdapter implements RemoteAdapter, SerializableCompatibi
   private transient Runnable[] renderRunnables;
   private transient Object[] data;
   private transient String variant;
+  private transient Widget widget;
+  private transient DirtyWidgets dirtyWidgets;
 
   public WidgetRemoteAdapter( String id ) {
     this.id = id;
@@ -53,6 +55,11 @@ public class WidgetRemoteAdapter implements RemoteAdapter, SerializableCompatibi
     return id;
   }
 
+  public void setDirtyWidgets( Widget widget, DirtyWidgets dirtyWidgets ) {
+    this.widget = widget;
+    this.dirtyWidgets = dirtyWidgets;
+  }
+
   public void setParent( Widget parent ) {
     this.parent = parent;
   }
@@ -73,6 +80,7 @@ public class WidgetRemoteAdapter implements RemoteAdapter, SerializableCompatibi
 
   @Override
   public void preserve( String propertyName, Object value ) {
+    markDirty();
     preservedValues.put( propertyName, value );
   }
 
@@ -129,6 +137,7 @@ public class WidgetRemoteAdapter implements RemoteAdapter, SerializableCompatibi
   }
 
   protected void markPreserved( int index ) {
+    markDirty();
     preserved |= ( 1 << index );
   }
 
@@ -141,6 +150,7 @@ public class WidgetRemoteAdapter implements RemoteAdapter, SerializableCompatibi
   }
 
   public void addRenderRunnable( Runnable renderRunnable ) {
+    markDirty();
     if( renderRunnables == null ) {
       renderRunnables = new Runnable[] { renderRunnable };
     } else {
@@ -166,6 +176,12 @@ public class WidgetRemoteAdapter implements RemoteAdapter, SerializableCompatibi
     }
   }
 
+  private void markDirty() {
+    if( dirtyWidgets != null ) {
+      dirtyWidgets.valuePreserved( widget );
+    }
+  }
+
   private Object readResolve() {
     initialize();
     return this;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -152,6 +152,7 @@ public class Composite extends Scrollable {
    */
   public void setLayout( Layout layout ) {
     checkWidget();
+    markChanged();
     this.layout = layout;
   }
 
@@ -195,6 +196,7 @@ public class Composite extends Scrollable {
    */
   public void setLayoutDeferred( boolean defer ) {
     checkWidget();
+    markChanged();
     if( !defer ) {
       if( --layoutCount == 0 ) {
         if( hasState( LAYOUT_CHILD ) || hasState( LAYOUT_NEEDED ) ) {
@@ -275,6 +277,7 @@ public class Composite extends Scrollable {
    */
   public void layout() {
     checkWidget();
+    markChanged();
     layout( true );
   }
 
@@ -318,6 +321,7 @@ public class Composite extends Scrollable {
    */
   public void layout( boolean changed ) {
     checkWidget();
+    markChanged();
     if( layout != null ) {
       layout( changed, false );
     }
@@ -365,6 +369,7 @@ public class Composite extends Scrollable {
    */
   public void layout( boolean changed, boolean all ) {
     checkWidget();
+    markChanged();
     if( layout != null || all ) {
       markLayout( changed, all );
       updateLayout( true, all );
@@ -406,6 +411,7 @@ public class Composite extends Scrollable {
    */
   public void layout( Control[] changed ) {
     checkWidget();
+    markChanged();
     if( changed == null ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -633,6 +639,7 @@ public class Composite extends Scrollable {
    */
   public void changed( Control[] changed ) {
     checkWidget();
+    markChanged();
     if( changed == null ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -712,6 +719,7 @@ public class Composite extends Scrollable {
    */
   public void setBackgroundMode( int mode ) {
     checkWidget();
+    markChanged();
     backgroundMode = mode;
     for( Control child : children ) {
       child.updateBackgroundMode();
@@ -738,6 +746,7 @@ public class Composite extends Scrollable {
   @Override
   public boolean setFocus() {
     checkWidget();
+    markChanged();
     for( Control child : children ) {
       if( child.setFocus() ) {
         return true;
@@ -766,6 +775,7 @@ public class Composite extends Scrollable {
    */
   public void setTabList( Control[] tabList ) {
     checkWidget();
+    markTabOrderChanged();
     Control[] newList = tabList;
     if( tabList != null ) {
       for( int i = 0; i < tabList.length; i++ ) {
@@ -875,16 +885,19 @@ public class Composite extends Scrollable {
   }
 
   void addChild( Control control ) {
+    markTabOrderChanged();
     getRemoteAdapter().preserveChildren( children.toArray( new Control[ 0 ] ) );
     children.add( control );
   }
 
   void removeChild( Control control ) {
+    markTabOrderChanged();
     getRemoteAdapter().preserveChildren( children.toArray( new Control[ 0 ] ) );
     children.remove( control );
   }
 
   void moveAbove( Control control1, Control control2 ) {
+    markTabOrderChanged();
     getRemoteAdapter().preserveChildren( children.toArray( new Control[ 0 ] ) );
     children.remove( control1 );
     int index = control2 != null ? children.indexOf( control2 ) : 0;
@@ -892,11 +905,20 @@ public class Composite extends Scrollable {
   }
 
   void moveBelow( Control control1, Control control2 ) {
+    markTabOrderChanged();
     getRemoteAdapter().preserveChildren( children.toArray( new Control[ 0 ] ) );
     children.remove( control1 );
     int index = control2 != null ? children.indexOf( control2 ) + 1 : children.size();
     children.add( index, control1 );
   }
+  /*
+   * The tab indices of all controls in a shell are computed when the shell is rendered.
+   */
+  private void markTabOrderChanged() {
+    markChanged();
+    internalGetShell().markChanged();
+  }
+
 
   @Override
   void notifyResize( Point oldSize ) {
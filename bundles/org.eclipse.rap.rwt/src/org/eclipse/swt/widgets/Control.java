@@ -295,6 +295,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setVisible( boolean visible ) {
     checkWidget();
+    markChanged();
     if( hasState( HIDDEN ) != !visible ) {
       if( visible ) {
         notifyListeners( SWT.Show, null );
@@ -378,6 +379,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    markChanged();
     /*
      * Feature in Windows.  If the receiver has focus, disabling
      * the receiver causes no window to have focus.  The fix is
@@ -462,6 +464,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setBackground( Color color ) {
     checkWidget();
+    markChanged();
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -528,6 +531,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setBackgroundImage( Image image ) {
     checkWidget();
+    markChanged();
     if( image != null && image.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -575,6 +579,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setForeground( Color color ) {
     checkWidget();
+    markChanged();
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -694,6 +699,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setFont( Font font ) {
     checkWidget();
+    markChanged();
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -746,6 +752,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setCursor( Cursor cursor ) {
     checkWidget();
+    markChanged();
     if( cursor != null && cursor.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -793,6 +800,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public boolean setFocus() {
     checkWidget();
+    markChanged();
     boolean result = false;
     if( ( style & SWT.NO_FOCUS ) == 0 ) {
       result = forceFocus();
@@ -815,6 +823,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public boolean forceFocus() {
     checkWidget();
+    markChanged();
     // if (display.focusEvent == SWT.FocusOut) return false;
     Shell shell = getShell(); // was: Decorations shell = menuShell();
     shell.setSavedFocus( this );
@@ -894,6 +903,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setBounds( Rectangle bounds ) {
     checkWidget();
+    markChanged();
     if( bounds == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1147,6 +1157,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void pack() {
     checkWidget();
+    markChanged();
     pack( true );
   }
 
@@ -1173,6 +1184,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void pack( boolean changed ) {
     checkWidget();
+    markChanged();
     setSize( computeSize( SWT.DEFAULT, SWT.DEFAULT, changed ) );
     packed = true;
   }
@@ -1328,6 +1340,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setLayoutData( Object layoutData ) {
     checkWidget();
+    markChanged();
     this.layoutData = layoutData;
   }
 
@@ -1357,6 +1370,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setToolTipText( String toolTipText ) {
     checkWidget();
+    markChanged();
     if(    toolTipText != null
         && isToolTipMarkupEnabledFor( this )
         && !isValidationDisabledFor( this ) )
@@ -1413,6 +1427,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setMenu( Menu menu ) {
     checkWidget();
+    markChanged();
     if( this.menu != menu ) {
       if( menu != null ) {
         if( menu.isDisposed() ) {
@@ -1476,6 +1491,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void moveAbove( Control control ) {
     checkWidget();
+    markChanged();
     if( control != null && control.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -1508,6 +1524,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void moveBelow( Control control ) {
     checkWidget();
+    markChanged();
     if( control != null && control.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -2072,6 +2089,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setRedraw( boolean redraw ) {
     checkWidget();
+    markChanged();
     internalSetRedraw( redraw );
   }
 
@@ -2092,6 +2110,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void redraw() {
     checkWidget();
+    markChanged();
     internalSetRedraw( true );
   }
 
@@ -2128,6 +2147,7 @@ public abstract class Control extends Widget implements Drawable {
 //  * @see SWT#Paint
   public void redraw( int x, int y, int width, int height, boolean all ) {
     checkWidget();
+    markChanged();
     if( width > 0 && height > 0 ) {
       internalSetRedraw( true, x, y, width, height );
     }
@@ -2161,6 +2181,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void update() {
     checkWidget();
+    markChanged();
   }
 
   /**
@@ -2184,6 +2205,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public boolean setParent( Composite parent ) {
     checkWidget();
+    markChanged();
     if( parent == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -2243,6 +2265,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setOrientation( int orientation ) {
     checkWidget();
+    markChanged();
     int flags = SWT.RIGHT_TO_LEFT | SWT.LEFT_TO_RIGHT;
     if( ( orientation & flags ) == 0 || ( orientation & flags ) == flags ) {
       return;
@@ -2426,6 +2449,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setTouchEnabled( boolean enabled ) {
     checkWidget();
+    markChanged();
   }
 
   /**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -1225,6 +1225,7 @@ public class CoolBar extends Composite {
    */
   public void setLocked( boolean locked ) {
     checkWidget();
+    markChanged();
     if( isLocked != locked ) {
       redraw();
     }
@@ -1250,6 +1251,7 @@ public class CoolBar extends Composite {
    */
   public void setWrapIndices( int[] indices ) {
     checkWidget();
+    markChanged();
     int[] newIndices = indices;
     if ( newIndices == null )
       newIndices = new int[0];
@@ -1325,6 +1327,7 @@ public class CoolBar extends Composite {
    */
   public void setItemLayout( int[] itemOrder, int[] wrapIndices, Point[] sizes ) {
     checkWidget();
+    markChanged();
     setItemOrder( itemOrder );
     setWrapIndices( wrapIndices );
     setItemSizes( sizes );
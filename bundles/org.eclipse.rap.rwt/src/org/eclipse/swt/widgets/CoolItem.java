@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -541,6 +541,7 @@ public class CoolItem extends Item {
   }
 
   void setBounds( int x, int y, int width, int height ) {
+    markChanged();
     itemBounds.x = x;
     itemBounds.y = y;
     itemBounds.width = width;
@@ -578,6 +579,7 @@ public class CoolItem extends Item {
    */
   public void setControl( Control control ) {
     checkWidget();
+    markChanged();
     if ( control != null ) {
       if ( control.isDisposed() ) {
         error( SWT.ERROR_INVALID_ARGUMENT );
@@ -616,6 +618,7 @@ public class CoolItem extends Item {
    */
   public void setMinimumSize( int width, int height ) {
     checkWidget();
+    markChanged();
     Point point = parent.fixPoint( width, height );
     minimumWidth = point.x;
     minimumHeight = point.y;
@@ -642,6 +645,7 @@ public class CoolItem extends Item {
    */
   public void setMinimumSize( Point size ) {
     checkWidget();
+    markChanged();
     if ( size == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -665,6 +669,7 @@ public class CoolItem extends Item {
    */
   public void setPreferredSize( int width, int height ) {
     checkWidget();
+    markChanged();
     ideal = true;
     Point point = parent.fixPoint( width, height );
     preferredWidth = Math.max( point.x, MINIMUM_WIDTH );
@@ -690,6 +695,7 @@ public class CoolItem extends Item {
    */
   public void setPreferredSize( Point size ) {
     checkWidget();
+    markChanged();
     if ( size == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -717,6 +723,7 @@ public class CoolItem extends Item {
    */
   public void setSize( int width, int height ) {
     checkWidget();
+    markChanged();
     int newHeight = height;
     int newWidth = width;
     Point point = parent.fixPoint( newWidth, newHeight );
@@ -763,6 +770,7 @@ public class CoolItem extends Item {
    */
   public void setSize( Point size ) {
     checkWidget();
+    markChanged();
     if ( size == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
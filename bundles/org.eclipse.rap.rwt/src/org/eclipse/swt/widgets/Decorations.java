@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -85,6 +85,7 @@ public class Decorations extends Canvas {
    */
   public void setImages( Image[] images ) {
     checkWidget();
+    markChanged();
     if( images == null ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -148,6 +149,7 @@ public class Decorations extends Canvas {
    */
   public void setImage( Image image ) {
     checkWidget();
+    markChanged();
     this.image = image;
   }
 
@@ -195,6 +197,7 @@ public class Decorations extends Canvas {
    */
   public void setText( String text ) {
     checkWidget();
+    markChanged();
     if( text == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -237,6 +240,7 @@ public class Decorations extends Canvas {
    */
   public void setMenuBar( Menu menuBar ) {
     checkWidget();
+    markChanged();
     if( this.menuBar != menuBar ) {
       if( menuBar != null ) {
         if( menuBar.isDisposed() ) {
@@ -305,6 +309,7 @@ public class Decorations extends Canvas {
    */
   public void setDefaultButton( Button button ) {
     checkWidget();
+    markChanged();
     if( button != null ) {
       if( button.isDisposed() ) {
         error( SWT.ERROR_INVALID_ARGUMENT );
@@ -353,6 +358,7 @@ public class Decorations extends Canvas {
   }
 
   void setDefaultButton( Button button, boolean save ) {
+    markChanged();
     if( button == null ) {
       if( defaultButton == saveDefault ) {
         if( save ) {
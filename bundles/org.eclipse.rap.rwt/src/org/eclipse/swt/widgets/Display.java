@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -31,7 +31,9 @@ import java.util.Set;
 import org.eclipse.rap.json.JsonValue;
 import org.eclipse.rap.rwt.Adaptable;
 import org.eclipse.rap.rwt.application.ExceptionHandler;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
+import org.eclipse.rap.rwt.internal.lifecycle.AsyncExecDrainPolicy;
 import org.eclipse.rap.rwt.internal.lifecycle.CurrentPhase;
 import org.eclipse.rap.rwt.internal.lifecycle.IUIThreadHolder;
 import org.eclipse.rap.rwt.internal.lifecycle.LifeCycle;
@@ -62,6 +64,7 @@ import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.SerializableCompatibility;
 import org.eclipse.swt.internal.events.EventList;
 import org.eclipse.swt.internal.events.EventUtil;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 import org.eclipse.swt.internal.widgets.IdGenerator;
 import org.eclipse.swt.internal.widgets.WidgetRemoteAdapter;
@@ -229,6 +232,7 @@ public class Display extends Device implements Adaptable {
   private final Point cursorLocation;
   private Shell activeShell;
   private Collection<Control> redrawControls;
+  private transient DirtyWidgets dirtyWidgets;
   private Control focusControl;
   private EventTable filterTable;
   private EventTable eventTable;
@@ -283,6 +287,9 @@ public class Display extends Device implements Adaptable {
     dpi = readDPI();
     depth = readDepth();
     synchronizer = new Synchronizer( this );
+    if( RWTProperties.isDirtyTrackingEnabled() ) {
+      dirtyWidgets = new DirtyWidgets();
+    }
     register();
   }
 
@@ -854,8 +861,12 @@ public class Display extends Device implements Adaptable {
     if( this.activeShell != activeShell ) {
       Shell lastActiveShell = this.activeShell;
       if( this.activeShell != null ) {
+        this.activeShell.markChanged();
         this.activeShell.saveFocus();
       }
+      if( activeShell != null ) {
+        activeShell.markChanged();
+      }
       // Move active shell to end of list to maintain correct z-order
       if( activeShell != null ) {
         shells.remove( activeShell );
@@ -876,6 +887,13 @@ public class Display extends Device implements Adaptable {
 
   final void addShell( Shell shell ) {
     shells.add( shell );
+    if( dirtyWidgets != null ) {
+      dirtyWidgets.widgetCreated( shell, null );
+    }
+  }
+
+  final DirtyWidgets getDirtyWidgets() {
+    return dirtyWidgets;
   }
 
   final void removeShell( Shell shell ) {
@@ -1198,7 +1216,7 @@ public class Display extends Device implements Adaptable {
         result = executeNextEvent();
       }
       if( !result ) {
-        result = synchronizer.runAsyncMessages( false );
+        result = runAsyncMessages();
       }
       if( !result ) {
         result = executeNextRedraw();
@@ -1207,6 +1225,21 @@ public class Display extends Device implements Adaptable {
     return result;
   }
 
+  private boolean runAsyncMessages() {
+    boolean result = false;
+    if( synchronizer.getMessageCount() > 0 ) {
+      AsyncExecDrainPolicy drainPolicy = AsyncExecDrainPolicy.getInstance();
+      if( drainPolicy.canExecute() ) {
+        drainPolicy.notifyExecuting();
+        result = synchronizer.runAsyncMessages( false );
+      } else {
+        // the client may not be notified otherwise, as the queue did not become non-empty
+        ServerPushManager.getInstance().forceServerPush();
+      }
+    }
+    return result;
+  }
+
   private static boolean executeNextEvent() {
     boolean result = false;
     Event[] events = EventList.getInstance().getAll();
@@ -2477,6 +2510,16 @@ public class Display extends Device implements Adaptable {
       return Display.this.isListening( eventType );
     }
 
+    @Override
+    public DirtyWidgets getDirtyWidgets() {
+      return dirtyWidgets;
+    }
+
+    @Override
+    public void markChanged( Widget widget ) {
+      widget.markChanged();
+    }
+
   }
 
 }
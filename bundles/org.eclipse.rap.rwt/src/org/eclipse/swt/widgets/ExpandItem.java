@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -264,6 +264,7 @@ public class ExpandItem extends Item {
   }
 
   void setBounds( int x, int y, int width, int height, boolean move, boolean size ) {
+    markChanged();
     int headerHeight = getHeaderHeight();
     int aX = x;
     int aY = y;
@@ -319,6 +320,7 @@ public class ExpandItem extends Item {
    */
   public void setControl( Control control ) {
     checkWidget();
+    markChanged();
     if( control != null ) {
       if( control.isDisposed() ) {
         error( SWT.ERROR_INVALID_ARGUMENT );
@@ -355,6 +357,7 @@ public class ExpandItem extends Item {
    */
   public void setExpanded( boolean expanded ) {
     checkWidget();
+    markChanged();
     this.expanded = expanded;
     parent.showItem( this );
   }
@@ -373,6 +376,7 @@ public class ExpandItem extends Item {
    */
   public void setHeight( int height ) {
     checkWidget();
+    markChanged();
     if( height >= 0 ) {
       setBounds( 0, 0, width, height, false, true );
       if( expanded ) {
@@ -384,6 +388,7 @@ public class ExpandItem extends Item {
   @Override
   public void setImage( Image image ) {
     checkWidget();
+    markChanged();
     if( image != getImage() ) {
       super.setImage( image );
       updateBounds();
@@ -404,6 +409,7 @@ public class ExpandItem extends Item {
   @Override
   public void setText( String string ) {
     checkWidget();
+    markChanged();
     if( string == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
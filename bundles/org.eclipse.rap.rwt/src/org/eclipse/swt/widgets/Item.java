@@ -14,6 +14,7 @@ package org.eclipse.swt.widgets;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 
 
 /**
@@ -114,6 +115,7 @@ public abstract class Item extends Widget {
    */
   public void setText( String text ) {
     checkWidget();
+    markChanged();
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -152,6 +154,7 @@ public abstract class Item extends Widget {
    */
   public void setImage( Image image ) {
     checkWidget();
+    markChanged();
     if( image != null && image.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -179,4 +182,11 @@ public abstract class Item extends Widget {
     return getText();
   }
 
+  @Override
+  void markChanged( DirtyWidgets dirtyWidgets ) {
+    super.markChanged( dirtyWidgets );
+    // the parent renders values that depend on its items, e.g. the item metrics of a table
+    markParentChanged();
+  }
+
 }
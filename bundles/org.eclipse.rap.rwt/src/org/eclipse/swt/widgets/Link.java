@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -115,6 +115,7 @@ public class Link extends Control {
    */
   public void setText( String string ) {
     checkWidget();
+    markChanged();
     if( string == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
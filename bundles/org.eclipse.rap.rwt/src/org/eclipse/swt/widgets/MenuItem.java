@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -174,6 +174,7 @@ public class MenuItem extends Item {
    */
   public void setMenu( Menu menu ) {
     checkWidget();
+    markChanged();
     if( this.menu != menu ) {
       if( ( style & SWT.CASCADE ) == 0 ) {
         SWT.error( SWT.ERROR_MENUITEM_NOT_CASCADE );
@@ -236,6 +237,7 @@ public class MenuItem extends Item {
    */
   public void setID( int id ) {
     checkWidget();
+    markChanged();
     if( id < 0 ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -274,6 +276,7 @@ public class MenuItem extends Item {
   @Override
   public void setImage( Image image ) {
     checkWidget();
+    markChanged();
     if( ( style & SWT.SEPARATOR ) == 0 ) {
       super.setImage( image );
     }
@@ -299,6 +302,7 @@ public class MenuItem extends Item {
    */
   public void setAccelerator( int accelerator ) {
     checkWidget();
+    markChanged();
     if( accelerator != 0 ) {
       if( acceleratorBinding == null ) {
         acceleratorBinding = new AcceleratorBinding( this );
@@ -350,6 +354,7 @@ public class MenuItem extends Item {
    */
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    markChanged();
     removeState( DISABLED );
     if( !enabled ) {
       addState( DISABLED );
@@ -432,6 +437,7 @@ public class MenuItem extends Item {
    */
   public void setSelection( boolean selection ) {
     checkWidget();
+    markChanged();
     if( ( style & ( SWT.CHECK | SWT.RADIO ) ) != 0 ) {
       this.selection = selection;
     }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -176,6 +176,7 @@ public class ScrollBar extends Widget {
    */
   public void setVisible( boolean visible ) {
     checkWidget();
+    markChanged();
     boolean isVisible = !hasState( HIDDEN );
     if( isVisible != visible ) {
       if( visible ) {
@@ -245,6 +246,7 @@ public class ScrollBar extends Widget {
    */
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    markChanged();
     if( enabled ) {
       removeState( DISABLED );
     } else {
@@ -349,6 +351,7 @@ public class ScrollBar extends Widget {
    */
   public void setThumb( int thumb ) {
     checkWidget();
+    markChanged();
     this.thumb = thumb;
   }
 
@@ -382,6 +385,7 @@ public class ScrollBar extends Widget {
    */
   public void setMaximum( int maximum ) {
     checkWidget();
+    markChanged();
     this.maximum = maximum;
   }
 
@@ -415,6 +419,7 @@ public class ScrollBar extends Widget {
    */
   public void setMinimum( int minimum ) {
     checkWidget();
+    markChanged();
     this.minimum = minimum;
   }
 
@@ -432,6 +437,7 @@ public class ScrollBar extends Widget {
    */
   public void setSelection( int selection ) {
     checkWidget();
+    markChanged();
     if( this.selection != selection ) {
       this.selection = selection;
     }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -474,6 +474,7 @@ public class Shell extends Decorations {
    */
   public void setActive() {
     checkWidget();
+    markChanged();
     if( isVisible() ) {
       display.setActiveShell( this );
     }
@@ -501,6 +502,7 @@ public class Shell extends Decorations {
    */
   public void forceActive() {
     checkWidget();
+    markChanged();
     setActive();
   }
 
@@ -653,6 +655,7 @@ public class Shell extends Decorations {
   @Override
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    markChanged();
     if( getEnabled() != enabled ) {
       super.setEnabled( enabled );
       if( enabled ) {
@@ -681,6 +684,7 @@ public class Shell extends Decorations {
   @Override
   public void setVisible( boolean visible ) {
     checkWidget();
+    markChanged();
     boolean wasVisible = getVisible();
     super.setVisible( visible );
     // Emulate OS behavior: in SWT, a layout is triggered during
@@ -714,6 +718,7 @@ public class Shell extends Decorations {
    */
   public void open() {
     checkWidget();
+    markChanged();
     // Order of setActiveShell/bringToTop/setVisible is crucial
     display.setActiveShell( this );
     bringToTop();
@@ -740,6 +745,7 @@ public class Shell extends Decorations {
    */
   public void close() {
     checkWidget();
+    markChanged();
     ProcessActionRunner.add( new Runnable() {
       @Override
       public void run() {
@@ -770,6 +776,7 @@ public class Shell extends Decorations {
    */
   public void setAlpha( int alpha ) {
     checkWidget();
+    markChanged();
     this.alpha = alpha & 0xFF;
   }
 
@@ -841,6 +848,7 @@ public class Shell extends Decorations {
    */
   public void setMinimumSize( int width, int height ) {
     checkWidget();
+    markChanged();
     minWidth = Math.max( MIN_WIDTH_LIMIT, width );
     minHeight = Math.max( getMinHeightLimit(), height );
     Point size = getSize();
@@ -870,6 +878,7 @@ public class Shell extends Decorations {
    */
   public void setMinimumSize( Point size ) {
     checkWidget();
+    markChanged();
     if( size == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1019,6 +1028,7 @@ public class Shell extends Decorations {
   // Methods to maintain activeControl and send ActivateEvents
 
   void setActiveControl( Control activateControl ) {
+    markChanged();
     Control control = activateControl;
     if( control != null && control.isDisposed() ) {
       control = null;
@@ -1110,6 +1120,7 @@ public class Shell extends Decorations {
    */
   public void setMinimized( boolean minimized ) {
     checkWidget();
+    markChanged();
     if( minimized ) {
       mode |= MODE_MINIMIZED;
     } else {
@@ -1145,6 +1156,7 @@ public class Shell extends Decorations {
    */
   public void setMaximized( boolean maximized ) {
     checkWidget();
+    markChanged();
     if( ( mode & MODE_FULLSCREEN ) == 0 ) {
       if( maximized ) {
         if( ( mode & MODE_MAXIMIZED ) == 0 ) {
@@ -1228,6 +1240,7 @@ public class Shell extends Decorations {
    */
   public void setFullScreen( boolean fullScreen ) {
     checkWidget();
+    markChanged();
     if( ( ( mode & MODE_FULLSCREEN ) != 0 ) != fullScreen ) {
       if( fullScreen ) {
         setActive();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -334,6 +334,7 @@ public class Slider extends Control {
    */
   public void setIncrement( int value ) {
     checkWidget();
+    markChanged();
     if( value >= 1 && value <= maximum - minimum ) {
       increment = value;
     }
@@ -354,6 +355,7 @@ public class Slider extends Control {
    */
   public void setMaximum( int value ) {
     checkWidget();
+    markChanged();
     if( 0 <= minimum && minimum < value ) {
       maximum = value;
       if( selection > maximum - thumb ) {
@@ -381,6 +383,7 @@ public class Slider extends Control {
    */
   public void setMinimum( int value ) {
     checkWidget();
+    markChanged();
     if( 0 <= value && value < maximum ) {
       minimum = value;
       if( selection < minimum ) {
@@ -408,6 +411,7 @@ public class Slider extends Control {
    */
   public void setPageIncrement( int value ) {
     checkWidget();
+    markChanged();
     if( value >= 1 && value <= maximum - minimum ) {
       pageIncrement = value;
     }
@@ -427,6 +431,7 @@ public class Slider extends Control {
    */
   public void setSelection( int value ) {
     checkWidget();
+    markChanged();
     if( value < minimum ) {
       selection = minimum;
     } else if ( value > maximum - thumb ) {
@@ -452,6 +457,7 @@ public class Slider extends Control {
    */
   public void setThumb( int value ) {
     checkWidget();
+    markChanged();
     if( value >= 1 ) {
       thumb = value;
     }
@@ -490,6 +496,7 @@ public class Slider extends Control {
                          int pageIncrement )
   {
     checkWidget();
+    markChanged();
     if( selection >= minimum && selection <= maximum ) {
       this.selection = selection;
     }
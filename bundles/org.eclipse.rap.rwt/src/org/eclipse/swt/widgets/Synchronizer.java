@@ -11,6 +11,10 @@
  *******************************************************************************/
 package org.eclipse.swt.widgets;
 
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
 import org.eclipse.rap.rwt.internal.util.SerializableLock;
@@ -44,14 +48,16 @@ import org.eclipse.swt.internal.SerializableCompatibility;
 public class Synchronizer implements SerializableCompatibility {
 
   Display display;
-  int messageCount;
-  RunnableLock [] messages;
+//	int messageCount;
+//	RunnableLock [] messages;
+  // background threads may post many runnables, hence a lock-free queue is used
+  final AtomicInteger messageCount = new AtomicInteger ();
+  final Queue<RunnableLock> messages = new ConcurrentLinkedQueue<> ();
 // RAP [rh] mesageLock must be serializable	(bug 345842)
 //	Object messageLock = new Object ();
-  Object messageLock = new SerializableLock();
+  // only serializes the notifications of the server push mechanism
+  final Object messageLock = new SerializableLock();
   Thread syncThread;
-  static final int GROW_SIZE = 4;
-  static final int MESSAGE_LIMIT = 64;
 
   //TEMPORARY CODE
   static final boolean IS_CARBON = "carbon".equals (SWT.getPlatform ());
@@ -68,35 +74,35 @@ public Synchronizer (Display display) {
 }
 
 void addLast (RunnableLock lock) {
-  boolean wake = false;
-  synchronized (messageLock) {
-    if (messages == null) {
-      messages = new RunnableLock [GROW_SIZE];
-    }
-    if (messageCount == messages.length) {
-      RunnableLock[] newMessages = new RunnableLock [messageCount + GROW_SIZE];
-      System.arraycopy (messages, 0, newMessages, 0, messageCount);
-      messages = newMessages;
-    }
-    messages [messageCount++] = lock;
+  // the count is incremented first so that it never drops below the number of queued messages
+  boolean wake = messageCount.getAndIncrement () == 0;
+  messages.offer (lock);
 // RAP [rst] Notify server push mechanism when runnable was added to empty queue
-    if( messageCount == 1 ) {
-      RWT.getUISession( display ).exec( new Runnable() {
-        @Override
-        public void run() {
-          ServerPushManager.getInstance().setHasRunnables( true );
-        }
-      } );
-    }
-    runnableAdded( lock.runnable );
-// END RAP
-    wake = messageCount == 1;
+  if( wake ) {
+    notifyServerPush();
   }
+  runnableAdded( lock.runnable );
+// END RAP
   if (wake) {
     display.wakeThread ();
   }
 }
 
+/*
+ * Notifications for concurrent transitions may be processed in any order, hence the current state
+ * of the queue is passed instead of the state at the time of the transition.
+ */
+private void notifyServerPush() {
+  RWT.getUISession( display ).exec( new Runnable() {
+    @Override
+    public void run() {
+      synchronized( messageLock ) {
+        ServerPushManager.getInstance().setHasRunnables( messageCount.get() > 0 );
+      }
+    }
+  } );
+}
+
 @SuppressWarnings( "unused" )
 protected void runnableAdded( Runnable runnable ) {
 }
@@ -124,9 +130,7 @@ protected void asyncExec (Runnable runnable) {
 }
 
 int getMessageCount () {
-  synchronized (messageLock) {
-    return messageCount;
-  }
+  return messageCount.get ();
 }
 
 void releaseSynchronizer () {
@@ -143,36 +147,19 @@ void releaseSynchronizer () {
   }
   // END RAP
 //	display = null;
-  messages = null;
-  messageLock = null;
+//	messages = null;
+//	messageLock = null;
   syncThread = null;
 }
 
 RunnableLock removeFirst () {
-  synchronized (messageLock) {
-    if (messageCount == 0) {
-      return null;
-    }
-    RunnableLock lock = messages [0];
-    System.arraycopy (messages, 1, messages, 0, --messageCount);
-    messages [messageCount] = null;
-    if (messageCount == 0) {
-      if (messages.length > MESSAGE_LIMIT) {
-        messages = null;
-      }
-    }
+  RunnableLock lock = messages.poll ();
 // RAP [rst] Notify server push mechanism when last runnable has been removed
-    if( messageCount == 0 ) {
-      RWT.getUISession( display ).exec( new Runnable() {
-        @Override
-        public void run() {
-          ServerPushManager.getInstance().setHasRunnables( false );
-        }
-      } );
-    }
-// END RAP
-    return lock;
+  if( lock != null && messageCount.decrementAndGet () == 0 ) {
+    notifyServerPush();
   }
+// END RAP
+  return lock;
 }
 
 boolean runAsyncMessages () {
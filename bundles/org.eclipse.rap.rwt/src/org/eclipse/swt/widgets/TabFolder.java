@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -281,6 +281,7 @@ public class TabFolder extends Composite {
    */
   public void setSelection( TabItem item ) {
     checkWidget();
+    markChanged();
     if( item == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -304,6 +305,7 @@ public class TabFolder extends Composite {
    */
   public void setSelection( TabItem[] items ) {
     checkWidget();
+    markChanged();
     if( items == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -334,6 +336,7 @@ public class TabFolder extends Composite {
    */
   public void setSelection( int index ) {
     checkWidget ();
+    markChanged();
     if( index >= 0 && index < itemHolder.size() ) {
       setSelection( index, false );
     }
@@ -364,6 +367,7 @@ public class TabFolder extends Composite {
   @Override
   public void layout() {
     checkWidget();
+    markChanged();
     Control[] children = getChildren();
     for( int i = 0; i < children.length; i++ ) {
       children[ i ].setBounds( getClientArea() );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -41,6 +41,7 @@ import org.eclipse.swt.internal.widgets.IItemHolderAdapter;
 import org.eclipse.swt.internal.widgets.ITableAdapter;
 import org.eclipse.swt.internal.widgets.ItemHolder;
 import org.eclipse.swt.internal.widgets.MarkupValidator;
+import org.eclipse.swt.internal.widgets.SelectionRanges;
 import org.eclipse.swt.internal.widgets.tablekit.TableLCA;
 import org.eclipse.swt.internal.widgets.tablekit.TableThemeAdapter;
 
@@ -246,6 +247,16 @@ public class Table extends Composite {
       return Table.this.getCreatedItems();
     }
 
+    @Override
+    public int[] getSelectionRanges() {
+      return selection.toRanges();
+    }
+
+    @Override
+    public int getItemModCount() {
+      return itemModCount;
+    }
+
     @Override
     public TableItem getMeasureItem() {
       return Table.this.getMeasureItem();
@@ -297,17 +308,18 @@ public class Table extends Composite {
   public static final String ALWAYS_HIDE_SELECTION = Table.class.getName() + "#alwaysHideSelection";
 
   private static final int GRID_WIDTH = 1;
-  private static final int[] EMPTY_SELECTION = new int[ 0 ];
 
   private transient CompositeItemHolder itemHolder;
   private final ITableAdapter tableAdapter;
   private int customItemHeight;
   private int itemCount;
+  // incremented whenever an item is created or destroyed
+  private int itemModCount;
   private TableItem[] items;
   private final ItemHolder<TableColumn> columnHolder;
   private int[] columnImageCount;
   private int[] columnOrder;
-  private int[] selection;
+  private final SelectionRanges selection;
   private boolean linesVisible;
   private boolean headerVisible;
   private boolean hasVScrollBar;
@@ -362,7 +374,7 @@ public class Table extends Composite {
     tableAdapter = new TableAdapter();
     columnHolder = new ItemHolder<>( TableColumn.class );
     setTableEmpty();
-    selection = EMPTY_SELECTION;
+    selection = new SelectionRanges();
     customItemHeight = -1;
     bufferedCellSpacing = -1;
   }
@@ -537,6 +549,8 @@ public class Table extends Composite {
    */
   public void setColumnOrder( int[] order ) {
     checkWidget();
+    markChanged();
+    markColumnsChanged();
     if( order == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -627,6 +641,7 @@ public class Table extends Composite {
    */
   public void setItemCount( int count ) {
     checkWidget();
+    markChanged();
     int oldItemCount = itemCount;
     int newItemCount = Math.max( 0, count );
     if( newItemCount != oldItemCount && !isInDispose() ) {
@@ -809,6 +824,7 @@ public class Table extends Composite {
    */
   public void removeAll() {
     checkWidget();
+    markChanged();
     while( itemCount > 0 ) {
       removeItem( itemCount - 1 );
     }
@@ -835,6 +851,7 @@ public class Table extends Composite {
    */
   public void remove( int start, int end ) {
     checkWidget();
+    markChanged();
     if( start <= end ) {
       if( !( 0 <= start && start <= end && end < itemCount ) ) {
         error( SWT.ERROR_INVALID_RANGE );
@@ -863,6 +880,7 @@ public class Table extends Composite {
    */
   public void remove( int index ) {
     checkWidget();
+    markChanged();
     if( !( 0 <= index && index < itemCount ) ) {
       SWT.error( SWT.ERROR_ITEM_NOT_REMOVED );
     }
@@ -889,6 +907,7 @@ public class Table extends Composite {
    */
   public void remove( int[] indices ) {
     checkWidget();
+    markChanged();
     if( indices == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -935,6 +954,7 @@ public class Table extends Composite {
    */
   public void clear( int index ) {
     checkWidget();
+    markChanged();
     if( index < 0 || index >= itemCount ) {
       SWT.error( SWT.ERROR_INVALID_RANGE );
     }
@@ -967,6 +987,7 @@ public class Table extends Composite {
    */
   public void clear( int start, int end ) {
     checkWidget();
+    markChanged();
     if( start <= end ) {
       if( !( 0 <= start && start <= end && end < itemCount ) ) {
         SWT.error( SWT.ERROR_INVALID_RANGE );
@@ -1000,6 +1021,7 @@ public class Table extends Composite {
    */
   public void clearAll() {
     checkWidget();
+    markChanged();
     for( int i = 0; i < itemCount; i++ ) {
       TableItem item = items[ i ];
       if( item != null ) {
@@ -1031,6 +1053,7 @@ public class Table extends Composite {
    */
   public void clear( int[] indices ) {
     checkWidget();
+    markChanged();
     if( indices == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1065,22 +1088,7 @@ public class Table extends Composite {
    */
   public int getSelectionIndex() {
     checkWidget();
-    int result = -1;
-    int topSelectedIndex = -1;
-    for( int i = 0; i < selection.length; i++ ) {
-      if( focusIndex == selection[ i ] ) {
-        result = selection[ i ];
-      }
-      if( topSelectedIndex == -1 ) {
-        topSelectedIndex = selection[ i ];
-      } else {
-        topSelectedIndex = Math.min( topSelectedIndex, selection[ i ] );
-      }
-    }
-    if( result == -1 ) {
-      result = topSelectedIndex;
-    }
-    return result;
+    return selection.contains( focusIndex ) ? focusIndex : selection.getFirst();
   }
 
   /**
@@ -1099,6 +1107,7 @@ public class Table extends Composite {
    */
   public void setSelection( int index ) {
     checkWidget();
+    markChanged();
     deselectAll();
     select( index );
     setFocusIndex( index );
@@ -1117,7 +1126,7 @@ public class Table extends Composite {
    */
   public int getSelectionCount() {
     checkWidget();
-    return selection.length;
+    return selection.size();
   }
 
   /**
@@ -1144,6 +1153,7 @@ public class Table extends Composite {
    */
   public void setSelection( int start, int end ) {
     checkWidget();
+    markChanged();
     deselectAll();
     select( start, end );
     if( end >= 0 && start <= end && ( ( style & SWT.SINGLE ) == 0 || start == end ) ) {
@@ -1170,10 +1180,10 @@ public class Table extends Composite {
    */
   public TableItem[] getSelection() {
     checkWidget();
-    int length = selection.length;
-    TableItem[] result = new TableItem[ length ];
-    for( int i = 0; i < selection.length; i++ ) {
-      result[ i ] = _getItem( selection[ i ] );
+    int[] indices = selection.toArray();
+    TableItem[] result = new TableItem[ indices.length ];
+    for( int i = 0; i < indices.length; i++ ) {
+      result[ i ] = _getItem( indices[ i ] );
     }
     return result;
   }
@@ -1202,6 +1212,7 @@ public class Table extends Composite {
    */
   public void setSelection( int[] indices ) {
     checkWidget();
+    markChanged();
     if( indices == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1234,6 +1245,7 @@ public class Table extends Composite {
    */
   public void setSelection( TableItem item ) {
     checkWidget();
+    markChanged();
     if( item == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1266,6 +1278,7 @@ public class Table extends Composite {
    */
   public void setSelection( TableItem[] items ) {
     checkWidget();
+    markChanged();
     if( items == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1294,13 +1307,7 @@ public class Table extends Composite {
    */
   public int[] getSelectionIndices() {
     checkWidget();
-    // TODO [rh] directly return a copy of the selection array
-    TableItem[] currentSelection = getSelection();
-    int[] result = new int[ currentSelection.length ];
-    for( int i = 0; i < currentSelection.length; i++ ) {
-      result[ i ] = indexOf( currentSelection[ i ] );
-    }
-    return result;
+    return selection.toArray();
   }
 
   /**
@@ -1318,13 +1325,7 @@ public class Table extends Composite {
    */
   public boolean isSelected( int index ) {
     checkWidget();
-    boolean result = false;
-    if( index >= 0 && index < itemCount ) {
-      for( int i = 0; !result && i < selection.length; i++ ) {
-        result = selection[ i ] == index;
-      }
-    }
-    return result;
+    return index >= 0 && index < itemCount && selection.contains( index );
   }
 
   /**
@@ -1341,18 +1342,12 @@ public class Table extends Composite {
    */
   public void select( int index ) {
     checkWidget();
+    markChanged();
     if( index >= 0 && index < itemCount ) {
       if( ( style & SWT.SINGLE ) != 0 ) {
-        selection = new int[] { index };
-      } else {
-        if( !isSelected( index ) ) {
-          int length = selection.length;
-          int[] newSelection = new int[ length + 1 ];
-          System.arraycopy( selection, 0, newSelection, 0, length );
-          newSelection[ length ] = index;
-          selection = newSelection;
-        }
+        selection.clear();
       }
+      selection.add( index );
     }
   }
 
@@ -1381,16 +1376,17 @@ public class Table extends Composite {
    */
   public void select( int start, int end ) {
     checkWidget();
+    markChanged();
     if( end >= 0 && start <= end && ( ( style & SWT.SINGLE ) == 0 || start == end ) ) {
       if( itemCount != 0 && start < itemCount ) {
         int adjustedStart = Math.max( 0, start );
         int adjustedEnd = Math.min( end, itemCount - 1 );
         if( adjustedStart == 0 && adjustedEnd == itemCount - 1 ) {
           selectAll();
+        } else if( ( style & SWT.SINGLE ) != 0 ) {
+          select( adjustedStart );
         } else {
-          for( int i = adjustedStart; i <= adjustedEnd; i++ ) {
-            select( i );
-          }
+          selection.add( adjustedStart, adjustedEnd );
         }
       }
     }
@@ -1421,6 +1417,7 @@ public class Table extends Composite {
    */
   public void select( int[] indices ) {
     checkWidget();
+    markChanged();
     if( indices == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1443,12 +1440,16 @@ public class Table extends Composite {
    *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
    * </ul>
    */
-  // TODO [rh] revise: a VIRTUAL table would resolve all its items when
-  //      selectAll is called. Compare how SWT handles this.
   public void selectAll() {
     checkWidget();
+    markChanged();
     if( ( style & SWT.SINGLE ) == 0 ) {
-      setSelection( getItems() );
+      selection.clear();
+      if( itemCount > 0 ) {
+        selection.add( 0, itemCount - 1 );
+        setFocusIndex( 0 );
+      }
+      showSelection();
     }
   }
 
@@ -1466,6 +1467,7 @@ public class Table extends Composite {
    */
   public void deselect( int index ) {
     checkWidget();
+    markChanged();
     removeFromSelection( index );
   }
 
@@ -1486,12 +1488,14 @@ public class Table extends Composite {
    */
   public void deselect( int start, int end ) {
     checkWidget();
+    markChanged();
     if( start == 0 && end == itemCount - 1 ) {
       deselectAll();
     } else {
       int actualStart = Math.max( 0, start );
-      for( int i = actualStart; i <= end; i++ ) {
-        removeFromSelection( i );
+      int actualEnd = Math.min( end, itemCount - 1 );
+      if( actualStart <= actualEnd ) {
+        selection.remove( actualStart, actualEnd );
       }
     }
   }
@@ -1515,6 +1519,7 @@ public class Table extends Composite {
    */
   public void deselect( int[] indices ) {
     checkWidget();
+    markChanged();
     if( indices == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1533,7 +1538,8 @@ public class Table extends Composite {
    */
   public void deselectAll() {
     checkWidget();
-    selection = EMPTY_SELECTION;
+    markChanged();
+    selection.clear();
   }
 
   //////////////////////////////////
@@ -1553,6 +1559,7 @@ public class Table extends Composite {
    */
   public void setTopIndex( int topIndex ) {
     checkWidget();
+    markChanged();
     if( this.topIndex != topIndex && topIndex >= 0 && topIndex < itemCount ) {
       this.topIndex = topIndex;
       adjustTopIndex();
@@ -1599,6 +1606,7 @@ public class Table extends Composite {
    */
   public void showItem( TableItem item ) {
     checkWidget();
+    markChanged();
     if( item == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1636,6 +1644,7 @@ public class Table extends Composite {
    */
   public void showColumn( TableColumn column ) {
     checkWidget();
+    markChanged();
     if( column == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1687,6 +1696,7 @@ public class Table extends Composite {
    */
   public void showSelection() {
     checkWidget();
+    markChanged();
     int index = getSelectionIndex();
     if( index != -1 ) {
       showItem( _getItem( index ) );
@@ -1714,6 +1724,7 @@ public class Table extends Composite {
    */
   public void setHeaderVisible( boolean headerVisible ) {
     checkWidget();
+    markChanged();
     boolean changed = headerVisible != this.headerVisible;
     this.headerVisible = headerVisible;
     if( changed ) {
@@ -1783,6 +1794,7 @@ public class Table extends Composite {
    */
   public void setLinesVisible( boolean linesVisible ) {
     checkWidget();
+    markChanged();
     this.linesVisible = linesVisible;
   }
 
@@ -1803,6 +1815,7 @@ public class Table extends Composite {
    */
   public void setSortColumn( TableColumn column ) {
     checkWidget();
+    markChanged();
     if( column != null && column.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -1841,6 +1854,7 @@ public class Table extends Composite {
    */
   public void setSortDirection( int direction ) {
     checkWidget();
+    markChanged();
     if( ( direction & ( SWT.UP | SWT.DOWN ) ) != 0 || direction == SWT.NONE ) {
       sortDirection = direction;
     }
@@ -2117,6 +2131,7 @@ public class Table extends Composite {
   // Create and destroy columns
 
   final void createColumn( TableColumn column, int index ) {
+    markColumnsChanged();
     columnHolder.insert( column, index );
     if( columnOrder == null ) {
       columnOrder = new int[] { index };
@@ -2150,6 +2165,7 @@ public class Table extends Composite {
 
   final void destroyColumn( TableColumn column ) {
     if( !isInDispose() ) {
+      markColumnsChanged();
       int index = indexOf( column );
       // Remove data from TableItems
       for( int i = 0; i < itemCount; i++ ) {
@@ -2216,16 +2232,13 @@ public class Table extends Composite {
       items = newItems;
     }
     /* Insert the item */
+    markItemsChanged( index );
     System.arraycopy( items, index, items, index + 1, itemCount - index );
     items[ index ] = item;
     itemCount++;
+    itemModCount++;
     adjustItemIndices( index );
-    // adjust the selection indices
-    for( int i = 0; i < selection.length; i++ ) {
-      if( selection[ i ] >= index ) {
-        selection[ i ] = selection[ i ] + 1;
-      }
-    }
+    selection.itemInserted( index );
     // advance focusIndex when an item is inserted before the focused item
     if( index <= focusIndex ) {
       focusIndex++;
@@ -2235,8 +2248,8 @@ public class Table extends Composite {
 
   final void destroyItem( TableItem item, int index ) {
     if( !isInDispose() ) {
-      removeFromSelection( index );
-      adjustSelectionIdices( index );
+      itemModCount++;
+      selection.itemRemoved( index );
       if( item != null ) {
         int columnCount = Math.max( 1, columnHolder.size() );
         for( int i = 0; i < columnCount; i++ ) {
@@ -2250,6 +2263,7 @@ public class Table extends Composite {
       if( itemCount == 0 ) {
         setTableEmpty();
       } else {
+        markItemsChanged( index + 1 );
         System.arraycopy( items, index + 1, items, index, itemCount - index );
         items[ itemCount ] = null;
         adjustItemIndices( index );
@@ -2583,27 +2597,7 @@ public class Table extends Composite {
 
   private void removeFromSelection( int index ) {
     if( index >= 0 && index < itemCount ) {
-      boolean found = false;
-      for( int i = 0; !found && i < selection.length; i++ ) {
-        if( index == selection[ i ] ) {
-          int length = selection.length;
-          int[] newSel = new int[ length - 1 ];
-          System.arraycopy( selection, 0, newSel, 0, i );
-          if( i < length - 1 ) {
-            System.arraycopy( selection, i + 1, newSel, i, length - i - 1 );
-          }
-          selection = newSel;
-          found = true;
-        }
-      }
-    }
-  }
-
-  private void adjustSelectionIdices( int removedIndex ) {
-    for( int i = 0; i < selection.length; i++ ) {
-      if( selection[ i ] >= removedIndex ) {
-        selection[ i ] = selection[ i ] - 1;
-      }
+      selection.remove( index );
     }
   }
 
@@ -2621,6 +2615,30 @@ public class Table extends Composite {
     focusIndex = getSelectionIndex();
   }
 
+  /*
+   * The index of an item is rendered, hence all items behind an inserted or removed item change.
+   */
+  private void markItemsChanged( int start ) {
+    if( isMarkingChanges() ) {
+      for( int i = start; i < itemCount; i++ ) {
+        if( items[ i ] != null ) {
+          items[ i ].markChanged();
+        }
+      }
+    }
+  }
+
+  /*
+   * The position of a column depends on the width and order of the other columns.
+   */
+  final void markColumnsChanged() {
+    if( isMarkingChanges() ) {
+      for( int i = 0; i < columnHolder.size(); i++ ) {
+        columnHolder.getItem( i ).markChanged();
+      }
+    }
+  }
+
   private void adjustItemIndices( int start ) {
     for( int i = start; i < itemCount; i++ ) {
       if( items[ i ] != null ) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -183,6 +183,7 @@ public class TableColumn extends Item {
    */
   public void setToolTipText( String toolTipText ) {
     checkWidget();
+    markChanged();
     if(    toolTipText != null
         && isToolTipMarkupEnabledFor( this )
         && !isValidationDisabledFor( this ) )
@@ -222,6 +223,7 @@ public class TableColumn extends Item {
    */
   public void setAlignment( int alignment ) {
     checkWidget();
+    markChanged();
     if( ( alignment & ( SWT.LEFT | SWT.RIGHT | SWT.CENTER ) ) != 0 ) {
       style &= ~( SWT.LEFT | SWT.RIGHT | SWT.CENTER );
       style |= alignment & ( SWT.LEFT | SWT.RIGHT | SWT.CENTER );
@@ -264,6 +266,8 @@ public class TableColumn extends Item {
    */
   public void setWidth( int width ) {
     checkWidget();
+    markChanged();
+    parent.markColumnsChanged();
     if( width >= 0 ) {
       this.width = width;
       parent.updateScrollBars();
@@ -285,6 +289,7 @@ public class TableColumn extends Item {
    */
   public void pack() {
     checkWidget();
+    markChanged();
     int width = getPreferredWidth();
     if( width != getWidth() ) {
       setWidth( width );
@@ -313,6 +318,7 @@ public class TableColumn extends Item {
    */
   public void setMoveable( boolean moveable ) {
     checkWidget();
+    markChanged();
     this.moveable = moveable;
   }
 
@@ -355,6 +361,7 @@ public class TableColumn extends Item {
    */
   public void setResizable( boolean resizable ) {
     checkWidget();
+    markChanged();
     this.resizable = resizable;
   }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -178,6 +178,7 @@ public class TableItem extends Item {
   @Override
   public void setText( String text ) {
     checkWidget();
+    markChanged();
     setText( 0, text );
   }
 
@@ -197,6 +198,7 @@ public class TableItem extends Item {
    */
   public void setText( int index, String text ) {
     checkWidget();
+    markChanged();
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -235,6 +237,7 @@ public class TableItem extends Item {
    */
   public void setText( String[] strings ) {
     checkWidget();
+    markChanged();
     if( strings == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -282,6 +285,7 @@ public class TableItem extends Item {
   @Override
   public void setImage( Image image ) {
     checkWidget();
+    markChanged();
     setImage( 0, image );
   }
 
@@ -301,6 +305,7 @@ public class TableItem extends Item {
    */
   public void setImage( int index, Image image ) {
     checkWidget();
+    markChanged();
     if( image != null && image.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -336,6 +341,7 @@ public class TableItem extends Item {
    */
   public void setImage( Image[] images ) {
     checkWidget();
+    markChanged();
     if( images == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -403,6 +409,7 @@ public class TableItem extends Item {
    */
   public void setBackground( Color color ) {
     checkWidget();
+    markChanged();
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -456,6 +463,7 @@ public class TableItem extends Item {
    */
   public void setBackground( int index, Color color ) {
     checkWidget();
+    markChanged();
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -513,6 +521,7 @@ public class TableItem extends Item {
    */
   public void setForeground( Color color ) {
     checkWidget();
+    markChanged();
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -565,6 +574,7 @@ public class TableItem extends Item {
    */
   public void setForeground( int index, Color color ) {
     checkWidget();
+    markChanged();
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -620,6 +630,7 @@ public class TableItem extends Item {
    */
   public void setFont( Font font ) {
     checkWidget();
+    markChanged();
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -677,6 +688,7 @@ public class TableItem extends Item {
    */
   public void setFont( int index, Font font ) {
     checkWidget();
+    markChanged();
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -734,6 +746,7 @@ public class TableItem extends Item {
    */
   public void setChecked( boolean checked ) {
     checkWidget();
+    markChanged();
     if( ( parent.style & SWT.CHECK ) != 0 ) {
       if( this.checked != checked ) {
         this.checked = checked;
@@ -779,6 +792,7 @@ public class TableItem extends Item {
    */
   public void setGrayed( boolean grayed ) {
     checkWidget();
+    markChanged();
     if( ( parent.style & SWT.CHECK ) != 0 ) {
       if( this.grayed != grayed ) {
         this.grayed = grayed;
@@ -1061,6 +1075,7 @@ public class TableItem extends Item {
   // Manage item data (texts, images, etc)
 
   final void shiftData( int index ) {
+    markChanged();
     if( data != null && data.length > index && parent.getColumnCount() > 1 ) {
       Data[] newData = new Data[ data.length + 1 ];
       System.arraycopy( data, 0, newData, 0, index );
@@ -1071,6 +1086,7 @@ public class TableItem extends Item {
   }
 
   final void removeData( int index ) {
+    markChanged();
     if( data != null && data.length > index && parent.getColumnCount() > 1 ) {
       Data[] newData = new Data[ data.length - 1 ];
       System.arraycopy( data, 0, newData, 0, index );
@@ -1081,6 +1097,7 @@ public class TableItem extends Item {
   }
 
   final void clear() {
+    markChanged();
     data = null;
     checked = false;
     grayed = false;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -176,6 +176,7 @@ public class Text extends Scrollable {
    */
   public void setText( String text ) {
     checkWidget();
+    markChanged();
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -223,6 +224,7 @@ public class Text extends Scrollable {
    */
   public void setTextChars( char[] text ) {
     checkWidget();
+    markChanged();
     if( text == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -314,6 +316,7 @@ public class Text extends Scrollable {
   // TODO [rh] fire VerifyEvent missing
   public void append( String string ) {
     checkWidget();
+    markChanged();
     if( string == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -374,6 +377,7 @@ public class Text extends Scrollable {
    */
   public void setMessage( String message ) {
     checkWidget();
+    markChanged();
     if( message == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -425,6 +429,7 @@ public class Text extends Scrollable {
    */
   public void setEchoChar( char echo ) {
     checkWidget();
+    markChanged();
     if( ( style & SWT.MULTI ) == 0 ) {
       echoChar = echo;
     }
@@ -479,6 +484,7 @@ public class Text extends Scrollable {
    */
   public void setTextLimit( int textLimit ) {
     checkWidget();
+    markChanged();
     if( textLimit == 0 ) {
       error( SWT.ERROR_CANNOT_BE_ZERO );
     }
@@ -551,6 +557,7 @@ public class Text extends Scrollable {
    */
   public void setSelection( int start ) {
     checkWidget();
+    markChanged();
     setSelection( start, start );
  }
 
@@ -581,6 +588,7 @@ public class Text extends Scrollable {
    */
   public void setSelection( int start, int end ) {
     checkWidget();
+    markChanged();
     int validatedStart = selection.x;
     int validatedEnd = selection.y;
     if( start >= 0 && end >= start ) {
@@ -625,6 +633,7 @@ public class Text extends Scrollable {
    */
   public void setSelection( Point selection ) {
     checkWidget();
+    markChanged();
     if( selection == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -694,6 +703,7 @@ public class Text extends Scrollable {
    */
   public void clearSelection() {
     checkWidget();
+    markChanged();
     selection.x = selection.y;
   }
 
@@ -707,6 +717,7 @@ public class Text extends Scrollable {
    */
   public void selectAll() {
     checkWidget();
+    markChanged();
     selection.x = 0;
     selection.y = text.length();
   }
@@ -742,6 +753,7 @@ public class Text extends Scrollable {
    */
   public void setEditable( boolean editable ) {
     checkWidget();
+    markChanged();
     style &= ~SWT.READ_ONLY;
     if( !editable ) {
       style |= SWT.READ_ONLY;
@@ -781,6 +793,7 @@ public class Text extends Scrollable {
    */
   public void insert( String string ) {
     checkWidget();
+    markChanged();
     if( string == null ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -10,17 +10,19 @@
  ******************************************************************************/
 package org.eclipse.swt.widgets;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
 import java.io.IOException;
 import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.ObjectInputValidation;
 import java.io.ObjectOutputStream;
 import java.util.Collection;
-import java.util.Date;
 import java.util.LinkedList;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 
+import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.engine.PostDeserialization;
 import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
 import org.eclipse.rap.rwt.service.UISession;
@@ -28,12 +30,15 @@ import org.eclipse.swt.internal.SerializableCompatibility;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 
 
+/*
+ * Keeps track of the runnables scheduled with Display#timerExec(). The tasks are executed by the
+ * executor of the TimerExecService that is shared by all sessions of the application.
+ */
 class TimerExecScheduler implements SerializableCompatibility {
 
   final Display display;
   final ServerPushManager serverPushManager;
   private final Collection<TimerExecTask> tasks;
-  private transient Timer timer;
 
   TimerExecScheduler( Display display ) {
     this.display = display;
@@ -43,9 +48,8 @@ class TimerExecScheduler implements SerializableCompatibility {
 
   void schedule( int milliseconds, Runnable runnable ) {
     synchronized( display.getDeviceLock() ) {
-      initializeTimer();
       TimerExecTask task = findOrAddTask( runnable );
-      timer.schedule( task, milliseconds );
+      scheduleTask( task, milliseconds );
     }
   }
 
@@ -58,21 +62,28 @@ class TimerExecScheduler implements SerializableCompatibility {
 
   void dispose() {
     synchronized( display.getDeviceLock() ) {
-      if( timer != null ) {
-        timer.cancel();
+      for( TimerExecTask task : tasks ) {
+        task.cancelFuture();
       }
       tasks.clear();
     }
   }
 
-  private void initializeTimer() {
-    if( timer == null ) {
-      timer = createTimer();
-    }
+  private void scheduleTask( TimerExecTask task, long delay ) {
+    long executionTime = System.currentTimeMillis() + delay;
+    ScheduledFuture<?> future = getExecutor().schedule( task, delay, MILLISECONDS );
+    task.setFuture( future, executionTime );
+  }
+
+  ScheduledExecutorService getExecutor() {
+    ApplicationContextImpl applicationContext
+      = ( ApplicationContextImpl )getUISession().getApplicationContext();
+    return applicationContext.getTimerExecService().getExecutor();
   }
 
-  Timer createTimer() {
-    return new Timer( "RWT timerExec scheduler", true );
+  private UISession getUISession() {
+    IDisplayAdapter adapter = display.getAdapter( IDisplayAdapter.class );
+    return adapter.getUISession();
   }
 
   private TimerExecTask findOrAddTask( Runnable runnable ) {
@@ -104,7 +115,7 @@ class TimerExecScheduler implements SerializableCompatibility {
     return null;
   }
 
-  void removeTask( TimerTask task ) {
+  void removeTask( TimerExecTask task ) {
     synchronized( display.getDeviceLock() ) {
       tasks.remove( task );
     }
@@ -112,11 +123,9 @@ class TimerExecScheduler implements SerializableCompatibility {
 
   private void rescheduleTasks() {
     synchronized( display.getDeviceLock() ) {
-      if( tasks.size() > 0 ) {
-        initializeTimer();
-        for( TimerExecTask task : tasks ) {
-          timer.schedule( task, new Date( task.scheduledExecutionTime() ) );
-        }
+      for( TimerExecTask task : tasks ) {
+        long delay = Math.max( 0, task.getExecutionTime() - System.currentTimeMillis() );
+        scheduleTask( task, delay );
       }
     }
   }
@@ -135,18 +144,12 @@ class TimerExecScheduler implements SerializableCompatibility {
   private class PostDeserializationValidation implements ObjectInputValidation {
     @Override
     public void validateObject() throws InvalidObjectException {
-      UISession uiSession = getUISession();
-      PostDeserialization.addProcessor( uiSession, new Runnable() {
+      PostDeserialization.addProcessor( getUISession(), new Runnable() {
         @Override
         public void run() {
           rescheduleTasks();
         }
       } );
     }
-
-    private UISession getUISession() {
-      IDisplayAdapter adapter = display.getAdapter( IDisplayAdapter.class );
-      return adapter.getUISession();
-    }
   }
 }
@@ -19,6 +19,7 @@ import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.IItemHolderAdapter;
 import org.eclipse.swt.internal.widgets.ItemHolder;
 import org.eclipse.swt.internal.widgets.toolbarkit.ToolBarLCA;
@@ -391,6 +392,13 @@ public class ToolBar extends Composite {
     }
   }
 
+  @Override
+  void markChanged( DirtyWidgets dirtyWidgets ) {
+    super.markChanged( dirtyWidgets );
+    // the bounds of the items depend on the size of the tool bar
+    markChanged( dirtyWidgets, getItems() );
+  }
+
   ///////////////////
   // Skinning support
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2012 EclipseSource and others.
+ * Copyright (c) 2010, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -198,6 +198,7 @@ public class TrayItem extends Item {
    */
   public void setToolTipText( String value ) {
     checkWidget();
+    markChanged();
   }
 
   /**
@@ -214,6 +215,7 @@ public class TrayItem extends Item {
    */
   public void setVisible( boolean visible ) {
     checkWidget();
+    markChanged();
   }
 
   /**
@@ -286,6 +288,7 @@ public class TrayItem extends Item {
    */
   public void setToolTip( ToolTip toolTip ) {
     checkWidget();
+    markChanged();
   }
 
   /**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -17,8 +17,9 @@ import static org.eclipse.swt.internal.widgets.MarkupUtil.isToolTipMarkupEnabled
 import static org.eclipse.swt.internal.widgets.MarkupValidator.isValidationDisabledFor;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetLCA;
@@ -113,7 +114,6 @@ import org.eclipse.swt.internal.widgets.treekit.TreeThemeAdapter;
  */
 public class Tree extends Composite {
 
-  private static final TreeItem[] EMPTY_SELECTION = new TreeItem[ 0 ];
   // This values must be kept in sync with appearance of list items
   private static final int MIN_ITEM_HEIGHT = 16;
   private static final int GRID_WIDTH = 1;
@@ -124,7 +124,8 @@ public class Tree extends Composite {
   private int customItemHeight;
   private TreeItem[] items;
   final ItemHolder<TreeColumn> columnHolder;
-  private TreeItem[] selection;
+  // insertion ordered to keep the order of getSelection() stable
+  private final Set<TreeItem> selection;
   private boolean linesVisible;
   private int[] columnOrder;
   private int itemImageCount;
@@ -180,7 +181,7 @@ public class Tree extends Composite {
     treeAdapter = new InternalTreeAdapter();
     setTreeEmpty();
     sortDirection = SWT.NONE;
-    selection = EMPTY_SELECTION;
+    selection = new LinkedHashSet<>();
     customItemHeight = -1;
     layoutCache = new LayoutCache();
   }
@@ -261,6 +262,7 @@ public class Tree extends Composite {
    */
   public void setItemCount( int count ) {
     checkWidget();
+    markChanged();
     int oldItemCount = itemCount;
     int newItemCount = Math.max( 0, count );
     if( newItemCount != oldItemCount ) {
@@ -422,6 +424,7 @@ public class Tree extends Composite {
    */
   public void removeAll() {
     checkWidget();
+    markChanged();
     for( int i = itemCount - 1; i >= 0; i-- ) {
       if( items[ i ] != null ) {
         items[ i ].dispose();
@@ -430,7 +433,7 @@ public class Tree extends Composite {
       }
     }
     setTreeEmpty();
-    selection = EMPTY_SELECTION;
+    selection.clear();
   }
 
   /**
@@ -452,6 +455,7 @@ public class Tree extends Composite {
    */
   public void showItem( TreeItem item ) {
     checkWidget();
+    markChanged();
     if( item == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -499,6 +503,7 @@ public class Tree extends Composite {
    */
   public void setTopItem( TreeItem item ) {
     checkWidget();
+    markChanged();
     if( item == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -574,6 +579,7 @@ public class Tree extends Composite {
    */
   public void showColumn( TreeColumn column ) {
     checkWidget();
+    markChanged();
     if( column == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -625,10 +631,11 @@ public class Tree extends Composite {
    */
   public void showSelection() {
     checkWidget();
-    if( selection.length == 0 ) {
+    markChanged();
+    if( selection.isEmpty() ) {
       return;
     }
-    showItem( selection[ 0 ] );
+    showItem( selection.iterator().next() );
   }
 
   // ///////////////////////////////////
@@ -651,9 +658,7 @@ public class Tree extends Composite {
    */
   public TreeItem[] getSelection() {
     checkWidget();
-    TreeItem[] result = new TreeItem[ selection.length ];
-    System.arraycopy( selection, 0, result, 0, selection.length );
-    return result;
+    return selection.toArray( new TreeItem[ selection.size() ] );
   }
 
   /**
@@ -668,7 +673,7 @@ public class Tree extends Composite {
    */
   public int getSelectionCount() {
     checkWidget();
-    return selection.length;
+    return selection.size();
   }
 
   /**
@@ -691,6 +696,7 @@ public class Tree extends Composite {
    */
   public void setSelection( TreeItem selection ) {
     checkWidget();
+    markChanged();
     if( selection == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -722,6 +728,7 @@ public class Tree extends Composite {
    */
   public void setSelection( TreeItem[] selection ) {
     checkWidget();
+    markChanged();
     if( selection == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -735,29 +742,27 @@ public class Tree extends Composite {
           if( item.isDisposed() ) {
             SWT.error( SWT.ERROR_INVALID_ARGUMENT );
           }
-          this.selection = new TreeItem[]{ item };
+          this.selection.clear();
+          this.selection.add( item );
         }
       }
     } else {
       if( length == 0 ) {
         deselectAll();
       } else {
-        // Construct an array that contains all non-null items to be selected
-        TreeItem[] validSelection = new TreeItem[ length ];
-        int validLength = 0;
+        // Collect all non-null items to be selected
+        Set<TreeItem> validSelection = new LinkedHashSet<>();
         for( int i = 0; i < length; i++ ) {
           if( selection[ i ] != null ) {
             if( selection[ i ].isDisposed() ) {
               SWT.error( SWT.ERROR_INVALID_ARGUMENT );
             }
-            validSelection[ validLength ] = selection[ i ];
-            validLength++;
+            validSelection.add( selection[ i ] );
           }
         }
-        if( validLength > 0 ) {
-          // Copy the above created array to its 'final destination'
-          this.selection = new TreeItem[ validLength ];
-          System.arraycopy( validSelection, 0, this.selection, 0, validLength );
+        if( !validSelection.isEmpty() ) {
+          this.selection.clear();
+          this.selection.addAll( validSelection );
         }
       }
     }
@@ -782,6 +787,7 @@ public class Tree extends Composite {
    */
   public void select( TreeItem item ) {
     checkWidget();
+    markChanged();
     if( item == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -791,12 +797,7 @@ public class Tree extends Composite {
     if( ( style & SWT.SINGLE ) != 0 ) {
       setSelection( item );
     } else {
-      List<TreeItem> selItems = new ArrayList<>( Arrays.asList( selection ) );
-      if( !selItems.contains( item ) ) {
-        selItems.add( item );
-        selection = new TreeItem[ selItems.size() ];
-        selItems.toArray( selection );
-      }
+      selection.add( item );
     }
   }
 
@@ -814,6 +815,7 @@ public class Tree extends Composite {
    */
   public void selectAll() {
     checkWidget();
+    markChanged();
     if( ( style & SWT.MULTI ) != 0 ) {
       final java.util.List<TreeItem> allItems = new ArrayList<>();
       WidgetTreeUtil.accept( this, new WidgetTreeVisitor() {
@@ -825,8 +827,8 @@ public class Tree extends Composite {
           return true;
         }
       } );
-      selection = new TreeItem[ allItems.size() ];
-      allItems.toArray( selection );
+      selection.clear();
+      selection.addAll( allItems );
     }
   }
 
@@ -849,18 +851,14 @@ public class Tree extends Composite {
    */
   public void deselect( TreeItem item ) {
     checkWidget();
+    markChanged();
     if( item == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
     if( item.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
-    List<TreeItem> selItems = new ArrayList<>( Arrays.asList( selection ) );
-    if( selItems.contains( item ) ) {
-      selItems.remove( item );
-      selection = new TreeItem[ selItems.size() ];
-      selItems.toArray( selection );
-    }
+    selection.remove( item );
   }
 
   /**
@@ -874,7 +872,8 @@ public class Tree extends Composite {
    */
   public void deselectAll() {
     checkWidget();
-    selection = EMPTY_SELECTION;
+    markChanged();
+    selection.clear();
   }
 
   /**
@@ -895,6 +894,7 @@ public class Tree extends Composite {
    */
   public void setLinesVisible( boolean value ) {
     checkWidget();
+    markChanged();
     if( linesVisible == value ) {
       return; /* no change */
     }
@@ -962,6 +962,7 @@ public class Tree extends Composite {
    */
   public void clear( int index, boolean recursive ) {
     checkWidget();
+    markChanged();
     if( index < 0 || index >= itemCount ) {
       error( SWT.ERROR_INVALID_RANGE );
     }
@@ -1057,6 +1058,7 @@ public class Tree extends Composite {
    */
   public void clearAll( boolean recursive ) {
     checkWidget();
+    markChanged();
     for( int i = 0; i < itemCount; i++ ) {
       TreeItem item = items[ i ];
       if( item != null ) {
@@ -1106,6 +1108,7 @@ public class Tree extends Composite {
   }
 
   void createColumn( TreeColumn column, int index ) {
+    markColumnsChanged();
     columnHolder.insert( column, index );
     if( columnOrder == null ) {
       columnOrder = new int[]{
@@ -1132,6 +1135,7 @@ public class Tree extends Composite {
 
   final void destroyColumn( TreeColumn column ) {
     if( !isInDispose() ) {
+      markColumnsChanged();
       int index = indexOf( column );
       // Remove data from TreeItems
       for( int i = 0; i < itemCount; i++ ) {
@@ -1200,6 +1204,7 @@ public class Tree extends Composite {
    */
   public void setHeaderVisible( boolean value ) {
     checkWidget();
+    markChanged();
     if( headerVisible != value ) {
       headerVisible = value;
       layoutCache.invalidateHeaderHeight();
@@ -1341,6 +1346,8 @@ public class Tree extends Composite {
    */
   public void setColumnOrder( int[] order ) {
     checkWidget();
+    markChanged();
+    markColumnsChanged();
     if( order == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1395,6 +1402,7 @@ public class Tree extends Composite {
    */
   public void setSortColumn( TreeColumn column ) {
     checkWidget();
+    markChanged();
     if( column != null && column.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -1423,6 +1431,7 @@ public class Tree extends Composite {
    */
   public void setSortDirection( int direction ) {
     checkWidget();
+    markChanged();
     if( direction != SWT.UP && direction != SWT.DOWN && direction != SWT.NONE )
     {
       return;
@@ -1655,21 +1664,12 @@ public class Tree extends Composite {
   }
 
   void removeFromSelection( TreeItem item ) {
-    int index = -1;
-    for( int i = 0; index == -1 && i < selection.length; i++ ) {
-      if( selection[ i ] == item ) {
-        index = i;
-      }
-    }
-    if( index != -1 ) {
-      TreeItem[] newSelection = new TreeItem[ selection.length - 1 ];
-      System.arraycopy( selection, 0, newSelection, 0, index );
-      if( index < selection.length - 1 ) {
-        int length = selection.length - index - 1;
-        System.arraycopy( selection, index + 1, newSelection, index, length );
-      }
-      selection = newSelection;
-    }
+    markChanged();
+    selection.remove( item );
+  }
+
+  boolean isSelected( TreeItem item ) {
+    return selection.contains( item );
   }
 
   /////////////////////
@@ -2325,6 +2325,7 @@ public class Tree extends Composite {
       System.arraycopy( items, 0, newItems, 0, items.length );
       items = newItems;
     }
+    markItemsChanged( index );
     System.arraycopy( items, index, items, index + 1, itemCount - index );
     items[ index ] = item;
     itemCount++;
@@ -2332,6 +2333,7 @@ public class Tree extends Composite {
   }
 
   void destroyItem( int index ) {
+    markItemsChanged( index + 1 );
     itemCount--;
     if( itemCount == 0 ) {
       setTreeEmpty();
@@ -2342,6 +2344,30 @@ public class Tree extends Composite {
     adjustItemIndices( index );
   }
 
+  /*
+   * The index of an item is rendered, hence all items behind an inserted or removed item change.
+   */
+  private void markItemsChanged( int start ) {
+    if( isMarkingChanges() ) {
+      for( int i = start; i < itemCount; i++ ) {
+        if( items[ i ] != null ) {
+          items[ i ].markChanged();
+        }
+      }
+    }
+  }
+
+  /*
+   * The position of a column depends on the width and order of the other columns.
+   */
+  final void markColumnsChanged() {
+    if( isMarkingChanges() ) {
+      for( int i = 0; i < columnHolder.size(); i++ ) {
+        columnHolder.getItem( i ).markChanged();
+      }
+    }
+  }
+
   private void adjustItemIndices( int start ) {
     for( int i = start; i < itemCount; i++ ) {
       if( items[ i ] != null ) {
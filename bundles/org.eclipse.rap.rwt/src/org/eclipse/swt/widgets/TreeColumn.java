@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -413,6 +413,7 @@ public class TreeColumn extends Item {
    */
   public void pack() {
     checkWidget();
+    markChanged();
     int newWidth = getPreferredWidth();
     int contentWidth = parent.getMaxContentWidth( this );
     newWidth = Math.max( newWidth, contentWidth );
@@ -438,6 +439,7 @@ public class TreeColumn extends Item {
    */
   public void setAlignment( int alignment ) {
     checkWidget();
+    markChanged();
     if( ( alignment & ( SWT.LEFT | SWT.RIGHT | SWT.CENTER ) ) == 0 ) {
       return;
     }
@@ -469,6 +471,7 @@ public class TreeColumn extends Item {
    */
   public void setMoveable( boolean moveable ) {
     checkWidget();
+    markChanged();
     this.moveable = moveable;
   }
 
@@ -485,6 +488,7 @@ public class TreeColumn extends Item {
    */
   public void setResizable( boolean value ) {
     checkWidget();
+    markChanged();
     resizable = value;
   }
 
@@ -497,6 +501,7 @@ public class TreeColumn extends Item {
   @Override
   public void setText( String value ) {
     checkWidget();
+    markChanged();
     if( value == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -519,6 +524,7 @@ public class TreeColumn extends Item {
    */
   public void setToolTipText( String toolTipText ) {
     checkWidget();
+    markChanged();
     if(    toolTipText != null
         && isToolTipMarkupEnabledFor( this )
         && !isValidationDisabledFor( this ) )
@@ -540,6 +546,8 @@ public class TreeColumn extends Item {
    */
   public void setWidth( int value ) {
     checkWidget();
+    markChanged();
+    parent.markColumnsChanged();
     if( value >= 0 && width != value ) {
       width = value;
       parent.updateScrollBars();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,9 +14,9 @@ package org.eclipse.swt.widgets;
 import static org.eclipse.swt.internal.widgets.MarkupUtil.isMarkupEnabledFor;
 import static org.eclipse.swt.internal.widgets.MarkupValidator.isValidationDisabledFor;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetLCA;
 import org.eclipse.swt.SWT;
@@ -262,6 +262,8 @@ public class TreeItem extends Item {
       System.arraycopy( items, 0, newItems, 0, items.length );
       items = newItems;
     }
+    markChanged();
+    markItemsChanged( index );
     System.arraycopy( items, index, items, index + 1, itemCount - index );
     items[ index ] = item;
     itemCount++;
@@ -269,6 +271,8 @@ public class TreeItem extends Item {
   }
 
   private void destroyItem( int index ) {
+    markChanged();
+    markItemsChanged( index + 1 );
     itemCount--;
     if( itemCount == 0 ) {
       setEmpty();
@@ -279,6 +283,19 @@ public class TreeItem extends Item {
     adjustItemIndices( index );
   }
 
+  /*
+   * The index of an item is rendered, hence all items behind an inserted or removed item change.
+   */
+  private void markItemsChanged( int start ) {
+    if( isMarkingChanges() ) {
+      for( int i = start; i < itemCount; i++ ) {
+        if( items[ i ] != null ) {
+          items[ i ].markChanged();
+        }
+      }
+    }
+  }
+
   private void adjustItemIndices( int start ) {
     for( int i = start; i < itemCount; i++ ) {
       if( items[ i ] != null ) {
@@ -358,6 +375,7 @@ public class TreeItem extends Item {
    */
   public void setExpanded( boolean expanded ) {
     checkWidget();
+    markChanged();
     if( this.expanded != expanded && ( !expanded || itemCount > 0 ) ) {
       this.expanded = expanded;
       if( !expanded ) {
@@ -528,6 +546,7 @@ public class TreeItem extends Item {
    */
   public void setBackground( int index, Color color ) {
     checkWidget();
+    markChanged();
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -561,6 +580,7 @@ public class TreeItem extends Item {
    */
   public void setFont( int index, Font font ) {
     checkWidget();
+    markChanged();
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -595,6 +615,7 @@ public class TreeItem extends Item {
    */
   public void setForeground( int index, Color color ) {
     checkWidget();
+    markChanged();
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -627,6 +648,7 @@ public class TreeItem extends Item {
    */
   public void setFont( Font font ) {
     checkWidget();
+    markChanged();
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -683,6 +705,7 @@ public class TreeItem extends Item {
    */
   public void setBackground( Color value ) {
     checkWidget();
+    markChanged();
     if( value != null && value.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -758,6 +781,7 @@ public class TreeItem extends Item {
    */
   public void setForeground( Color value ) {
     checkWidget();
+    markChanged();
     if( value != null && value.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -780,6 +804,7 @@ public class TreeItem extends Item {
    */
   public void setChecked( boolean checked ) {
     checkWidget();
+    markChanged();
     if( ( parent.getStyle() & SWT.CHECK ) != 0 ) {
       if( this.checked != checked ) {
         this.checked = checked;
@@ -819,6 +844,7 @@ public class TreeItem extends Item {
    */
   public void setGrayed( boolean grayed ) {
     checkWidget();
+    markChanged();
     if( ( parent.getStyle() & SWT.CHECK ) != 0 ) {
       if( this.grayed != grayed ) {
         this.grayed = grayed;
@@ -933,6 +959,7 @@ public class TreeItem extends Item {
    */
   public void setText( String[] value ) {
     checkWidget();
+    markChanged();
     if( value == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -957,6 +984,7 @@ public class TreeItem extends Item {
   @Override
   public void setText( String text ) {
     checkWidget();
+    markChanged();
     setText( 0, text );
   }
 
@@ -974,6 +1002,7 @@ public class TreeItem extends Item {
    */
   public void setText( int index, String text ) {
     checkWidget();
+    markChanged();
     if( text == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1075,6 +1104,7 @@ public class TreeItem extends Item {
   }
 
   void clear() {
+    markChanged();
     data = null;
     checked = false;
     grayed = false;
@@ -1108,6 +1138,7 @@ public class TreeItem extends Item {
    */
   public void clear( int index, boolean recursive ) {
     checkWidget();
+    markChanged();
     if( index < 0 || index >= itemCount ) {
       error( SWT.ERROR_INVALID_RANGE );
     }
@@ -1126,6 +1157,7 @@ public class TreeItem extends Item {
   @Override
   public void setImage( Image image ) {
     checkWidget();
+    markChanged();
     setImage( 0, image );
   }
 
@@ -1146,6 +1178,7 @@ public class TreeItem extends Item {
    */
   public void setImage( int index, Image image ) {
     checkWidget();
+    markChanged();
     if( image != null && image.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -1183,6 +1216,7 @@ public class TreeItem extends Item {
    */
   public void setImage( Image[] value ) {
     checkWidget();
+    markChanged();
     if( value == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1380,6 +1414,7 @@ public class TreeItem extends Item {
    */
   public void removeAll() {
     checkWidget();
+    markChanged();
     for( int i = itemCount - 1; i >= 0; i-- ) {
       if( items[ i ] != null ) {
         items[ i ].dispose();
@@ -1402,6 +1437,7 @@ public class TreeItem extends Item {
    */
   public void setItemCount( int count ) {
     checkWidget();
+    markChanged();
     int oldItemCount = itemCount;
     int newItemCount = Math.max( 0, count );
     if( newItemCount != oldItemCount ) {
@@ -1580,6 +1616,7 @@ public class TreeItem extends Item {
   }
 
   final void shiftData( int index ) {
+    markChanged();
     if( data != null && data.length > index && parent.getColumnCount() > 1 ) {
       Data[] newData = new Data[ data.length + 1 ];
       System.arraycopy( data, 0, newData, 0, index );
@@ -1595,6 +1632,7 @@ public class TreeItem extends Item {
   }
 
   final void removeData( int index ) {
+    markChanged();
     if( data != null && data.length > index && parent.getColumnCount() > 1 ) {
       Data[] newData = new Data[ data.length - 1 ];
       System.arraycopy( data, 0, newData, 0, index );
@@ -1611,7 +1649,7 @@ public class TreeItem extends Item {
 
   private void updateSelection() {
     TreeItem[] selection = parent.getSelection();
-    List<TreeItem> selectedItems = new ArrayList<>( Arrays.asList( selection ) );
+    Set<TreeItem> selectedItems = new LinkedHashSet<>( Arrays.asList( selection ) );
     if( deselectChildren( selectedItems ) ) {
       if( ( parent.getStyle() & SWT.SINGLE ) != 0 ) {
         selectedItems.add( this );
@@ -1623,13 +1661,12 @@ public class TreeItem extends Item {
     }
   }
 
-  boolean deselectChildren( List<TreeItem> selectedItems ) {
+  boolean deselectChildren( Set<TreeItem> selectedItems ) {
     boolean result = false;
     for( int i = 0; i < itemCount; i++ ) {
       TreeItem item = items[ i ];
       if( item != null ) {
-        if( selectedItems.contains( item ) ) {
-          selectedItems.remove( item );
+        if( selectedItems.remove( item ) ) {
           result = true;
         }
         if( item.deselectChildren( selectedItems ) ) {
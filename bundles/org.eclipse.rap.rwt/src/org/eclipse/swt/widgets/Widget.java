@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -32,6 +32,7 @@ import org.eclipse.swt.internal.SWTEventListener;
 import org.eclipse.swt.internal.SerializableCompatibility;
 import org.eclipse.swt.internal.events.EventList;
 import org.eclipse.swt.internal.events.EventUtil;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 import org.eclipse.swt.internal.widgets.IWidgetGraphicsAdapter;
 import org.eclipse.swt.internal.widgets.IdGenerator;
@@ -105,6 +106,9 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
   static final int RELEASED = 1 << 11;
   static final int DISPOSE_SENT = 1 << 12;
 
+  /* Changes are detected in checkWidget() for widgets that do not mark their changes */
+  static final int MARK_CHANGES_ON_CHECK = 1 << 13;
+
   /* Notify of the opportunity to skin this widget */
   static final int SKIN_NEEDED = 1 << 21;
 
@@ -158,6 +162,15 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
     display = parent.display;
     reskinWidget();
     remoteAdapter = new ParentHolderRemoteAdapter( parent );
+    DirtyWidgets dirtyWidgets = display.getDirtyWidgets();
+    if( dirtyWidgets != null ) {
+      if( !marksChanges( getClass() ) ) {
+        addState( MARK_CHANGES_ON_CHECK );
+      }
+      // creating a widget changes its parent, e.g. its children or item count
+      parent.markChanged();
+      dirtyWidgets.widgetCreated( this, parent );
+    }
   }
 
   /**
@@ -241,6 +254,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
    */
   public void setData( Object data ) {
     checkWidget();
+    markChanged();
     if( hasState( KEYED_DATA ) ) {
       ( ( Object[] )this.data )[ 0 ] = data;
     } else {
@@ -315,6 +329,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
    */
   public void setData( String key, Object value ) {
     checkWidget();
+    markChanged();
     if( key == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -736,6 +751,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
    */
   public void reskin( int flags ) {
     checkWidget();
+    markChanged();
     reskinWidget();
     if( ( flags & SWT.ALL ) != 0 ) {
       reskinChildren( flags );
@@ -845,6 +861,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
       }
       if( !hasState( RELEASED ) ) {
         addState( RELEASED );
+        markParentChanged();
         releaseParent();
         releaseWidget();
         getAdapter( RemoteAdapter.class ).markDisposed( this );
@@ -958,6 +975,9 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
     if( hasState( DISPOSED ) ) {
       error( SWT.ERROR_WIDGET_DISPOSED );
     }
+    if( hasState( MARK_CHANGES_ON_CHECK ) ) {
+      markChanged();
+    }
   }
 
   /*
@@ -1037,6 +1057,75 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
     }
   }
 
+  /*
+   * Records that this widget is about to change, so that its values are preserved before the
+   * change and it is rendered. Has to be called by all methods that change the rendered state of
+   * the widget before the change is applied.
+   */
+  void markChanged() {
+    DirtyWidgets dirtyWidgets = display.getDirtyWidgets();
+    // widgets in dispose are rendered as destroyed anyway
+    if( dirtyWidgets != null && dirtyWidgets.isPreserving() && !isInDispose() ) {
+      markChanged( dirtyWidgets );
+    }
+  }
+
+  /*
+   * Marks those of the given widgets that have not been marked yet. Used for widgets whose
+   * rendered values depend on each other.
+   */
+  static void markChanged( DirtyWidgets dirtyWidgets, Widget[] widgets ) {
+    for( Widget widget : widgets ) {
+      if( !dirtyWidgets.isDirty( widget ) ) {
+        widget.markChanged( dirtyWidgets );
+      }
+    }
+  }
+
+  /*
+   * Returns whether changes are currently recorded. Allows to skip loops that only mark widgets.
+   */
+  final boolean isMarkingChanges() {
+    DirtyWidgets dirtyWidgets = display.getDirtyWidgets();
+    return dirtyWidgets != null && dirtyWidgets.isPreserving();
+  }
+
+  void markChanged( DirtyWidgets dirtyWidgets ) {
+    if( remoteAdapter instanceof WidgetRemoteAdapter ) {
+      dirtyWidgets.widgetChanged( this );
+    } else {
+      // widgets without remote adapter have not been visited by the lifecycle yet
+      dirtyWidgets.widgetCreated( this, getParentWidget() );
+    }
+  }
+
+  final void markParentChanged() {
+    Widget parent = getParentWidget();
+    if( parent != null && !parent.isInDispose() ) {
+      parent.markChanged();
+    }
+  }
+
+  /*
+   * Returns the widget that was passed as parent when this widget was created.
+   */
+  final Widget getParentWidget() {
+    return remoteAdapter == null ? null : remoteAdapter.getParent();
+  }
+
+  /*
+   * The widgets of RWT mark their changes explicitly. Widgets of other libraries are marked on
+   * every access.
+   */
+  private static boolean marksChanges( Class<?> type ) {
+    String name = type.getName();
+    return    name.startsWith( "org.eclipse.swt.widgets." )
+           || name.startsWith( "org.eclipse.swt.custom." )
+           || name.startsWith( "org.eclipse.swt.browser." )
+           || name.startsWith( "org.eclipse.swt.dnd." )
+           || name.startsWith( "org.eclipse.rap.rwt.widgets." );
+  }
+
   private RemoteAdapter ensureRemoteAdapter() {
     if( remoteAdapter == null ) {
       remoteAdapter = createRemoteAdapter( null );
@@ -1048,7 +1137,12 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
 
   private RemoteAdapter createRemoteAdapter( Widget parent ) {
     String id = IdGenerator.getInstance( RWT.getUISession( display ) ).createId( this );
-    return createRemoteAdapter( parent, id );
+    RemoteAdapter result = createRemoteAdapter( parent, id );
+    DirtyWidgets dirtyWidgets = display.getDirtyWidgets();
+    if( dirtyWidgets != null ) {
+      ( ( WidgetRemoteAdapter )result ).setDirtyWidgets( this, dirtyWidgets );
+    }
+    return result;
   }
 
   RemoteAdapter createRemoteAdapter( Widget parent, String id ) {
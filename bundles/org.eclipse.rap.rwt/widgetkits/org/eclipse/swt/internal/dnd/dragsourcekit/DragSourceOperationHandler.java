@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2015 EclipseSource and others.
+ * Copyright (c) 2014, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -19,6 +19,7 @@ import static org.eclipse.swt.internal.dnd.DNDUtil.cancelDetailChanged;
 import static org.eclipse.swt.internal.dnd.DNDUtil.cancelFeedbackChanged;
 import static org.eclipse.swt.internal.dnd.DNDUtil.getDetailChangedValue;
 import static org.eclipse.swt.internal.dnd.DNDUtil.hasDetailChanged;
+import static org.eclipse.swt.internal.dnd.DNDUtil.markChanged;
 
 import org.eclipse.rap.json.JsonObject;
 import org.eclipse.rap.rwt.internal.lifecycle.ProcessActionRunner;
@@ -43,6 +44,7 @@ public class DragSourceOperationHandler extends WidgetOperationHandler<DragSourc
 
   @Override
   public void handleNotify( DragSource dragSource, String eventName, JsonObject properties ) {
+    markChanged( dragSource );
     if( EVENT_DRAG_START.equals( eventName ) ) {
       handleNotifyDragStart( dragSource, properties );
     } else if( EVENT_DRAG_END.equals( eventName ) ) {
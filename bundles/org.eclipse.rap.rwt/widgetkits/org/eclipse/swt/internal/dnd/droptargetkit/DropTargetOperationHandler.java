@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2015 EclipseSource and others.
+ * Copyright (c) 2014, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -21,6 +21,7 @@ import static org.eclipse.swt.internal.dnd.DNDUtil.getFeedbackChangedValue;
 import static org.eclipse.swt.internal.dnd.DNDUtil.hasDataTypeChanged;
 import static org.eclipse.swt.internal.dnd.DNDUtil.hasDetailChanged;
 import static org.eclipse.swt.internal.dnd.DNDUtil.hasFeedbackChanged;
+import static org.eclipse.swt.internal.dnd.DNDUtil.markChanged;
 import static org.eclipse.swt.internal.dnd.DNDUtil.setDataTypeChanged;
 import static org.eclipse.swt.internal.dnd.DNDUtil.setDetailChanged;
 import static org.eclipse.swt.internal.dnd.DNDUtil.setFeedbackChanged;
@@ -67,6 +68,7 @@ public class DropTargetOperationHandler extends WidgetOperationHandler<DropTarge
 
   @Override
   public void handleNotify( DropTarget dropTarget, String eventName, JsonObject properties ) {
+    markChanged( dropTarget );
     if( EVENT_DRAG_ENTER.equals( eventName ) ) {
       handleNotifyDragEnter( dropTarget, properties );
     } else if( EVENT_DRAG_OPERATION_CHANGED.equals( eventName ) ) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2015 EclipseSource and others.
+ * Copyright (c) 2010, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -54,6 +54,8 @@ public final class CanvasLCA extends WidgetLCA<Canvas> {
     remoteObject.set( "style", createJsonArray( getStyles( canvas, ALLOWED_STYLES ) ) );
     RemoteObject remoteObjectForGC = createRemoteObject( getGcId( canvas ), TYPE_GC );
     remoteObjectForGC.set( "parent", WidgetUtil.getId( canvas ) );
+    // a new client GC has no recorded operations to patch
+    canvas.getAdapter( GCAdapter.class ).setRenderedOperations( null, null );
   }
 
   @Override
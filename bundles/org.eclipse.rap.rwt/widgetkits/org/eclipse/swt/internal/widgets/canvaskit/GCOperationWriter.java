@@ -17,6 +17,7 @@ import static org.eclipse.rap.rwt.remote.JsonMapping.toJson;
 import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
 import org.eclipse.rap.json.JsonValue;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.graphics.Point;
@@ -45,7 +46,9 @@ import org.eclipse.swt.widgets.Widget;
 final class GCOperationWriter {
 
   private final Control control;
+  private final boolean incremental;
   private boolean initialized;
+  private JsonObject initParameters;
   private JsonArray operations;
   private int lineWidth;
   private RGB foreground;
@@ -53,6 +56,7 @@ final class GCOperationWriter {
 
   GCOperationWriter( Control control ) {
     this.control = control;
+    incremental = RWTProperties.isIncrementalCanvasEnabled();
   }
 
   void initialize() {
@@ -61,7 +65,7 @@ final class GCOperationWriter {
       foreground = control.getForeground().getRGB();
       background = control.getBackground().getRGB();
       Rectangle paintRect = getPaintRect();
-      JsonObject parameters = new JsonObject()
+      initParameters = new JsonObject()
         .add( "x", paintRect.x )
         .add( "y", paintRect.y )
         .add( "width", paintRect.width )
@@ -69,7 +73,12 @@ final class GCOperationWriter {
         .add( "font", toJson( control.getFont() ) )
         .add( "fillStyle", toJson( background ) )
         .add( "strokeStyle", toJson( foreground ) );
-      getRemoteObject( getGcId( control ) ).call( "init", parameters );
+      if( incremental ) {
+        // the init call is deferred until it is known whether a patch can be rendered instead
+        initParameters.add( "incremental", true );
+      } else {
+        getRemoteObject( getGcId( control ) ).call( "init", initParameters );
+      }
       operations = new JsonArray();
       initialized = true;
     }
@@ -111,14 +120,83 @@ final class GCOperationWriter {
 
   void render() {
     if( operations != null ) {
-      if( !operations.isEmpty() ) {
-        JsonObject parameters = new JsonObject().add( "operations", operations );
-        getRemoteObject( getGcId( control ) ).call( "draw", parameters );
+      if( incremental ) {
+        renderIncremental();
+      } else {
+        renderOperations();
       }
       operations = null;
     }
   }
 
+  private void renderOperations() {
+    if( !operations.isEmpty() ) {
+      JsonObject parameters = new JsonObject().add( "operations", operations );
+      getRemoteObject( getGcId( control ) ).call( "draw", parameters );
+    }
+  }
+
+  /*
+   * The client records the operations drawn since the last init call. If the canvas is redrawn
+   * with the same init parameters, only the changed segment of the operations is sent. The client
+   * replaces that segment in its recorded operations and repaints, which is equivalent to an init
+   * and a draw of all operations. The full operations are rendered if the changed segment is
+   * larger than half of them.
+   */
+  private void renderIncremental() {
+    GCAdapter adapter = control.getAdapter( GCAdapter.class );
+    boolean sameInit = initParameters.equals( adapter.getRenderedInitParameters() );
+    if( !sameInit || !renderPatch( adapter.getRenderedOperations() ) ) {
+      getRemoteObject( getGcId( control ) ).call( "init", initParameters );
+      renderOperations();
+    }
+    adapter.setRenderedOperations( initParameters, operations );
+  }
+
+  private boolean renderPatch( JsonArray renderedOperations ) {
+    int start = getCommonPrefixLength( renderedOperations, operations );
+    int end = getCommonSuffixLength( renderedOperations, operations, start );
+    int changedCount = operations.size() - start - end;
+    boolean result = changedCount <= operations.size() / 2;
+    if( result ) {
+      JsonArray changedOperations = new JsonArray();
+      for( int i = start; i < start + changedCount; i++ ) {
+        changedOperations.add( operations.get( i ) );
+      }
+      JsonObject parameters = new JsonObject()
+        .add( "start", start )
+        .add( "deleteCount", renderedOperations.size() - start - end )
+        .add( "operations", changedOperations );
+      getRemoteObject( getGcId( control ) ).call( "patch", parameters );
+    }
+    return result;
+  }
+
+  private static int getCommonPrefixLength( JsonArray oldOperations, JsonArray newOperations ) {
+    int max = Math.min( oldOperations.size(), newOperations.size() );
+    int result = 0;
+    while( result < max && oldOperations.get( result ).equals( newOperations.get( result ) ) ) {
+      result++;
+    }
+    return result;
+  }
+
+  private static int getCommonSuffixLength( JsonArray oldOperations,
+                                            JsonArray newOperations,
+                                            int prefixLength )
+  {
+    int max = Math.min( oldOperations.size(), newOperations.size() ) - prefixLength;
+    int oldLast = oldOperations.size() - 1;
+    int newLast = newOperations.size() - 1;
+    int result = 0;
+    while(    result < max
+           && oldOperations.get( oldLast - result ).equals( newOperations.get( newLast - result ) ) )
+    {
+      result++;
+    }
+    return result;
+  }
+
   private void drawLine( DrawLine operation ) {
     float offset = getOffset( false );
     addClientOperation( "beginPath" );
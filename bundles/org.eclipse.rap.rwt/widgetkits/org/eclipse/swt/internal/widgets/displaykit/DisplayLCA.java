@@ -30,12 +30,14 @@ import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.client.WebClient;
 import org.eclipse.rap.rwt.client.service.ExitConfirmation;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
+import org.eclipse.rap.rwt.internal.lifecycle.ControlLCAUtil;
 import org.eclipse.rap.rwt.internal.lifecycle.DisposedWidgets;
 import org.eclipse.rap.rwt.internal.lifecycle.EntryPointManager;
 import org.eclipse.rap.rwt.internal.lifecycle.EntryPointRegistration;
 import org.eclipse.rap.rwt.internal.lifecycle.RemoteAdapter;
 import org.eclipse.rap.rwt.internal.lifecycle.ReparentedControls;
 import org.eclipse.rap.rwt.internal.lifecycle.UITestUtil;
+import org.eclipse.rap.rwt.internal.metrics.LifeCycleMetrics;
 import org.eclipse.rap.rwt.internal.protocol.ClientMessage;
 import org.eclipse.rap.rwt.internal.protocol.Operation;
 import org.eclipse.rap.rwt.internal.protocol.ProtocolUtil;
@@ -47,6 +49,7 @@ import org.eclipse.rap.rwt.internal.util.ActiveKeysUtil;
 import org.eclipse.rap.rwt.remote.OperationHandler;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.internal.widgets.ControlRemoteAdapter;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 import org.eclipse.swt.internal.widgets.WidgetRemoteAdapter;
 import org.eclipse.swt.internal.widgets.WidgetTreeUtil;
@@ -80,14 +83,19 @@ public class DisplayLCA {
     ActiveKeysUtil.preserveCancelKeys( display );
     ActiveKeysUtil.preserveMnemonicActivator( display );
     if( adapter.isInitialized() ) {
-      for( Shell shell : getShells( display ) ) {
-        WidgetTreeUtil.accept( shell, new WidgetTreeVisitor() {
-          @Override
-          public boolean visit( Widget widget ) {
-            getLCA( widget ).preserveValues( widget );
-            return true;
-          }
-        } );
+      DirtyWidgets dirtyWidgets = getDirtyWidgets( display );
+      if( dirtyWidgets != null ) {
+        dirtyWidgets.startPreserving();
+      } else {
+        for( Shell shell : getShells( display ) ) {
+          WidgetTreeUtil.accept( shell, new WidgetTreeVisitor() {
+            @Override
+            public boolean visit( Widget widget ) {
+              getLCA( widget ).preserveValues( widget );
+              return true;
+            }
+          } );
+        }
       }
     }
   }
@@ -114,6 +122,14 @@ public class DisplayLCA {
 
   public void clearPreserved( Display display ) {
     ( ( WidgetRemoteAdapter )getAdapter( display ) ).clearPreserved();
+    DirtyWidgets dirtyWidgets = getDirtyWidgets( display );
+    if( dirtyWidgets != null ) {
+      for( Widget widget : dirtyWidgets.getChangedWidgets() ) {
+        ( ( WidgetRemoteAdapter )getAdapter( widget ) ).clearPreserved();
+      }
+      dirtyWidgets.clear();
+      return;
+    }
     for( Shell shell : getShells( display ) ) {
       WidgetTreeUtil.accept( shell, new WidgetTreeVisitor() {
         @Override
@@ -170,11 +186,39 @@ public class DisplayLCA {
   }
 
   private static void renderShells( Display display ) throws IOException {
-    RenderVisitor visitor = new RenderVisitor();
+    DirtyWidgets dirtyWidgets = getDirtyWidgets( display );
+    RenderVisitor visitor;
+    if( dirtyWidgets != null && getAdapter( display ).isInitialized() ) {
+      visitor = renderDirtyShells( display, dirtyWidgets );
+    } else {
+      visitor = new RenderVisitor();
+      for( Shell shell : getShells( display ) ) {
+        WidgetTreeUtil.accept( shell, visitor );
+        visitor.reThrowProblem();
+      }
+    }
+    LifeCycleMetrics metrics = ContextProvider.getApplicationContext().getLifeCycleMetrics();
+    metrics.recordWidgetsVisited( visitor.getVisitedWidgets() );
+  }
+
+  private static RenderVisitor renderDirtyShells( Display display, DirtyWidgets dirtyWidgets )
+    throws IOException
+  {
     for( Shell shell : getShells( display ) ) {
-      WidgetTreeUtil.accept( shell, visitor );
-      visitor.reThrowProblem();
+      if( dirtyWidgets.isDirty( shell ) ) {
+        // controls whose tab index changes while the shell is rendered need to be preserved first
+        ControlLCAUtil.recalculateTabIndex( shell );
+      }
     }
+    dirtyWidgets.startRendering();
+    RenderVisitor visitor = new DirtyRenderVisitor( dirtyWidgets );
+    for( Shell shell : getShells( display ) ) {
+      if( dirtyWidgets.isDirty( shell ) || dirtyWidgets.hasDirtyDescendants( shell ) ) {
+        WidgetTreeUtil.accept( shell, visitor );
+        visitor.reThrowProblem();
+      }
+    }
+    return visitor;
   }
 
   private static void renderExitConfirmation( Display display ) {
@@ -286,12 +330,22 @@ public class DisplayLCA {
     return getDisplayAdapter( display ).getShells();
   }
 
-  private static final class RenderVisitor implements WidgetTreeVisitor {
+  private static DirtyWidgets getDirtyWidgets( Display display ) {
+    return getDisplayAdapter( display ).getDirtyWidgets();
+  }
+
+  private static class RenderVisitor implements WidgetTreeVisitor {
 
     private IOException ioProblem;
+    private int visitedWidgets;
 
     @Override
     public boolean visit( Widget widget ) {
+      visitedWidgets++;
+      return visitWidget( widget );
+    }
+
+    boolean visitWidget( Widget widget ) {
       ioProblem = null;
       try {
         render( widget );
@@ -303,6 +357,10 @@ public class DisplayLCA {
       return true;
     }
 
+    int getVisitedWidgets() {
+      return visitedWidgets;
+    }
+
     private void reThrowProblem() throws IOException {
       if( ioProblem != null ) {
         throw ioProblem;
@@ -322,4 +380,21 @@ public class DisplayLCA {
     }
   }
 
+  private static final class DirtyRenderVisitor extends RenderVisitor {
+
+    private final DirtyWidgets dirtyWidgets;
+
+    DirtyRenderVisitor( DirtyWidgets dirtyWidgets ) {
+      this.dirtyWidgets = dirtyWidgets;
+    }
+
+    @Override
+    boolean visitWidget( Widget widget ) {
+      if( dirtyWidgets.isDirty( widget ) && !super.visitWidget( widget ) ) {
+        return false;
+      }
+      return dirtyWidgets.hasDirtyDescendants( widget );
+    }
+  }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -76,7 +76,8 @@ public final class TableLCA extends WidgetLCA<Table> {
   private static final String PROP_TOP_ITEM_INDEX = "topItemIndex";
   private static final String PROP_FOCUS_ITEM = "focusItem";
   private static final String PROP_SCROLL_LEFT = "scrollLeft";
-  private static final String PROP_SELECTION = "selection";
+  private static final String PROP_SELECTION_RANGES = "selectionRanges";
+  private static final String PROP_ITEM_MOD_COUNT = "itemModCount";
   private static final String PROP_SORT_DIRECTION = "sortDirection";
   private static final String PROP_SORT_COLUMN = "sortColumn";
   private static final String PROP_SETDATA_LISTENER = "SetData";
@@ -86,7 +87,7 @@ public final class TableLCA extends WidgetLCA<Table> {
   private static final String PROP_MARKUP_ENABLED = "markupEnabled";
 
   private static final int ZERO = 0 ;
-  private static final String[] DEFAULT_SELECTION = new String[ 0 ];
+  private static final int[] DEFAULT_SELECTION = new int[ 0 ];
   private static final String[] DEFAULT_COLUMN_ORDER = new String[ 0 ];
   private static final String DEFAULT_SORT_DIRECTION = "none";
 
@@ -104,7 +105,8 @@ public final class TableLCA extends WidgetLCA<Table> {
     preserveProperty( table, PROP_TOP_ITEM_INDEX, table.getTopIndex() );
     preserveProperty( table, PROP_FOCUS_ITEM, getFocusItem( table ) );
     preserveProperty( table, PROP_SCROLL_LEFT, getScrollLeft( table ) );
-    preserveProperty( table, PROP_SELECTION, getSelection( table ) );
+    preserveProperty( table, PROP_SELECTION_RANGES, getSelectionRanges( table ) );
+    preserveProperty( table, PROP_ITEM_MOD_COUNT, getTableAdapter( table ).getItemModCount() );
     preserveProperty( table, PROP_SORT_DIRECTION, getSortDirection( table ) );
     preserveProperty( table, PROP_SORT_COLUMN, table.getSortColumn() );
     preserveProperty( table, PROP_ALWAYS_HIDE_SELECTION, hasAlwaysHideSelection( table ) );
@@ -156,7 +158,7 @@ public final class TableLCA extends WidgetLCA<Table> {
         renderProperty( table, PROP_TOP_ITEM_INDEX, table.getTopIndex(), ZERO );
         renderProperty( table, PROP_SCROLL_LEFT, getScrollLeft( table ), ZERO );
         renderProperty( table, PROP_FOCUS_ITEM, getFocusItem( table ), null );
-        renderProperty( table, PROP_SELECTION, getSelection( table ), DEFAULT_SELECTION );
+        renderSelection( table );
         renderProperty( table, PROP_SORT_COLUMN, table.getSortColumn(), null );
       }
     } );
@@ -184,13 +186,25 @@ public final class TableLCA extends WidgetLCA<Table> {
     return ( table.getStyle() & SWT.VIRTUAL ) != 0;
   }
 
-  private static String[] getSelection( Table table ) {
-    TableItem[] selection = table.getSelection();
-    String[] result = new String[ selection.length ];
-    for( int i = 0; i < result.length; i++ ) {
-      result[ i ] = getId( selection[ i ] );
+  /*
+   * The selection is rendered as index ranges, hence the selected items are neither resolved nor
+   * enumerated. The client applies the ranges to the items it holds at that time. Items that were
+   * created or destroyed while the selection was not empty may have replaced a selected item at
+   * the same index, therefore the unchanged ranges are rendered again in this case.
+   */
+  private static void renderSelection( Table table ) {
+    int[] ranges = getSelectionRanges( table );
+    Integer itemModCount = Integer.valueOf( getTableAdapter( table ).getItemModCount() );
+    boolean itemsModified = hasChanged( table, PROP_ITEM_MOD_COUNT, itemModCount );
+    if(    hasChanged( table, PROP_SELECTION_RANGES, ranges, DEFAULT_SELECTION )
+        || ranges.length > 0 && itemsModified )
+    {
+      getRemoteObject( table ).set( PROP_SELECTION_RANGES, createJsonArray( ranges ) );
     }
-    return result;
+  }
+
+  private static int[] getSelectionRanges( Table table ) {
+    return getTableAdapter( table ).getSelectionRanges();
   }
 
   private static String[] getColumnOrder( Table table ) {
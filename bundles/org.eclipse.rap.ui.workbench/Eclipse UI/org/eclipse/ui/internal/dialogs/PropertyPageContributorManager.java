@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -19,25 +19,25 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtension;
-import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.dynamichelpers.IExtensionTracker;
 import org.eclipse.jface.preference.PreferenceNode;
 import org.eclipse.rap.rwt.SingletonUtil;
 import org.eclipse.ui.internal.ObjectContributorManager;
-import org.eclipse.ui.internal.registry.IWorkbenchRegistryConstants;
-import org.eclipse.ui.internal.registry.PropertyPagesRegistryReader;
 
 /**
  * Extends generic object contributor manager by loading property page
- * contributors from the registry.
+ * contributors from the registry. The contributors are read once per
+ * application by the <code>SharedPropertyPageRegistry</code>, an instance of
+ * this class only keeps the lookup caches of its UI session.
  */
 
 public class PropertyPageContributorManager extends ObjectContributorManager {
 // RAP [rst]
 //    private static PropertyPageContributorManager sharedInstance = null;
 
+	private SharedPropertyPageRegistry sharedRegistry;
+
 	private class CategorizedPageNode {
 		RegistryPageContributor contributor;
 
@@ -171,23 +171,47 @@ public class PropertyPageContributorManager extends ObjectContributorManager {
 	}
 
 	/**
-	 * Loads property page contributors from the registry.
+	 * Loads property page contributors from the shared registry, unless they
+	 * are loaded already and the shared registry did not change since.
+	 */
+	private synchronized void loadContributors() {
+		SharedPropertyPageRegistry registry = SharedPropertyPageRegistry.getInstance();
+		if (registry != sharedRegistry) {
+			sharedRegistry = registry;
+			contributors = registry.copyContributors();
+			flushLookup();
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see org.eclipse.ui.internal.ObjectContributorManager#getContributors()
+	 */
+	public Collection getContributors() {
+		loadContributors();
+		return super.getContributors();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.eclipse.ui.internal.ObjectContributorManager#getContributors(java.lang.Object)
 	 */
-	private void loadContributors() {
-		PropertyPagesRegistryReader reader = new PropertyPagesRegistryReader(
-				this);
-		reader.registerPropertyPages(Platform.getExtensionRegistry());
+	protected List getContributors(Object object) {
+		loadContributors();
+		return super.getContributors(object);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.eclipse.ui.internal.ObjectContributorManager#getContributors(java.util.List)
+	 */
+	protected List getContributors(List elements) {
+		loadContributors();
+		return super.getContributors(elements);
 	}
-	
+
     /* (non-Javadoc)
      * @see org.eclipse.core.runtime.dynamicHelpers.IExtensionChangeHandler#addExtension(org.eclipse.core.runtime.dynamicHelpers.IExtensionTracker, org.eclipse.core.runtime.IExtension)
      */
     public void addExtension(IExtensionTracker tracker, IExtension extension) {
-        IConfigurationElement[] addedElements = extension.getConfigurationElements();
-        for (int i = 0; i < addedElements.length; i++) {
-            PropertyPagesRegistryReader reader = new PropertyPagesRegistryReader(this);
-            reader.readElement(addedElements[i]);
-        }
+        // the shared registry is read anew when the extension point changes
     }
 
 	/**
@@ -206,11 +230,4 @@ public class PropertyPageContributorManager extends ObjectContributorManager {
 		}
 		return result;
 	}
-
-	/* (non-Javadoc)
-	 * @see org.eclipse.ui.internal.ObjectContributorManager#getExtensionPointFilter()
-	 */
-	protected String getExtensionPointFilter() {
-		return IWorkbenchRegistryConstants.PL_PROPERTY_PAGES;
-	}
 }
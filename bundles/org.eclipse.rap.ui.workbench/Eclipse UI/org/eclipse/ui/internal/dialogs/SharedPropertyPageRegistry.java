@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.dialogs;
+
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IRegistryEventListener;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.SingletonUtil;
+import org.eclipse.rap.rwt.service.ApplicationContext;
+import org.eclipse.rap.rwt.service.ApplicationContextEvent;
+import org.eclipse.rap.rwt.service.ApplicationContextListener;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.internal.registry.IWorkbenchRegistryConstants;
+import org.eclipse.ui.internal.registry.PropertyPagesRegistryReader;
+
+/**
+ * The property page contributors contributed to the extension registry. An
+ * instance is read once per application and shared by the session scoped
+ * <code>PropertyPageContributorManager</code> instances. It is never modified
+ * after it was read, a change of the extension point replaces it with a new
+ * instance instead.
+ *
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class SharedPropertyPageRegistry {
+
+	static final String EXTENSIONPOINT_ID = PlatformUI.PLUGIN_EXTENSION_NAME_SPACE
+			+ "." + IWorkbenchRegistryConstants.PL_PROPERTY_PAGES; //$NON-NLS-1$
+
+	// target type -> List of RegistryPageContributor
+	private final Map contributors;
+
+	private SharedPropertyPageRegistry() {
+		PropertyPagesRegistryReader reader = new PropertyPagesRegistryReader();
+		reader.registerPropertyPages(Platform.getExtensionRegistry());
+		contributors = reader.getContributors();
+	}
+
+	/**
+	 * Returns the registry of the current application, reading the extension
+	 * registry if there is none yet.
+	 *
+	 * @return the shared registry
+	 */
+	public static SharedPropertyPageRegistry getInstance() {
+		ApplicationContext applicationContext = RWT.getApplicationContext();
+		Holder holder = SingletonUtil.getUniqueInstance(Holder.class, applicationContext);
+		return holder.get(applicationContext);
+	}
+
+	/**
+	 * Returns a copy of the contributors that the caller may modify. The
+	 * contributors themselves are shared.
+	 *
+	 * @return the map from target type name to a <code>List</code> of
+	 *         <code>RegistryPageContributor</code>
+	 */
+	Map copyContributors() {
+		Map result = new Hashtable(Math.max(5, contributors.size() * 2));
+		Iterator iterator = contributors.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry entry = (Map.Entry) iterator.next();
+			result.put(entry.getKey(), new ArrayList((List) entry.getValue()));
+		}
+		return result;
+	}
+
+	/**
+	 * Keeps the shared registry of an application and drops it when the
+	 * property pages extension point changes, so that the next access reads it
+	 * anew. Holders of the dropped registry keep a consistent, albeit outdated,
+	 * view.
+	 *
+	 * @noreference This class is not intended to be referenced by clients.
+	 */
+	public static final class Holder implements IRegistryEventListener,
+			ApplicationContextListener {
+
+		private SharedPropertyPageRegistry registry;
+
+		private boolean listening;
+
+		synchronized SharedPropertyPageRegistry get(ApplicationContext applicationContext) {
+			if (!listening) {
+				// listen before reading, so that no change can get lost
+				Platform.getExtensionRegistry().addListener(this, EXTENSIONPOINT_ID);
+				applicationContext.addApplicationContextListener(this);
+				listening = true;
+			}
+			if (registry == null) {
+				registry = new SharedPropertyPageRegistry();
+			}
+			return registry;
+		}
+
+		private synchronized void invalidate() {
+			registry = null;
+		}
+
+		public void added(IExtension[] extensions) {
+			invalidate();
+		}
+
+		public void removed(IExtension[] extensions) {
+			invalidate();
+		}
+
+		public void added(IExtensionPoint[] extensionPoints) {
+			invalidate();
+		}
+
+		public void removed(IExtensionPoint[] extensionPoints) {
+			invalidate();
+		}
+
+		public void beforeDestroy(ApplicationContextEvent event) {
+			Platform.getExtensionRegistry().removeListener(this);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2006 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -36,12 +36,8 @@ public class ActionSetDescriptor implements IActionSetDescriptor, IAdaptable,
 
     private String pluginId;
 
-    private String label;
-
     private boolean visible;
 
-    private String description;
-
     private IConfigurationElement configElement;
 
     /**
@@ -56,15 +52,13 @@ public class ActionSetDescriptor implements IActionSetDescriptor, IAdaptable,
         this.configElement = configElement;
         id = configElement.getAttribute(IWorkbenchRegistryConstants.ATT_ID);
         pluginId = configElement.getNamespace();
-        label = configElement.getAttribute(IWorkbenchRegistryConstants.ATT_LABEL);
-        description = configElement.getAttribute(IWorkbenchRegistryConstants.TAG_DESCRIPTION);
         String str = configElement.getAttribute(IWorkbenchRegistryConstants.ATT_VISIBLE);
         if (str != null && str.equals("true")) { //$NON-NLS-1$
 			visible = true;
 		}
 
         // Sanity check.
-        if (label == null) {
+        if (configElement.getAttribute(IWorkbenchRegistryConstants.ATT_LABEL) == null) {
             throw new CoreException(new Status(IStatus.ERROR,
                     WorkbenchPlugin.PI_WORKBENCH, 0,
                     "Invalid extension (missing label): " + id,//$NON-NLS-1$
@@ -119,7 +113,8 @@ public class ActionSetDescriptor implements IActionSetDescriptor, IAdaptable,
      * @return the description
      */
     public String getDescription() {
-        return description;
+        // read on access, the descriptor is shared between UI sessions
+        return configElement.getAttribute(IWorkbenchRegistryConstants.TAG_DESCRIPTION);
     }
 
     /**
@@ -140,7 +135,8 @@ public class ActionSetDescriptor implements IActionSetDescriptor, IAdaptable,
      * @return the label
      */
     public String getLabel() {
-        return label;
+        // read on access, the descriptor is shared between UI sessions
+        return configElement.getAttribute(IWorkbenchRegistryConstants.ATT_LABEL);
     }
 
     /**
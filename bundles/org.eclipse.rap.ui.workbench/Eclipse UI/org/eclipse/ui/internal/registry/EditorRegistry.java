@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -29,19 +29,12 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.StringTokenizer;
 
 import org.eclipse.core.commands.common.EventManager;
-import org.eclipse.core.runtime.IConfigurationElement;
-import org.eclipse.core.runtime.IExtension;
-import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.content.IContentType;
-import org.eclipse.core.runtime.dynamichelpers.ExtensionTracker;
-import org.eclipse.core.runtime.dynamichelpers.IExtensionChangeHandler;
-import org.eclipse.core.runtime.dynamichelpers.IExtensionTracker;
 import org.eclipse.jface.dialogs.ErrorDialog;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.preference.IPreferenceStore;
@@ -73,7 +66,7 @@ import com.ibm.icu.text.Collator;
 /**
  * Provides access to the collection of defined editors for resource types.
  */
-public class EditorRegistry extends EventManager implements IEditorRegistry, IExtensionChangeHandler {
+public class EditorRegistry extends EventManager implements IEditorRegistry {
 
 	
 	private final static IEditorDescriptor [] EMPTY = new IEditorDescriptor[0];
@@ -110,7 +103,10 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
 		
 	}
 	
-	private Map contentTypeToEditorMappings = new HashMap();
+	private SharedEditorRegistry sharedRegistry;
+
+	// shared with the other sessions, never modified
+	private Map contentTypeToEditorMappings;
 	
     /*
      * Cached images - these include images from registered editors (via
@@ -154,8 +150,8 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
 	public static final String EMPTY_EDITOR_ID = "org.eclipse.ui.internal.emptyEditorTab"; //$NON-NLS-1$
 
     /**
-     * Return an instance of the receiver. Adds listeners into the extension
-     * registry for dynamic UI purposes.
+     * Return an instance of the receiver. The editors declared in plugins are
+     * taken from the shared registry of the application.
      */
 	// RAP [bm]: see getInstance
 //    public EditorRegistry() {
@@ -163,8 +159,6 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
 	// RAPEND: [bm] 
         super();
         initializeFromStorage();
-        IExtensionTracker tracker = PlatformUI.getWorkbench().getExtensionTracker();
-        tracker.registerHandler(this, ExtensionTracker.createExtensionPointFilter(getExtensionPointFilter()));
 		relatedRegistry = new RelatedRegistry();
     }
 
@@ -174,117 +168,22 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
      * @return the session singleton instance
      */
     public static EditorRegistry getInstance() {
-        return SingletonUtil.getSessionInstance( EditorRegistry.class );
+        EditorRegistry registry = SingletonUtil.getSessionInstance( EditorRegistry.class );
+        registry.checkSharedRegistry();
+        return registry;
     }
-    // RAPEND: [bm]
 
     /**
-     * Add an editor for the given extensions with the specified (possibly null)
-     * extended type. The editor is being registered from a plugin
-     * 
-     * @param editor
-     *            The description of the editor (as obtained from the plugin
-     *            file and built by the registry reader)
-     * @param extensions
-     *            Collection of file extensions the editor applies to
-     * @param filenames
-     *            Collection of filenames the editor applies to
-     * @param contentTypeVector 
-     * @param bDefault
-     *            Indicates whether the editor should be made the default editor
-     *            and hence appear first inside a FileEditorMapping
-     * 
-     * This method is not API and should not be called outside the workbench
-     * code.
+     * Initializes the registry anew if the shared registry was replaced since
+     * it was initialized, which happens when the editors extension point
+     * changes. File associations are read from the preferences again.
      */
-    public void addEditorFromPlugin(EditorDescriptor editor, List extensions,
-            List filenames, List contentTypeVector, boolean bDefault) {
-
-    	PlatformUI.getWorkbench().getExtensionTracker().registerObject(
-				editor.getConfigurationElement().getDeclaringExtension(),
-				editor, IExtensionTracker.REF_WEAK);
-        // record it in our quick reference list
-        sortedEditorsFromPlugins.add(editor);
-
-        // add it to the table of mappings
-        Iterator itr = extensions.iterator();
-        while (itr.hasNext()) {
-            String fileExtension = (String) itr.next();
-
-            if (fileExtension != null && fileExtension.length() > 0) {
-                FileEditorMapping mapping = getMappingFor("*." + fileExtension); //$NON-NLS-1$
-                if (mapping == null) { // no mapping for that extension
-                    mapping = new FileEditorMapping(fileExtension);
-                    typeEditorMappings.putDefault(mappingKeyFor(mapping),
-                            mapping);
-                }
-                mapping.addEditor(editor);
-                if (bDefault) {
-					mapping.setDefaultEditor(editor);
-				}
-            }
+    private synchronized void checkSharedRegistry() {
+        if (sharedRegistry != SharedEditorRegistry.getInstance()) {
+            initializeFromStorage();
         }
-
-        // add it to the table of mappings
-        itr = filenames.iterator();
-        while (itr.hasNext()) {
-            String filename = (String) itr.next();
-
-            if (filename != null && filename.length() > 0) {
-                FileEditorMapping mapping = getMappingFor(filename);
-                if (mapping == null) { // no mapping for that extension
-                    String name;
-                    String extension;
-                    int index = filename.indexOf('.');
-                    if (index < 0) {
-                        name = filename;
-                        extension = ""; //$NON-NLS-1$
-                    } else {
-                        name = filename.substring(0, index);
-                        extension = filename.substring(index + 1);
-                    }
-                    mapping = new FileEditorMapping(name, extension);
-                    typeEditorMappings.putDefault(mappingKeyFor(mapping),
-                            mapping);
-                }
-                mapping.addEditor(editor);
-                if (bDefault) {
-					mapping.setDefaultEditor(editor);
-				}
-            }
-        }
-		
-		
-		itr = contentTypeVector.iterator();
-		while(itr.hasNext()) {
-			String contentTypeId = (String) itr.next();
-			if (contentTypeId != null && contentTypeId.length() > 0) {
-				IContentType contentType = Platform.getContentTypeManager().getContentType(contentTypeId);
-				if (contentType != null) {
-					IEditorDescriptor [] editorArray = (IEditorDescriptor[]) contentTypeToEditorMappings.get(contentType);
-					if (editorArray == null) {
-						editorArray = new IEditorDescriptor[] {editor};
-						contentTypeToEditorMappings.put(contentType, editorArray);
-					}
-					else {
-						IEditorDescriptor [] newArray = new IEditorDescriptor[editorArray.length + 1];
-						if (bDefault) { // default editors go to the front of the line
-							newArray[0] = editor;
-							System.arraycopy(editorArray, 0, newArray, 1, editorArray.length);
-						}
-						else {
-							newArray[editorArray.length] = editor;
-							System.arraycopy(editorArray, 0, newArray, 0, editorArray.length);
-						}
-						contentTypeToEditorMappings.put(contentType, newArray);
-					}
-				}
-			}
-		}
-
-        // Update editor map.
-        mapIDtoEditor.put(editor.getId(), editor);
     }
+    // RAPEND: [bm]
 
     /**
      * Add external editors to the editor mapping.
@@ -571,9 +470,11 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
         typeEditorMappings = new EditorMap();
         extensionImages = new HashMap();
 
-        //Get editors from the registry
-        EditorRegistryReader registryReader = new EditorRegistryReader();
-        registryReader.addEditors(this);
+        //Get editors from the shared registry
+        sharedRegistry = SharedEditorRegistry.getInstance();
+        contentTypeToEditorMappings = sharedRegistry.getContentTypeMappings();
+        typeEditorMappings.defaultMap.putAll(sharedRegistry.copyDefaultMappings());
+        sortedEditorsFromPlugins = sharedRegistry.getEditors();
         sortInternalEditors();
         rebuildInternalEditorMap();
 
@@ -940,7 +841,7 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
      * Return a friendly version of the given key suitable for use in the editor
      * map.
      */
-    private String mappingKeyFor(String type) {
+    static String mappingKeyFor(String type) {
         // keep everyting lower case for case-sensitive platforms
         return type.toLowerCase();
     }
@@ -951,7 +852,7 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
      * 
      * @param mapping the mapping to generate a key for
      */
-    private String mappingKeyFor(FileEditorMapping mapping) {
+    static String mappingKeyFor(FileEditorMapping mapping) {
         return mappingKeyFor(mapping.getName()
                 + (mapping.getExtension().length() == 0 ? "" : "." + mapping.getExtension())); //$NON-NLS-1$ //$NON-NLS-2$
     }
@@ -1277,124 +1178,6 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
     	return null;
     }
     
-    /**
-     * Removes the entry with the value of the editor descriptor from the given
-     * map. If the descriptor is the last descriptor in a given
-     * FileEditorMapping then the mapping is removed from the map.
-     * 
-     * @param map
-     *            the map to search
-     * @param desc
-     *            the descriptor value to remove
-     */
-    private void removeEditorFromMapping(HashMap map, IEditorDescriptor desc) {
-        Iterator iter = map.values().iterator();
-        FileEditorMapping mapping;
-        IEditorDescriptor[] editors;
-        while (iter.hasNext()) {
-            mapping = (FileEditorMapping) iter.next();
-            editors = mapping.getUnfilteredEditors();
-            for (int i = 0; i < editors.length; i++) {
-				if (editors[i] == desc) {
-                    mapping.removeEditor((EditorDescriptor) editors[i]);
-                    break;
-                }
-			}
-            if (editors.length <= 0) {
-                map.remove(mapping);
-                break;
-            }
-        }
-    }
-
-	
-    /* (non-Javadoc)
-     * @see org.eclipse.core.runtime.dynamicHelpers.IExtensionChangeHandler#removeExtension(org.eclipse.core.runtime.IExtension, java.lang.Object[])
-     */
-    public void removeExtension(IExtension source, Object[] objects) {
-        for (int i = 0; i < objects.length; i++) {
-            if (objects[i] instanceof EditorDescriptor) {
-                EditorDescriptor desc = (EditorDescriptor) objects[i];
-
-                sortedEditorsFromPlugins.remove(desc);
-                mapIDtoEditor.values().remove(desc);
-                removeEditorFromMapping(typeEditorMappings.defaultMap, desc);
-                removeEditorFromMapping(typeEditorMappings.map, desc);
-                removeEditorFromContentTypeMappings(contentTypeToEditorMappings, desc);
-            }
-
-        }
-    }
-
-    /**
-     * Removes all occurrences of the given editor descriptor from the map of content types.
-     * If the descriptor was the only editor, the whole content type is removed from the map.
-     */
-	private void removeEditorFromContentTypeMappings(Map map, IEditorDescriptor desc) {
-		for (Iterator iter = map.entrySet().iterator(); iter.hasNext();) {
-			Entry entry = (Entry) iter.next();
-			IEditorDescriptor[] descriptors = (IEditorDescriptor[]) entry.getValue();
-			IEditorDescriptor[] newDescriptors = removeDescriptor(descriptors, desc);
-			if (descriptors != newDescriptors) {
-				if (newDescriptors == null) {
-					iter.remove();
-				} else {
-					entry.setValue(newDescriptors);
-				}
-			}
-		}
-	}
-
-	/**
-	 * Checks the given IEditorDescriptor for an occurrence of the given descriptor and
-	 * returns an array not containing this descriptor.
-	 * If the result would then be an empty array, <code>null</code> is returned.
-	 * If the descriptor is not contained at all in the given array, it is returned as is.
-	 */
-	private IEditorDescriptor[] removeDescriptor(IEditorDescriptor[] descriptors, IEditorDescriptor desc) {
-		for (int i = 0; i < descriptors.length; i++) {
-			if (descriptors[i] == desc) {
-				// remove the whole mapping
-				if (descriptors.length == 1) {
-					return null;
-				}
-				
-				IEditorDescriptor[] newDescriptors = new IEditorDescriptor[descriptors.length - 1];
-				if (i == 0) {
-					System.arraycopy(descriptors, 1, newDescriptors, 0, newDescriptors.length);
-				} else {
-					System.arraycopy(descriptors, 0, newDescriptors, 0, i);
-					if (i < newDescriptors.length) {
-						System.arraycopy(descriptors, i + 1, newDescriptors, i, newDescriptors.length - i);
-					}
-				}
-				return newDescriptors;
-			}
-		}
-
-		return descriptors;
-	}
-
-	/* (non-Javadoc)
-	 * @see org.eclipse.core.runtime.dynamicHelpers.IExtensionChangeHandler#addExtension(org.eclipse.core.runtime.dynamicHelpers.IExtensionTracker, org.eclipse.core.runtime.IExtension)
-	 */
-	public void addExtension(IExtensionTracker tracker, IExtension extension) {
-        EditorRegistryReader eReader = new EditorRegistryReader();
-        IConfigurationElement[] elements = extension.getConfigurationElements();
-        for (int i = 0; i < elements.length; i++) {
-            String id = elements[i].getAttribute(IWorkbenchConstants.TAG_ID);
-            if (id != null && findEditor(id) != null) {
-				continue;
-			}
-            eReader.readElement(this, elements[i]);
-        }
-	}
-
-	private IExtensionPoint getExtensionPointFilter() {
-		//  RAP [bm] namespace
-		return Platform.getExtensionRegistry().getExtensionPoint(PlatformUI.PLUGIN_EXTENSION_NAME_SPACE, IWorkbenchRegistryConstants.PL_EDITOR);
-	}
-
 	/* (non-Javadoc)
 	 * @see org.eclipse.ui.IEditorRegistry#getDefaultEditor(java.lang.String, org.eclipse.core.runtime.content.IContentType)
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2007 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -25,18 +25,18 @@ import org.eclipse.ui.PlatformUI;
  */
 public class EditorRegistryReader extends RegistryReader {
 
-    private EditorRegistry editorRegistry;
+    private SharedEditorRegistry editorRegistry;
 
     /**
      * Get the editors that are defined in the registry
-     * and add them to the ResourceEditorRegistry
+     * and add them to the SharedEditorRegistry
      *
      * Warning:
      * The registry must be passed in because this method is called during the
      * process of setting up the registry and at this time it has not been
      * safely setup with the plugin.
      */
-    protected void addEditors(EditorRegistry registry) {
+    protected void addEditors(SharedEditorRegistry registry) {
         IExtensionRegistry extensionRegistry = Platform.getExtensionRegistry();
         this.editorRegistry = registry;
         readRegistry(extensionRegistry, PlatformUI.PLUGIN_EXTENSION_NAME_SPACE,
@@ -109,15 +109,4 @@ public class EditorRegistryReader extends RegistryReader {
                 filenamesVector, contentTypeVector, defaultEditor);
         return true;
     }
-
-
-    /**
-     * @param editorRegistry
-     * @param element
-     */
-    public void readElement(EditorRegistry editorRegistry,
-            IConfigurationElement element) {
-        this.editorRegistry = editorRegistry;
-        readElement(element);
-    }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,13 +12,14 @@ package org.eclipse.ui.internal.registry;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.ui.PlatformUI;
-import org.eclipse.ui.internal.dialogs.PropertyPageContributorManager;
 import org.eclipse.ui.internal.dialogs.RegistryPageContributor;
 
 /**
@@ -67,7 +68,8 @@ public class PropertyPagesRegistryReader extends CategorizedPageRegistryReader {
 
 	private Collection pages = new ArrayList();
 
-	private PropertyPageContributorManager manager;
+	// target type -> List of RegistryPageContributor
+	private Map contributors = new HashMap();
 
 	class PropertyCategoryNode extends CategoryNode {
 
@@ -115,12 +117,9 @@ public class PropertyPagesRegistryReader extends CategorizedPageRegistryReader {
 
 	/**
 	 * The constructor.
-	 * 
-	 * @param manager
-	 *            the manager
 	 */
-	public PropertyPagesRegistryReader(PropertyPageContributorManager manager) {
-		this.manager = manager;
+	public PropertyPagesRegistryReader() {
+		super();
 	}
 
 	/**
@@ -146,7 +145,7 @@ public class PropertyPagesRegistryReader extends CategorizedPageRegistryReader {
 		}
 		if (element.getAttribute(ATT_OBJECTCLASS) == null) {
 			pages.add(contributor);
-			manager.registerContributor(contributor, Object.class.getName());
+			registerContributor(contributor, Object.class.getName());
 		} else {
 			List objectClassNames = new ArrayList();
 			objectClassNames.add(element.getAttribute(ATT_OBJECTCLASS));
@@ -165,11 +164,31 @@ public class PropertyPagesRegistryReader extends CategorizedPageRegistryReader {
 
 		pages.add(contributor);
 		for (Iterator iter = objectClassNames.iterator(); iter.hasNext();) {
-			manager.registerContributor(contributor, (String) iter.next());
+			registerContributor(contributor, (String) iter.next());
 		}
 
 	}
 
+	private void registerContributor(RegistryPageContributor contributor,
+			String targetType) {
+		List contributorList = (List) contributors.get(targetType);
+		if (contributorList == null) {
+			contributorList = new ArrayList(5);
+			contributors.put(targetType, contributorList);
+		}
+		contributorList.add(contributor);
+	}
+
+	/**
+	 * Returns the contributors that were read, keyed by their target type.
+	 * 
+	 * @return the map from target type name to a <code>List</code> of
+	 *         <code>RegistryPageContributor</code>
+	 */
+	public Map getContributors() {
+		return contributors;
+	}
+
 
 	/**
 	 * Reads the next contribution element.
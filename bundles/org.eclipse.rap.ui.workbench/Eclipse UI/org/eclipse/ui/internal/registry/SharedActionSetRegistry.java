@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.registry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IRegistryEventListener;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.SingletonUtil;
+import org.eclipse.rap.rwt.service.ApplicationContext;
+import org.eclipse.rap.rwt.service.ApplicationContextEvent;
+import org.eclipse.rap.rwt.service.ApplicationContextListener;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.internal.WorkbenchPlugin;
+
+/**
+ * The action sets and action set part associations contributed to the
+ * extension registry. An instance is read once per application and shared by
+ * the session scoped <code>ActionSetRegistry</code> instances. It is never
+ * modified after it was read, a change of one of the extension points replaces
+ * it with a new instance instead.
+ *
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class SharedActionSetRegistry {
+
+	static final String ACTION_SETS_EXTENSIONPOINT_ID = PlatformUI.PLUGIN_EXTENSION_NAME_SPACE
+			+ "." + IWorkbenchRegistryConstants.PL_ACTION_SETS; //$NON-NLS-1$
+
+	static final String ASSOCIATIONS_EXTENSIONPOINT_ID = PlatformUI.PLUGIN_EXTENSION_NAME_SPACE
+			+ "." + IWorkbenchRegistryConstants.PL_ACTION_SET_PART_ASSOCIATIONS; //$NON-NLS-1$
+
+	private static final IActionSetDescriptor[] NO_ACTION_SETS = new IActionSetDescriptor[0];
+
+	private final List actionSets = new ArrayList();
+
+	// part id -> IActionSetDescriptor[]
+	private final Map mapPartToActionSets = new HashMap();
+
+	private SharedActionSetRegistry() {
+		readActionSets();
+		readActionSetPartAssociations();
+	}
+
+	/**
+	 * Returns the registry of the current application, reading the extension
+	 * registry if there is none yet.
+	 *
+	 * @return the shared registry
+	 */
+	public static SharedActionSetRegistry getInstance() {
+		ApplicationContext applicationContext = RWT.getApplicationContext();
+		Holder holder = SingletonUtil.getUniqueInstance(Holder.class, applicationContext);
+		return holder.get(applicationContext);
+	}
+
+	/**
+	 * Finds the action set with the given id.
+	 *
+	 * @param id
+	 *            the action set id
+	 * @return the action set, or <code>null</code> if none
+	 */
+	public IActionSetDescriptor findActionSet(String id) {
+		Iterator i = actionSets.iterator();
+		while (i.hasNext()) {
+			IActionSetDescriptor desc = (IActionSetDescriptor) i.next();
+			if (desc.getId().equals(id)) {
+				return desc;
+			}
+		}
+		return null;
+	}
+
+	IActionSetDescriptor[] getActionSets() {
+		return (IActionSetDescriptor[]) actionSets
+				.toArray(new IActionSetDescriptor[actionSets.size()]);
+	}
+
+	IActionSetDescriptor[] getActionSetsFor(String partId) {
+		IActionSetDescriptor[] result = (IActionSetDescriptor[]) mapPartToActionSets
+				.get(partId);
+		if (result == null) {
+			return NO_ACTION_SETS;
+		}
+		return (IActionSetDescriptor[]) result.clone();
+	}
+
+	private void readActionSets() {
+		IExtension[] extensions = getExtensions(ACTION_SETS_EXTENSIONPOINT_ID);
+		for (int i = 0; i < extensions.length; i++) {
+			IConfigurationElement[] elements = extensions[i].getConfigurationElements();
+			for (int j = 0; j < elements.length; j++) {
+				IConfigurationElement element = elements[j];
+				if (element.getName().equals(IWorkbenchRegistryConstants.TAG_ACTION_SET)) {
+					try {
+						actionSets.add(new ActionSetDescriptor(element));
+					} catch (CoreException e) {
+						// log an error since its not safe to open a dialog here
+						WorkbenchPlugin.log(
+								"Unable to create action set descriptor.", e.getStatus());//$NON-NLS-1$
+					}
+				}
+			}
+		}
+	}
+
+	private void readActionSetPartAssociations() {
+		// part id -> List of action set ids
+		Map mapPartToActionSetIds = new HashMap();
+		IExtension[] extensions = getExtensions(ASSOCIATIONS_EXTENSIONPOINT_ID);
+		for (int i = 0; i < extensions.length; i++) {
+			IConfigurationElement[] elements = extensions[i].getConfigurationElements();
+			for (int j = 0; j < elements.length; j++) {
+				IConfigurationElement element = elements[j];
+				if (element.getName().equals(
+						IWorkbenchRegistryConstants.TAG_ACTION_SET_PART_ASSOCIATION)) {
+					String actionSetId = element
+							.getAttribute(IWorkbenchRegistryConstants.ATT_TARGET_ID);
+					readParts(extensions[i], element, actionSetId, mapPartToActionSetIds);
+				}
+			}
+		}
+		Iterator i = mapPartToActionSetIds.entrySet().iterator();
+		while (i.hasNext()) {
+			Map.Entry entry = (Map.Entry) i.next();
+			String partId = (String) entry.getKey();
+			List actionSetIds = (List) entry.getValue();
+			mapPartToActionSets.put(partId, resolveActionSets(partId, actionSetIds));
+		}
+	}
+
+	private static void readParts(IExtension extension, IConfigurationElement element,
+			String actionSetId, Map mapPartToActionSetIds) {
+		IConfigurationElement[] children = element.getChildren();
+		for (int i = 0; i < children.length; i++) {
+			IConfigurationElement child = children[i];
+			if (child.getName().equals(IWorkbenchRegistryConstants.TAG_PART)) {
+				String partId = child.getAttribute(IWorkbenchRegistryConstants.ATT_ID);
+				if (partId != null) {
+					List actionSetIds = (List) mapPartToActionSetIds.get(partId);
+					if (actionSetIds == null) {
+						actionSetIds = new ArrayList();
+						mapPartToActionSetIds.put(partId, actionSetIds);
+					}
+					actionSetIds.add(actionSetId);
+				}
+			} else {
+				WorkbenchPlugin.log("Unable to process element: " + //$NON-NLS-1$
+						child.getName() + " in action set part associations extension: " + //$NON-NLS-1$
+						extension.getUniqueIdentifier());
+			}
+		}
+	}
+
+	private IActionSetDescriptor[] resolveActionSets(String partId, List actionSetIds) {
+		List result = new ArrayList(actionSetIds.size());
+		for (Iterator i = actionSetIds.iterator(); i.hasNext();) {
+			String actionSetId = (String) i.next();
+			IActionSetDescriptor actionSet = findActionSet(actionSetId);
+			if (actionSet != null) {
+				result.add(actionSet);
+			} else {
+				WorkbenchPlugin.log("Unable to associate action set with part: " + //$NON-NLS-1$
+						partId + ". Action set " + actionSetId + " not found."); //$NON-NLS-2$ //$NON-NLS-1$
+			}
+		}
+		return (IActionSetDescriptor[]) result.toArray(new IActionSetDescriptor[result.size()]);
+	}
+
+	private static IExtension[] getExtensions(String extensionPointId) {
+		IExtensionPoint extensionPoint = Platform.getExtensionRegistry().getExtensionPoint(
+				extensionPointId);
+		return extensionPoint == null ? new IExtension[0] : extensionPoint.getExtensions();
+	}
+
+	/**
+	 * Keeps the shared registry of an application and drops it when the action
+	 * set or action set part association extension points change, so that the
+	 * next access reads it anew. Holders of the dropped registry keep a
+	 * consistent, albeit outdated, view.
+	 *
+	 * @noreference This class is not intended to be referenced by clients.
+	 */
+	public static final class Holder implements IRegistryEventListener,
+			ApplicationContextListener {
+
+		private SharedActionSetRegistry registry;
+
+		private boolean listening;
+
+		// a listener is registered once, the associations need a second one
+		private final IRegistryEventListener associationsListener = new IRegistryEventListener() {
+
+			public void added(IExtension[] extensions) {
+				invalidate();
+			}
+
+			public void removed(IExtension[] extensions) {
+				invalidate();
+			}
+
+			public void added(IExtensionPoint[] extensionPoints) {
+				invalidate();
+			}
+
+			public void removed(IExtensionPoint[] extensionPoints) {
+				invalidate();
+			}
+		};
+
+		/**
+		 * Returns the registry of the given application, reading the extension
+		 * registry if there is none yet.
+		 *
+		 * @param applicationContext
+		 *            the application that the registry belongs to
+		 * @return the shared registry
+		 */
+		public synchronized SharedActionSetRegistry get(ApplicationContext applicationContext) {
+			if (!listening) {
+				// listen before reading, so that no change can get lost
+				Platform.getExtensionRegistry().addListener(this, ACTION_SETS_EXTENSIONPOINT_ID);
+				Platform.getExtensionRegistry().addListener(associationsListener,
+						ASSOCIATIONS_EXTENSIONPOINT_ID);
+				applicationContext.addApplicationContextListener(this);
+				listening = true;
+			}
+			if (registry == null) {
+				registry = new SharedActionSetRegistry();
+			}
+			return registry;
+		}
+
+		private synchronized void invalidate() {
+			registry = null;
+		}
+
+		public void added(IExtension[] extensions) {
+			invalidate();
+		}
+
+		public void removed(IExtension[] extensions) {
+			invalidate();
+		}
+
+		public void added(IExtensionPoint[] extensionPoints) {
+			invalidate();
+		}
+
+		public void removed(IExtensionPoint[] extensionPoints) {
+			invalidate();
+		}
+
+		public void beforeDestroy(ApplicationContextEvent event) {
+			Platform.getExtensionRegistry().removeListener(this);
+			Platform.getExtensionRegistry().removeListener(associationsListener);
+		}
+	}
+}
@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.registry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IRegistryEventListener;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.content.IContentType;
+import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.SingletonUtil;
+import org.eclipse.rap.rwt.service.ApplicationContext;
+import org.eclipse.rap.rwt.service.ApplicationContextEvent;
+import org.eclipse.rap.rwt.service.ApplicationContextListener;
+import org.eclipse.ui.IEditorDescriptor;
+import org.eclipse.ui.PlatformUI;
+
+/**
+ * The editors contributed to the extension registry together with the file
+ * and content type associations they declare. An instance is read once per
+ * application and shared by the session scoped <code>EditorRegistry</code>
+ * instances. It is never modified after it was read, a change of the
+ * extension point replaces it with a new instance instead.
+ * <p>
+ * The declared file editor mappings are handed out as copies, since a session
+ * changes them according to the file associations in its preferences.
+ * </p>
+ *
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class SharedEditorRegistry {
+
+	static final String EXTENSIONPOINT_ID = PlatformUI.PLUGIN_EXTENSION_NAME_SPACE
+			+ "." + IWorkbenchRegistryConstants.PL_EDITOR; //$NON-NLS-1$
+
+	// EditorDescriptor, in the order they were read
+	private final List editors = new ArrayList();
+
+	// mapping key -> FileEditorMapping
+	private final Map defaultMappings = new HashMap();
+
+	// IContentType -> IEditorDescriptor[]
+	private final Map contentTypeToEditorMappings = new HashMap();
+
+	private SharedEditorRegistry() {
+		new EditorRegistryReader().addEditors(this);
+	}
+
+	/**
+	 * Returns the registry of the current application, reading the extension
+	 * registry if there is none yet.
+	 *
+	 * @return the shared registry
+	 */
+	public static SharedEditorRegistry getInstance() {
+		ApplicationContext applicationContext = RWT.getApplicationContext();
+		Holder holder = SingletonUtil.getUniqueInstance(Holder.class, applicationContext);
+		return holder.get(applicationContext);
+	}
+
+	/**
+	 * Add an editor for the given extensions with the specified (possibly null)
+	 * extended type. Only called by the registry reader while this registry is
+	 * read.
+	 *
+	 * @param editor
+	 *            The description of the editor (as obtained from the plugin
+	 *            file and built by the registry reader)
+	 * @param extensions
+	 *            Collection of file extensions the editor applies to
+	 * @param filenames
+	 *            Collection of filenames the editor applies to
+	 * @param contentTypeVector
+	 *            Collection of content type ids the editor is bound to
+	 * @param bDefault
+	 *            Indicates whether the editor should be made the default editor
+	 *            and hence appear first inside a FileEditorMapping
+	 */
+	void addEditorFromPlugin(EditorDescriptor editor, List extensions,
+			List filenames, List contentTypeVector, boolean bDefault) {
+		editors.add(editor);
+
+		Iterator itr = extensions.iterator();
+		while (itr.hasNext()) {
+			String fileExtension = (String) itr.next();
+			if (fileExtension != null && fileExtension.length() > 0) {
+				FileEditorMapping mapping = getMappingFor("*." + fileExtension); //$NON-NLS-1$
+				if (mapping == null) {
+					mapping = new FileEditorMapping(fileExtension);
+					defaultMappings.put(EditorRegistry.mappingKeyFor(mapping), mapping);
+				}
+				mapping.addEditor(editor);
+				if (bDefault) {
+					mapping.setDefaultEditor(editor);
+				}
+			}
+		}
+
+		itr = filenames.iterator();
+		while (itr.hasNext()) {
+			String filename = (String) itr.next();
+			if (filename != null && filename.length() > 0) {
+				FileEditorMapping mapping = getMappingFor(filename);
+				if (mapping == null) {
+					String name;
+					String extension;
+					int index = filename.indexOf('.');
+					if (index < 0) {
+						name = filename;
+						extension = ""; //$NON-NLS-1$
+					} else {
+						name = filename.substring(0, index);
+						extension = filename.substring(index + 1);
+					}
+					mapping = new FileEditorMapping(name, extension);
+					defaultMappings.put(EditorRegistry.mappingKeyFor(mapping), mapping);
+				}
+				mapping.addEditor(editor);
+				if (bDefault) {
+					mapping.setDefaultEditor(editor);
+				}
+			}
+		}
+
+		itr = contentTypeVector.iterator();
+		while (itr.hasNext()) {
+			String contentTypeId = (String) itr.next();
+			if (contentTypeId != null && contentTypeId.length() > 0) {
+				IContentType contentType = Platform.getContentTypeManager()
+						.getContentType(contentTypeId);
+				if (contentType != null) {
+					addContentTypeMapping(contentType, editor, bDefault);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the editors declared in plugins, in the order they were read.
+	 *
+	 * @return a list of <code>EditorDescriptor</code> that the caller may
+	 *         modify
+	 */
+	List getEditors() {
+		return new ArrayList(editors);
+	}
+
+	/**
+	 * Returns copies of the file editor mappings declared in plugins.
+	 *
+	 * @return a map from mapping key to <code>FileEditorMapping</code> that
+	 *         the caller may modify, including the mappings
+	 */
+	Map copyDefaultMappings() {
+		Map result = new HashMap(defaultMappings.size() * 2);
+		Iterator iterator = defaultMappings.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry entry = (Map.Entry) iterator.next();
+			FileEditorMapping mapping = (FileEditorMapping) entry.getValue();
+			result.put(entry.getKey(), mapping.clone());
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the editors bound to content types.
+	 *
+	 * @return an unmodifiable map from <code>IContentType</code> to
+	 *         <code>IEditorDescriptor[]</code>, the arrays must not be
+	 *         modified either
+	 */
+	Map getContentTypeMappings() {
+		return Collections.unmodifiableMap(contentTypeToEditorMappings);
+	}
+
+	private void addContentTypeMapping(IContentType contentType,
+			EditorDescriptor editor, boolean bDefault) {
+		IEditorDescriptor[] editorArray = (IEditorDescriptor[]) contentTypeToEditorMappings
+				.get(contentType);
+		if (editorArray == null) {
+			editorArray = new IEditorDescriptor[] { editor };
+			contentTypeToEditorMappings.put(contentType, editorArray);
+		} else {
+			IEditorDescriptor[] newArray = new IEditorDescriptor[editorArray.length + 1];
+			if (bDefault) { // default editors go to the front of the line
+				newArray[0] = editor;
+				System.arraycopy(editorArray, 0, newArray, 1, editorArray.length);
+			} else {
+				newArray[editorArray.length] = editor;
+				System.arraycopy(editorArray, 0, newArray, 0, editorArray.length);
+			}
+			contentTypeToEditorMappings.put(contentType, newArray);
+		}
+	}
+
+	private FileEditorMapping getMappingFor(String ext) {
+		return (FileEditorMapping) defaultMappings.get(EditorRegistry.mappingKeyFor(ext));
+	}
+
+	/**
+	 * Keeps the shared registry of an application and drops it when the
+	 * editors extension point changes, so that the next access reads it anew.
+	 * Holders of the dropped registry keep a consistent, albeit outdated,
+	 * view.
+	 *
+	 * @noreference This class is not intended to be referenced by clients.
+	 */
+	public static final class Holder implements IRegistryEventListener,
+			ApplicationContextListener {
+
+		private SharedEditorRegistry registry;
+
+		private boolean listening;
+
+		synchronized SharedEditorRegistry get(ApplicationContext applicationContext) {
+			if (!listening) {
+				// listen before reading, so that no change can get lost
+				Platform.getExtensionRegistry().addListener(this, EXTENSIONPOINT_ID);
+				applicationContext.addApplicationContextListener(this);
+				listening = true;
+			}
+			if (registry == null) {
+				registry = new SharedEditorRegistry();
+			}
+			return registry;
+		}
+
+		private synchronized void invalidate() {
+			registry = null;
+		}
+
+		public void added(IExtension[] extensions) {
+			invalidate();
+		}
+
+		public void removed(IExtension[] extensions) {
+			invalidate();
+		}
+
+		public void added(IExtensionPoint[] extensionPoints) {
+			invalidate();
+		}
+
+		public void removed(IExtensionPoint[] extensionPoints) {
+			invalidate();
+		}
+
+		public void beforeDestroy(ApplicationContextEvent event) {
+			Platform.getExtensionRegistry().removeListener(this);
+		}
+	}
+}
@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.registry;
+
+import com.ibm.icu.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IRegistryEventListener;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.SingletonUtil;
+import org.eclipse.rap.rwt.service.ApplicationContext;
+import org.eclipse.rap.rwt.service.ApplicationContextEvent;
+import org.eclipse.rap.rwt.service.ApplicationContextListener;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.internal.WorkbenchPlugin;
+import org.eclipse.ui.views.IViewDescriptor;
+
+/**
+ * The view descriptors, categories and sticky views contributed to the views
+ * extension point. An instance is read once per application and shared by the
+ * session scoped <code>ViewRegistry</code> instances. It is never modified
+ * after it was read, a change of the extension point replaces it with a new
+ * instance instead.
+ * 
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class SharedViewRegistry {
+
+	static final String EXTENSIONPOINT_UNIQUE_ID = PlatformUI.PLUGIN_EXTENSION_NAME_SPACE
+			+ "." + IWorkbenchRegistryConstants.PL_VIEWS; //$NON-NLS-1$
+
+	private final SortedSet views = new TreeSet(new ViewRegistry.ViewDescriptorComparator());
+
+	private final List categories = new ArrayList();
+
+	private final List sticky = new ArrayList();
+
+	private Category miscCategory;
+
+	private SharedViewRegistry() {
+		new ViewRegistryReader().readViews(Platform.getExtensionRegistry(), this);
+		mapViewsToCategories();
+	}
+
+	/**
+	 * Returns the registry of the current application, reading the extension
+	 * registry if there is none yet.
+	 *
+	 * @return the shared registry
+	 */
+	public static SharedViewRegistry getInstance() {
+		ApplicationContext applicationContext = RWT.getApplicationContext();
+		Holder holder = SingletonUtil.getUniqueInstance(Holder.class, applicationContext);
+		return holder.get(applicationContext);
+	}
+
+	void add(Category desc) {
+		if (findCategory(desc.getId()) == null) {
+			categories.add(desc);
+		}
+	}
+
+	void add(ViewDescriptor desc) {
+		views.add(desc);
+	}
+
+	void add(StickyViewDescriptor desc) {
+		if (!sticky.contains(desc)) {
+			sticky.add(desc);
+		}
+	}
+
+	public IViewDescriptor findView(String id) {
+		Iterator itr = views.iterator();
+		while (itr.hasNext()) {
+			IViewDescriptor desc = (IViewDescriptor) itr.next();
+			if (id.equals(desc.getId())) {
+				return desc;
+			}
+		}
+		return null;
+	}
+
+	public Category findCategory(String id) {
+		Iterator itr = categories.iterator();
+		while (itr.hasNext()) {
+			Category cat = (Category) itr.next();
+			if (id.equals(cat.getRootPath())) {
+				return cat;
+			}
+		}
+		return null;
+	}
+
+	Collection getViews() {
+		return Collections.unmodifiableCollection(views);
+	}
+
+	List getCategories() {
+		return Collections.unmodifiableList(categories);
+	}
+
+	List getStickyViews() {
+		return Collections.unmodifiableList(sticky);
+	}
+
+	Category getMiscCategory() {
+		return miscCategory;
+	}
+
+	/*
+	 * Adds each view to its category. The view category may be defined in xml.
+	 * If not, the view is added to the "misc" category.
+	 */
+	private void mapViewsToCategories() {
+		for (Iterator i = views.iterator(); i.hasNext();) {
+			IViewDescriptor desc = (IViewDescriptor) i.next();
+			Category cat = null;
+			String[] catPath = desc.getCategoryPath();
+			if (catPath != null) {
+				cat = findCategory(catPath[0]);
+			}
+			if (cat != null) {
+				if (!cat.hasElement(desc)) {
+					cat.addElement(desc);
+				}
+			} else {
+				if (miscCategory == null) {
+					miscCategory = new Category();
+					add(miscCategory);
+				}
+				if (catPath != null) {
+					// If we get here, this view specified a category which
+					// does not exist. Add this view to the 'Other' category
+					// but give out a message (to the log only) indicating
+					// this has been done.
+					String fmt = "Category {0} not found for view {1}.  This view added to ''{2}'' category."; //$NON-NLS-1$
+					WorkbenchPlugin.log(MessageFormat.format(fmt, new Object[] {
+							catPath[0], desc.getId(), miscCategory.getLabel() }));
+				}
+				miscCategory.addElement(desc);
+			}
+		}
+	}
+
+	/**
+	 * Keeps the shared registry of an application and drops it when the views
+	 * extension point changes, so that the next access reads it anew. Holders
+	 * of the dropped registry keep a consistent, albeit outdated, view.
+	 * 
+	 * @noreference This class is not intended to be referenced by clients.
+	 */
+	public static final class Holder implements IRegistryEventListener,
+			ApplicationContextListener {
+
+		private SharedViewRegistry registry;
+
+		private boolean listening;
+
+		/**
+		 * Returns the registry of the given application, reading the extension
+		 * registry if there is none yet.
+		 * 
+		 * @param applicationContext
+		 *            the application that the registry belongs to
+		 * @return the shared registry
+		 */
+		public synchronized SharedViewRegistry get(ApplicationContext applicationContext) {
+			if (!listening) {
+				// listen before reading, so that no change can get lost
+				Platform.getExtensionRegistry().addListener(this, EXTENSIONPOINT_UNIQUE_ID);
+				applicationContext.addApplicationContextListener(this);
+				listening = true;
+			}
+			if (registry == null) {
+				registry = new SharedViewRegistry();
+			}
+			return registry;
+		}
+
+		private synchronized void invalidate() {
+			registry = null;
+		}
+
+		public void added(IExtension[] extensions) {
+			invalidate();
+		}
+
+		public void removed(IExtension[] extensions) {
+			invalidate();
+		}
+
+		public void added(IExtensionPoint[] extensionPoints) {
+			invalidate();
+		}
+
+		public void removed(IExtensionPoint[] extensionPoints) {
+			invalidate();
+		}
+
+		public void beforeDestroy(ApplicationContextEvent event) {
+			Platform.getExtensionRegistry().removeListener(this);
+		}
+	}
+}
@@ -26,7 +26,7 @@ public class ViewRegistryReader extends RegistryReader {
 	 */
 	public static String GENERAL_VIEW_ID = "org.eclipse.ui";	//$NON-NLS-1$
 	
-	private ViewRegistry viewRegistry;
+	private SharedViewRegistry viewRegistry;
 
     /**
      * RegistryViewReader constructor comment.
@@ -102,7 +102,7 @@ public class ViewRegistryReader extends RegistryReader {
      * @param in the extension registry
      * @param out the view registry
      */
-    public void readViews(IExtensionRegistry in, ViewRegistry out) {
+    void readViews(IExtensionRegistry in, SharedViewRegistry out) {
         // this does not seem to really ever be throwing an the exception
         viewRegistry = out;
         // RAP [bm]: namespace
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2006 IBM Corporation and others.
+ * Copyright (c) 2004, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -56,8 +56,7 @@ public abstract class AbstractWizardRegistry implements IWizardRegistry {
 	 * @see org.eclipse.ui.wizards.IWizardRegistry#findCategory(java.lang.String)
 	 */
 	public IWizardCategory findCategory(String id) {
-		initialize();
-		return wizardElements.findCategory(id);
+		return getWizardElements().findCategory(id);
 	}
 
 	/*
@@ -66,8 +65,7 @@ public abstract class AbstractWizardRegistry implements IWizardRegistry {
 	 * @see org.eclipse.ui.wizards.IWizardRegistry#findWizard(java.lang.String)
 	 */
 	public IWizardDescriptor findWizard(String id) {
-		initialize();
-		return wizardElements.findWizard(id, true);
+		return getWizardElements().findWizard(id, true);
 	}
 
 	/*
@@ -86,8 +84,7 @@ public abstract class AbstractWizardRegistry implements IWizardRegistry {
 	 * @see org.eclipse.ui.wizards.IWizardRegistry#getRootCategory()
 	 */
 	public IWizardCategory getRootCategory() {
-		initialize();
-		return wizardElements;
+		return getWizardElements();
 	}
 
 	/**
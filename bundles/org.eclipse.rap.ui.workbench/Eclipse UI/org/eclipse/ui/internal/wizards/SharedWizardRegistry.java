@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.wizards;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IRegistryEventListener;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.SingletonUtil;
+import org.eclipse.rap.rwt.service.ApplicationContext;
+import org.eclipse.rap.rwt.service.ApplicationContextEvent;
+import org.eclipse.rap.rwt.service.ApplicationContextListener;
+import org.eclipse.ui.internal.dialogs.WizardCollectionElement;
+import org.eclipse.ui.internal.dialogs.WorkbenchWizardElement;
+import org.eclipse.ui.internal.registry.WizardsRegistryReader;
+
+/**
+ * The wizards and wizard categories contributed to one of the wizard extension
+ * points. An instance is read once per application and extension point and
+ * shared by the session scoped wizard registries. It is never modified after
+ * it was read, a change of the extension point replaces it with a new instance
+ * instead.
+ *
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class SharedWizardRegistry {
+
+	private final WizardCollectionElement wizardElements;
+
+	private final WorkbenchWizardElement[] primaryWizards;
+
+	private SharedWizardRegistry(String plugin, String extensionPoint) {
+		WizardsRegistryReader reader = new WizardsRegistryReader(plugin,
+				extensionPoint);
+		wizardElements = reader.getWizardElements();
+		primaryWizards = reader.getPrimaryWizards();
+	}
+
+	/**
+	 * Returns the registry of the given extension point for the current
+	 * application, reading the extension registry if there is none yet.
+	 *
+	 * @param plugin
+	 *            the namespace of the extension point
+	 * @param extensionPoint
+	 *            the simple id of the extension point
+	 * @return the shared registry
+	 */
+	public static SharedWizardRegistry getInstance(String plugin,
+			String extensionPoint) {
+		ApplicationContext applicationContext = RWT.getApplicationContext();
+		Holder holder = SingletonUtil.getUniqueInstance(Holder.class, applicationContext);
+		return holder.get(applicationContext, plugin + "." + extensionPoint, //$NON-NLS-1$
+				plugin, extensionPoint);
+	}
+
+	WizardCollectionElement getWizardElements() {
+		return wizardElements;
+	}
+
+	WorkbenchWizardElement[] getPrimaryWizards() {
+		WorkbenchWizardElement[] result = new WorkbenchWizardElement[primaryWizards.length];
+		System.arraycopy(primaryWizards, 0, result, 0, primaryWizards.length);
+		return result;
+	}
+
+	/**
+	 * Keeps the shared registries of an application and drops a registry when
+	 * its extension point changes, so that the next access reads it anew.
+	 * Holders of the dropped registry keep a consistent, albeit outdated, view.
+	 *
+	 * @noreference This class is not intended to be referenced by clients.
+	 */
+	public static final class Holder implements ApplicationContextListener {
+
+		// extension point unique id -> Entry
+		private final Map entries = new HashMap();
+
+		private boolean listening;
+
+		synchronized SharedWizardRegistry get(ApplicationContext applicationContext,
+				String uniqueId, String plugin, String extensionPoint) {
+			if (!listening) {
+				applicationContext.addApplicationContextListener(this);
+				listening = true;
+			}
+			Entry entry = (Entry) entries.get(uniqueId);
+			if (entry == null) {
+				entry = new Entry();
+				// listen before reading, so that no change can get lost
+				Platform.getExtensionRegistry().addListener(entry, uniqueId);
+				entries.put(uniqueId, entry);
+			}
+			if (entry.registry == null) {
+				entry.registry = new SharedWizardRegistry(plugin, extensionPoint);
+			}
+			return entry.registry;
+		}
+
+		public synchronized void beforeDestroy(ApplicationContextEvent event) {
+			Iterator iterator = entries.values().iterator();
+			while (iterator.hasNext()) {
+				Platform.getExtensionRegistry().removeListener((Entry) iterator.next());
+			}
+		}
+
+		private final class Entry implements IRegistryEventListener {
+
+			private SharedWizardRegistry registry;
+
+			private void invalidate() {
+				synchronized (Holder.this) {
+					registry = null;
+				}
+			}
+
+			public void added(IExtension[] extensions) {
+				invalidate();
+			}
+
+			public void removed(IExtension[] extensions) {
+				invalidate();
+			}
+
+			public void added(IExtensionPoint[] extensionPoints) {
+				invalidate();
+			}
+
+			public void removed(IExtensionPoint[] extensionPoints) {
+				invalidate();
+			}
+		}
+	}
+}
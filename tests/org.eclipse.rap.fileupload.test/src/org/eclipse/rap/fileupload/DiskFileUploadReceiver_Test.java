@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,6 +14,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -118,4 +119,112 @@ public class DiskFileUploadReceiver_Test {
     assertEquals( content, FileUploadTestUtil.getFileContents( createdFile ) );
   }
 
+  @Test
+  public void testReceiveChunks() throws IOException {
+    DiskFileUploadReceiver receiver = new DiskFileUploadReceiver();
+
+    FileDetails details = new FileDetailsImpl( "foo.bar", "text/plain" );
+    receiver.receive( new ByteArrayInputStream( "world!".getBytes() ), details, 6 );
+    receiver.receive( new ByteArrayInputStream( "Hello ".getBytes() ), details, 0 );
+    receiver.complete( details );
+    createdFile = receiver.getTargetFiles()[ 0 ];
+
+    assertEquals( 1, receiver.getTargetFiles().length );
+    assertEquals( "Hello world!", FileUploadTestUtil.getFileContents( createdFile ) );
+    assertEquals( "text/plain", DiskFileUploadReceiver.getContentType( createdFile ) );
+  }
+
+  @Test
+  public void testReceiveChunks_withoutComplete() throws IOException {
+    DiskFileUploadReceiver receiver = new DiskFileUploadReceiver();
+
+    FileDetails details = new FileDetailsImpl( "foo.bar", "text/plain" );
+    receiver.receive( new ByteArrayInputStream( "Hello ".getBytes() ), details, 0 );
+
+    assertEquals( 0, receiver.getTargetFiles().length );
+  }
+
+  @Test
+  public void testReceiveChunks_afterComplete() throws IOException {
+    final int[] createdTargetFiles = new int[ 1 ];
+    DiskFileUploadReceiver receiver = new DiskFileUploadReceiver() {
+      @Override
+      protected File createTargetFile( FileDetails details ) throws IOException {
+        createdTargetFiles[ 0 ]++;
+        return super.createTargetFile( details );
+      }
+    };
+    FileDetails details = new FileDetailsImpl( "foo.bar", "text/plain" );
+    receiver.receive( new ByteArrayInputStream( "Hello world!".getBytes() ), details, 0 );
+    receiver.complete( details );
+    createdFile = receiver.getTargetFiles()[ 0 ];
+
+    try {
+      receiver.receive( new ByteArrayInputStream( "Hello ".getBytes() ), details, 0 );
+      fail();
+    } catch( IOException expected ) {}
+
+    assertEquals( 1, createdTargetFiles[ 0 ] );
+    assertEquals( 1, receiver.getTargetFiles().length );
+    assertEquals( "Hello world!", FileUploadTestUtil.getFileContents( createdFile ) );
+  }
+
+  @Test
+  public void testReceiveChunks_afterAbort() throws IOException {
+    final int[] createdTargetFiles = new int[ 1 ];
+    DiskFileUploadReceiver receiver = new DiskFileUploadReceiver() {
+      @Override
+      protected File createTargetFile( FileDetails details ) throws IOException {
+        createdTargetFiles[ 0 ]++;
+        return super.createTargetFile( details );
+      }
+    };
+    FileDetails details = new FileDetailsImpl( "foo.bar", "text/plain" );
+    receiver.receive( new ByteArrayInputStream( "Hello ".getBytes() ), details, 0 );
+    receiver.abort( details );
+
+    try {
+      receiver.receive( new ByteArrayInputStream( "world!".getBytes() ), details, 6 );
+      fail();
+    } catch( IOException expected ) {}
+
+    assertEquals( 1, createdTargetFiles[ 0 ] );
+    assertEquals( 0, receiver.getTargetFiles().length );
+  }
+
+  @Test
+  public void testSupportsChunks() {
+    DiskFileUploadReceiver receiver = new DiskFileUploadReceiver();
+
+    assertTrue( receiver.supportsChunks() );
+  }
+
+  @Test
+  public void testAbortChunks_deletesTargetFile() throws IOException {
+    final File[] targetFile = new File[ 1 ];
+    DiskFileUploadReceiver receiver = new DiskFileUploadReceiver() {
+      @Override
+      protected File createTargetFile( FileDetails details ) throws IOException {
+        targetFile[ 0 ] = super.createTargetFile( details );
+        return targetFile[ 0 ];
+      }
+    };
+    FileDetails details = new FileDetailsImpl( "foo.bar", "text/plain" );
+    receiver.receive( new ByteArrayInputStream( "Hello ".getBytes() ), details, 0 );
+
+    receiver.abort( details );
+
+    assertFalse( targetFile[ 0 ].exists() );
+    assertEquals( 0, receiver.getTargetFiles().length );
+  }
+
+  @Test
+  public void testAbortChunks_withUnknownFile() throws IOException {
+    DiskFileUploadReceiver receiver = new DiskFileUploadReceiver();
+
+    receiver.abort( new FileDetailsImpl( "foo.bar", "text/plain" ) );
+
+    assertEquals( 0, receiver.getTargetFiles().length );
+  }
+
 }
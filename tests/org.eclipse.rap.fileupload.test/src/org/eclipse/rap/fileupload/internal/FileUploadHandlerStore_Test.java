@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  ******************************************************************************/
 package org.eclipse.rap.fileupload.internal;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
@@ -29,13 +30,15 @@ import org.junit.Test;
 public class FileUploadHandlerStore_Test {
 
   private FileUploadHandlerStore handlerStore;
+  private TestFileUploadReceiver testReceiver;
   private FileUploadHandler testHandler;
 
   @Before
   public void setUp() {
     Fixture.setUp();
     handlerStore = FileUploadHandlerStore.getInstance();
-    testHandler = new FileUploadHandler( new TestFileUploadReceiver() );
+    testReceiver = new TestFileUploadReceiver();
+    testHandler = new FileUploadHandler( testReceiver );
   }
 
   @After
@@ -108,6 +111,64 @@ public class FileUploadHandlerStore_Test {
     assertNull( result );
   }
 
+  @Test
+  public void testAddChunkedUpload() {
+    ChunkedUpload upload = createChunkedUpload();
+
+    ChunkedUpload result = handlerStore.addChunkedUpload( "testId", "fileId", upload );
+
+    assertSame( upload, result );
+    assertSame( upload, handlerStore.getChunkedUpload( "testId", "fileId" ) );
+  }
+
+  @Test
+  public void testAddChunkedUpload_keepsExistingUpload() {
+    ChunkedUpload upload = createChunkedUpload();
+    handlerStore.addChunkedUpload( "testId", "fileId", upload );
+    ChunkedUpload otherUpload = createChunkedUpload();
+
+    ChunkedUpload result = handlerStore.addChunkedUpload( "testId", "fileId", otherUpload );
+
+    assertSame( upload, result );
+  }
+
+  @Test
+  public void testDeregisterHandler_removesChunkedUploads() {
+    handlerStore.registerHandler( "testId", testHandler );
+    handlerStore.addChunkedUpload( "testId", "fileId", createChunkedUpload() );
+    handlerStore.addChunkedUpload( "otherId", "fileId", createChunkedUpload() );
+
+    handlerStore.deregisterHandler( "testId" );
+
+    assertNull( handlerStore.getChunkedUpload( "testId", "fileId" ) );
+    assertNotNull( handlerStore.getChunkedUpload( "otherId", "fileId" ) );
+  }
+
+  @Test
+  public void testDeregisterHandler_abortsIncompleteUploads() {
+    handlerStore.registerHandler( "testId", testHandler );
+    ChunkedUpload upload = createChunkedUpload();
+    handlerStore.addChunkedUpload( "testId", "fileId", upload );
+    upload.addRange( 0, 5 );
+
+    handlerStore.deregisterHandler( "testId" );
+
+    assertEquals( 1, testReceiver.getAbortedFiles().size() );
+    assertSame( upload.getDetails(), testReceiver.getAbortedFiles().get( 0 ) );
+  }
+
+  @Test
+  public void testDeregisterHandler_doesNotAbortCompletedUploads() {
+    handlerStore.registerHandler( "testId", testHandler );
+    ChunkedUpload upload = createChunkedUpload();
+    handlerStore.addChunkedUpload( "testId", "fileId", upload );
+    upload.addRange( 0, 10 );
+
+    handlerStore.deregisterHandler( "testId" );
+
+    assertTrue( testReceiver.getAbortedFiles().isEmpty() );
+  }
+
   @Test
   public void testCreateToken() {
     String token = FileUploadHandlerStore.createToken();
@@ -117,4 +178,8 @@ public class FileUploadHandlerStore_Test {
     assertFalse( token.equals( FileUploadHandlerStore.createToken() ) );
   }
 
+  private ChunkedUpload createChunkedUpload() {
+    return new ChunkedUpload( testHandler, new FileDetailsImpl( "foo.txt", "text/plain" ), 10 );
+  }
+
 }
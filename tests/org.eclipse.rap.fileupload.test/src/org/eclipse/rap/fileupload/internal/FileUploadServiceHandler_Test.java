@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,17 +15,24 @@ import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletResponse;
 
+import org.apache.commons.fileupload.FileUploadBase.FileSizeLimitExceededException;
+import org.eclipse.rap.fileupload.DiskFileUploadReceiver;
+import org.eclipse.rap.fileupload.FileDetails;
 import org.eclipse.rap.fileupload.FileUploadEvent;
 import org.eclipse.rap.fileupload.FileUploadHandler;
+import org.eclipse.rap.fileupload.FileUploadReceiver;
 import org.eclipse.rap.fileupload.TestAdapter;
 import org.eclipse.rap.fileupload.test.FileUploadTestUtil;
 import org.eclipse.rap.fileupload.test.TestFileUploadListener;
@@ -211,6 +218,283 @@ public class FileUploadServiceHandler_Test {
     assertEquals( "some.txt", uploadedItem.getFileDetails()[ 0 ].getFileName() );
   }
 
+  @Test
+  public void testChunkedUpload() throws IOException, ServletException {
+    uploadHandler.addUploadListener( testListener );
+
+    fakeChunkRequest( "file1", "Lorem ipsum ", 0, 27 );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+    fakeChunkRequest( "file1", "dolor sit amet.", 12, 27 );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    assertEquals( 0, getResponseErrorStatus() );
+    assertEquals( "27", getResponseHeader( "Upload-Offset" ) );
+    assertEquals( "progress.progress.finished.", testListener.getLog() );
+    FileUploadEvent event = testListener.getLastEvent();
+    assertEquals( "test.txt", event.getFileDetails()[ 0 ].getFileName() );
+    assertEquals( "text/plain", event.getFileDetails()[ 0 ].getContentType() );
+    assertEquals( 27, event.getContentLength() );
+    assertEquals( 27, event.getBytesRead() );
+    assertEquals( "Lorem ipsum dolor sit amet.", new String( testReceiver.getContent() ) );
+  }
+
+  @Test
+  public void testChunkedUpload_withChunksOutOfOrder() throws IOException, ServletException {
+    uploadHandler.addUploadListener( testListener );
+
+    fakeChunkRequest( "file1", "dolor sit amet.", 12, 27 );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+    assertEquals( "0", getResponseHeader( "Upload-Offset" ) );
+    fakeChunkRequest( "file1", "Lorem ipsum ", 0, 27 );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    assertEquals( "27", getResponseHeader( "Upload-Offset" ) );
+    assertEquals( "progress.progress.finished.", testListener.getLog() );
+    assertEquals( "Lorem ipsum dolor sit amet.", new String( testReceiver.getContent() ) );
+  }
+
+  @Test
+  public void testChunkedUpload_withRepeatedChunk() throws IOException, ServletException {
+    uploadHandler.addUploadListener( testListener );
+
+    fakeChunkRequest( "file1", "Lorem ipsum ", 0, 27 );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+    fakeChunkRequest( "file1", "Lorem ipsum ", 0, 27 );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+    fakeChunkRequest( "file1", "dolor sit amet.", 12, 27 );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    assertEquals( "progress.progress.finished.", testListener.getLog() );
+    assertEquals( 27, testListener.getLastEvent().getBytesRead() );
+    assertEquals( "Lorem ipsum dolor sit amet.", new String( testReceiver.getContent() ) );
+  }
+
+  @Test
+  public void testChunkedUpload_withSeparateFiles() throws IOException, ServletException {
+    uploadHandler.addUploadListener( testListener );
+
+    fakeChunkRequest( "file1", "Lorem ipsum ", 0, 27 );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+    fakeChunkRequest( "file2", "dolor sit amet.", 12, 27 );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    assertEquals( "0", getResponseHeader( "Upload-Offset" ) );
+    assertEquals( "progress.progress.", testListener.getLog() );
+  }
+
+  @Test
+  public void testChunkedUpload_throttlesProgressEvents() throws IOException, ServletException {
+    uploadHandler.addUploadListener( testListener );
+
+    for( int i = 0; i < 1000; i++ ) {
+      fakeChunkRequest( "file1", "x", i, 1000 );
+      serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+    }
+
+    String log = testListener.getLog();
+    assertTrue( log.endsWith( "progress.finished." ) );
+    assertTrue( log.split( "progress" ).length < 200 );
+  }
+
+  @Test
+  public void testOffsetRequest() throws IOException, ServletException {
+    fakeChunkRequest( "file1", "Lorem ipsum ", 0, 27 );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    fakeOffsetRequest( "file1" );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    assertEquals( 0, getResponseErrorStatus() );
+    assertEquals( "12", getResponseHeader( "Upload-Offset" ) );
+  }
+
+  @Test
+  public void testOffsetRequest_forUnknownFile() throws IOException, ServletException {
+    fakeOffsetRequest( "file1" );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    assertEquals( 0, getResponseErrorStatus() );
+    assertEquals( "0", getResponseHeader( "Upload-Offset" ) );
+  }
+
+  @Test
+  public void testOffsetRequest_withInvalidToken() throws IOException, ServletException {
+    FileUploadTestUtil.fakeOffsetRequest( "unknown-id", "file1" );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    assertEquals( HttpServletResponse.SC_FORBIDDEN, getResponseErrorStatus() );
+  }
+
+  @Test
+  public void testChunkedUpload_withGetRequest() throws IOException, ServletException {
+    uploadHandler.addUploadListener( testListener );
+
+    fakeChunkRequest( "file1", "Lorem ipsum ", 0, 27 );
+    TestRequest request = ( TestRequest )RWT.getRequest();
+    request.setMethod( "GET" );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    assertEquals( HttpServletResponse.SC_METHOD_NOT_ALLOWED, getResponseErrorStatus() );
+    assertEquals( "", testListener.getLog() );
+  }
+
+  @Test
+  public void testChunkedUpload_withoutContentRange() throws IOException, ServletException {
+    uploadHandler.addUploadListener( testListener );
+
+    fakeChunkRequest( "file1", "Lorem ipsum ", 0, 27 );
+    TestRequest request = ( TestRequest )RWT.getRequest();
+    request.setHeader( "Content-Range", null );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    assertEquals( HttpServletResponse.SC_BAD_REQUEST, getResponseErrorStatus() );
+    assertEquals( "", testListener.getLog() );
+  }
+
+  @Test
+  public void testChunkedUpload_withChangedFileSize() throws IOException, ServletException {
+    fakeChunkRequest( "file1", "Lorem ipsum ", 0, 27 );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    fakeChunkRequest( "file1", "dolor sit amet.", 12, 30 );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    assertEquals( HttpServletResponse.SC_BAD_REQUEST, getResponseErrorStatus() );
+  }
+
+  @Test
+  public void testChunkedUpload_withIncompleteChunk() throws IOException, ServletException {
+    uploadHandler.addUploadListener( testListener );
+
+    fakeChunkRequest( "file1", "Lorem ipsum ", 0, 27 );
+    TestRequest request = ( TestRequest )RWT.getRequest();
+    request.setBody( "Lorem" );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+    fakeOffsetRequest( "file1" );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    assertEquals( "0", getResponseHeader( "Upload-Offset" ) );
+    assertEquals( "", testListener.getLog() );
+  }
+
+  @Test
+  public void testChunkedUpload_exceedsMaxFileSize() throws IOException, ServletException {
+    uploadHandler.addUploadListener( testListener );
+    uploadHandler.setMaxFileSize( 20 );
+
+    fakeChunkRequest( "file1", "Lorem ipsum ", 0, 27 );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    assertEquals( HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, getResponseErrorStatus() );
+    assertEquals( "failed.", testListener.getLog() );
+    Exception exception = testListener.getLastEvent().getException();
+    assertTrue( exception instanceof FileSizeLimitExceededException );
+    assertEquals( 0, testReceiver.getTotal() );
+  }
+
+  @Test
+  public void testChunkedUpload_withUnsupportedReceiver() throws IOException, ServletException {
+    uploadHandler = new FileUploadHandler( new FileUploadReceiver() {
+      @Override
+      public void receive( InputStream stream, FileDetails details ) {
+      }
+    } );
+    uploadHandler.addUploadListener( testListener );
+
+    fakeChunkRequest( "file1", "Lorem ipsum ", 0, 27 );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    assertEquals( HttpServletResponse.SC_NOT_IMPLEMENTED, getResponseErrorStatus() );
+    assertEquals( "failed.", testListener.getLog() );
+    String token = TestAdapter.getTokenFor( uploadHandler );
+    assertNull( FileUploadHandlerStore.getInstance().getChunkedUpload( token, "file1" ) );
+  }
+
+  @Test
+  public void testChunkedUpload_offsetAfterCompletion() throws IOException, ServletException {
+    fakeChunkRequest( "file1", "Lorem ipsum dolor sit amet.", 0, 27 );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    fakeOffsetRequest( "file1" );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    assertEquals( "27", getResponseHeader( "Upload-Offset" ) );
+  }
+
+  @Test
+  public void testChunkedUpload_rejectsChunkAfterCompletion() throws IOException, ServletException {
+    uploadHandler.addUploadListener( testListener );
+    fakeChunkRequest( "file1", "Lorem ipsum dolor sit amet.", 0, 27 );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    fakeChunkRequest( "file1", "Lorem ipsum ", 0, 27 );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    assertEquals( HttpServletResponse.SC_CONFLICT, getResponseErrorStatus() );
+    assertEquals( "27", getResponseHeader( "Upload-Offset" ) );
+    assertEquals( "progress.finished.", testListener.getLog() );
+    assertEquals( 27, testReceiver.getTotal() );
+  }
+
+  @Test
+  public void testChunkedUpload_rejectsChunkAfterConcurrentCompletion()
+    throws IOException, ServletException
+  {
+    DiskFileUploadReceiver receiver = new DiskFileUploadReceiver() {
+      private boolean completing;
+      @Override
+      public void receive( InputStream stream, FileDetails details, long position )
+        throws IOException
+      {
+        if( !completing && position == 12 ) {
+          completing = true;
+          // a concurrent request with the same chunk completes the file before this one is written
+          String token = TestAdapter.getTokenFor( uploadHandler );
+          fakeChunkRequest( "file1", "dolor sit amet.", 12, 27 );
+          new ChunkedUploadProcessor( uploadHandler, token, "file1" )
+            .handleChunk( RWT.getRequest(), RWT.getResponse() );
+        }
+        super.receive( stream, details, position );
+      }
+    };
+    uploadHandler = new FileUploadHandler( receiver );
+    uploadHandler.addUploadListener( testListener );
+    fakeChunkRequest( "file1", "Lorem ipsum ", 0, 27 );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    fakeChunkRequest( "file1", "dolor sit amet.", 12, 27 );
+    TestResponse response = ( TestResponse )RWT.getResponse();
+    serviceHandler.service( RWT.getRequest(), response );
+
+    try {
+      assertEquals( HttpServletResponse.SC_CONFLICT, response.getErrorStatus() );
+      assertEquals( "27", response.getHeader( "Upload-Offset" ) );
+      assertEquals( "progress.progress.finished.", testListener.getLog() );
+      assertEquals( 1, receiver.getTargetFiles().length );
+    } finally {
+      for( File file : receiver.getTargetFiles() ) {
+        file.delete();
+      }
+    }
+  }
+
+  @Test
+  public void testParseContentRange() {
+    long[] range = ChunkedUploadProcessor.parseContentRange( "bytes 0-1023/4294967296" );
+
+    assertEquals( 0, range[ 0 ] );
+    assertEquals( 1023, range[ 1 ] );
+    assertEquals( 4294967296L, range[ 2 ] );
+  }
+
+  @Test
+  public void testParseContentRange_withInvalidRanges() {
+    assertNull( ChunkedUploadProcessor.parseContentRange( "bytes 10-5/20" ) );
+    assertNull( ChunkedUploadProcessor.parseContentRange( "bytes 0-20/20" ) );
+    assertNull( ChunkedUploadProcessor.parseContentRange( "bytes */20" ) );
+    assertNull( ChunkedUploadProcessor.parseContentRange( "items 0-5/20" ) );
+  }
+
   @Test
   public void testGetURL_returnsAbsoluteUrl() {
     String url = FileUploadServiceHandler.getUrl( "token" );
@@ -237,6 +521,15 @@ public class FileUploadServiceHandler_Test {
     FileUploadTestUtil.fakeUploadRequest( token, content, contentType, fileName );
   }
 
+  private void fakeChunkRequest( String fileId, String content, long start, long total ) {
+    String token = TestAdapter.getTokenFor( uploadHandler );
+    FileUploadTestUtil.fakeChunkRequest( token, fileId, content, start, total );
+  }
+
+  private void fakeOffsetRequest( String fileId ) {
+    FileUploadTestUtil.fakeOffsetRequest( TestAdapter.getTokenFor( uploadHandler ), fileId );
+  }
+
   private static void fakeUploadRequest( String token ) {
     FileUploadTestUtil.fakeUploadRequest( token, "TestContent", "text/plain", "test.txt" );
   }
@@ -252,6 +545,11 @@ public class FileUploadServiceHandler_Test {
     return response.getErrorStatus();
   }
 
+  private static String getResponseHeader( String name ) {
+    TestResponse response = ( TestResponse )RWT.getResponse();
+    return response.getHeader( name );
+  }
+
   private static String createExampleContent( int length ) {
     byte[] bytes = new byte[ length ];
     for( int i = 0; i < length; i++ ) {
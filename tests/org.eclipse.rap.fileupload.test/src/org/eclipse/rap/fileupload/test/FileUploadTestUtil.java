@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -115,6 +115,31 @@ public final class FileUploadTestUtil {
     request.setContentType( "multipart/form-data; boundary=" + boundary );
   }
 
+  public static void fakeChunkRequest( String token,
+                                       String fileId,
+                                       String content,
+                                       long start,
+                                       long total )
+  {
+    TestRequest request = Fixture.fakeNewRequest();
+    request.setMethod( "POST" );
+    request.setParameter( "servicehandler", "org.eclipse.rap.fileupload" );
+    request.setParameter( "token", token );
+    request.setParameter( "fileId", fileId );
+    request.setParameter( "fileName", "test.txt" );
+    long end = start + content.length() - 1;
+    request.setHeader( "Content-Range", "bytes " + start + "-" + end + "/" + total );
+    request.setBody( content );
+    request.setContentType( "text/plain" );
+  }
+
+  public static void fakeOffsetRequest( String token, String fileId ) {
+    TestRequest request = Fixture.fakeNewRequest();
+    request.setMethod( "HEAD" );
+    request.setParameter( "servicehandler", "org.eclipse.rap.fileupload" );
+    request.setParameter( "token", token );
+    request.setParameter( "fileId", fileId );
+  }
 
   private static String createMultipartBody( String boundary, FileData... fileData ) {
     StringBuffer buffer = new StringBuffer();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,9 @@ package org.eclipse.rap.fileupload.test;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.eclipse.rap.fileupload.FileDetails;
 import org.eclipse.rap.fileupload.FileUploadReceiver;
@@ -22,6 +25,8 @@ public class TestFileUploadReceiver extends FileUploadReceiver {
 
   long total = 0;
   private byte[] uploadedContent;
+  private byte[] chunkedContent = new byte[ 0 ];
+  private final List<FileDetails> abortedFiles = new ArrayList<>();
 
   @Override
   public void receive( InputStream dataStream, FileDetails details ) throws IOException {
@@ -41,6 +46,43 @@ public class TestFileUploadReceiver extends FileUploadReceiver {
     }
   }
 
+  @Override
+  public boolean supportsChunks() {
+    return true;
+  }
+
+  @Override
+  public synchronized void receive( InputStream dataStream, FileDetails details, long position )
+    throws IOException
+  {
+    long offset = position;
+    byte[] buffer = new byte[ 4096 ];
+    boolean finished = false;
+    while( !finished ) {
+      int read = dataStream.read( buffer );
+      if( read != -1 ) {
+        if( offset + read > chunkedContent.length ) {
+          chunkedContent = Arrays.copyOf( chunkedContent, ( int )offset + read );
+        }
+        System.arraycopy( buffer, 0, chunkedContent, ( int )offset, read );
+        offset += read;
+        total += read;
+      } else {
+        finished = true;
+      }
+    }
+  }
+
+  @Override
+  public synchronized void complete( FileDetails details ) {
+    uploadedContent = chunkedContent;
+  }
+
+  @Override
+  public synchronized void abort( FileDetails details ) {
+    abortedFiles.add( details );
+  }
+
   public long getTotal() {
     return total;
   }
@@ -49,4 +91,8 @@ public class TestFileUploadReceiver extends FileUploadReceiver {
     return uploadedContent;
   }
 
+  public synchronized List<FileDetails> getAbortedFiles() {
+    return new ArrayList<>( abortedFiles );
+  }
+
 }
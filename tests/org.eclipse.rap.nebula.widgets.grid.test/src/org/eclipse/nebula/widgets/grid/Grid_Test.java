@@ -280,6 +280,51 @@ public class Grid_Test {
     assertEquals( 2, grid.indexOf( items[ 4 ] ) );
   }
 
+  @Test
+  public void testIndexOf_ofDisposedItem() {
+    GridItem[] items = createGridItems( grid, 3, 1 );
+
+    items[ 2 ].dispose();
+
+    assertEquals( -1, grid.indexOf( items[ 2 ] ) );
+  }
+
+  @Test
+  public void testIndexOf_AfterInsertRootItem() {
+    GridItem[] items = createGridItems( grid, 3, 1 );
+    grid.indexOf( items[ 5 ] );
+
+    GridItem item = new GridItem( grid, SWT.NONE, 1 );
+
+    assertEquals( 0, grid.indexOf( items[ 0 ] ) );
+    assertEquals( 1, grid.indexOf( items[ 1 ] ) );
+    assertEquals( 2, grid.indexOf( item ) );
+    assertEquals( 3, grid.indexOf( items[ 2 ] ) );
+    assertEquals( 6, grid.indexOf( items[ 5 ] ) );
+  }
+
+  @Test
+  public void testIndexOf_AfterInsertChildItem() {
+    GridItem[] items = createGridItems( grid, 3, 1 );
+    grid.indexOf( items[ 5 ] );
+
+    GridItem item = new GridItem( items[ 2 ], SWT.NONE, 0 );
+
+    assertEquals( 3, grid.indexOf( item ) );
+    assertEquals( 4, grid.indexOf( items[ 3 ] ) );
+    assertEquals( 5, grid.indexOf( items[ 4 ] ) );
+    assertSame( item, grid.getItem( 3 ) );
+  }
+
+  @Test
+  public void testIndexOf_WithManyItems() {
+    GridItem[] items = createGridItems( grid, 1000, 4 );
+
+    for( int i = 0; i < items.length; i++ ) {
+      assertEquals( i, grid.indexOf( items[ i ] ) );
+    }
+  }
+
   @Test
   public void testGetColumnCount() {
     createGridColumns( grid, 5, SWT.NONE );
@@ -1338,6 +1383,30 @@ public class Grid_Test {
     assertTrue( Arrays.equals( indicies, grid.getSelectionIndices() ) );
   }
 
+  @Test
+  public void testGetSelectionIndicies_AfterInsertItem() {
+    grid = new Grid( shell, SWT.MULTI );
+    createGridItems( grid, 3, 3 );
+    grid.setSelection( new int[]{ 3, 4, 1, 7 } );
+
+    new GridItem( grid, SWT.NONE, 0 );
+
+    assertTrue( Arrays.equals( new int[]{ 4, 5, 2, 8 }, grid.getSelectionIndices() ) );
+  }
+
+  @Test
+  public void testSelectAll_WithManyItems() {
+    grid = new Grid( shell, SWT.MULTI );
+    createGridItems( grid, 1000, 4 );
+
+    grid.selectAll();
+
+    int[] indices = grid.getSelectionIndices();
+    assertEquals( 5000, indices.length );
+    assertEquals( 4999, indices[ 4999 ] );
+    assertTrue( grid.isSelected( 2500 ) );
+  }
+
   @Test
   public void testGetSelectionIndicies_WithoutSelection() {
     assertTrue( Arrays.equals( new int[ 0 ], grid.getSelectionIndices() ) );
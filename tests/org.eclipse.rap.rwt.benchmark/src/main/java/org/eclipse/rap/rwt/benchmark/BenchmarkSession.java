@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.benchmark;
+
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
+
+import java.io.IOException;
+
+import org.eclipse.rap.rwt.benchmark.WidgetTreeShape.WidgetTreeUpdate;
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.internal.lifecycle.DisplayUtil;
+import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
+import org.eclipse.rap.rwt.internal.lifecycle.SimpleLifeCycle;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.rap.rwt.widgets.WidgetUtil;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.internal.widgets.displaykit.DisplayLCA;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+
+
+/**
+ * A headless UI session that is driven with the fake servlet request and response objects of the
+ * test fixture. The session is bound to the thread that creates it, all methods must be called
+ * from this thread.
+ */
+public final class BenchmarkSession {
+
+  private final SimpleLifeCycle lifeCycle;
+  private final Display display;
+  private final DisplayLCA displayLCA;
+  private final Button trigger;
+  private final WidgetTreeUpdate update;
+  private int revision;
+
+  public BenchmarkSession( WidgetTreeShape shape, int widgetCount, boolean dirtyTracking ) {
+    System.setProperty( RWTProperties.DIRTY_TRACKING, String.valueOf( dirtyTracking ) );
+    Fixture.setUp();
+    lifeCycle = new SimpleLifeCycle( getApplicationContext() );
+    display = new Display();
+    displayLCA = DisplayUtil.getLCA( display );
+    Shell shell = new Shell( display );
+    shell.setBounds( 0, 0, 1024, 768 );
+    trigger = new Button( shell, SWT.PUSH );
+    update = shape.create( shell, widgetCount );
+    trigger.addListener( SWT.Selection, new Listener() {
+      @Override
+      public void handleEvent( Event event ) {
+        update();
+      }
+    } );
+    shell.open();
+  }
+
+  public Display getDisplay() {
+    return display;
+  }
+
+  public DisplayLCA getDisplayLCA() {
+    return displayLCA;
+  }
+
+  /**
+   * Renders the entire widget tree without the life cycle, the display remains attached to the
+   * current thread.
+   */
+  public void renderInitial() throws IOException {
+    Fixture.fakeNewRequest();
+    Fixture.fakePhase( PhaseId.RENDER );
+    displayLCA.render( display );
+    displayLCA.clearPreserved( display );
+  }
+
+  /**
+   * Prepares a request that selects the trigger button, whose listener updates the widget tree.
+   */
+  public void fakeTriggerRequest() {
+    Fixture.fakeNewRequest();
+    Fixture.fakeNotifyOperation( WidgetUtil.getId( trigger ), "Selection", null );
+  }
+
+  public void executeLifeCycle() throws IOException {
+    lifeCycle.execute();
+  }
+
+  public void update() {
+    update.update( ++revision );
+  }
+
+  public void dispose() {
+    Fixture.tearDown();
+    System.clearProperty( RWTProperties.DIRTY_TRACKING );
+  }
+
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rap.json.JsonArray;
+import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonReader;
+import org.eclipse.rap.rwt.internal.protocol.ClientMessage;
+import org.eclipse.rap.rwt.internal.protocol.ClientMessageReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Reads client messages as they are sent while typing into a text with a modify listener, and
+ * writes JSON structures.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 1 )
+public class JsonBenchmark {
+
+  @Param( { "1", "10", "100" } )
+  public int operationCount;
+
+  private String message;
+  private byte[] messageBytes;
+  private JsonObject messageObject;
+
+  @Setup
+  public void setUp() {
+    JsonArray operations = new JsonArray();
+    for( int i = 0; i < operationCount; i++ ) {
+      String target = "w" + i;
+      operations.add( new JsonArray().add( "set" )
+                                     .add( target )
+                                     .add( new JsonObject().add( "text", "text " + i )
+                                                           .add( "selectionStart", i )
+                                                           .add( "selectionLength", 0 ) ) );
+      operations.add( new JsonArray().add( "notify" )
+                                     .add( target )
+                                     .add( "Modify" )
+                                     .add( new JsonObject() ) );
+    }
+    JsonObject head = new JsonObject().add( "requestCounter", 42 );
+    messageObject = new JsonObject().add( "head", head ).add( "operations", operations );
+    message = messageObject.toString();
+    messageBytes = message.getBytes( StandardCharsets.UTF_8 );
+  }
+
+  @Benchmark
+  public ClientMessage readJsonObject() {
+    return new ClientMessage( JsonObject.readFrom( message ) );
+  }
+
+  @Benchmark
+  public ClientMessage readIncremental() throws IOException {
+    JsonReader reader = new JsonReader( new ByteArrayInputStream( messageBytes ) );
+    return ClientMessageReader.readClientMessage( reader );
+  }
+
+  @Benchmark
+  public StringWriter writeJsonObject() throws IOException {
+    StringWriter writer = new StringWriter( message.length() );
+    messageObject.writeTo( writer );
+    return writer;
+  }
+
+}
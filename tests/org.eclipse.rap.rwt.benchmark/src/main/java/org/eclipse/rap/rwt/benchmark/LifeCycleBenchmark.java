@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Executes entire requests with the SimpleLifeCycle. Every request notifies a selection listener
+ * that updates about one percent of the widget tree, hence all phases are involved.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 1 )
+public class LifeCycleBenchmark {
+
+  @Param( { "1000", "10000", "50000" } )
+  public int widgetCount;
+
+  @Param( { "COMPOSITES", "VIRTUAL_TABLE", "DEEP_TREE" } )
+  public WidgetTreeShape shape;
+
+  @Param( { "false", "true" } )
+  public boolean dirtyTracking;
+
+  private BenchmarkSession session;
+
+  @Setup( Level.Trial )
+  public void setUp() throws IOException {
+    session = new BenchmarkSession( shape, widgetCount, dirtyTracking );
+    session.fakeTriggerRequest();
+    session.executeLifeCycle();
+  }
+
+  @TearDown( Level.Trial )
+  public void tearDown() {
+    session.dispose();
+  }
+
+  @Benchmark
+  public void executeRequest() throws IOException {
+    session.fakeTriggerRequest();
+    session.executeLifeCycle();
+  }
+
+}
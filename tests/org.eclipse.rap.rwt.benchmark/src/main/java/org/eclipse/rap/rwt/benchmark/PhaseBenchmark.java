@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.swt.widgets.Display;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures the phases of a request that visit the widget tree in isolation. The remaining steps
+ * of a request are executed in invocation level setup and tear down methods, which are not
+ * measured. Run with <code>-prof gc</code> to obtain the allocation rate per phase.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 1 )
+public class PhaseBenchmark {
+
+  @Param( { "1000", "10000", "50000" } )
+  public int widgetCount;
+
+  @Param( { "COMPOSITES", "VIRTUAL_TABLE", "DEEP_TREE" } )
+  public WidgetTreeShape shape;
+
+  @Param( { "false", "true" } )
+  public boolean dirtyTracking;
+
+  private BenchmarkSession session;
+  private Display display;
+
+  @Setup( Level.Trial )
+  public void setUp() throws IOException {
+    session = new BenchmarkSession( shape, widgetCount, dirtyTracking );
+    display = session.getDisplay();
+    session.renderInitial();
+  }
+
+  @TearDown( Level.Trial )
+  public void tearDown() {
+    session.dispose();
+  }
+
+  @Benchmark
+  public void readData( ReadDataRequest request ) {
+    session.getDisplayLCA().readData( display );
+  }
+
+  @Benchmark
+  public void preserveValues( PreserveRequest request ) {
+    session.getDisplayLCA().preserveValues( display );
+  }
+
+  @Benchmark
+  public void render( RenderRequest request ) throws IOException {
+    session.getDisplayLCA().render( display );
+  }
+
+  @State( Scope.Thread )
+  public static class ReadDataRequest {
+
+    @Setup( Level.Invocation )
+    public void setUp( PhaseBenchmark benchmark ) {
+      benchmark.session.fakeTriggerRequest();
+      Fixture.fakePhase( PhaseId.READ_DATA );
+    }
+
+    @TearDown( Level.Invocation )
+    public void tearDown( PhaseBenchmark benchmark ) {
+      Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+      while( benchmark.display.readAndDispatch() ) {
+      }
+      Fixture.fakePhase( PhaseId.RENDER );
+      benchmark.session.getDisplayLCA().clearPreserved( benchmark.display );
+    }
+
+  }
+
+  @State( Scope.Thread )
+  public static class PreserveRequest {
+
+    @Setup( Level.Invocation )
+    public void setUp() {
+      Fixture.fakeNewRequest();
+      Fixture.fakePhase( PhaseId.READ_DATA );
+    }
+
+    @TearDown( Level.Invocation )
+    public void tearDown( PhaseBenchmark benchmark ) {
+      Fixture.fakePhase( PhaseId.RENDER );
+      benchmark.session.getDisplayLCA().clearPreserved( benchmark.display );
+    }
+
+  }
+
+  @State( Scope.Thread )
+  public static class RenderRequest {
+
+    @Setup( Level.Invocation )
+    public void setUp( PhaseBenchmark benchmark ) {
+      Fixture.fakeNewRequest();
+      Fixture.fakePhase( PhaseId.READ_DATA );
+      benchmark.session.getDisplayLCA().preserveValues( benchmark.display );
+      Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+      benchmark.session.update();
+      Fixture.fakePhase( PhaseId.RENDER );
+    }
+
+    @TearDown( Level.Invocation )
+    public void tearDown( PhaseBenchmark benchmark ) {
+      benchmark.session.getDisplayLCA().clearPreserved( benchmark.display );
+    }
+
+  }
+
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.rwt.internal.protocol.ProtocolMessageWriter;
+import org.eclipse.rap.rwt.internal.protocol.ResponseMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Creates response messages with a mix of create, set, listen and call operations, similar to the
+ * initial rendering of widgets.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 1 )
+public class ProtocolMessageWriterBenchmark {
+
+  @Param( { "100", "1000", "10000" } )
+  public int widgetCount;
+
+  @Benchmark
+  public ResponseMessage createMessage() {
+    return createWriter().createMessage();
+  }
+
+  @Benchmark
+  public String writeMessage() {
+    return createWriter().createMessage().toString();
+  }
+
+  private ProtocolMessageWriter createWriter() {
+    ProtocolMessageWriter writer = new ProtocolMessageWriter();
+    writer.appendHead( "requestCounter", 1 );
+    JsonObject parameters = new JsonObject().add( "x", 10 ).add( "y", 20 );
+    for( int i = 0; i < widgetCount; i++ ) {
+      String target = "w" + i;
+      writer.appendCreate( target, "rwt.widgets.Label" );
+      writer.appendSet( target, "parent", "w1" );
+      writer.appendSet( target, "text", "label " + i );
+      writer.appendSet( target, "enabled", i % 2 == 0 );
+      writer.appendListen( target, "Selection", true );
+      if( i % 10 == 0 ) {
+        writer.appendCall( target, "scroll", parameters );
+      }
+    }
+    return writer;
+  }
+
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.benchmark;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+
+
+/**
+ * Representative widget trees. Every shape creates approximately the given number of widgets or
+ * items and returns an update that changes about one percent of them, like a typical request that
+ * is triggered by a user interaction.
+ */
+public enum WidgetTreeShape {
+
+  /**
+   * Nested composites with labels, ten widgets per composite.
+   */
+  COMPOSITES {
+    @Override
+    WidgetTreeUpdate create( Composite parent, int widgetCount ) {
+      final Label[] labels = new Label[ widgetCount - widgetCount / 10 ];
+      Composite composite = null;
+      for( int i = 0; i < labels.length; i++ ) {
+        if( i % 9 == 0 ) {
+          composite = new Composite( parent, SWT.NONE );
+          composite.setBounds( 0, i, 800, 20 );
+        }
+        labels[ i ] = new Label( composite, SWT.NONE );
+        labels[ i ].setText( "label " + i );
+        labels[ i ].setBounds( ( i % 9 ) * 80, 0, 80, 20 );
+      }
+      return new WidgetTreeUpdate() {
+        @Override
+        public void update( int revision ) {
+          for( int i = revision % UPDATE_STEP; i < labels.length; i += UPDATE_STEP ) {
+            labels[ i ].setText( "label " + i + "/" + revision );
+          }
+        }
+      };
+    }
+  },
+
+  /**
+   * A virtual table with three columns, the items are resolved on demand.
+   */
+  VIRTUAL_TABLE {
+    @Override
+    WidgetTreeUpdate create( Composite parent, int widgetCount ) {
+      final Table table = new Table( parent, SWT.VIRTUAL | SWT.MULTI );
+      table.setBounds( 0, 0, 800, 600 );
+      table.setHeaderVisible( true );
+      for( int i = 0; i < COLUMN_COUNT; i++ ) {
+        TableColumn column = new TableColumn( table, SWT.NONE );
+        column.setText( "column " + i );
+        column.setWidth( 200 );
+      }
+      table.addListener( SWT.SetData, new Listener() {
+        @Override
+        public void handleEvent( Event event ) {
+          TableItem item = ( TableItem )event.item;
+          int index = table.indexOf( item );
+          for( int i = 0; i < COLUMN_COUNT; i++ ) {
+            item.setText( i, "item " + index + "-" + i );
+          }
+        }
+      } );
+      table.setItemCount( widgetCount );
+      return new WidgetTreeUpdate() {
+        @Override
+        public void update( int revision ) {
+          // change the visible items and the selection
+          for( int i = 0; i < VISIBLE_ITEM_COUNT; i++ ) {
+            table.getItem( i ).setText( 0, "item " + i + "/" + revision );
+          }
+          table.setSelection( revision % table.getItemCount() );
+        }
+      };
+    }
+  },
+
+  /**
+   * An expanded tree with a branching factor of three, hence about ten levels for 50000 items.
+   */
+  DEEP_TREE {
+    @Override
+    WidgetTreeUpdate create( Composite parent, int widgetCount ) {
+      Tree tree = new Tree( parent, SWT.MULTI );
+      tree.setBounds( 0, 0, 800, 600 );
+      final TreeItem[] items = new TreeItem[ widgetCount ];
+      int count = 0;
+      for( int i = 0; i < BRANCHING_FACTOR && count < items.length; i++ ) {
+        items[ count ] = new TreeItem( tree, SWT.NONE );
+        items[ count ].setText( "item " + count );
+        count++;
+      }
+      // breadth first, the parent of item n is item ( n - BRANCHING_FACTOR ) / BRANCHING_FACTOR
+      for( int parentIndex = 0; count < items.length; parentIndex++ ) {
+        for( int i = 0; i < BRANCHING_FACTOR && count < items.length; i++ ) {
+          items[ count ] = new TreeItem( items[ parentIndex ], SWT.NONE );
+          items[ count ].setText( "item " + count );
+          count++;
+        }
+        items[ parentIndex ].setExpanded( true );
+      }
+      return new WidgetTreeUpdate() {
+        @Override
+        public void update( int revision ) {
+          for( int i = revision % UPDATE_STEP; i < items.length; i += UPDATE_STEP ) {
+            items[ i ].setText( "item " + i + "/" + revision );
+          }
+        }
+      };
+    }
+  };
+
+  private static final int UPDATE_STEP = 100;
+  private static final int COLUMN_COUNT = 3;
+  private static final int VISIBLE_ITEM_COUNT = 25;
+  private static final int BRANCHING_FACTOR = 3;
+
+  abstract WidgetTreeUpdate create( Composite parent, int widgetCount );
+
+  /**
+   * Changes the widgets of a tree.
+   */
+  public interface WidgetTreeUpdate {
+    void update( int revision );
+  }
+
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.textsize;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Point;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/*
+ * Resides in the package of TextSizeStorage to access the lookup and store methods. The storage is
+ * shared by all benchmark threads, run with "-t 4" to measure concurrent access.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 1 )
+public class TextSizeStorageBenchmark {
+
+  private static final int KEY_COUNT = TextSizeStorage.DEFAULT_STORE_SIZE / 2;
+  private static final FontData FONT_DATA = new FontData( "arial", 10, SWT.NORMAL );
+
+  private TextSizeStorage storage;
+  private TextSizeKey[] keys;
+  private TextSizeKey[] missingKeys;
+
+  @Setup
+  public void setUp() {
+    storage = new TextSizeStorage();
+    ProbeResult probeResult = new ProbeResult( new Probe( FONT_DATA ), new Point( 600, 12 ) );
+    keys = new TextSizeKey[ KEY_COUNT * 4 ];
+    for( int i = 0; i < keys.length; i++ ) {
+      keys[ i ] = new TextSizeKey( probeResult, FONT_DATA, "text " + i, SWT.DEFAULT, 0 );
+    }
+    missingKeys = new TextSizeKey[ KEY_COUNT ];
+    for( int i = 0; i < missingKeys.length; i++ ) {
+      missingKeys[ i ] = new TextSizeKey( probeResult, FONT_DATA, "missing " + i, SWT.DEFAULT, 0 );
+    }
+    for( int i = 0; i < KEY_COUNT; i++ ) {
+      storage.storeTextSize( keys[ i ], new Point( i, 12 ) );
+    }
+  }
+
+  @State( Scope.Thread )
+  public static class Cursor {
+    int position;
+  }
+
+  @Benchmark
+  public Point lookupHit( Cursor cursor ) {
+    cursor.position = ( cursor.position + 1 ) % KEY_COUNT;
+    return storage.lookupTextSize( keys[ cursor.position ] );
+  }
+
+  @Benchmark
+  public Point lookupMiss( Cursor cursor ) {
+    cursor.position = ( cursor.position + 1 ) % KEY_COUNT;
+    return storage.lookupTextSize( missingKeys[ cursor.position ] );
+  }
+
+  /*
+   * Stores more keys than fit into the storage, hence eventually evicts entries.
+   */
+  @Benchmark
+  public void storeWithEviction( Cursor cursor ) {
+    cursor.position = ( cursor.position + 1 ) % keys.length;
+    storage.storeTextSize( keys[ cursor.position ], new Point( cursor.position, 12 ) );
+  }
+
+}
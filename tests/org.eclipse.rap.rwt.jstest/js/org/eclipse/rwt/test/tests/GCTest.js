@@ -203,6 +203,78 @@ rwt.qx.Class.define( "org.eclipse.rwt.test.tests.GCTest", {
       TestUtil.flush();
     },
 
+    testInit_doesNotRecordOperationsByDefault : function() {
+      var gc = this._createGCByProtocol();
+
+      gc.init( 0, 0, 300, 300,
+               [ [ "Arial" ], 10, false, false ],
+               [ 255, 255, 255, 255 ], [ 0, 0, 0, 255 ] );
+      gc.draw( [ [ "lineWidth", 2 ] ] );
+
+      assertNull( gc._operations );
+      gc.dispose();
+      rwt.remote.ObjectRegistry.getObject( "w2" ).destroy();
+      rwt.remote.ObjectRegistry.getObject( "w3" ).destroy();
+    },
+
+    testDraw_recordsOperationsInIncrementalMode : function() {
+      var gc = this._createGCByProtocol();
+
+      gc.init( 0, 0, 300, 300,
+               [ [ "Arial" ], 10, false, false ],
+               [ 255, 255, 255, 255 ], [ 0, 0, 0, 255 ], true );
+      gc.draw( [ [ "lineWidth", 2 ] ] );
+      gc.draw( [ [ "lineWidth", 3 ] ] );
+
+      assertEquals( [ [ "lineWidth", 2 ], [ "lineWidth", 3 ] ], gc._operations );
+      gc.dispose();
+      rwt.remote.ObjectRegistry.getObject( "w2" ).destroy();
+      rwt.remote.ObjectRegistry.getObject( "w3" ).destroy();
+    },
+
+    testPatchByProtocol : function() {
+      var gc = this._createGCByProtocol();
+      var processor = rwt.remote.MessageProcessor;
+      processor.processOperation( {
+        "target" : "w4",
+        "action" : "call",
+        "method" : "init",
+        "properties" : {
+          "x" : 0,
+          "y" : 0,
+          "width" : 300,
+          "height" : 300,
+          "font" : [ [ "Arial" ], 10, false, false ],
+          "fillStyle" : [ 255, 255, 255, 255 ],
+          "strokeStyle" : [ 0, 0, 0, 255 ],
+          "incremental" : true
+        }
+      } );
+      gc.draw( [ [ "lineWidth", 2 ], [ "lineCap", "round" ], [ "lineJoin", "bevel" ] ] );
+
+      processor.processOperation( {
+        "target" : "w4",
+        "action" : "call",
+        "method" : "patch",
+        "properties" : {
+          "start" : 1,
+          "deleteCount" : 1,
+          "operations" : [ [ "lineWidth", 4 ], [ "lineWidth", 5 ] ]
+        }
+      } );
+
+      var expected = [
+        [ "lineWidth", 2 ], [ "lineWidth", 4 ], [ "lineWidth", 5 ], [ "lineJoin", "bevel" ]
+      ];
+      assertEquals( expected, gc._operations );
+      assertEquals( 5, gc._context.lineWidth );
+      assertEquals( "butt", gc._context.lineCap );
+      assertEquals( "bevel", gc._context.lineJoin );
+      gc.dispose();
+      rwt.remote.ObjectRegistry.getObject( "w2" ).destroy();
+      rwt.remote.ObjectRegistry.getObject( "w3" ).destroy();
+    },
+
     // Tests ported from GCOperationWriter_Test#testProcessText...
     testEscapeText : function() {
       var text = "text with \ttab, \nnew line and &mnemonic";
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2015 EclipseSource and others.
+ * Copyright (c) 2010, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -518,6 +518,71 @@ rwt.qx.Class.define( "org.eclipse.rwt.test.tests.GridTest", {
       widget.destroy();
     },
 
+    testSetSelectionRangesByProtocol : function() {
+      var shell = TestUtil.createShellByProtocol( "w2" );
+      var widget = this._createDefaultTreeByProtocol( "w3", "w2", [ "MULTI" ] );
+      widget.setItemCount( 5 );
+      var item1 = this._createTreeItemByProtocol( "w4", "w3", 0 );
+      var item2 = this._createTreeItemByProtocol( "w5", "w3", 1 );
+      var item3 = this._createTreeItemByProtocol( "w6", "w3", 2 );
+
+      TestUtil.protocolSet( "w3", { "selectionRanges" : [ 0, 0, 2, 3 ] } );
+
+      assertTrue( widget.isItemSelected( item1 ) );
+      assertFalse( widget.isItemSelected( item2 ) );
+      assertTrue( widget.isItemSelected( item3 ) );
+      assertTrue( widget.isItemSelected( widget.getRootItem().getChild( 3 ) ) );
+      assertFalse( widget.isItemSelected( widget.getRootItem().getChild( 4 ) ) );
+      shell.destroy();
+      widget.destroy();
+    },
+
+    testSetSelectionRangesByProtocol_doesNotCreatePlaceholders : function() {
+      var shell = TestUtil.createShellByProtocol( "w2" );
+      var widget = this._createDefaultTreeByProtocol( "w3", "w2", [ "MULTI", "VIRTUAL" ] );
+      widget.setItemCount( 1000 );
+
+      TestUtil.protocolSet( "w3", { "selectionRanges" : [ 0, 999 ] } );
+
+      assertFalse( widget.getRootItem().isChildCreated( 500 ) );
+      assertEquals( 1000, widget.getSelection().length );
+      shell.destroy();
+      widget.destroy();
+    },
+
+    testSetSelectionRangesByProtocol_replacesSelection : function() {
+      var shell = TestUtil.createShellByProtocol( "w2" );
+      var widget = this._createDefaultTreeByProtocol( "w3", "w2", [ "MULTI" ] );
+      widget.setItemCount( 2 );
+      var item1 = this._createTreeItemByProtocol( "w4", "w3", 0 );
+      var item2 = this._createTreeItemByProtocol( "w5", "w3", 1 );
+      widget.selectItem( item1 );
+
+      TestUtil.protocolSet( "w3", { "selectionRanges" : [ 1, 1 ] } );
+
+      assertFalse( widget.isItemSelected( item1 ) );
+      assertTrue( widget.isItemSelected( item2 ) );
+      shell.destroy();
+      widget.destroy();
+    },
+
+    testDeselectItemAfterSetSelectionRanges : function() {
+      var shell = TestUtil.createShellByProtocol( "w2" );
+      var widget = this._createDefaultTreeByProtocol( "w3", "w2", [ "MULTI" ] );
+      widget.setItemCount( 2 );
+      var item1 = this._createTreeItemByProtocol( "w4", "w3", 0 );
+      var item2 = this._createTreeItemByProtocol( "w5", "w3", 1 );
+      TestUtil.protocolSet( "w3", { "selectionRanges" : [ 0, 1 ] } );
+
+      widget.deselectItem( item1 );
+
+      assertFalse( widget.isItemSelected( item1 ) );
+      assertTrue( widget.isItemSelected( item2 ) );
+      assertEquals( [ item2 ], widget.getSelection() );
+      shell.destroy();
+      widget.destroy();
+    },
+
     testSetSelectionWithDisposeByProtocol : function() {
       var shell = TestUtil.createShellByProtocol( "w2" );
       var widget = this._createDefaultTreeByProtocol( "w3", "w2", [ "MULTI" ] );
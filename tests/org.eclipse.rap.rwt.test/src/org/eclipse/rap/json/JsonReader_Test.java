@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.json;
+
+import static org.eclipse.rap.json.TestUtil.assertException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+
+import org.hamcrest.core.StringStartsWith;
+import org.junit.Test;
+
+
+public class JsonReader_Test {
+
+  private static final Charset UTF_8 = Charset.forName( "UTF-8" );
+
+  @Test( expected = NullPointerException.class )
+  public void create_failsWithNullReader() {
+    new JsonReader( ( StringReader )null );
+  }
+
+  @Test( expected = NullPointerException.class )
+  public void create_failsWithNullInputStream() {
+    new JsonReader( ( InputStream )null );
+  }
+
+  @Test
+  public void readsEmptyObject() throws IOException {
+    JsonReader reader = createReader( " { } " );
+
+    reader.beginObject();
+    assertFalse( reader.hasNext() );
+    reader.endObject();
+  }
+
+  @Test
+  public void readsObjectMembers() throws IOException {
+    JsonReader reader = createReader( "{ \"a\": 23, \"b\": [ true ] }" );
+
+    reader.beginObject();
+    assertEquals( "a", reader.nextName() );
+    assertEquals( 23, reader.nextValue().asInt() );
+    assertEquals( "b", reader.nextName() );
+    assertEquals( new JsonArray().add( true ), reader.nextValue() );
+    assertFalse( reader.hasNext() );
+    reader.endObject();
+  }
+
+  @Test
+  public void readsNestedArrays() throws IOException {
+    JsonReader reader = createReader( "[ [ \"a\", \"b\" ], [] ]" );
+
+    reader.beginArray();
+    reader.beginArray();
+    assertEquals( "a", reader.nextString() );
+    assertEquals( "b", reader.nextString() );
+    reader.endArray();
+    reader.beginArray();
+    reader.endArray();
+    assertFalse( reader.hasNext() );
+    reader.endArray();
+  }
+
+  @Test
+  public void readsUtf8InputStream() throws IOException {
+    String string = "\u00e4\u20ac\ud83d\ude00";
+    JsonReader reader = new JsonReader( createInputStream( "[\"" + string + "\"]" ) );
+
+    reader.beginArray();
+    assertEquals( string, reader.nextString() );
+    reader.endArray();
+  }
+
+  @Test
+  public void readsUtf8InputStream_withSequencesAcrossChunks() throws IOException {
+    StringBuilder builder = new StringBuilder();
+    for( int i = 0; i < 2000; i++ ) {
+      builder.append( "a\u00e4\u20ac\ud83d\ude00" );
+    }
+    String string = builder.toString();
+    InputStream input = new FilterInputStream( createInputStream( "[\"" + string + "\"]" ) ) {
+      @Override
+      public int read( byte[] bytes, int offset, int length ) throws IOException {
+        return super.read( bytes, offset, Math.min( length, 3 ) );
+      }
+    };
+    JsonReader reader = new JsonReader( input );
+
+    reader.beginArray();
+    assertEquals( string, reader.nextString() );
+    reader.endArray();
+  }
+
+  @Test
+  public void replacesMalformedUtf8() throws IOException {
+    byte[] bytes = new byte[] { '[', '"', ( byte )0xff, 'a', ( byte )0xc3, '"', ']' };
+    JsonReader reader = new JsonReader( new ByteArrayInputStream( bytes ) );
+
+    reader.beginArray();
+    assertEquals( "\ufffda\ufffd", reader.nextString() );
+    reader.endArray();
+  }
+
+  @Test
+  public void replacesOverlongUtf8() throws IOException {
+    // overlong encodings of '"'
+    byte[] bytes = new byte[] {
+      '[', '"', ( byte )0xc0, ( byte )0xa2, ( byte )0xe0, ( byte )0x80, ( byte )0xa2, '"', ']'
+    };
+    JsonReader reader = new JsonReader( new ByteArrayInputStream( bytes ) );
+
+    reader.beginArray();
+    assertEquals( "\ufffd\ufffd\ufffd\ufffd\ufffd", reader.nextString() );
+    reader.endArray();
+  }
+
+  @Test
+  public void replacesUtf8EncodedSurrogates() throws IOException {
+    byte[] bytes = new byte[] { '[', '"', ( byte )0xed, ( byte )0xa0, ( byte )0x80, '"', ']' };
+    JsonReader reader = new JsonReader( new ByteArrayInputStream( bytes ) );
+
+    reader.beginArray();
+    assertEquals( "\ufffd\ufffd\ufffd", reader.nextString() );
+    reader.endArray();
+  }
+
+  @Test
+  public void replacesUtf8AboveMaximumCodePoint() throws IOException {
+    byte[] bytes = new byte[] {
+      '[', '"', ( byte )0xf4, ( byte )0x90, ( byte )0x80, ( byte )0x80, '"', ']'
+    };
+    JsonReader reader = new JsonReader( new ByteArrayInputStream( bytes ) );
+
+    reader.beginArray();
+    assertEquals( "\ufffd\ufffd\ufffd\ufffd", reader.nextString() );
+    reader.endArray();
+  }
+
+  @Test
+  public void readsUtf8BoundaryCodePoints() throws IOException {
+    String string = "\u0080\u07ff\u0800\ud7ff\ue000\uffff\ud800\udc00\udbff\udfff";
+    JsonReader reader = new JsonReader( createInputStream( "[\"" + string + "\"]" ) );
+
+    reader.beginArray();
+    assertEquals( string, reader.nextString() );
+    reader.endArray();
+  }
+
+  @Test
+  public void reusesMemberNames() throws IOException {
+    JsonObject object1 = JsonObject.readFrom( "{ \"requestCounter\": 1 }" );
+    JsonObject object2 = JsonObject.readFrom( "{ \"requestCounter\": 2 }" );
+
+    assertSame( object1.names().get( 0 ), object2.names().get( 0 ) );
+  }
+
+  @Test
+  public void nextName_failsOutsideOfObject() throws IOException {
+    final JsonReader reader = createReader( "[ \"a\" ]" );
+    reader.beginArray();
+
+    assertParseException( "Not inside an object", new Runnable() {
+      public void run() {
+        try {
+          reader.nextName();
+        } catch( IOException exception ) {
+          throw new RuntimeException( exception );
+        }
+      }
+    } );
+  }
+
+  @Test
+  public void failsWithMissingComma() throws IOException {
+    final JsonReader reader = createReader( "[ 1 2 ]" );
+    reader.beginArray();
+
+    assertParseException( "Expected ',' or ']'", new Runnable() {
+      public void run() {
+        try {
+          reader.nextValue();
+        } catch( IOException exception ) {
+          throw new RuntimeException( exception );
+        }
+      }
+    } );
+  }
+
+  @Test
+  public void failsWithTrailingComma() throws IOException {
+    final JsonReader reader = createReader( "[ 1, ]" );
+    reader.beginArray();
+
+    assertParseException( "Expected value", new Runnable() {
+      public void run() {
+        try {
+          reader.nextValue();
+        } catch( IOException exception ) {
+          throw new RuntimeException( exception );
+        }
+      }
+    } );
+  }
+
+  @Test
+  public void failsWithTrailingCharacters() throws IOException {
+    final JsonReader reader = createReader( "{} x" );
+    reader.beginObject();
+
+    assertParseException( "Unexpected character", new Runnable() {
+      public void run() {
+        try {
+          reader.endObject();
+        } catch( IOException exception ) {
+          throw new RuntimeException( exception );
+        }
+      }
+    } );
+  }
+
+  @Test
+  public void hasNext_isFalseBeforeBegin() {
+    assertFalse( createReader( "[ 1 ]" ).hasNext() );
+  }
+
+  @Test
+  public void hasNext_isTrueWithElements() throws IOException {
+    JsonReader reader = createReader( "[ 1 ]" );
+
+    reader.beginArray();
+
+    assertTrue( reader.hasNext() );
+  }
+
+  private static void assertParseException( String message, Runnable runnable ) {
+    ParseException exception = assertException( ParseException.class, runnable );
+    assertThat( exception.getMessage(), StringStartsWith.startsWith( message + " at" ) );
+  }
+
+  private static JsonReader createReader( String json ) {
+    return new JsonReader( new StringReader( json ) );
+  }
+
+  private static InputStream createInputStream( String json ) {
+    return new ByteArrayInputStream( json.getBytes( UTF_8 ) );
+  }
+
+}
@@ -71,6 +71,25 @@ public class RWTProperties_Test {
     assertFalse( RWTProperties.getBooleanProperty( TEST_PROPERTY, false ) );
   }
 
+  @Test
+  public void testGetIntProperty() {
+    System.setProperty( TEST_PROPERTY, "23" );
+
+    assertEquals( 23, RWTProperties.getIntProperty( TEST_PROPERTY, 0 ) );
+  }
+
+  @Test
+  public void testGetIntProperty_usesDefault() {
+    assertEquals( 42, RWTProperties.getIntProperty( TEST_PROPERTY, 42 ) );
+  }
+
+  @Test
+  public void testGetIntProperty_usesDefaultForInvalidValue() {
+    System.setProperty( TEST_PROPERTY, "foo" );
+
+    assertEquals( 42, RWTProperties.getIntProperty( TEST_PROPERTY, 42 ) );
+  }
+
   @Test
   public void testGetServiceHandlerBaseUrl_returnsNullByDefault() {
     assertNull( RWTProperties.getServiceHandlerBaseUrl() );
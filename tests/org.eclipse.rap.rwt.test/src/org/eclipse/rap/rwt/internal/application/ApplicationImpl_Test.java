@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,11 +11,17 @@
 package org.eclipse.rap.rwt.internal.application;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
 import javax.servlet.FilterRegistration;
 import javax.servlet.Servlet;
 
@@ -27,8 +33,11 @@ import org.eclipse.rap.rwt.internal.engine.RWTClusterSupport;
 import org.eclipse.rap.rwt.internal.lifecycle.LifeCycle;
 import org.eclipse.rap.rwt.internal.lifecycle.RWTLifeCycle;
 import org.eclipse.rap.rwt.internal.lifecycle.SimpleLifeCycle;
+import org.eclipse.rap.rwt.service.MetricsExporter;
 import org.eclipse.rap.rwt.service.ResourceLoader;
 import org.eclipse.rap.rwt.testfixture.internal.TestServletContext;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.FontData;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -164,6 +173,54 @@ public class ApplicationImpl_Test {
     application.setExceptionHandler( null );
   }
 
+  @Test( expected = NullPointerException.class )
+  public void testAddMeasurementFont_failsWithNullLocation() {
+    application.addMeasurementFont( null );
+  }
+
+  @Test( expected = NullPointerException.class )
+  public void testAddMeasurementFont_failsWithNullResourceLoader() {
+    application.addMeasurementFont( "font.ttf", null );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testAddMeasurementFont_failsWithMissingResource() {
+    application.addMeasurementFont( "does-not-exist.ttf", mock( ResourceLoader.class ) );
+  }
+
+  @Test
+  public void testAddMeasurementFont_failsWithInvalidFont() {
+    ResourceLoader resourceLoader = new ResourceLoader() {
+      @Override
+      public InputStream getResourceAsStream( String resourceName ) {
+        return new ByteArrayInputStream( new byte[] { 1, 2, 3 } );
+      }
+    };
+
+    try {
+      application.addMeasurementFont( "invalid.ttf", resourceLoader );
+      fail();
+    } catch( IllegalArgumentException expected ) {
+    }
+    FontData fontData = new FontData( "Dialog", 12, SWT.NORMAL );
+    assertFalse( applicationContext.getFontMetricsMeasurement().canMeasure( fontData ) );
+  }
+
+  @Test
+  public void testAddMetricsExporter() {
+    MetricsExporter exporter = mock( MetricsExporter.class );
+
+    application.addMetricsExporter( exporter );
+
+    List<MetricsExporter> exporters = applicationContext.getLifeCycleMetrics().getExporters();
+    assertEquals( Arrays.asList( exporter ), exporters );
+  }
+
+  @Test( expected = NullPointerException.class )
+  public void testAddMetricsExporter_failsWithNullArgument() {
+    application.addMetricsExporter( null );
+  }
+
   private void assertFilterRegistered( Class<RWTClusterSupport> filterClass ) {
     FilterRegistration[] filterRegistrations = getFilterRegistrations();
     boolean found = false;
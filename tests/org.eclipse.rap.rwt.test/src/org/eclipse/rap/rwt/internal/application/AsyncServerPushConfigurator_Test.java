@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.application;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import javax.servlet.Servlet;
+import javax.servlet.ServletContext;
+
+import org.eclipse.rap.rwt.engine.RWTServlet;
+import org.eclipse.rap.rwt.testfixture.internal.TestServletContext;
+import org.eclipse.rap.rwt.testfixture.internal.TestServletRegistration;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class AsyncServerPushConfigurator_Test {
+
+  private TestServletContext servletContext;
+
+  @Before
+  public void setUp() {
+    servletContext = new TestServletContext();
+    servletContext.setVersion( 3, 0 );
+  }
+
+  @Test
+  public void testConfigure_enablesAsyncSupportForRWTServlet() {
+    TestServletRegistration registration
+      = ( TestServletRegistration )servletContext.addServlet( "rwtServlet", new RWTServlet() );
+
+    new AsyncServerPushConfigurator( servletContext ).configure();
+
+    assertTrue( registration.isAsyncSupported() );
+  }
+
+  @Test
+  public void testConfigure_ignoresOtherServlets() {
+    Servlet servlet = mock( Servlet.class );
+    TestServletRegistration registration
+      = ( TestServletRegistration )servletContext.addServlet( "fooServlet", servlet );
+
+    new AsyncServerPushConfigurator( servletContext ).configure();
+
+    assertFalse( registration.isAsyncSupported() );
+  }
+
+  @Test
+  public void testConfigure_toleratesMissingServletRegistrations() {
+    // e.g. the servlet context of the OSGi HttpService
+    ServletContext servletContext = mock( ServletContext.class );
+
+    new AsyncServerPushConfigurator( servletContext ).configure();
+  }
+
+}
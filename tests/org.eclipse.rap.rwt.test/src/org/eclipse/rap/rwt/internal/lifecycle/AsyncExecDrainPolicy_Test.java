@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.lifecycle;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class AsyncExecDrainPolicy_Test {
+
+  private long currentTime;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+  }
+
+  @After
+  public void tearDown() {
+    System.getProperties().remove( RWTProperties.ASYNC_EXEC_DRAIN_LIMIT );
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testCanExecute_unlimitedByDefault() {
+    AsyncExecDrainPolicy policy = AsyncExecDrainPolicy.getInstance();
+
+    for( int i = 0; i < 1000; i++ ) {
+      policy.notifyExecuting();
+    }
+
+    assertTrue( policy.canExecute() );
+  }
+
+  @Test
+  public void testCanExecute_withRunnableLimit() {
+    AsyncExecDrainPolicy policy = new AsyncExecDrainPolicy( 2, 0 );
+
+    policy.notifyExecuting();
+    assertTrue( policy.canExecute() );
+    policy.notifyExecuting();
+    assertFalse( policy.canExecute() );
+  }
+
+  @Test
+  public void testCanExecute_withTimeLimit() {
+    AsyncExecDrainPolicy policy = createPolicyWithFakeTime( 0, 100 );
+
+    policy.notifyExecuting();
+    currentTime += 99;
+    assertTrue( policy.canExecute() );
+    currentTime += 1;
+    assertFalse( policy.canExecute() );
+  }
+
+  @Test
+  public void testCanExecute_timeLimitIncludesFirstRunnable() {
+    AsyncExecDrainPolicy policy = createPolicyWithFakeTime( 0, 100 );
+
+    policy.notifyExecuting();
+    // the first runnable takes the whole time
+    currentTime += 100;
+
+    assertFalse( policy.canExecute() );
+  }
+
+  @Test
+  public void testCanExecute_timeLimitStartsWithFirstRunnable() {
+    AsyncExecDrainPolicy policy = createPolicyWithFakeTime( 0, 100 );
+
+    currentTime += 500;
+
+    assertTrue( policy.canExecute() );
+  }
+
+  @Test
+  public void testGetInstance_readsSystemProperty() {
+    System.setProperty( RWTProperties.ASYNC_EXEC_DRAIN_LIMIT, "1" );
+    AsyncExecDrainPolicy policy = AsyncExecDrainPolicy.getInstance();
+
+    policy.notifyExecuting();
+
+    assertFalse( policy.canExecute() );
+  }
+
+  @Test
+  public void testGetInstance_isSameWithinRequest() {
+    AsyncExecDrainPolicy policy = AsyncExecDrainPolicy.getInstance();
+
+    assertSame( policy, AsyncExecDrainPolicy.getInstance() );
+  }
+
+  @Test
+  public void testGetInstance_isResetInNewRequest() {
+    AsyncExecDrainPolicy policy = AsyncExecDrainPolicy.getInstance();
+
+    Fixture.fakeNewRequest();
+
+    assertNotSame( policy, AsyncExecDrainPolicy.getInstance() );
+  }
+
+  private AsyncExecDrainPolicy createPolicyWithFakeTime( int maxRunnables, long maxTime ) {
+    currentTime = 1000;
+    return new AsyncExecDrainPolicy( maxRunnables, maxTime ) {
+      @Override
+      long getCurrentTime() {
+        return currentTime;
+      }
+    };
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 EclipseSource and others.
+ * Copyright (c) 2015, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.lifecycle;
 
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
 
@@ -42,6 +43,13 @@ public class DisplayUtil_Test {
     assertNotNull( DisplayUtil.getLCA( display ) );
   }
 
+  @Test
+  public void testGetLCA_returnsDisplayLCAOfApplicationContext() {
+    Object adapter = DisplayUtil.getLCA( display );
+
+    assertSame( getApplicationContext().getDisplayLCA(), adapter );
+  }
+
   @Test
   public void testGetLCA_returnsSameAdapterForEachInvocation() {
     Object adapter1 = DisplayUtil.getLCA( display );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.lifecycle;
 
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
@@ -87,7 +88,10 @@ public class PhaseExecutor_Test {
                                IPhase[] phases,
                                LifeCycle lifecycle )
     {
-      super( phaseListenerManager, phases, lifecycle );
+      super( phaseListenerManager,
+             phases,
+             lifecycle,
+             getApplicationContext().getLifeCycleMetrics() );
     }
 
     @Override
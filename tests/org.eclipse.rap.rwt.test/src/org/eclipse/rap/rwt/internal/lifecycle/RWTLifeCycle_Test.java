@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -39,8 +39,10 @@ import javax.servlet.http.HttpServletResponse;
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.application.EntryPoint;
 import org.eclipse.rap.rwt.client.WebClient;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.lifecycle.IPhase.IInterruptible;
+import org.eclipse.rap.rwt.internal.metrics.LifeCycleMetrics;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.ServiceContext;
 import org.eclipse.rap.rwt.internal.service.ServiceStore;
@@ -88,6 +90,7 @@ public class RWTLifeCycle_Test {
 
   @After
   public void tearDown() {
+    System.getProperties().remove( RWTProperties.VIRTUAL_UI_THREADS );
     Fixture.tearDown();
   }
 
@@ -808,6 +811,23 @@ public class RWTLifeCycle_Test {
     assertEquals( "", log.toString() );
   }
 
+  @Test
+  public void testSessionInvalidateWithRunningEventLoop_withVirtualUIThreads() throws Throwable {
+    System.setProperty( RWTProperties.VIRTUAL_UI_THREADS, "true" );
+    UISession uiSession = ContextProvider.getUISession();
+    Class<? extends EntryPoint> entryPointClass = SessionInvalidateWithEventLoopEntryPoint.class;
+    entryPointManager.register( TestRequest.DEFAULT_SERVLET_PATH, entryPointClass, null );
+    RWTLifeCycle lifeCycle = getLifeCycle();
+
+    lifeCycle.execute();
+    IUIThreadHolder uiThreadHolder = LifeCycleUtil.getUIThread( uiSession );
+    invalidateSession( uiSession );
+
+    assertEquals( VirtualThreads.isSupported(), uiThreadHolder instanceof VirtualUIThread );
+    assertFalse( uiThreadHolder.getThread().isAlive() );
+    assertFalse( uiSession.isBound() );
+  }
+
   @Test
   public void testExceptionInRender() {
     fakeServletPath( TestRequest.DEFAULT_SERVLET_PATH );
@@ -1028,8 +1048,10 @@ public class RWTLifeCycle_Test {
   private static ServiceContext newContext( UISession uiSession ) {
     HttpServletRequest request = ContextProvider.getRequest();
     HttpServletResponse response = ContextProvider.getResponse();
+    LifeCycleMetrics metrics = getApplicationContext().getLifeCycleMetrics();
     ApplicationContextImpl applicationContext = mock( ApplicationContextImpl.class );
     doReturn( Boolean.TRUE ).when( applicationContext ).isActive();
+    doReturn( metrics ).when( applicationContext ).getLifeCycleMetrics();
     ServiceContext result = new ServiceContext( request, response, applicationContext );
     result.setServiceStore( new ServiceStore() );
     result.setUISession( uiSession );
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.lifecycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.rap.rwt.internal.lifecycle.UIThread.UIThreadTerminatedError;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class VirtualUIThread_Test {
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testGetThread_isNamed() {
+    VirtualUIThread uiThread = new VirtualUIThread( new NoOpRunnable(), "UIThread [foo]" );
+
+    assertEquals( "UIThread [foo]", uiThread.getThread().getName() );
+    assertTrue( uiThread.getThread().isDaemon() );
+  }
+
+  @Test
+  public void testGetCurrent_outsideOfUIThread() {
+    assertNull( VirtualUIThread.getCurrent() );
+  }
+
+  @Test
+  public void testGetCurrent_onUIThread() throws InterruptedException {
+    final AtomicReference<VirtualUIThread> current = new AtomicReference<>();
+    VirtualUIThread uiThread = new VirtualUIThread( new Runnable() {
+      @Override
+      public void run() {
+        current.set( VirtualUIThread.getCurrent() );
+      }
+    }, "UIThread" );
+
+    uiThread.getThread().start();
+    uiThread.getThread().join();
+
+    assertSame( uiThread, current.get() );
+  }
+
+  @Test
+  public void testSwitchThread_passesControl() {
+    final StringBuffer log = new StringBuffer();
+    VirtualUIThread uiThread = new VirtualUIThread( new Runnable() {
+      @Override
+      public void run() {
+        final VirtualUIThread current = VirtualUIThread.getCurrent();
+        current.runExclusive( new Runnable() {
+          @Override
+          public void run() {
+            for( int i = 0; i < 3; i++ ) {
+              log.append( "ui" + i + "|" );
+              current.switchThread();
+            }
+          }
+        } );
+      }
+    }, "UIThread" );
+    uiThread.setUISession( ContextProvider.getUISession() );
+
+    uiThread.startThread();
+    log.append( "request0|" );
+    uiThread.switchThread();
+    log.append( "request1|" );
+    uiThread.switchThread();
+
+    assertEquals( "ui0|request0|ui1|request1|ui2|", log.toString() );
+    assertTrue( uiThread.getThread().isAlive() );
+    uiThread.terminateThread();
+  }
+
+  @Test
+  public void testTerminateThread() {
+    final AtomicReference<Throwable> error = new AtomicReference<>();
+    VirtualUIThread uiThread = new VirtualUIThread( new Runnable() {
+      @Override
+      public void run() {
+        try {
+          VirtualUIThread.getCurrent().switchThread();
+        } catch( Throwable throwable ) {
+          error.set( throwable );
+        }
+      }
+    }, "UIThread" );
+    uiThread.setUISession( ContextProvider.getUISession() );
+    uiThread.startThread();
+
+    uiThread.terminateThread();
+
+    assertFalse( uiThread.getThread().isAlive() );
+    assertTrue( error.get() instanceof UIThreadTerminatedError );
+  }
+
+  private static class NoOpRunnable implements Runnable {
+    @Override
+    public void run() {
+    }
+  }
+
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.metrics;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class Histogram_Test {
+
+  private Histogram histogram;
+
+  @Before
+  public void setUp() {
+    histogram = new Histogram();
+  }
+
+  @Test
+  public void testGetBucket() {
+    assertEquals( 0, Histogram.getBucket( 0 ) );
+    assertEquals( 1, Histogram.getBucket( 1 ) );
+    assertEquals( 2, Histogram.getBucket( 2 ) );
+    assertEquals( 2, Histogram.getBucket( 3 ) );
+    assertEquals( 3, Histogram.getBucket( 4 ) );
+    assertEquals( Histogram.BUCKET_COUNT - 1, Histogram.getBucket( Long.MAX_VALUE ) );
+  }
+
+  @Test
+  public void testGetSnapshot_initial() {
+    HistogramSnapshot snapshot = histogram.getSnapshot();
+
+    assertEquals( 0, snapshot.getCount() );
+    assertEquals( 0, snapshot.getSum() );
+    assertEquals( 0, snapshot.getMax() );
+    assertEquals( 0, snapshot.getMean(), 0 );
+    assertEquals( 0, snapshot.getPercentile99() );
+  }
+
+  @Test
+  public void testGetSnapshot() {
+    for( int i = 1; i <= 100; i++ ) {
+      histogram.record( i );
+    }
+
+    HistogramSnapshot snapshot = histogram.getSnapshot();
+
+    assertEquals( 100, snapshot.getCount() );
+    assertEquals( 5050, snapshot.getSum() );
+    assertEquals( 100, snapshot.getMax() );
+    assertEquals( 50.5, snapshot.getMean(), 0 );
+    assertEquals( 63, snapshot.getPercentile50() );
+    assertEquals( 100, snapshot.getPercentile90() );
+    assertEquals( 100, snapshot.getPercentile99() );
+  }
+
+  @Test
+  public void testRecord_negativeValue() {
+    histogram.record( -5 );
+
+    HistogramSnapshot snapshot = histogram.getSnapshot();
+    assertEquals( 1, snapshot.getCount() );
+    assertEquals( 0, snapshot.getSum() );
+  }
+
+  @Test
+  public void testRecord_maxValue() {
+    histogram.record( Long.MAX_VALUE );
+
+    assertEquals( Long.MAX_VALUE, histogram.getSnapshot().getPercentile50() );
+  }
+
+  @Test
+  public void testReset() {
+    histogram.record( 23 );
+
+    histogram.reset();
+
+    assertEquals( 0, histogram.getCount() );
+    assertEquals( 0, histogram.getSnapshot().getMax() );
+  }
+
+  @Test
+  public void testRecord_concurrently() throws InterruptedException {
+    Thread[] threads = new Thread[ 4 ];
+    for( int i = 0; i < threads.length; i++ ) {
+      threads[ i ] = new Thread( new Runnable() {
+        @Override
+        public void run() {
+          for( int j = 0; j < 1000; j++ ) {
+            histogram.record( j );
+          }
+        }
+      } );
+      threads[ i ].start();
+    }
+    for( Thread thread : threads ) {
+      thread.join();
+    }
+
+    assertEquals( 4000, histogram.getSnapshot().getCount() );
+    assertEquals( 999, histogram.getSnapshot().getMax() );
+  }
+
+}
@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
+import org.eclipse.rap.rwt.internal.textsize.TextSizeStorage;
+import org.eclipse.rap.rwt.service.MetricsExporter;
+import org.eclipse.rap.rwt.service.RequestMetrics;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class LifeCycleMetrics_Test {
+
+  private LifeCycleMetrics metrics;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    metrics = new LifeCycleMetrics( true, new TextSizeStorage() );
+  }
+
+  @After
+  public void tearDown() {
+    metrics.deactivate();
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testIsEnabled_falseByDefault() {
+    LifeCycleMetrics defaultMetrics = new LifeCycleMetrics( new TextSizeStorage() );
+
+    assertFalse( defaultMetrics.isEnabled() );
+  }
+
+  @Test
+  public void testEndPhase_recordsPhaseTime() {
+    metrics.beginPhase();
+    metrics.endPhase( PhaseId.RENDER );
+
+    assertEquals( 1, metrics.getRenderTime().getCount() );
+    assertEquals( 0, metrics.getReadDataTime().getCount() );
+  }
+
+  @Test
+  public void testEndPhase_withoutBeginPhase() {
+    metrics.endPhase( PhaseId.RENDER );
+
+    assertEquals( 0, metrics.getRenderTime().getCount() );
+  }
+
+  @Test
+  public void testEndPhase_whenDisabled() {
+    metrics = new LifeCycleMetrics( false, new TextSizeStorage() );
+
+    metrics.beginPhase();
+    metrics.endPhase( PhaseId.RENDER );
+
+    assertEquals( 0, metrics.getRenderTime().getCount() );
+  }
+
+  @Test
+  public void testRequestCompleted_recordsResponse() {
+    metrics.recordWidgetsVisited( 7 );
+
+    metrics.requestCompleted( 3, 512 );
+
+    assertEquals( 1, metrics.getRequestTime().getCount() );
+    assertEquals( 3, metrics.getResponseOperations().getMax() );
+    assertEquals( 512, metrics.getResponseBytes().getMax() );
+    assertEquals( 7, metrics.getWidgetsVisited().getMax() );
+  }
+
+  @Test
+  public void testRequestCompleted_includesTimeOutsideOfPhases() throws InterruptedException {
+    metrics.requestStarted();
+    Thread.sleep( 10 );
+
+    metrics.requestCompleted( 3, 512 );
+
+    RequestMetricsImpl requestMetrics = RequestMetricsImpl.getInstance();
+    assertEquals( 0, requestMetrics.getTotalTime() );
+    assertTrue( requestMetrics.getRequestTime() >= TimeUnit.MILLISECONDS.toNanos( 10 ) );
+    assertTrue( metrics.getRequestTime().getMax() >= TimeUnit.MILLISECONDS.toMicros( 10 ) );
+  }
+
+  @Test
+  public void testRequestCompleted_withoutRequestStarted_usesPhaseTimes() {
+    metrics.beginPhase();
+    metrics.endPhase( PhaseId.RENDER );
+
+    metrics.requestCompleted( 3, 512 );
+
+    RequestMetricsImpl requestMetrics = RequestMetricsImpl.getInstance();
+    assertEquals( requestMetrics.getTotalTime(), requestMetrics.getRequestTime() );
+  }
+
+  @Test
+  public void testRequestCompleted_whenDisabled() {
+    metrics = new LifeCycleMetrics( false, new TextSizeStorage() );
+
+    metrics.requestCompleted( 3, 512 );
+
+    assertEquals( 0, metrics.getResponseBytes().getCount() );
+  }
+
+  @Test
+  public void testRequestCompleted_notifiesExporters() {
+    MetricsExporter exporter = mock( MetricsExporter.class );
+    metrics.addExporter( exporter );
+    metrics.recordWidgetsVisited( 7 );
+
+    metrics.requestCompleted( 3, 512 );
+
+    verify( exporter ).export( RequestMetricsImpl.getInstance() );
+    RequestMetrics requestMetrics = RequestMetricsImpl.getInstance();
+    assertEquals( 3, requestMetrics.getResponseOperations() );
+    assertEquals( 512, requestMetrics.getResponseBytes() );
+    assertEquals( 7, requestMetrics.getWidgetsVisited() );
+  }
+
+  @Test
+  public void testRemoveExporter() {
+    MetricsExporter exporter = mock( MetricsExporter.class );
+    metrics.addExporter( exporter );
+
+    metrics.removeExporter( exporter );
+    metrics.requestCompleted( 3, 512 );
+
+    verify( exporter, never() ).export( any( RequestMetrics.class ) );
+  }
+
+  @Test
+  public void testDeactivate_removesExporters() {
+    metrics.addExporter( mock( MetricsExporter.class ) );
+
+    metrics.deactivate();
+
+    assertTrue( metrics.getExporters().isEmpty() );
+  }
+
+  @Test( expected = NullPointerException.class )
+  public void testAddExporter_withNull() {
+    metrics.addExporter( null );
+  }
+
+  @Test
+  public void testRecordServerPushWait() {
+    metrics.recordServerPushWait( 5000 );
+
+    assertEquals( 5, metrics.getServerPushWaitTime().getMax() );
+  }
+
+  @Test
+  public void testGetTextSizeHitRatio_initial() {
+    assertEquals( 0, metrics.getTextSizeHitRatio(), 0 );
+  }
+
+  @Test
+  public void testReset() {
+    metrics.requestCompleted( 3, 512 );
+
+    metrics.reset();
+
+    assertEquals( 0, metrics.getResponseBytes().getCount() );
+  }
+
+  @Test
+  public void testActivate_registersMXBean() {
+    metrics.activate( "/test" );
+
+    ObjectName objectName = metrics.getObjectName();
+    assertNotNull( objectName );
+    assertTrue( getMBeanServer().isRegistered( objectName ) );
+  }
+
+  @Test
+  public void testActivate_whenDisabled() {
+    metrics = new LifeCycleMetrics( false, new TextSizeStorage() );
+
+    metrics.activate( "/test" );
+
+    assertNull( metrics.getObjectName() );
+  }
+
+  @Test
+  public void testDeactivate_unregistersMXBean() {
+    metrics.activate( "/test" );
+    ObjectName objectName = metrics.getObjectName();
+
+    metrics.deactivate();
+
+    assertFalse( getMBeanServer().isRegistered( objectName ) );
+  }
+
+  @Test
+  public void testRequestMetrics_isRequestScoped() {
+    RequestMetricsImpl requestMetrics = RequestMetricsImpl.getInstance();
+
+    assertSame( requestMetrics, RequestMetricsImpl.getInstance() );
+  }
+
+  private static MBeanServer getMBeanServer() {
+    return ManagementFactory.getPlatformMBeanServer();
+  }
+
+}
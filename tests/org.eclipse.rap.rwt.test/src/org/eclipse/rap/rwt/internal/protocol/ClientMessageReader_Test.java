@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.protocol;
+
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageReader.readClientMessage;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonReader;
+import org.eclipse.rap.rwt.internal.protocol.Operation.CallOperation;
+import org.eclipse.rap.rwt.internal.protocol.Operation.DestroyOperation;
+import org.eclipse.rap.rwt.internal.protocol.Operation.NotifyOperation;
+import org.eclipse.rap.rwt.internal.protocol.Operation.SetOperation;
+import org.junit.Test;
+
+
+public class ClientMessageReader_Test {
+
+  @Test( expected = NullPointerException.class )
+  public void testReadClientMessage_withNull() throws IOException {
+    readClientMessage( null );
+  }
+
+  @Test
+  public void testReadClientMessage_readsHead() throws IOException {
+    ClientMessage message = read( "{ \"head\": { \"requestCounter\": 3 }, \"operations\": [] }" );
+
+    assertEquals( new JsonObject().add( "requestCounter", 3 ), message.getHead() );
+    assertTrue( message.getOperations().isEmpty() );
+  }
+
+  @Test
+  public void testReadClientMessage_readsOperations() throws IOException {
+    ClientMessage message = read( "{ \"head\": {}, \"operations\": ["
+                                + "[ \"set\", \"w3\", { \"foo\": 23 } ],"
+                                + "[ \"notify\", \"w3\", \"Selection\", {} ],"
+                                + "[ \"call\", \"w4\", \"method\", { \"bar\": true } ],"
+                                + "[ \"destroy\", \"w5\" ]"
+                                + "] }" );
+
+    List<Operation> operations = message.getOperations();
+    assertEquals( 4, operations.size() );
+    SetOperation setOperation = ( SetOperation )operations.get( 0 );
+    assertEquals( "w3", setOperation.getTarget() );
+    assertEquals( 23, setOperation.getProperties().get( "foo" ).asInt() );
+    assertEquals( "Selection", ( ( NotifyOperation )operations.get( 1 ) ).getEventName() );
+    assertEquals( "method", ( ( CallOperation )operations.get( 2 ) ).getMethodName() );
+    assertTrue( operations.get( 3 ) instanceof DestroyOperation );
+  }
+
+  @Test
+  public void testReadClientMessage_equalsMessageReadFromJsonObject() throws IOException {
+    String json = "{ \"operations\": ["
+                + "[ \"set\", \"w3\", { \"foo\": [ 1, 2 ] } ],"
+                + "[ \"listen\", \"w3\", { \"Selection\": true } ]"
+                + "], \"head\": { \"requestCounter\": 1 } }";
+
+    ClientMessage message = read( json );
+
+    assertEquals( new ClientMessage( JsonObject.readFrom( json ) ).toJson(), message.toJson() );
+  }
+
+  @Test
+  public void testReadClientMessage_createsIndex() throws IOException {
+    ClientMessage message = read( "{ \"head\": {}, \"operations\": ["
+                                + "[ \"set\", \"w3\", { \"foo\": 23 } ]"
+                                + "] }" );
+
+    assertEquals( 1, message.getAllOperationsFor( "w3" ).size() );
+  }
+
+  @Test
+  public void testReadClientMessage_ignoresUnknownMembers() throws IOException {
+    ClientMessage message = read( "{ \"foo\": [ {} ], \"head\": {}, \"operations\": [] }" );
+
+    assertTrue( message.getOperations().isEmpty() );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testReadClientMessage_withoutHead() throws IOException {
+    read( "{ \"operations\": [] }" );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testReadClientMessage_withoutOperations() throws IOException {
+    read( "{ \"head\": {} }" );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testReadClientMessage_withUnknownOperationType() throws IOException {
+    read( "{ \"head\": {}, \"operations\": [ [ \"unknown\", \"w3\" ] ] }" );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testReadClientMessage_withMissingProperties() throws IOException {
+    read( "{ \"head\": {}, \"operations\": [ [ \"set\", \"w3\" ] ] }" );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testReadClientMessage_withInvalidProperties() throws IOException {
+    read( "{ \"head\": {}, \"operations\": [ [ \"set\", \"w3\", 23 ] ] }" );
+  }
+
+  private static ClientMessage read( String json ) throws IOException {
+    return readClientMessage( new JsonReader( new StringReader( json ) ) );
+  }
+
+}
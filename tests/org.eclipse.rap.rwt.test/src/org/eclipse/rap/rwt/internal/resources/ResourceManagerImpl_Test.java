@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -32,6 +32,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.service.ResourceLoader;
 import org.eclipse.rap.rwt.testfixture.internal.FileUtil;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
@@ -56,6 +57,7 @@ public class ResourceManagerImpl_Test {
     File path = new File( getWebContextDirectory(), ResourceDirectory.DIRNAME );
     FileUtil.delete( path );
     Fixture.tearDown();
+    System.getProperties().remove( RWTProperties.RESOURCE_SERVICE );
   }
 
   @Test
@@ -354,6 +356,55 @@ public class ResourceManagerImpl_Test {
     assertEquals( "rwt-resources/http$1//host$1port/path$$1", location );
   }
 
+  @Test
+  public void testGetLocation_withResourceService() {
+    System.setProperty( RWTProperties.RESOURCE_SERVICE, "true" );
+    resourceManager = new ResourceManagerImpl( getApplicationContext().getResourceDirectory() );
+    String path = "path/to/resource file";
+    resourceManager.register( path, createInputStream() );
+
+    String location = resourceManager.getLocation( path );
+
+    String hash = resourceManager.getStaticResource( path ).getHash();
+    String expected = "?servicehandler=org.eclipse.rap.resources"
+                    + "&path=path%2Fto%2Fresource%20file"
+                    + "&v=" + hash;
+    assertEquals( expected, location );
+  }
+
+  @Test
+  public void testRegister_withResourceService_writesToDisk() throws IOException {
+    System.setProperty( RWTProperties.RESOURCE_SERVICE, "true" );
+    resourceManager = new ResourceManagerImpl( getApplicationContext().getResourceDirectory() );
+    String path = "path/to/resource";
+
+    resourceManager.register( path, createInputStream() );
+
+    InputStream content = resourceManager.getRegisteredContent( path );
+    assertArrayEquals( new byte[] { 1, 2, 3 }, read( getResourceCopyFile( path ) ) );
+    assertArrayEquals( new byte[] { 1, 2, 3 }, read( content ) );
+  }
+
+  @Test
+  public void testUnregister_withResourceService() {
+    System.setProperty( RWTProperties.RESOURCE_SERVICE, "true" );
+    resourceManager = new ResourceManagerImpl( getApplicationContext().getResourceDirectory() );
+    String path = "path/to/resource";
+    resourceManager.register( path, createInputStream() );
+
+    resourceManager.unregister( path );
+
+    assertNull( resourceManager.getStaticResource( path ) );
+  }
+
+  @Test
+  public void testGetStaticResource_withoutResourceService() {
+    String path = "path/to/resource";
+    resourceManager.register( path, createInputStream() );
+
+    assertNull( resourceManager.getStaticResource( path ) );
+  }
+
   @Test
   public void testRegisterOnceWithEmptyPath() {
     try {
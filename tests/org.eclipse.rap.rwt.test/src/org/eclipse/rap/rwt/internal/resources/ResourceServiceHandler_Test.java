@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.resources;
+
+import static org.eclipse.rap.rwt.internal.resources.StaticResource_Test.createContent;
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.testfixture.internal.FileUtil;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.rap.rwt.testfixture.internal.TestRequest;
+import org.eclipse.rap.rwt.testfixture.internal.TestResponse;
+import org.eclipse.rap.rwt.testfixture.internal.TestServletOutputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class ResourceServiceHandler_Test {
+
+  private static final String PATH = "foo/bar.js";
+
+  private byte[] content;
+  private ResourceManagerImpl resourceManager;
+  private ResourceServiceHandler handler;
+  private TestRequest request;
+  private TestResponse response;
+
+  @Before
+  public void setUp() {
+    System.setProperty( RWTProperties.RESOURCE_SERVICE, "true" );
+    Fixture.setUp();
+    ResourceDirectory resourceDirectory = getApplicationContext().getResourceDirectory();
+    resourceManager = new ResourceManagerImpl( resourceDirectory );
+    content = createContent( 5000 );
+    resourceManager.register( PATH, new ByteArrayInputStream( content ) );
+    handler = new ResourceServiceHandler( resourceManager );
+    request = new TestRequest();
+    request.setMethod( "GET" );
+    request.setParameter( ResourceServiceHandler.PARAM_PATH, PATH );
+    request.setParameter( ResourceServiceHandler.PARAM_VERSION, getHash() );
+    response = new TestResponse();
+  }
+
+  @After
+  public void tearDown() {
+    File path = new File( Fixture.WEB_CONTEXT_DIR, ResourceDirectory.DIRNAME );
+    FileUtil.delete( path );
+    Fixture.tearDown();
+    System.getProperties().remove( RWTProperties.RESOURCE_SERVICE );
+  }
+
+  @Test
+  public void testService_sendsContent() throws IOException {
+    handler.service( request, response );
+
+    assertEquals( 0, response.getErrorStatus() );
+    assertEquals( "application/javascript", response.getContentType() );
+    assertEquals( "\"" + getHash() + "\"", response.getHeader( "ETag" ) );
+    assertEquals( "bytes", response.getHeader( "Accept-Ranges" ) );
+    assertNull( response.getHeader( "Content-Encoding" ) );
+    assertArrayEquals( content, getResponseContent() );
+  }
+
+  @Test
+  public void testService_withCurrentVersion_isImmutable() throws IOException {
+    handler.service( request, response );
+
+    String cacheControl = response.getHeader( "Cache-Control" );
+    assertEquals( "public, max-age=31536000, immutable", cacheControl );
+  }
+
+  @Test
+  public void testService_withOutdatedVersion_requiresRevalidation() throws IOException {
+    request.setParameter( ResourceServiceHandler.PARAM_VERSION, "outdated" );
+
+    handler.service( request, response );
+
+    assertEquals( "no-cache", response.getHeader( "Cache-Control" ) );
+    assertArrayEquals( content, getResponseContent() );
+  }
+
+  @Test
+  public void testService_withGzip() throws IOException {
+    request.setHeader( "Accept-Encoding", "deflate, gzip" );
+
+    handler.service( request, response );
+
+    assertEquals( "gzip", response.getHeader( "Content-Encoding" ) );
+    assertEquals( "Accept-Encoding", response.getHeader( "Vary" ) );
+    assertEquals( "\"" + getHash() + "-gzip\"", response.getHeader( "ETag" ) );
+    byte[] gzipContent = resourceManager.getStaticResource( PATH ).getGzipContent();
+    assertArrayEquals( gzipContent, getResponseContent() );
+  }
+
+  @Test
+  public void testService_withGzipRejected() throws IOException {
+    request.setHeader( "Accept-Encoding", "gzip;q=0" );
+
+    handler.service( request, response );
+
+    assertNull( response.getHeader( "Content-Encoding" ) );
+    assertArrayEquals( content, getResponseContent() );
+  }
+
+  @Test
+  public void testService_withMatchingETag() throws IOException {
+    request.setHeader( "If-None-Match", "\"other\", \"" + getHash() + "\"" );
+
+    handler.service( request, response );
+
+    assertEquals( HttpServletResponse.SC_NOT_MODIFIED, response.getStatus() );
+    assertEquals( 0, getResponseContent().length );
+  }
+
+  @Test
+  public void testService_withMatchingGzipETag() throws IOException {
+    request.setHeader( "Accept-Encoding", "gzip" );
+    request.setHeader( "If-None-Match", "\"" + getHash() + "-gzip\"" );
+
+    handler.service( request, response );
+
+    assertEquals( HttpServletResponse.SC_NOT_MODIFIED, response.getStatus() );
+  }
+
+  @Test
+  public void testService_withDifferentETag() throws IOException {
+    request.setHeader( "If-None-Match", "\"other\"" );
+
+    handler.service( request, response );
+
+    assertEquals( 0, response.getStatus() );
+    assertArrayEquals( content, getResponseContent() );
+  }
+
+  @Test
+  public void testService_withRange() throws IOException {
+    request.setHeader( "Accept-Encoding", "gzip" );
+    request.setHeader( "Range", "bytes=100-199" );
+
+    handler.service( request, response );
+
+    assertEquals( HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus() );
+    assertEquals( "bytes 100-199/5000", response.getHeader( "Content-Range" ) );
+    assertNull( response.getHeader( "Content-Encoding" ) );
+    assertArrayEquals( Arrays.copyOfRange( content, 100, 200 ), getResponseContent() );
+  }
+
+  @Test
+  public void testService_withOutdatedIfRange() throws IOException {
+    request.setHeader( "Range", "bytes=100-199" );
+    request.setHeader( "If-Range", "\"other\"" );
+
+    handler.service( request, response );
+
+    assertEquals( 0, response.getStatus() );
+    assertArrayEquals( content, getResponseContent() );
+  }
+
+  @Test
+  public void testService_withUnsatisfiableRange() throws IOException {
+    request.setHeader( "Range", "bytes=6000-" );
+
+    handler.service( request, response );
+
+    assertEquals( HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE,
+                  response.getErrorStatus() );
+    assertEquals( "bytes */5000", response.getHeader( "Content-Range" ) );
+  }
+
+  @Test
+  public void testService_withHeadRequest() throws IOException {
+    request.setMethod( "HEAD" );
+
+    handler.service( request, response );
+
+    assertEquals( 0, response.getErrorStatus() );
+    assertEquals( "\"" + getHash() + "\"", response.getHeader( "ETag" ) );
+    assertEquals( 0, getResponseContent().length );
+  }
+
+  @Test
+  public void testService_withPostRequest() throws IOException {
+    request.setMethod( "POST" );
+
+    handler.service( request, response );
+
+    assertEquals( HttpServletResponse.SC_METHOD_NOT_ALLOWED, response.getErrorStatus() );
+  }
+
+  @Test
+  public void testService_withUnknownResource() throws IOException {
+    request.setParameter( ResourceServiceHandler.PARAM_PATH, "unknown.js" );
+
+    handler.service( request, response );
+
+    assertEquals( HttpServletResponse.SC_NOT_FOUND, response.getErrorStatus() );
+  }
+
+  @Test
+  public void testParseRange() {
+    int[] lastBytes = new int[] { 90, 99 };
+
+    assertArrayEquals( new int[] { 0, 9 }, ResourceServiceHandler.parseRange( "bytes=0-9", 100 ) );
+    assertArrayEquals( lastBytes, ResourceServiceHandler.parseRange( "bytes=90-", 100 ) );
+    assertArrayEquals( lastBytes, ResourceServiceHandler.parseRange( "bytes=-10", 100 ) );
+    assertArrayEquals( lastBytes, ResourceServiceHandler.parseRange( "bytes=90-200", 100 ) );
+  }
+
+  @Test
+  public void testParseRange_ignoresInvalidRanges() {
+    assertNull( ResourceServiceHandler.parseRange( "bytes=9-0", 100 ) );
+    assertNull( ResourceServiceHandler.parseRange( "bytes=0-9,20-29", 100 ) );
+    assertNull( ResourceServiceHandler.parseRange( "items=0-9", 100 ) );
+    assertNull( ResourceServiceHandler.parseRange( "bytes=a-b", 100 ) );
+  }
+
+  @Test
+  public void testParseRange_withUnsatisfiableRange() {
+    assertEquals( 0, ResourceServiceHandler.parseRange( "bytes=100-", 100 ).length );
+    assertEquals( 0, ResourceServiceHandler.parseRange( "bytes=-0", 100 ).length );
+  }
+
+  private String getHash() {
+    return resourceManager.getStaticResource( PATH ).getHash();
+  }
+
+  private byte[] getResponseContent() throws IOException {
+    return ( ( TestServletOutputStream )response.getOutputStream() ).getContent().toByteArray();
+  }
+
+}
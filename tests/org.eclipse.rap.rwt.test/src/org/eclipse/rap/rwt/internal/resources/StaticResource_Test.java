@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.resources;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+
+
+public class StaticResource_Test {
+
+  @Test
+  public void testGetContent() {
+    byte[] content = createContent( 10 );
+
+    StaticResource resource = new StaticResource( "foo.js", content );
+
+    assertArrayEquals( content, resource.getContent() );
+  }
+
+  @Test
+  public void testGetContentType() {
+    assertEquals( "application/javascript", StaticResource.getContentType( "foo/bar.js" ) );
+    assertEquals( "text/css", StaticResource.getContentType( "foo.CSS" ) );
+    assertEquals( "image/png", StaticResource.getContentType( "foo.png" ) );
+    assertEquals( "application/octet-stream", StaticResource.getContentType( "foo" ) );
+  }
+
+  @Test
+  public void testGetHash_isSameForSameContent() {
+    StaticResource resource1 = new StaticResource( "foo.js", createContent( 10 ) );
+    StaticResource resource2 = new StaticResource( "bar.js", createContent( 10 ) );
+
+    assertEquals( 20, resource1.getHash().length() );
+    assertEquals( resource1.getHash(), resource2.getHash() );
+  }
+
+  @Test
+  public void testGetHash_differsForDifferentContent() {
+    StaticResource resource1 = new StaticResource( "foo.js", createContent( 10 ) );
+    StaticResource resource2 = new StaticResource( "foo.js", createContent( 11 ) );
+
+    assertFalse( resource1.getHash().equals( resource2.getHash() ) );
+  }
+
+  @Test
+  public void testGetGzipContent() throws IOException {
+    byte[] content = createContent( 5000 );
+
+    StaticResource resource = new StaticResource( "foo.js", content );
+
+    assertNotNull( resource.getGzipContent() );
+    assertTrue( resource.getGzipContent().length < content.length );
+    assertArrayEquals( content, decompress( resource.getGzipContent() ) );
+  }
+
+  @Test
+  public void testGetGzipContent_withSmallContent() {
+    StaticResource resource = new StaticResource( "foo.js", createContent( 100 ) );
+
+    assertNull( resource.getGzipContent() );
+  }
+
+  @Test
+  public void testGetGzipContent_withBinaryContent() {
+    StaticResource resource = new StaticResource( "foo.png", createContent( 5000 ) );
+
+    assertNull( resource.getGzipContent() );
+  }
+
+  static byte[] createContent( int length ) {
+    byte[] result = new byte[ length ];
+    for( int i = 0; i < length; i++ ) {
+      result[ i ] = ( byte )( 'a' + i % 26 );
+    }
+    return result;
+  }
+
+  private static byte[] decompress( byte[] content ) throws IOException {
+    GZIPInputStream stream = new GZIPInputStream( new ByteArrayInputStream( content ) );
+    try {
+      return ResourceUtil.readBinary( stream );
+    } finally {
+      stream.close();
+    }
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -19,6 +19,8 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -28,12 +30,15 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 import javax.servlet.http.HttpSessionBindingListener;
 
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
 import org.eclipse.rap.rwt.internal.lifecycle.ProcessActionRunner;
+import org.eclipse.rap.rwt.internal.metrics.LifeCycleMetrics;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.ServiceContext;
 import org.eclipse.rap.rwt.internal.service.ServiceStore;
@@ -552,6 +557,83 @@ public class ServerPushManager_Test {
     assertNotNull( response.getHeader( "Expires" ) );
   }
 
+  @Test
+  public void testProcessAsyncRequest_parksRequest() {
+    manager.activateServerPushFor( HANDLE_1 );
+    HttpServletRequest request = mockAsyncRequest( mock( AsyncContext.class ) );
+
+    manager.processAsyncRequest( request );
+
+    verify( request ).startAsync();
+    assertTrue( manager.isCallBackRequestBlocked() );
+  }
+
+  @Test
+  public void testProcessAsyncRequest_withoutActivation() {
+    HttpServletRequest request = mockAsyncRequest( mock( AsyncContext.class ) );
+
+    manager.processAsyncRequest( request );
+
+    verify( request, never() ).startAsync();
+    assertFalse( manager.isCallBackRequestBlocked() );
+  }
+
+  @Test
+  public void testProcessAsyncRequest_completesPreviousRequest() {
+    manager.activateServerPushFor( HANDLE_1 );
+    AsyncContext firstContext = mock( AsyncContext.class );
+    AsyncContext secondContext = mock( AsyncContext.class );
+    manager.processAsyncRequest( mockAsyncRequest( firstContext ) );
+
+    manager.processAsyncRequest( mockAsyncRequest( secondContext ) );
+
+    verify( firstContext ).complete();
+    verify( secondContext, never() ).complete();
+    assertTrue( manager.isCallBackRequestBlocked() );
+  }
+
+  @Test
+  public void testWakeClient_completesAsyncRequest() {
+    manager.activateServerPushFor( HANDLE_1 );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    manager.processAsyncRequest( mockAsyncRequest( asyncContext ) );
+
+    manager.setHasRunnables( true );
+    manager.wakeClient();
+
+    verify( asyncContext ).complete();
+    assertFalse( manager.isCallBackRequestBlocked() );
+  }
+
+  @Test
+  public void testReleaseBlockedRequest_keepsAsyncRequestWithoutRunnables() {
+    manager.activateServerPushFor( HANDLE_1 );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    manager.processAsyncRequest( mockAsyncRequest( asyncContext ) );
+
+    manager.releaseBlockedRequest();
+
+    verify( asyncContext, never() ).complete();
+    assertTrue( manager.isCallBackRequestBlocked() );
+  }
+
+  @Test
+  public void testDeactivateServerPush_completesAsyncRequest() {
+    manager.activateServerPushFor( HANDLE_1 );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    manager.processAsyncRequest( mockAsyncRequest( asyncContext ) );
+
+    manager.deactivateServerPushFor( HANDLE_1 );
+
+    verify( asyncContext ).complete();
+  }
+
+  private static HttpServletRequest mockAsyncRequest( AsyncContext asyncContext ) {
+    HttpServletRequest request = mock( HttpServletRequest.class );
+    when( request.startAsync() ).thenReturn( asyncContext );
+    return request;
+  }
+
   private void simulateBackgroundAddition( final ServiceContext serviceContext ) throws Throwable {
     Runnable runnable = new Runnable() {
       @Override
@@ -601,7 +683,9 @@ public class ServerPushManager_Test {
   private static ServiceContext createServiceContext( TestResponse response ) {
     UISession uiSession = ContextProvider.getContext().getUISession();
     TestRequest request = new TestRequest();
+    LifeCycleMetrics metrics = ContextProvider.getApplicationContext().getLifeCycleMetrics();
     ApplicationContextImpl applicationContext = mock( ApplicationContextImpl.class );
+    when( applicationContext.getLifeCycleMetrics() ).thenReturn( metrics );
     ServiceContext serviceContext = new ServiceContext( request, response, applicationContext );
     serviceContext.setServiceStore( new ServiceStore() );
     serviceContext.setUISession( uiSession );
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.serverpush;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.rap.rwt.testfixture.internal.TestServletContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class ServerPushServiceHandler_Test {
+
+  private ServerPushServiceHandler serviceHandler;
+  private HttpServletRequest request;
+  private HttpServletResponse response;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    System.setProperty( RWTProperties.ASYNC_SERVER_PUSH, "true" );
+    serviceHandler = new ServerPushServiceHandler();
+    request = mock( HttpServletRequest.class );
+    response = mock( HttpServletResponse.class );
+  }
+
+  @After
+  public void tearDown() {
+    System.getProperties().remove( RWTProperties.ASYNC_SERVER_PUSH );
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testService_doesNotUseAsyncApiBeforeServlet30() throws IOException {
+    setServletVersion( 2 );
+    ServerPushManager.getInstance().activateServerPushFor( "handle" );
+    ServerPushManager.getInstance().setHasRunnables( true );
+
+    serviceHandler.service( request, response );
+
+    verify( request, never() ).isAsyncSupported();
+    verify( request, never() ).startAsync();
+  }
+
+  @Test
+  public void testService_startsAsyncProcessingWithServlet30() throws IOException {
+    setServletVersion( 3 );
+    when( Boolean.valueOf( request.isAsyncSupported() ) ).thenReturn( Boolean.TRUE );
+    when( request.startAsync() ).thenReturn( mock( AsyncContext.class ) );
+    ServerPushManager.getInstance().activateServerPushFor( "handle" );
+
+    serviceHandler.service( request, response );
+
+    verify( request ).startAsync();
+  }
+
+  @Test
+  public void testService_withoutAsyncSupport() throws IOException {
+    setServletVersion( 3 );
+    ServerPushManager.getInstance().activateServerPushFor( "handle" );
+    ServerPushManager.getInstance().setHasRunnables( true );
+
+    serviceHandler.service( request, response );
+
+    verify( request ).isAsyncSupported();
+    verify( request, never() ).startAsync();
+  }
+
+  private static void setServletVersion( int majorVersion ) {
+    TestServletContext servletContext
+      = ( TestServletContext )ContextProvider.getApplicationContext().getServletContext();
+    servletContext.setVersion( majorVersion, 0 );
+  }
+
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.rap.rwt.internal.service.PrecompiledStartupPage.Content;
+import org.eclipse.rap.rwt.internal.service.StartupPageTemplate.VariableWriter;
+import org.eclipse.rap.rwt.internal.util.HTTP;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class PrecompiledStartupPage_Test {
+
+  private MapVariableWriter variableWriter;
+
+  @Before
+  public void setUp() {
+    variableWriter = new MapVariableWriter();
+    variableWriter.values.put( "static", "st\u00e4tic" );
+    variableWriter.values.put( "dynamic", "dyn\u00e4mic" );
+  }
+
+  @Test
+  public void testRender() throws IOException {
+    PrecompiledStartupPage page = createPage( "<a ${static} b ${dynamic} c/>" );
+
+    Content content = page.render( variableWriter );
+
+    assertEquals( "<a st\u00e4tic b dyn\u00e4mic c/>", toString( content ) );
+    assertEquals( content.getLength(), toString( content ).getBytes( HTTP.CHARSET_UTF_8 ).length );
+  }
+
+  @Test
+  public void testRender_keepsStaticVariables() throws IOException {
+    PrecompiledStartupPage page = createPage( "${static}|${dynamic}" );
+    variableWriter.values.put( "static", "changed" );
+    variableWriter.values.put( "dynamic", "changed" );
+
+    Content content = page.render( variableWriter );
+
+    assertEquals( "st\u00e4tic|changed", toString( content ) );
+  }
+
+  @Test
+  public void testRender_sameContentHasSameETag() {
+    PrecompiledStartupPage page = createPage( "<a ${static} ${dynamic}/>" );
+
+    String eTag = page.render( variableWriter ).getETag();
+
+    assertEquals( eTag, page.render( variableWriter ).getETag() );
+    PrecompiledStartupPage otherPage = createPage( "<a ${static} ${dynamic}/>" );
+    assertEquals( eTag, otherPage.render( variableWriter ).getETag() );
+  }
+
+  @Test
+  public void testRender_changedDynamicVariableChangesETag() {
+    PrecompiledStartupPage page = createPage( "<a ${static} ${dynamic}/>" );
+    String eTag = page.render( variableWriter ).getETag();
+    variableWriter.values.put( "dynamic", "changed" );
+
+    assertFalse( eTag.equals( page.render( variableWriter ).getETag() ) );
+  }
+
+  @Test
+  public void testRender_changedStaticPartChangesETag() {
+    String eTag = createPage( "<a ${static} ${dynamic}/>" ).render( variableWriter ).getETag();
+
+    PrecompiledStartupPage page = createPage( "<b ${static} ${dynamic}/>" );
+
+    assertFalse( eTag.equals( page.render( variableWriter ).getETag() ) );
+  }
+
+  private PrecompiledStartupPage createPage( String template ) {
+    return new PrecompiledStartupPage( new StartupPageTemplate( template ),
+                                       variableWriter,
+                                       Arrays.asList( "dynamic" ) );
+  }
+
+  private static String toString( Content content ) throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    content.writeTo( outputStream );
+    return outputStream.toString( HTTP.CHARSET_UTF_8 );
+  }
+
+  private static class MapVariableWriter implements VariableWriter {
+
+    final Map<String, String> values = new HashMap<>();
+
+    @Override
+    public void writeVariable( PrintWriter printWriter, String variableName ) {
+      printWriter.write( values.get( variableName ) );
+    }
+
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,24 +14,31 @@ package org.eclipse.rap.rwt.internal.service;
 
 import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
+import java.io.PrintWriter;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.rap.rwt.client.WebClient;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.lifecycle.EntryPointManager;
 import org.eclipse.rap.rwt.internal.lifecycle.TestEntryPoint;
 import org.eclipse.rap.rwt.internal.theme.CssImage;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.rap.rwt.testfixture.internal.TestRequest;
 import org.eclipse.rap.rwt.testfixture.internal.TestResponse;
 import org.junit.After;
 import org.junit.Before;
@@ -56,6 +63,7 @@ public class StartupPage_Test {
   @After
   public void tearDown() {
     Fixture.tearDown();
+    System.getProperties().remove( RWTProperties.STARTUP_PAGE_CACHE );
   }
 
   @Test
@@ -285,6 +293,95 @@ public class StartupPage_Test {
     assertEquals( tag, response.getContent().trim() );
   }
 
+  @Test
+  public void testSend_precompiledPageEqualsWrittenPage() throws IOException {
+    registerEntryPoint( WebClient.PAGE_TITLE, "title" );
+    startupPage.activate();
+    startupPage.send( response );
+    System.setProperty( RWTProperties.STARTUP_PAGE_CACHE, "true" );
+    TestResponse precompiledResponse = new TestResponse();
+
+    startupPage.send( precompiledResponse );
+
+    assertEquals( response.getContent(), precompiledResponse.getContent() );
+  }
+
+  @Test
+  public void testSend_precompiledPageAllowsRevalidation() throws IOException {
+    System.setProperty( RWTProperties.STARTUP_PAGE_CACHE, "true" );
+    startupPage.activate();
+    mockTemplate( "<some html>" );
+
+    startupPage.send( response );
+
+    assertEquals( "text/html; charset=UTF-8", response.getHeader( "Content-Type" ) );
+    assertFalse( response.getHeader( "Cache-Control" ).contains( "no-store" ) );
+    assertTrue( response.getHeader( "Cache-Control" ).contains( "no-cache" ) );
+    assertNotNull( response.getHeader( "ETag" ) );
+    assertEquals( "<some html>", response.getContent() );
+  }
+
+  @Test
+  public void testSend_precompiledPageWritesStaticVariablesOnce() throws IOException {
+    System.setProperty( RWTProperties.STARTUP_PAGE_CACHE, "true" );
+    startupPage.activate();
+    mockTemplate(   variableFrom( StartupPageTemplate.TOKEN_TITLE )
+                  + variableFrom( StartupPageTemplate.TOKEN_NO_SCRIPT_MESSAGE ) );
+
+    startupPage.send( response );
+    startupPage.send( new TestResponse() );
+
+    verify( startupPage, times( 1 ) ).writeTitle( any( PrintWriter.class ) );
+    verify( startupPage, times( 2 ) ).writeNoScriptMessage( any( PrintWriter.class ) );
+  }
+
+  @Test
+  public void testSend_precompiledPageIsDiscardedWhenLibraryIsAdded() throws IOException {
+    System.setProperty( RWTProperties.STARTUP_PAGE_CACHE, "true" );
+    startupPage.activate();
+    mockTemplate( variableFrom( StartupPageTemplate.TOKEN_LIBRARIES ) );
+    startupPage.send( new TestResponse() );
+
+    startupPage.addJsLibrary( "library.js" );
+    startupPage.send( response );
+
+    assertTrue( response.getContent().contains( "library.js" ) );
+  }
+
+  @Test
+  public void testSend_precompiledPageWithMatchingETag() throws IOException {
+    System.setProperty( RWTProperties.STARTUP_PAGE_CACHE, "true" );
+    startupPage.activate();
+    mockTemplate( "<some html>" );
+    startupPage.send( response );
+    TestRequest request = ( TestRequest )ContextProvider.getRequest();
+    request.setHeader( "If-None-Match", "\"other\", " + response.getHeader( "ETag" ) );
+    TestResponse conditionalResponse = new TestResponse();
+
+    startupPage.send( conditionalResponse );
+
+    assertEquals( 304, conditionalResponse.getStatus() );
+    assertEquals( response.getHeader( "ETag" ), conditionalResponse.getHeader( "ETag" ) );
+    assertEquals( "", conditionalResponse.getContent() );
+  }
+
+  @Test
+  public void testSend_precompiledPageWithOutdatedETag() throws IOException {
+    System.setProperty( RWTProperties.STARTUP_PAGE_CACHE, "true" );
+    startupPage.activate();
+    mockTemplate( variableFrom( StartupPageTemplate.TOKEN_LIBRARIES ) );
+    startupPage.send( response );
+    TestRequest request = ( TestRequest )ContextProvider.getRequest();
+    request.setHeader( "If-None-Match", response.getHeader( "ETag" ) );
+    startupPage.addJsLibrary( "library.js" );
+    TestResponse conditionalResponse = new TestResponse();
+
+    startupPage.send( conditionalResponse );
+
+    assertEquals( 0, conditionalResponse.getStatus() );
+    assertTrue( conditionalResponse.getContent().contains( "library.js" ) );
+  }
+
   private void mockTemplate( String template ) {
     startupPage.startupPageTemplate = new StartupPageTemplate( template );
   }
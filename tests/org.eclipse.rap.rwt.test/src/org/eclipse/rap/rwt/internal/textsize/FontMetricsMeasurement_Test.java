@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.textsize;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Point;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class FontMetricsMeasurement_Test {
+
+  private static final FontData FONT_DATA = new FontData( "Dialog", 12, SWT.NORMAL );
+
+  private FontMetricsMeasurement measurement;
+
+  @Before
+  public void setUp() {
+    measurement = new FontMetricsMeasurement();
+  }
+
+  @Test( expected = NullPointerException.class )
+  public void testAddFont_withNullFont() {
+    measurement.addFont( ( java.awt.Font )null );
+  }
+
+  @Test
+  public void testCanMeasure_withoutFonts() {
+    assertFalse( measurement.canMeasure( FONT_DATA ) );
+  }
+
+  @Test
+  public void testCanMeasure_withAddedFont() {
+    measurement.addFont( createFont() );
+
+    assertTrue( measurement.canMeasure( FONT_DATA ) );
+  }
+
+  @Test
+  public void testCanMeasure_ignoresCaseAndQuotes() {
+    measurement.addFont( createFont() );
+
+    assertTrue( measurement.canMeasure( new FontData( "'dialog'", 12, SWT.NORMAL ) ) );
+  }
+
+  @Test
+  public void testCanMeasure_usesFirstFamilyOnly() {
+    measurement.addFont( createFont() );
+
+    assertTrue( measurement.canMeasure( new FontData( "Dialog, Arial", 12, SWT.NORMAL ) ) );
+    assertFalse( measurement.canMeasure( new FontData( "Arial, Dialog", 12, SWT.NORMAL ) ) );
+  }
+
+  @Test
+  public void testMeasure_withUnknownFont() {
+    FontData fontData = new FontData( "Arial", 12, SWT.NORMAL );
+
+    assertNull( measurement.measure( fontData, "foo", SWT.DEFAULT, TextSizeUtil.STRING_EXTENT ) );
+  }
+
+  @Test
+  public void testMeasure_withMarkup() {
+    measurement.addFont( createFont() );
+
+    assertNull( measurement.measure( FONT_DATA, "foo", SWT.DEFAULT, TextSizeUtil.MARKUP_EXTENT ) );
+  }
+
+  @Test
+  public void testMeasure_stringExtent() {
+    measurement.addFont( createFont() );
+
+    Point shortSize = measureString( "foo" );
+    Point longSize = measureString( "foo bar" );
+
+    assertTrue( shortSize.x > 0 );
+    assertTrue( longSize.x > shortSize.x );
+    assertEquals( shortSize.y, longSize.y );
+    assertEquals( measurement.getCharHeight( FONT_DATA ), shortSize.y );
+  }
+
+  @Test
+  public void testMeasure_stringExtentDoesNotExpandLineBreaks() {
+    measurement.addFont( createFont() );
+
+    Point size = measureString( "foo\nbar" );
+
+    assertEquals( measurement.getCharHeight( FONT_DATA ), size.y );
+  }
+
+  @Test
+  public void testMeasure_textExtentExpandsLineBreaks() {
+    measurement.addFont( createFont() );
+
+    Point size = measureText( "foo\nbar", SWT.DEFAULT );
+
+    assertEquals( 2 * measurement.getCharHeight( FONT_DATA ), size.y );
+  }
+
+  @Test
+  public void testMeasure_textExtentWrapsAtSpaces() {
+    measurement.addFont( createFont() );
+    Point lineSize = measureString( "foo bar" );
+
+    Point size = measureText( "foo bar", lineSize.x - 1 );
+
+    assertEquals( 2 * lineSize.y, size.y );
+    assertTrue( size.x < lineSize.x );
+  }
+
+  @Test
+  public void testMeasure_textExtentDoesNotWrapSingleWord() {
+    measurement.addFont( createFont() );
+    Point lineSize = measureString( "foobar" );
+
+    Point size = measureText( "foobar", 1 );
+
+    assertEquals( lineSize, size );
+  }
+
+  @Test
+  public void testMeasure_considersFontHeight() {
+    measurement.addFont( createFont() );
+    FontData bigFontData = new FontData( "Dialog", 24, SWT.NORMAL );
+
+    Point size = measureString( "foo" );
+    Point bigSize = measurement.measure( bigFontData, "foo", SWT.DEFAULT,
+                                         TextSizeUtil.STRING_EXTENT );
+
+    assertTrue( bigSize.x > size.x );
+    assertTrue( bigSize.y > size.y );
+  }
+
+  @Test
+  public void testGetAvgCharWidth() {
+    measurement.addFont( createFont() );
+
+    assertTrue( measurement.getAvgCharWidth( FONT_DATA ) > 0 );
+  }
+
+  private Point measureString( String string ) {
+    return measurement.measure( FONT_DATA, string, SWT.DEFAULT, TextSizeUtil.STRING_EXTENT );
+  }
+
+  private Point measureText( String string, int wrapWidth ) {
+    return measurement.measure( FONT_DATA, string, wrapWidth, TextSizeUtil.TEXT_EXTENT );
+  }
+
+  private static java.awt.Font createFont() {
+    return new java.awt.Font( "Dialog", java.awt.Font.PLAIN, 12 );
+  }
+
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.textsize;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Point;
+import org.junit.Test;
+
+
+public class TextSizeKey_Test {
+
+  private static final FontData FONT_DATA = new FontData( "arial", 10, SWT.NORMAL );
+  private static final ProbeResult PROBE_RESULT
+    = new ProbeResult( new Probe( FONT_DATA ), new Point( 100, 12 ) );
+
+  @Test
+  public void testEquals_withSameValues() {
+    TextSizeKey key = new TextSizeKey( PROBE_RESULT, FONT_DATA, "text", 100, 0 );
+    ProbeResult probeResult = new ProbeResult( new Probe( FONT_DATA ), new Point( 100, 12 ) );
+    FontData fontData = new FontData( "arial", 10, SWT.NORMAL );
+
+    TextSizeKey otherKey = new TextSizeKey( probeResult, fontData, new String( "text" ), 100, 0 );
+
+    assertEquals( key, otherKey );
+    assertEquals( key.hashCode(), otherKey.hashCode() );
+  }
+
+  @Test
+  public void testEquals_withDifferentString() {
+    TextSizeKey key = new TextSizeKey( PROBE_RESULT, FONT_DATA, "text", 100, 0 );
+
+    assertFalse( key.equals( new TextSizeKey( PROBE_RESULT, FONT_DATA, "other", 100, 0 ) ) );
+  }
+
+  @Test
+  public void testEquals_withDifferentFontData() {
+    TextSizeKey key = new TextSizeKey( PROBE_RESULT, FONT_DATA, "text", 100, 0 );
+    FontData fontData = new FontData( "arial", 12, SWT.NORMAL );
+
+    assertFalse( key.equals( new TextSizeKey( PROBE_RESULT, fontData, "text", 100, 0 ) ) );
+  }
+
+  @Test
+  public void testEquals_withDifferentWrapWidth() {
+    TextSizeKey key = new TextSizeKey( PROBE_RESULT, FONT_DATA, "text", 100, 0 );
+
+    assertFalse( key.equals( new TextSizeKey( PROBE_RESULT, FONT_DATA, "text", 101, 0 ) ) );
+  }
+
+  @Test
+  public void testEquals_withDifferentMode() {
+    TextSizeKey key = new TextSizeKey( PROBE_RESULT, FONT_DATA, "text", 100, 0 );
+
+    assertFalse( key.equals( new TextSizeKey( PROBE_RESULT, FONT_DATA, "text", 100, 1 ) ) );
+  }
+
+  @Test
+  public void testEquals_withDifferentProbeSize() {
+    TextSizeKey key = new TextSizeKey( PROBE_RESULT, FONT_DATA, "text", 100, 0 );
+    ProbeResult probeResult = new ProbeResult( new Probe( FONT_DATA ), new Point( 101, 12 ) );
+
+    assertFalse( key.equals( new TextSizeKey( probeResult, FONT_DATA, "text", 100, 0 ) ) );
+  }
+
+  @Test
+  public void testEquals_withDifferentProbeText() {
+    TextSizeKey key = new TextSizeKey( PROBE_RESULT, FONT_DATA, "text", 100, 0 );
+    ProbeResult probeResult
+      = new ProbeResult( new Probe( "probe", FONT_DATA ), new Point( 100, 12 ) );
+
+    assertFalse( key.equals( new TextSizeKey( probeResult, FONT_DATA, "text", 100, 0 ) ) );
+  }
+
+  @Test
+  public void testEquals_withOtherType() {
+    TextSizeKey key = new TextSizeKey( PROBE_RESULT, FONT_DATA, "text", 100, 0 );
+
+    assertFalse( key.equals( "text" ) );
+    assertFalse( key.equals( null ) );
+  }
+
+}
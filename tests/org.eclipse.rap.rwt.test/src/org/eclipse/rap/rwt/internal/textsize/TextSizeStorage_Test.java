@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 Frank Appel and others.
+ * Copyright (c) 2011, 2016 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -31,8 +31,8 @@ import org.junit.Test;
 public class TextSizeStorage_Test {
   private static final FontData FONT_DATA_1 = new FontData( "arial", 10, SWT.NORMAL );
   private static final FontData FONT_DATA_2 = new FontData( "helvetia", 12, SWT.NORMAL );
-  private static final Integer KEY_FIRST = new Integer( 0 );
-  private static final Integer KEY_OVERFLOW = new Integer( Integer.MAX_VALUE );
+  private static final TextSizeKey KEY_FIRST = createKey( 0 );
+  private static final TextSizeKey KEY_OVERFLOW = createKey( Integer.MAX_VALUE );
   private static final Point SIZE_FIRST = new Point( 0, 0 );
   private static final Point SIZE_OVERFLOW = new Point( -1, -1 );
 
@@ -62,7 +62,7 @@ public class TextSizeStorage_Test {
 
   @Test
   public void testTextSizeStorage() {
-    Integer key = new Integer( 1 );
+    TextSizeKey key = createKey( 1 );
     Point size = new Point( 1, 4 );
     storage.storeTextSize( key, size );
 
@@ -84,6 +84,36 @@ public class TextSizeStorage_Test {
     checkRangeCleanup();
   }
 
+  @Test
+  public void testStorageOverflowHandling_countsEvictions() {
+    populateUntilOverflowThresholdIsReached();
+
+    forceOverflow();
+
+    assertEquals( 100, storage.getEvictionCount() );
+  }
+
+  @Test
+  public void testHitAndMissCount() {
+    storage.storeTextSize( KEY_FIRST, SIZE_FIRST );
+
+    storage.lookupTextSize( KEY_FIRST );
+    storage.lookupTextSize( KEY_FIRST );
+    storage.lookupTextSize( KEY_OVERFLOW );
+
+    assertEquals( 2, storage.getHitCount() );
+    assertEquals( 1, storage.getMissCount() );
+  }
+
+  @Test
+  public void testStoreTextSize_replacesExistingEntry() {
+    storage.storeTextSize( KEY_FIRST, SIZE_FIRST );
+
+    storage.storeTextSize( KEY_FIRST, SIZE_OVERFLOW );
+
+    assertEquals( SIZE_OVERFLOW, storage.lookupTextSize( KEY_FIRST ) );
+  }
+
   @Test
   public void testMaximumStoreSize() {
     int maximumStoreSize = 2000;
@@ -105,7 +135,7 @@ public class TextSizeStorage_Test {
   private void populateUntilOverflowThresholdIsReached() {
     storage.setMaximumStoreSize( TextSizeStorage.MIN_STORE_SIZE );
     for( int i = 0; i < TextSizeStorage.MIN_STORE_SIZE - 1; i++ ) {
-      Integer key = new Integer( i );
+      TextSizeKey key = createKey( i );
       Point point = new Point( i, i );
       storage.storeTextSize( key, point );
     }
@@ -116,12 +146,12 @@ public class TextSizeStorage_Test {
   }
 
   private void checkRangeCleanup() {
-    assertNull( storage.lookupTextSize( new Integer( 99 ) ) );
+    assertNull( storage.lookupTextSize( createKey( 99 ) ) );
   }
 
   private void checkLatestEntriesExist() {
     assertEquals( SIZE_OVERFLOW, storage.lookupTextSize( KEY_OVERFLOW ) );
-    assertEquals( new Point( 101, 101 ), storage.lookupTextSize( new Integer( 101 ) ) );
+    assertEquals( new Point( 101, 101 ), storage.lookupTextSize( createKey( 101 ) ) );
   }
 
   private void checkTimestampOrdering() {
@@ -131,4 +161,9 @@ public class TextSizeStorage_Test {
   private void forceOverflow() {
     storage.storeTextSize( KEY_OVERFLOW, SIZE_OVERFLOW );
   }
+
+  private static TextSizeKey createKey( int index ) {
+    ProbeResult probeResult = new ProbeResult( new Probe( FONT_DATA_1 ), new Point( 100, 12 ) );
+    return new TextSizeKey( probeResult, FONT_DATA_1, "text " + index, SWT.DEFAULT, 0 );
+  }
 }
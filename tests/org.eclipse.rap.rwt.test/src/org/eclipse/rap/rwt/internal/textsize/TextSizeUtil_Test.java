@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -33,6 +33,7 @@ public class TextSizeUtil_Test {
   private Display display;
   private static final String TEST_STRING = "test";
   private static final FontData FONT_DATA = new FontData( "arial", 10, SWT.NORMAL );
+  private static final FontData SERVER_FONT_DATA = new FontData( "Dialog", 12, SWT.NORMAL );
 
   @Before
   public void setUp() {
@@ -217,10 +218,129 @@ public class TextSizeUtil_Test {
     assertEquals( 10, size.y );
   }
 
+  @Test
+  public void testStringExtent_measuresRegisteredFontOnServer() {
+    FontMetricsMeasurement measurement = addServerFont();
+
+    Point size = TextSizeUtil.stringExtent( getServerFont(), TEST_STRING );
+
+    Point expected = measurement.measure( SERVER_FONT_DATA,
+                                          TEST_STRING,
+                                          SWT.DEFAULT,
+                                          TextSizeUtil.STRING_EXTENT );
+    assertEquals( expected, size );
+    assertEquals( 0, getMeasurementItems().length );
+    assertEquals( 0, getProbes().length );
+  }
+
+  @Test
+  public void testTextExtent_measuresRegisteredFontOnServer() {
+    FontMetricsMeasurement measurement = addServerFont();
+
+    Point size = TextSizeUtil.textExtent( getServerFont(), "foo\nbar", 0 );
+
+    Point expected = measurement.measure( SERVER_FONT_DATA,
+                                          "foo\nbar",
+                                          SWT.DEFAULT,
+                                          TextSizeUtil.TEXT_EXTENT );
+    assertEquals( expected, size );
+    assertEquals( 0, getMeasurementItems().length );
+  }
+
+  @Test
+  public void testStringExtent_serverMeasurementTakesPrecedenceOverStorage() {
+    FontMetricsMeasurement measurement = addServerFont();
+    fakeMeasurement( SERVER_FONT_DATA, TEST_STRING, SWT.DEFAULT, TextSizeUtil.STRING_EXTENT,
+                     new Point( 100, 10 ) );
+
+    Point size = TextSizeUtil.stringExtent( getServerFont(), TEST_STRING );
+
+    Point expected = measurement.measure( SERVER_FONT_DATA,
+                                          TEST_STRING,
+                                          SWT.DEFAULT,
+                                          TextSizeUtil.STRING_EXTENT );
+    assertEquals( expected, size );
+  }
+
+  @Test
+  public void testStringExtent_withMarkupFallsBackForRegisteredFont() {
+    addServerFont();
+
+    Point size = TextSizeUtil.stringExtent( getServerFont(), "<b>foo</b>", true );
+
+    assertEquals( TextSizeEstimation.markupExtent( getServerFont(), "<b>foo</b>", SWT.DEFAULT ),
+                  size );
+    assertEquals( 1, getMeasurementItems().length );
+  }
+
+  @Test
+  public void testStringExtent_fallsBackForUnregisteredFont() {
+    addServerFont();
+
+    Point size = TextSizeUtil.stringExtent( getFont(), TEST_STRING );
+
+    assertEquals( TextSizeEstimation.stringExtent( getFont(), TEST_STRING ), size );
+    assertEquals( 1, getMeasurementItems().length );
+    assertEquals( 1, getProbes().length );
+  }
+
+  @Test
+  public void testGetCharHeight_serverMeasurementTakesPrecedenceOverProbe() {
+    FontMetricsMeasurement measurement = addServerFont();
+    ProbeResultStore probeResultStore = ProbeResultStore.getInstance();
+    probeResultStore.createProbeResult( new Probe( SERVER_FONT_DATA ), new Point( 10, 99 ) );
+
+    int charHeight = TextSizeUtil.getCharHeight( getServerFont() );
+
+    assertEquals( measurement.getCharHeight( SERVER_FONT_DATA ), charHeight );
+    assertEquals( 0, getProbes().length );
+  }
+
+  @Test
+  public void testGetAvgCharWidth_serverMeasurementTakesPrecedenceOverProbe() {
+    FontMetricsMeasurement measurement = addServerFont();
+    ProbeResultStore probeResultStore = ProbeResultStore.getInstance();
+    Point probeSize = new Point( Probe.DEFAULT_PROBE_STRING.length() * 99, 10 );
+    probeResultStore.createProbeResult( new Probe( SERVER_FONT_DATA ), probeSize );
+
+    float avgCharWidth = TextSizeUtil.getAvgCharWidth( getServerFont() );
+
+    assertEquals( measurement.getAvgCharWidth( SERVER_FONT_DATA ), avgCharWidth, 0 );
+    assertEquals( 0, getProbes().length );
+  }
+
+  @Test
+  public void testStringExtent_emptyStringWithRegisteredFont() {
+    FontMetricsMeasurement measurement = addServerFont();
+
+    Point size = TextSizeUtil.stringExtent( getServerFont(), "" );
+
+    assertEquals( new Point( 0, measurement.getCharHeight( SERVER_FONT_DATA ) ), size );
+  }
+
   private void fakeMeasurement( String text, int wrapWidth, int mode, Point size ) {
-    ProbeResultStore.getInstance().createProbeResult( new Probe( FONT_DATA ), new Point( 10, 10 ) );
-    getApplicationContext().getTextSizeStorage().storeFont( FONT_DATA );
-    TextSizeStorageUtil.store( FONT_DATA, text, wrapWidth, mode, size );
+    fakeMeasurement( FONT_DATA, text, wrapWidth, mode, size );
+  }
+
+  private static void fakeMeasurement( FontData fontData,
+                                       String text,
+                                       int wrapWidth,
+                                       int mode,
+                                       Point size )
+  {
+    ProbeResultStore.getInstance().createProbeResult( new Probe( fontData ), new Point( 10, 10 ) );
+    getApplicationContext().getTextSizeStorage().storeFont( fontData );
+    TextSizeStorageUtil.store( fontData, text, wrapWidth, mode, size );
+  }
+
+  private static FontMetricsMeasurement addServerFont() {
+    FontMetricsMeasurement measurement = getApplicationContext().getFontMetricsMeasurement();
+    measurement.addFont( new java.awt.Font( "Dialog", java.awt.Font.PLAIN, 12 ) );
+    return measurement;
+  }
+
+  private Font getServerFont() {
+    return new Font( display, SERVER_FONT_DATA );
   }
 
   private MeasurementItem[] getMeasurementItems() {
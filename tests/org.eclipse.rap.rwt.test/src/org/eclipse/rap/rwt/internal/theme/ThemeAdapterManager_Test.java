@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@
 package org.eclipse.rap.rwt.internal.theme;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
@@ -69,6 +70,40 @@ public class ThemeAdapterManager_Test {
     assertSame( themeAdapter1, themeAdapter2 );
   }
 
+  @Test
+  public void testGetThemeAdapterReturnsSameAdapterForSameWidgetClass() {
+    ThemeAdapterManager themeAdapterManager = new ThemeAdapterManager();
+
+    ThemeAdapter themeAdapter1 = themeAdapterManager.getThemeAdapter( shell );
+    ThemeAdapter themeAdapter2 = themeAdapterManager.getThemeAdapter( new Shell( display ) );
+    assertSame( themeAdapter1, themeAdapter2 );
+  }
+
+  @Test
+  public void testGetThemeAdapterForWidgetWithoutThemeAdapter_failsRepeatedly() {
+    Widget widget = new TestWidget( shell );
+    ThemeAdapterManager themeAdapterManager = new ThemeAdapterManager();
+    try {
+      themeAdapterManager.getThemeAdapter( widget );
+    } catch( ThemeManagerException expected ) {
+    }
+    try {
+      themeAdapterManager.getThemeAdapter( widget );
+      fail();
+    } catch( ThemeManagerException expected ) {
+    }
+  }
+
+  @Test
+  public void testReset() {
+    ThemeAdapterManager themeAdapterManager = new ThemeAdapterManager();
+    ThemeAdapter themeAdapter = themeAdapterManager.getThemeAdapter( shell );
+
+    themeAdapterManager.reset();
+
+    assertNotSame( themeAdapter, themeAdapterManager.getThemeAdapter( shell ) );
+  }
+
   private static class TestWidget extends Widget {
     private static final long serialVersionUID = 1L;
     public TestWidget( Widget parent ) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,7 +15,9 @@ import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicatio
 import static org.eclipse.rap.rwt.internal.theme.ThemeTestUtil.RESOURCE_LOADER;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -25,7 +27,11 @@ import org.eclipse.rap.rwt.internal.theme.css.StyleSheet;
 import org.eclipse.rap.rwt.service.ApplicationContext;
 import org.eclipse.rap.rwt.service.ResourceManager;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Widget;
 import org.junit.Test;
 
 
@@ -79,6 +85,101 @@ public class Theme_Test {
     assertEquals( "#aaaaaa", values[ 1 ].value.toDefaultString() );
   }
 
+  @Test
+  public void testGetResolvedValues_appendsFallbackValues() throws Exception {
+    Theme theme = createTheme( "some.id", "Button { color: #aaaaaa; }\n" );
+    Theme fallbackTheme = createTheme( "fallback.id", "Button.SPECIAL { color: #bbbbbb; }\n" );
+
+    ConditionalValue[] values = theme.getResolvedValues( "Button", "color", fallbackTheme );
+
+    assertEquals( 2, values.length );
+    assertEquals( "#aaaaaa", values[ 0 ].value.toDefaultString() );
+    assertEquals( "#bbbbbb", values[ 1 ].value.toDefaultString() );
+  }
+
+  @Test
+  public void testGetResolvedValues_ofFallbackTheme() throws Exception {
+    Theme fallbackTheme = createTheme( "fallback.id", "Button { color: #aaaaaa; }\n" );
+
+    ConditionalValue[] values
+      = fallbackTheme.getResolvedValues( "Button", "color", fallbackTheme );
+
+    assertEquals( 1, values.length );
+  }
+
+  @Test
+  public void testGetResolvedValues_isCached() throws Exception {
+    Theme theme = createTheme( "some.id", "Button { color: #aaaaaa; }\n" );
+    Theme fallbackTheme = createTheme( "fallback.id", "Button { color: #bbbbbb; }\n" );
+
+    ConditionalValue[] values1 = theme.getResolvedValues( "Button", "color", fallbackTheme );
+    ConditionalValue[] values2 = theme.getResolvedValues( "Button", "color", fallbackTheme );
+
+    assertSame( values1, values2 );
+  }
+
+  @Test
+  public void testSelectValue_selectsPerSignature() throws Exception {
+    Fixture.setUp();
+    try {
+      Theme theme = createTheme( "some.id", "Button { color: #aaaaaa; }\n"
+                                            + "Button[BORDER] { color: #bbbbbb; }\n" );
+      WidgetMatcher matcher = new WidgetMatcher();
+      matcher.addStyle( "BORDER", SWT.BORDER );
+      Shell shell = new Shell( new Display() );
+      Button border = new Button( shell, SWT.BORDER );
+      Button push = new Button( shell, SWT.PUSH );
+
+      CssValue value1 = theme.selectValue( "Button", "color", matcher, border, null );
+      CssValue value2 = theme.selectValue( "Button", "color", matcher, push, null );
+
+      assertEquals( "#bbbbbb", value1.toDefaultString() );
+      assertEquals( "#aaaaaa", value2.toDefaultString() );
+    } finally {
+      Fixture.tearDown();
+    }
+  }
+
+  @Test
+  public void testSelectValue_isMemoizedPerSignature() throws Exception {
+    Fixture.setUp();
+    try {
+      Theme theme = createTheme( "some.id", "Button:selected { color: #aaaaaa; }\n" );
+      CountingConstraint selected = new CountingConstraint();
+      WidgetMatcher matcher = new WidgetMatcher();
+      matcher.addState( "selected", selected );
+      Shell shell = new Shell( new Display() );
+      Button button = new Button( shell, SWT.PUSH );
+
+      theme.selectValue( "Button", "color", matcher, button, null );
+      int count = selected.count;
+      CssValue value = theme.selectValue( "Button", "color", matcher, button, null );
+
+      assertEquals( "#aaaaaa", value.toDefaultString() );
+      // only evaluated for the signature, the value is not selected again
+      assertEquals( count + 1, selected.count );
+    } finally {
+      Fixture.tearDown();
+    }
+  }
+
+  @Test
+  public void testSelectValue_memoizesMissingValue() throws Exception {
+    Fixture.setUp();
+    try {
+      Theme theme = createTheme( "some.id", "Button[BORDER] { color: #aaaaaa; }\n" );
+      WidgetMatcher matcher = new WidgetMatcher();
+      matcher.addStyle( "BORDER", SWT.BORDER );
+      Button button = new Button( new Shell( new Display() ), SWT.PUSH );
+
+      theme.selectValue( "Button", "color", matcher, button, null );
+
+      assertNull( theme.selectValue( "Button", "color", matcher, button, null ) );
+    } finally {
+      Fixture.tearDown();
+    }
+  }
+
   @Test( expected = IllegalStateException.class )
   public void test_Uninitialized() throws Exception {
     StyleSheet styleSheet = ThemeTestUtil.getStyleSheet( TEST_SYNTAX_CSS );
@@ -145,15 +246,35 @@ public class Theme_Test {
     }
   }
 
+  private static Theme createTheme( String id, String css ) throws Exception {
+    Theme theme = new Theme( id, "Test", ThemeTestUtil.createStyleSheet( css ) );
+    theme.initialize( new ThemeableWidget[] { createSimpleButtonWidget() } );
+    return theme;
+  }
+
   private static ThemeableWidget createSimpleButtonWidget() {
     ThemeableWidget buttonWidget = new ThemeableWidget( Button.class.getName(), null );
     CssElement buttonElement = new CssElementImpl( "Button" )
       .addProperty( "color" )
       .addProperty( "cursor" )
       .addProperty( "background-color" )
-      .addProperty( "background-image" );
+      .addProperty( "background-image" )
+      .addStyle( "BORDER" )
+      .addState( "selected" );
     buttonWidget.elements = new CssElement[] { buttonElement };
     return buttonWidget;
   }
 
+  private static class CountingConstraint implements WidgetMatcher.Constraint {
+
+    int count;
+
+    @Override
+    public boolean matches( Widget widget ) {
+      count++;
+      return true;
+    }
+
+  }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,6 +12,7 @@
 package org.eclipse.rap.rwt.internal.theme.css;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
@@ -168,4 +169,75 @@ public class WidgetMatcher_Test {
     assertEquals( BLUE, result );
   }
 
+  @Test
+  public void testGetSignature_equalForEqualWidgets() {
+    matcher.addStyle( "BORDER", SWT.BORDER );
+    matcher.addState( "selected", ALWAYS_TRUE );
+
+    Object signature1 = matcher.getSignature( new Button( shell, SWT.PUSH | SWT.BORDER ) );
+    Object signature2 = matcher.getSignature( new Button( shell, SWT.PUSH | SWT.BORDER ) );
+
+    assertEquals( signature1, signature2 );
+    assertEquals( signature1.hashCode(), signature2.hashCode() );
+  }
+
+  @Test
+  public void testGetSignature_ignoresUnregisteredStyles() {
+    matcher.addStyle( "BORDER", SWT.BORDER );
+
+    Object signature1 = matcher.getSignature( new Button( shell, SWT.PUSH | SWT.BORDER ) );
+    Object signature2 = matcher.getSignature( new Button( shell, SWT.TOGGLE | SWT.BORDER ) );
+
+    assertEquals( signature1, signature2 );
+  }
+
+  @Test
+  public void testGetSignature_differsForRegisteredStyles() {
+    matcher.addStyle( "BORDER", SWT.BORDER );
+
+    Object signature1 = matcher.getSignature( new Button( shell, SWT.PUSH | SWT.BORDER ) );
+    Object signature2 = matcher.getSignature( new Button( shell, SWT.PUSH ) );
+
+    assertFalse( signature1.equals( signature2 ) );
+  }
+
+  @Test
+  public void testGetSignature_differsForStates() {
+    final Widget widget1 = new Button( shell, SWT.PUSH );
+    Widget widget2 = new Button( shell, SWT.PUSH );
+    matcher.addState( "selected", new Constraint() {
+      @Override
+      public boolean matches( Widget widget ) {
+        return widget == widget1;
+      }
+    } );
+
+    Object signature1 = matcher.getSignature( widget1 );
+    Object signature2 = matcher.getSignature( widget2 );
+
+    assertFalse( signature1.equals( signature2 ) );
+  }
+
+  @Test
+  public void testGetSignature_differsForVariants() {
+    Widget widget1 = new Button( shell, SWT.PUSH );
+    Widget widget2 = new Button( shell, SWT.PUSH );
+    widget1.setData( RWT.CUSTOM_VARIANT, "special" );
+
+    Object signature1 = matcher.getSignature( widget1 );
+    Object signature2 = matcher.getSignature( widget2 );
+
+    assertFalse( signature1.equals( signature2 ) );
+  }
+
+  @Test
+  public void testGetSignature_differsForMatchers() {
+    Widget widget = new Button( shell, SWT.PUSH );
+
+    Object signature1 = matcher.getSignature( widget );
+    Object signature2 = new WidgetMatcher().getSignature( widget );
+
+    assertFalse( signature1.equals( signature2 ) );
+  }
+
 }
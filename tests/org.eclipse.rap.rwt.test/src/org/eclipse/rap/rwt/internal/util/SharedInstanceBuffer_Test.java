@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,9 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.util;
 
+import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serializeAndDeserialize;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.any;
@@ -18,7 +21,10 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.lang.ref.WeakReference;
+
 import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer.InstanceCreator;
+import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer.Retention;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -106,6 +112,103 @@ public class SharedInstanceBuffer_Test {
     assertSame( value, removed );
   }
 
+  @Test( expected = NullPointerException.class )
+  public void testConstructor_rejectsNullRetention() {
+    new SharedInstanceBuffer<Object,Object>( null, 0 );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testConstructor_rejectsNegativeRecentlyUsedSize() {
+    new SharedInstanceBuffer<Object,Object>( Retention.WEAK, -1 );
+  }
+
+  @Test
+  public void testGetRetention_isStrongByDefault() {
+    assertSame( Retention.STRONG, keyValueStore.getRetention() );
+  }
+
+  @Test
+  public void testGet_countsHitsAndMisses() {
+    InstanceCreator<Object, Object> instanceCreator = mockInstanceCreator( value );
+
+    keyValueStore.get( key, instanceCreator );
+    keyValueStore.get( key, instanceCreator );
+    keyValueStore.get( key, instanceCreator );
+
+    assertEquals( 2, keyValueStore.getHitCount() );
+    assertEquals( 1, keyValueStore.getMissCount() );
+    assertEquals( 1, keyValueStore.size() );
+  }
+
+  @Test
+  public void testGet_withWeakRetention_returnsReferencedInstance() {
+    keyValueStore = new SharedInstanceBuffer<Object,Object>( Retention.WEAK, 0 );
+    InstanceCreator<Object, Object> instanceCreator = new ObjectCreator();
+
+    Object returned1 = keyValueStore.get( key, instanceCreator );
+    System.gc();
+    Object returned2 = keyValueStore.get( key, instanceCreator );
+
+    assertSame( returned1, returned2 );
+  }
+
+  @Test
+  public void testGet_withWeakRetention_releasesUnreferencedInstance() {
+    keyValueStore = new SharedInstanceBuffer<Object,Object>( Retention.WEAK, 0 );
+    WeakReference<Object> reference = createInstanceReference();
+
+    for( int i = 0; i < 10 && reference.get() != null; i++ ) {
+      System.gc();
+    }
+
+    assertNull( reference.get() );
+    assertEquals( 0, keyValueStore.size() );
+  }
+
+  @Test
+  public void testGetEvictionCount() throws InterruptedException {
+    keyValueStore = new SharedInstanceBuffer<Object,Object>( Retention.WEAK, 0 );
+    createInstanceReference();
+
+    for( int i = 0; i < 50 && keyValueStore.getEvictionCount() == 0; i++ ) {
+      System.gc();
+      Thread.sleep( 10 );
+    }
+
+    assertEquals( 1, keyValueStore.getEvictionCount() );
+  }
+
+  @Test
+  public void testGet_withWeakRetention_pinsRecentlyUsedInstances() {
+    keyValueStore = new SharedInstanceBuffer<Object,Object>( Retention.WEAK, 1 );
+    WeakReference<Object> reference = createInstanceReference();
+
+    System.gc();
+
+    assertNotNull( reference.get() );
+    assertEquals( 1, keyValueStore.size() );
+  }
+
+  @Test
+  public void testSerialization() throws Exception {
+    keyValueStore.get( "key", mockInstanceCreator( "value" ) );
+
+    SharedInstanceBuffer<Object,Object> deserialized = serializeAndDeserialize( keyValueStore );
+
+    assertEquals( 1, deserialized.size() );
+  }
+
+  @Test
+  public void testSerialization_withWeakRetention() throws Exception {
+    keyValueStore = new SharedInstanceBuffer<Object,Object>( Retention.WEAK, 1 );
+    keyValueStore.get( "key", new ObjectCreator() );
+
+    SharedInstanceBuffer<Object,Object> deserialized = serializeAndDeserialize( keyValueStore );
+
+    assertSame( Retention.WEAK, deserialized.getRetention() );
+    assertNotNull( deserialized.remove( "key" ) );
+  }
+
   @SuppressWarnings( "unchecked" )
   private static InstanceCreator<Object, Object> mockInstanceCreator( Object value ) {
     InstanceCreator mock = mock( InstanceCreator.class );
@@ -113,4 +216,15 @@ public class SharedInstanceBuffer_Test {
     return mock;
   }
 
+  private WeakReference<Object> createInstanceReference() {
+    return new WeakReference<>( keyValueStore.get( key, new ObjectCreator() ) );
+  }
+
+  private static class ObjectCreator implements InstanceCreator<Object, Object> {
+    @Override
+    public Object createInstance( Object key ) {
+      return new Integer[] { Integer.valueOf( 1 ) };
+    }
+  }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,12 +11,14 @@
 package org.eclipse.swt.graphics;
 
 import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.CONNECTION_ID;
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
 import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serialize;
 import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serializeAndDeserialize;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.NotSerializableException;
 import java.util.Arrays;
@@ -25,6 +27,7 @@ import javax.servlet.FilterChain;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.engine.RWTClusterSupport;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.UISessionImpl;
@@ -33,6 +36,7 @@ import org.eclipse.rap.rwt.testfixture.internal.Fixture;
 import org.eclipse.rap.rwt.testfixture.internal.TestHttpSession;
 import org.eclipse.rap.rwt.testfixture.internal.TestRequest;
 import org.eclipse.swt.internal.graphics.Graphics;
+import org.eclipse.swt.internal.graphics.ImageFactory;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 import org.eclipse.swt.widgets.Display;
 import org.junit.After;
@@ -54,6 +58,7 @@ public class ImageSerialzation_Test {
 
   @After
   public void tearDown() {
+    System.getProperties().remove( RWTProperties.IMAGE_REFERENCE_SERIALIZATION );
     Fixture.disposeOfServiceContext();
     Fixture.disposeOfApplicationContext();
   }
@@ -88,6 +93,70 @@ public class ImageSerialzation_Test {
     assertEquals( imageData, deserializedImageData );
   }
 
+  @Test
+  public void testSerializeSessionImage_withImageReferenceSerialization_omitsSharedContent()
+    throws Exception
+  {
+    Image image = createSharedSessionImage();
+    int size = serialize( image ).length;
+    System.setProperty( RWTProperties.IMAGE_REFERENCE_SERIALIZATION, "true" );
+
+    int referenceSize = serialize( image ).length;
+
+    assertTrue( referenceSize < size );
+  }
+
+  @Test
+  public void testSerializeSessionImage_withImageReferenceSerialization_writesStreamContent()
+    throws Exception
+  {
+    InputStream inputStream = getClass().getClassLoader().getResourceAsStream( Fixture.IMAGE1 );
+    Image image = new Image( display, inputStream );
+    inputStream.close();
+    int size = serialize( image ).length;
+    System.setProperty( RWTProperties.IMAGE_REFERENCE_SERIALIZATION, "true" );
+
+    int referenceSize = serialize( image ).length;
+
+    assertTrue( referenceSize == size );
+  }
+
+  @Test
+  public void testSerializeSessionImage_withImageReferenceSerialization_writesGeneratedContent()
+    throws Exception
+  {
+    PaletteData palette = new PaletteData( 0xff, 0xff00, 0xff0000 );
+    Image image = new Image( display, new ImageData( 10, 10, 24, palette ) );
+    int size = serialize( image ).length;
+    System.setProperty( RWTProperties.IMAGE_REFERENCE_SERIALIZATION, "true" );
+
+    int referenceSize = serialize( image ).length;
+
+    assertTrue( referenceSize == size );
+  }
+
+  @Test
+  public void testSerializeSessionImage_withImageReferenceSerialization() throws Exception {
+    System.setProperty( RWTProperties.IMAGE_REFERENCE_SERIALIZATION, "true" );
+    Image image = createSharedSessionImage();
+    ImageData imageData = image.getImageData();
+    ContextProvider.disposeContext();
+
+    Image deserializedImage = serializeAndDeserialize( image );
+    createServiceContext( deserializedImage.getDevice() );
+    runClusterSupportFilter();
+
+    assertEquals( imageData, deserializedImage.getImageData() );
+  }
+
+  private Image createSharedSessionImage() throws IOException {
+    InputStream inputStream = getClass().getClassLoader().getResourceAsStream( Fixture.IMAGE1 );
+    ImageFactory imageFactory = getApplicationContext().getImageFactory();
+    Image result = imageFactory.createImage( display, Fixture.IMAGE1, inputStream );
+    inputStream.close();
+    return result;
+  }
+
   private void createServiceContext( Device device ) {
     Fixture.createServiceContext();
     UISessionImpl uiSession = ( UISessionImpl )getUISession( device );
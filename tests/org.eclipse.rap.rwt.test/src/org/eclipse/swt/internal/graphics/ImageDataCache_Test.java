@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,7 +14,9 @@ package org.eclipse.swt.internal.graphics;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -53,15 +55,117 @@ public class ImageDataCache_Test {
   }
 
   @Test
-  public void testBigImageIsNotCached() throws IOException {
+  public void testMediumImageIsCached() throws IOException {
     ImageDataCache cache = new ImageDataCache();
     ImageData imageData = getImageData( Fixture.IMAGE_100x50 ); // 1281 bytes
     InternalImage internalImage
       = new InternalImage( "testpath", imageData.width, imageData.height, false );
     cache.putImageData( internalImage, imageData );
+    assertEqualsImageData( imageData, cache.getImageData( internalImage ) );
+  }
+
+  @Test
+  public void testBigImageIsNotCached() throws IOException {
+    ImageDataCache cache = new ImageDataCache( 16 * 1024 ); // at most 1024 bytes per image
+    ImageData imageData = getImageData( Fixture.IMAGE_100x50 ); // 1281 bytes
+    InternalImage internalImage
+      = new InternalImage( "testpath", imageData.width, imageData.height, false );
+    cache.putImageData( internalImage, imageData );
     assertNull( cache.getImageData( internalImage ) );
   }
 
+  @Test( expected = IllegalArgumentException.class )
+  public void testCreateWithIllegalMaxSize() {
+    new ImageDataCache( 0 );
+  }
+
+  @Test
+  public void testSizeIsTracked() throws IOException {
+    ImageDataCache cache = new ImageDataCache();
+    ImageData imageData = getImageData( Fixture.IMAGE1 );
+    InternalImage internalImage
+      = new InternalImage( "testpath", imageData.width, imageData.height, false );
+    cache.putImageData( internalImage, imageData );
+    cache.putImageData( internalImage, imageData );
+    assertEquals( imageData.data.length, cache.getSize() );
+  }
+
+  @Test
+  public void testLeastRecentlyUsedImageIsEvicted() throws IOException {
+    ImageData imageData = getImageData( Fixture.IMAGE1 );
+    ImageDataCache cache = new ImageDataCache( 2 * imageData.data.length * 16 );
+    InternalImage[] internalImages = new InternalImage[ 33 ];
+    for( int i = 0; i < internalImages.length; i++ ) {
+      internalImages[ i ]
+        = new InternalImage( "testpath" + i, imageData.width, imageData.height, false );
+      cache.putImageData( internalImages[ i ], imageData );
+      // keep the first image in use
+      cache.getImageData( internalImages[ 0 ] );
+    }
+    assertNotNull( cache.getImageData( internalImages[ 0 ] ) );
+    assertNull( cache.getImageData( internalImages[ 1 ] ) );
+    assertNotNull( cache.getImageData( internalImages[ 32 ] ) );
+    assertEquals( 1, cache.getEvictionCount() );
+    assertEquals( 32 * imageData.data.length, cache.getSize() );
+  }
+
+  @Test
+  public void testHitAndMissCount() throws IOException {
+    ImageDataCache cache = new ImageDataCache();
+    ImageData imageData = getImageData( Fixture.IMAGE1 );
+    InternalImage internalImage
+      = new InternalImage( "testpath", imageData.width, imageData.height, false );
+    cache.getImageData( internalImage );
+    cache.putImageData( internalImage, imageData );
+    cache.getImageData( internalImage );
+    cache.getSharedImageData( internalImage );
+    assertEquals( 1, cache.getMissCount() );
+    assertEquals( 2, cache.getHitCount() );
+  }
+
+  @Test
+  public void testAccessOrderDeterminesEviction() throws IOException {
+    ImageData imageData = getImageData( Fixture.IMAGE1 );
+    ImageDataCache cache = new ImageDataCache( 3 * imageData.data.length * 16 );
+    InternalImage[] internalImages = new InternalImage[ 49 ];
+    for( int i = 0; i < internalImages.length - 1; i++ ) {
+      internalImages[ i ]
+        = new InternalImage( "testpath" + i, imageData.width, imageData.height, false );
+      cache.putImageData( internalImages[ i ], imageData );
+    }
+    cache.getImageData( internalImages[ 0 ] );
+    internalImages[ 48 ]
+      = new InternalImage( "testpath48", imageData.width, imageData.height, false );
+    cache.putImageData( internalImages[ 48 ], imageData );
+    assertEquals( 1, cache.getEvictionCount() );
+    assertNotNull( cache.getImageData( internalImages[ 0 ] ) );
+    assertNull( cache.getImageData( internalImages[ 1 ] ) );
+    assertNotNull( cache.getImageData( internalImages[ 2 ] ) );
+  }
+
+  @Test
+  public void testSharedImageDataIsNotCopied() throws IOException {
+    ImageDataCache cache = new ImageDataCache();
+    ImageData originalData = getImageData( Fixture.IMAGE1 );
+    InternalImage internalImage
+      = new InternalImage( "testpath", originalData.width, originalData.height, false );
+    ImageData cachedData = cache.putImageData( internalImage, originalData );
+    ImageData sharedData = cache.getSharedImageData( internalImage );
+    assertNotSame( originalData, sharedData );
+    assertSame( cachedData, sharedData );
+    assertSame( sharedData, cache.getSharedImageData( internalImage ) );
+    assertEqualsImageData( originalData, sharedData );
+  }
+
+  @Test
+  public void testPutTooLargeImageDataReturnsNull() throws IOException {
+    ImageDataCache cache = new ImageDataCache( 16 * 1024 );
+    ImageData imageData = getImageData( Fixture.IMAGE_100x50 );
+    InternalImage internalImage
+      = new InternalImage( "testpath", imageData.width, imageData.height, false );
+    assertNull( cache.putImageData( internalImage, imageData ) );
+  }
+
   @Test
   public void testSafeCopiesReturned() throws IOException {
     ImageDataCache cache = new ImageDataCache();
@@ -88,6 +192,47 @@ public class ImageDataCache_Test {
     assertEqualsImageData( copyData1, copyData2 );
   }
 
+  @Test
+  public void testSafeCopiesOfMaskAndAlphaDataStored() throws IOException {
+    ImageDataCache cache = new ImageDataCache();
+    ImageData originalData = createMaskedImageData();
+    InternalImage internalImage
+      = new InternalImage( "testpath", originalData.width, originalData.height, false );
+    cache.putImageData( internalImage, originalData );
+    // modify original data
+    originalData.maskData[ 0 ] = 23;
+    originalData.alphaData[ 0 ] = 23;
+    ImageData copyData = cache.getImageData( internalImage );
+    assertEquals( 0, copyData.maskData[ 0 ] );
+    assertEquals( 0, copyData.alphaData[ 0 ] );
+  }
+
+  @Test
+  public void testSafeCopiesOfMaskAndAlphaDataReturned() throws IOException {
+    ImageDataCache cache = new ImageDataCache();
+    ImageData originalData = createMaskedImageData();
+    InternalImage internalImage
+      = new InternalImage( "testpath", originalData.width, originalData.height, false );
+    cache.putImageData( internalImage, originalData );
+    ImageData copyData1 = cache.getImageData( internalImage );
+    // modify returned data
+    copyData1.maskData[ 0 ] = 23;
+    copyData1.alphaData[ 0 ] = 23;
+    ImageData copyData2 = cache.getImageData( internalImage );
+    assertNotSame( copyData1.maskData, copyData2.maskData );
+    assertNotSame( copyData1.alphaData, copyData2.alphaData );
+    assertEquals( 0, copyData2.maskData[ 0 ] );
+    assertEquals( 0, copyData2.alphaData[ 0 ] );
+  }
+
+  private ImageData createMaskedImageData() throws IOException {
+    ImageData result = getImageData( Fixture.IMAGE1 );
+    result.maskPad = 1;
+    result.maskData = new byte[ result.height * ( ( result.width + 7 ) / 8 ) ];
+    result.alphaData = new byte[ result.width * result.height ];
+    return result;
+  }
+
   private ImageData getImageData( String resource ) throws IOException {
     InputStream inputStream = getClass().getClassLoader().getResourceAsStream( resource );
     try {
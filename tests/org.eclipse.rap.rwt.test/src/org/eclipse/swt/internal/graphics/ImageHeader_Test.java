@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.graphics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.swt.SWT;
+import org.junit.Test;
+
+
+public class ImageHeader_Test {
+
+  @Test
+  public void testRead_png() throws IOException {
+    ImageHeader header = ImageHeader.read( getResourceBytes( Fixture.IMAGE_100x50 ) );
+
+    assertEquals( SWT.IMAGE_PNG, header.getType() );
+    assertEquals( 100, header.getWidth() );
+    assertEquals( 50, header.getHeight() );
+  }
+
+  @Test
+  public void testRead_gif() throws IOException {
+    ImageHeader header = ImageHeader.read( getResourceBytes( Fixture.IMAGE1 ) );
+
+    assertEquals( SWT.IMAGE_GIF, header.getType() );
+    assertEquals( 58, header.getWidth() );
+    assertEquals( 12, header.getHeight() );
+  }
+
+  @Test
+  public void testRead_jpeg() {
+    byte[] bytes = {
+      ( byte )0xff, ( byte )0xd8,
+      // APP0 segment with 2 bytes of data
+      ( byte )0xff, ( byte )0xe0, 0, 4, 0, 0,
+      // SOF0 segment, precision 8, height 0x0102, width 0x0304
+      ( byte )0xff, ( byte )0xc0, 0, 11, 8, 1, 2, 3, 4, 1, 1, 0x11, 0,
+      // end of image
+      ( byte )0xff, ( byte )0xd9
+    };
+
+    ImageHeader header = ImageHeader.read( bytes );
+
+    assertEquals( SWT.IMAGE_JPEG, header.getType() );
+    assertEquals( 0x0304, header.getWidth() );
+    assertEquals( 0x0102, header.getHeight() );
+  }
+
+  @Test
+  public void testRead_bmp() {
+    byte[] bytes = createBmp();
+    bytes[ 18 ] = 20;
+    // top-down bitmap with a height of -10
+    bytes[ 22 ] = ( byte )0xf6;
+    bytes[ 23 ] = ( byte )0xff;
+    bytes[ 24 ] = ( byte )0xff;
+    bytes[ 25 ] = ( byte )0xff;
+
+    ImageHeader header = ImageHeader.read( bytes );
+
+    assertEquals( SWT.IMAGE_BMP, header.getType() );
+    assertEquals( 20, header.getWidth() );
+    assertEquals( 10, header.getHeight() );
+  }
+
+  @Test
+  public void testRead_unknownFormat() {
+    assertNull( ImageHeader.read( new byte[ 12 ] ) );
+  }
+
+  @Test
+  public void testRead_empty() {
+    assertNull( ImageHeader.read( new byte[ 0 ] ) );
+  }
+
+  @Test
+  public void testRead_truncated() throws IOException {
+    byte[] bytes = getResourceBytes( Fixture.IMAGE_100x50 );
+
+    assertNull( ImageHeader.read( Arrays.copyOf( bytes, 18 ) ) );
+  }
+
+  @Test
+  public void testRead_truncatedPngBody() throws IOException {
+    byte[] bytes = getResourceBytes( Fixture.IMAGE_100x50 );
+
+    assertNull( ImageHeader.read( Arrays.copyOf( bytes, bytes.length - 20 ) ) );
+  }
+
+  @Test
+  public void testRead_pngWithoutImageData() throws IOException {
+    byte[] bytes = getResourceBytes( Fixture.IMAGE_100x50 );
+    // IHDR chunk followed by the IEND chunk
+    byte[] iend = Arrays.copyOfRange( bytes, bytes.length - 12, bytes.length );
+    byte[] withoutData = Arrays.copyOf( bytes, 33 + iend.length );
+    System.arraycopy( iend, 0, withoutData, 33, iend.length );
+
+    assertNull( ImageHeader.read( withoutData ) );
+  }
+
+  @Test
+  public void testRead_truncatedGif() throws IOException {
+    byte[] bytes = getResourceBytes( Fixture.IMAGE1 );
+
+    assertNull( ImageHeader.read( Arrays.copyOf( bytes, bytes.length - 1 ) ) );
+  }
+
+  @Test
+  public void testRead_truncatedJpeg() {
+    byte[] bytes = {
+      ( byte )0xff, ( byte )0xd8,
+      // SOF0 segment, precision 8, height 0x0102, width 0x0304
+      ( byte )0xff, ( byte )0xc0, 0, 11, 8, 1, 2, 3, 4, 1, 1, 0x11, 0
+    };
+
+    assertNull( ImageHeader.read( bytes ) );
+  }
+
+  @Test
+  public void testRead_truncatedBmp() {
+    byte[] bytes = createBmp();
+    bytes[ 18 ] = 20;
+    bytes[ 22 ] = 10;
+
+    assertNull( ImageHeader.read( Arrays.copyOf( bytes, bytes.length - 1 ) ) );
+  }
+
+  @Test
+  public void testRead_zeroSize() {
+    byte[] bytes = createBmp();
+
+    assertNull( ImageHeader.read( bytes ) );
+  }
+
+  /*
+   * Creates a bitmap with a BITMAPINFOHEADER, a declared file size of 60 bytes and the pixel data
+   * at offset 54. The size is left to the caller.
+   */
+  private static byte[] createBmp() {
+    byte[] result = new byte[ 60 ];
+    result[ 0 ] = 'B';
+    result[ 1 ] = 'M';
+    result[ 2 ] = 60;
+    result[ 10 ] = 54;
+    result[ 14 ] = 40;
+    return result;
+  }
+
+  private static byte[] getResourceBytes( String name ) throws IOException {
+    ClassLoader classLoader = ImageHeader_Test.class.getClassLoader();
+    InputStream inputStream = classLoader.getResourceAsStream( name );
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try {
+      byte[] buffer = new byte[ 1024 ];
+      int read = inputStream.read( buffer );
+      while( read != -1 ) {
+        outputStream.write( buffer, 0, read );
+        read = inputStream.read( buffer );
+      }
+    } finally {
+      inputStream.close();
+    }
+    return outputStream.toByteArray();
+  }
+
+}
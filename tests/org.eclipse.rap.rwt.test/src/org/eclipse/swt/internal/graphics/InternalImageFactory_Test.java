@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,20 +13,26 @@
 package org.eclipse.swt.internal.graphics;
 
 import static org.eclipse.rap.rwt.testfixture.internal.TestUtil.createImage;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 
 import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.internal.resources.ResourceUtil;
+import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer.Retention;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.PaletteData;
@@ -61,6 +67,11 @@ public class InternalImageFactory_Test {
     Fixture.disposeOfApplicationContext();
   }
 
+  @Test
+  public void testInternalImages_areHeldSoftly() {
+    assertSame( Retention.SOFT, internalImageFactory.getBuffer().getRetention() );
+  }
+
   @Test
   public void testRegisterResource() throws IOException {
     InputStream inputStream = CLASS_LOADER.getResourceAsStream( Fixture.IMAGE_100x50 );
@@ -187,6 +198,41 @@ public class InternalImageFactory_Test {
     assertSame( internalImage1, internalImage2 );
   }
 
+  @Test
+  public void testFindInternalImage_fromStreamIsNamedByContentHash() throws IOException {
+    InputStream stream = CLASS_LOADER.getResourceAsStream( Fixture.IMAGE_100x50 );
+    InternalImage internalImage = internalImageFactory.findInternalImage( stream );
+    stream.close();
+
+    assertTrue( internalImage.getResourceName().matches( "generated/[0-9a-f]{40}\\.png" ) );
+    assertEquals( 100, internalImage.getBounds().width );
+    assertEquals( 50, internalImage.getBounds().height );
+  }
+
+  @Test
+  public void testFindInternalImage_fromStreamProvidesImageData() throws IOException {
+    InputStream stream = CLASS_LOADER.getResourceAsStream( Fixture.IMAGE1 );
+    InternalImage internalImage = internalImageFactory.findInternalImage( stream );
+    stream.close();
+
+    ImageData imageData = internalImage.getImageData();
+
+    assertEquals( 58, imageData.width );
+    assertEquals( 12, imageData.height );
+  }
+
+  @Test
+  public void testFindInternalImage_fromStreamWithTruncatedPngBody() throws IOException {
+    byte[] bytes = getResourceBytes( Fixture.IMAGE_100x50 );
+    byte[] truncated = Arrays.copyOf( bytes, bytes.length - 20 );
+
+    try {
+      internalImageFactory.findInternalImage( new ByteArrayInputStream( truncated ) );
+      fail();
+    } catch( SWTException expected ) {
+    }
+  }
+
   @Test
   public void testImageExtension_PNG() throws IOException {
     InputStream stream = CLASS_LOADER.getResourceAsStream( IMAGE_OK );
@@ -215,6 +261,96 @@ public class InternalImageFactory_Test {
     assertTrue( internalImage.getResourceName().endsWith( ".png" ) );
   }
 
+  @Test
+  public void testReclaimedImage_keepsRegisteredResource() throws IOException {
+    InternalImage internalImage = findInternalImage( Fixture.IMAGE_100x50 );
+    String resourceName = internalImage.getResourceName();
+
+    simulateReclaim( resourceName );
+
+    assertTrue( RWT.getResourceManager().isRegistered( resourceName ) );
+  }
+
+  @Test
+  public void testReclaimedImage_fromStreamIsRecreated() throws IOException {
+    InternalImage internalImage = findInternalImage( Fixture.IMAGE_100x50 );
+    String resourceName = internalImage.getResourceName();
+    byte[] content = getRegisteredContent( resourceName );
+    simulateReclaim( resourceName );
+
+    InternalImage recreated = findInternalImage( Fixture.IMAGE_100x50 );
+
+    assertNotSame( internalImage, recreated );
+    assertEquals( resourceName, recreated.getResourceName() );
+    assertEquals( internalImage.getBounds(), recreated.getBounds() );
+    assertArrayEquals( content, getRegisteredContent( resourceName ) );
+    assertEquals( 100, recreated.getImageData().width );
+    assertSame( recreated, findInternalImage( Fixture.IMAGE_100x50 ) );
+  }
+
+  @Test
+  public void testReclaimedImage_fromImageDataIsRecreated() {
+    ImageData imageData = createImageDataWithoutType();
+    InternalImage internalImage = internalImageFactory.findInternalImage( imageData );
+    String resourceName = internalImage.getResourceName();
+    simulateReclaim( resourceName );
+
+    InternalImage recreated = internalImageFactory.findInternalImage( imageData );
+
+    assertNotSame( internalImage, recreated );
+    assertEquals( resourceName, recreated.getResourceName() );
+    assertEquals( internalImage.getBounds(), recreated.getBounds() );
+    assertTrue( RWT.getResourceManager().isRegistered( resourceName ) );
+  }
+
+  @Test
+  public void testReclaimedImage_reusesRegisteredResource() throws IOException {
+    InternalImage internalImage = findInternalImage( Fixture.IMAGE_100x50 );
+    String resourceName = internalImage.getResourceName();
+    simulateReclaim( resourceName );
+    byte[] marker = new byte[] { 1, 2, 3 };
+    RWT.getResourceManager().register( resourceName, new ByteArrayInputStream( marker ) );
+
+    findInternalImage( Fixture.IMAGE_100x50 );
+
+    assertArrayEquals( marker, getRegisteredContent( resourceName ) );
+  }
+
+  private InternalImage findInternalImage( String resource ) throws IOException {
+    InputStream stream = CLASS_LOADER.getResourceAsStream( resource );
+    try {
+      return internalImageFactory.findInternalImage( stream );
+    } finally {
+      stream.close();
+    }
+  }
+
+  /*
+   * Soft references cannot be cleared deterministically, removing the entry has the same effect
+   * on the buffer
+   */
+  private void simulateReclaim( String key ) {
+    internalImageFactory.getBuffer().remove( key );
+  }
+
+  private static byte[] getResourceBytes( String resource ) throws IOException {
+    InputStream inputStream = CLASS_LOADER.getResourceAsStream( resource );
+    try {
+      return ResourceUtil.readBinary( inputStream );
+    } finally {
+      inputStream.close();
+    }
+  }
+
+  private static byte[] getRegisteredContent( String resourceName ) throws IOException {
+    InputStream inputStream = RWT.getResourceManager().getRegisteredContent( resourceName );
+    try {
+      return ResourceUtil.readBinary( inputStream );
+    } finally {
+      inputStream.close();
+    }
+  }
+
   private ImageData createImageDataWithoutType() {
     PaletteData paletteData = new PaletteData( new RGB[]{
       new RGB( 255, 0, 0 ), new RGB( 0, 255, 0 )
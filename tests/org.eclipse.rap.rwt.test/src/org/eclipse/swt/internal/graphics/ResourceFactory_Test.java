@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,7 @@ package org.eclipse.swt.internal.graphics;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 
+import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer.Retention;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
@@ -85,4 +86,19 @@ public class ResourceFactory_Test {
     assertSame( cursor1, cursor2 );
   }
 
+  @Test
+  public void testColorsAndFonts_areHeldWeakly() {
+    assertSame( Retention.WEAK, resourceFactory.getColorBuffer().getRetention() );
+    assertSame( Retention.WEAK, resourceFactory.getFontBuffer().getRetention() );
+  }
+
+  @Test
+  public void testGetColor_countsHits() {
+    resourceFactory.getColor( 255, 0, 0 );
+    resourceFactory.getColor( 255, 0, 0 );
+
+    assertEquals( 1, resourceFactory.getColorBuffer().getMissCount() );
+    assertEquals( 1, resourceFactory.getColorBuffer().getHitCount() );
+  }
+
 }
@@ -0,0 +1,307 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.internal.lifecycle.RemoteAdapter;
+import org.eclipse.rap.rwt.testfixture.TestContext;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Widget;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+
+public class DirtyWidgets_Test {
+
+  @Rule
+  public TestContext context = new TestContext();
+
+  private Display display;
+  private DirtyWidgets dirtyWidgets;
+
+  @After
+  public void tearDown() {
+    System.clearProperty( RWTProperties.DIRTY_TRACKING );
+  }
+
+  @Test
+  public void testGetDirtyWidgets_isNullByDefault() {
+    display = new Display();
+
+    assertNull( getDirtyWidgets( display ) );
+  }
+
+  @Test
+  public void testGetDirtyWidgets_withDirtyTrackingEnabled() {
+    createDisplay();
+
+    assertNotNull( dirtyWidgets );
+  }
+
+  @Test
+  public void testWidgetCreated() {
+    createDisplay();
+
+    Shell shell = new Shell( display );
+    Button button = new Button( shell, SWT.PUSH );
+
+    assertTrue( dirtyWidgets.isDirty( shell ) );
+    assertTrue( dirtyWidgets.isDirty( button ) );
+  }
+
+  @Test
+  public void testClear() {
+    createDisplay();
+    Shell shell = new Shell( display );
+
+    dirtyWidgets.clear();
+
+    assertFalse( dirtyWidgets.isDirty( shell ) );
+    assertFalse( dirtyWidgets.isPreserving() );
+  }
+
+  @Test
+  public void testWidgetChanged_beforePreserving() {
+    createDisplay();
+    Button button = createButton();
+
+    button.setText( "foo" );
+
+    assertFalse( dirtyWidgets.isDirty( button ) );
+  }
+
+  @Test
+  public void testWidgetChanged_whilePreserving() {
+    createDisplay();
+    Button button = createButton();
+    dirtyWidgets.startPreserving();
+
+    button.setText( "foo" );
+
+    assertTrue( dirtyWidgets.isDirty( button ) );
+    assertEquals( 1, dirtyWidgets.getChangedWidgets().size() );
+  }
+
+  @Test
+  public void testWidgetChanged_preservesValuesBeforeChange() {
+    createDisplay();
+    Button button = createButton();
+    button.setText( "foo" );
+    dirtyWidgets.startPreserving();
+
+    button.setText( "bar" );
+
+    assertEquals( "foo", getRemoteAdapter( button ).getPreserved( "text" ) );
+  }
+
+  @Test
+  public void testWidgetChanged_notMarkedByGetter() {
+    createDisplay();
+    Button button = createButton();
+    dirtyWidgets.startPreserving();
+
+    button.getText();
+    button.getBounds();
+
+    assertFalse( dirtyWidgets.isDirty( button ) );
+  }
+
+  @Test
+  public void testWidgetChanged_foreignSubclassMarkedOnAccess() {
+    createDisplay();
+    Shell shell = new Shell( display );
+    Composite composite = new Composite( shell, SWT.NONE ) {};
+    getRemoteAdapter( composite );
+    dirtyWidgets.clear();
+    dirtyWidgets.startPreserving();
+
+    composite.getChildren();
+
+    assertTrue( dirtyWidgets.isDirty( composite ) );
+  }
+
+  @Test
+  public void testWidgetChanged_itemMarksParent() {
+    createDisplay();
+    Table table = createTable();
+    dirtyWidgets.startPreserving();
+
+    table.getItem( 0 ).setText( "foo" );
+
+    assertTrue( dirtyWidgets.isDirty( table.getItem( 0 ) ) );
+    assertTrue( dirtyWidgets.isDirty( table ) );
+  }
+
+  @Test
+  public void testWidgetCreated_marksParent() {
+    createDisplay();
+    Table table = createTable();
+    dirtyWidgets.startPreserving();
+
+    TableItem item = new TableItem( table, SWT.NONE );
+
+    assertTrue( dirtyWidgets.isDirty( item ) );
+    assertTrue( dirtyWidgets.isDirty( table ) );
+  }
+
+  @Test
+  public void testWidgetCreated_marksFollowingItems() {
+    createDisplay();
+    Table table = createTable();
+    dirtyWidgets.startPreserving();
+
+    new TableItem( table, SWT.NONE, 1 );
+
+    assertFalse( dirtyWidgets.isDirty( table.getItem( 0 ) ) );
+    assertTrue( dirtyWidgets.isDirty( table.getItem( 2 ) ) );
+  }
+
+  @Test
+  public void testWidgetCreated_marksShell() {
+    createDisplay();
+    Button button = createButton();
+    dirtyWidgets.startPreserving();
+
+    new Button( button.getParent(), SWT.PUSH );
+
+    assertTrue( dirtyWidgets.isDirty( button.getShell() ) );
+  }
+
+  @Test
+  public void testSetFocus_marksShell() {
+    createDisplay();
+    Button button = createButton();
+    Button otherButton = new Button( button.getParent(), SWT.PUSH );
+    button.getShell().open();
+    dirtyWidgets.clear();
+    dirtyWidgets.startPreserving();
+
+    otherButton.setFocus();
+
+    assertTrue( dirtyWidgets.isDirty( button.getShell() ) );
+  }
+
+  @Test
+  public void testValuePreserved_beforePreserving() {
+    createDisplay();
+    Button button = createButton();
+
+    getRemoteAdapter( button ).preserve( "foo", "bar" );
+
+    assertTrue( dirtyWidgets.isDirty( button ) );
+  }
+
+  @Test
+  public void testStartPreserving_preservesChangedWidgets() {
+    createDisplay();
+    Button button = createButton();
+    getRemoteAdapter( button ).preserve( "text", null );
+    button.setText( "foo" );
+
+    dirtyWidgets.startPreserving();
+
+    assertEquals( "foo", getRemoteAdapter( button ).getPreserved( "text" ) );
+  }
+
+  @Test
+  public void testHasDirtyDescendants() {
+    createDisplay();
+    Shell shell = new Shell( display );
+    Composite composite = new Composite( shell, SWT.NONE );
+    Composite otherComposite = new Composite( shell, SWT.NONE );
+    Button button = new Button( composite, SWT.PUSH );
+    getRemoteAdapter( button );
+    dirtyWidgets.clear();
+    dirtyWidgets.startPreserving();
+    button.setText( "foo" );
+
+    dirtyWidgets.startRendering();
+
+    assertTrue( dirtyWidgets.hasDirtyDescendants( shell ) );
+    assertTrue( dirtyWidgets.hasDirtyDescendants( composite ) );
+    assertFalse( dirtyWidgets.hasDirtyDescendants( otherComposite ) );
+    assertFalse( dirtyWidgets.hasDirtyDescendants( button ) );
+  }
+
+  @Test
+  public void testHasDirtyDescendants_afterReparent() {
+    createDisplay();
+    Shell shell = new Shell( display );
+    Composite composite = new Composite( shell, SWT.NONE );
+    Composite otherComposite = new Composite( shell, SWT.NONE );
+    Button button = new Button( composite, SWT.PUSH );
+    getRemoteAdapter( button );
+    dirtyWidgets.clear();
+    dirtyWidgets.startPreserving();
+
+    button.setParent( otherComposite );
+    dirtyWidgets.startRendering();
+
+    assertTrue( dirtyWidgets.hasDirtyDescendants( otherComposite ) );
+  }
+
+  @Test
+  public void testStartRendering_stopsPreserving() {
+    createDisplay();
+    dirtyWidgets.startPreserving();
+
+    dirtyWidgets.startRendering();
+
+    assertFalse( dirtyWidgets.isPreserving() );
+  }
+
+  private void createDisplay() {
+    System.setProperty( RWTProperties.DIRTY_TRACKING, "true" );
+    display = new Display();
+    dirtyWidgets = getDirtyWidgets( display );
+  }
+
+  private Button createButton() {
+    Shell shell = new Shell( display );
+    Button button = new Button( shell, SWT.PUSH );
+    getRemoteAdapter( button );
+    dirtyWidgets.clear();
+    return button;
+  }
+
+  private Table createTable() {
+    Shell shell = new Shell( display );
+    Table table = new Table( shell, SWT.NONE );
+    getRemoteAdapter( table );
+    for( int i = 0; i < 2; i++ ) {
+      getRemoteAdapter( new TableItem( table, SWT.NONE ) );
+    }
+    dirtyWidgets.clear();
+    return table;
+  }
+
+  private static WidgetRemoteAdapter getRemoteAdapter( Widget widget ) {
+    return ( WidgetRemoteAdapter )widget.getAdapter( RemoteAdapter.class );
+  }
+
+  private static DirtyWidgets getDirtyWidgets( Display display ) {
+    return display.getAdapter( IDisplayAdapter.class ).getDirtyWidgets();
+  }
+
+}
@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class SelectionRanges_Test {
+
+  private SelectionRanges ranges;
+
+  @Before
+  public void setUp() {
+    ranges = new SelectionRanges();
+  }
+
+  @Test
+  public void testInitialState() {
+    assertTrue( ranges.isEmpty() );
+    assertEquals( 0, ranges.size() );
+    assertEquals( -1, ranges.getFirst() );
+    assertArrayEquals( new int[ 0 ], ranges.toArray() );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testAdd_withNegativeStart() {
+    ranges.add( -1, 2 );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testAdd_withEndBeforeStart() {
+    ranges.add( 3, 2 );
+  }
+
+  @Test
+  public void testAdd_singleIndices() {
+    ranges.add( 5 );
+    ranges.add( 1 );
+    ranges.add( 5 );
+
+    assertEquals( 2, ranges.size() );
+    assertEquals( 1, ranges.getFirst() );
+    assertArrayEquals( new int[] { 1, 5 }, ranges.toArray() );
+  }
+
+  @Test
+  public void testAdd_mergesAdjacentIndices() {
+    ranges.add( 1 );
+    ranges.add( 3 );
+    ranges.add( 2 );
+
+    assertEquals( 3, ranges.size() );
+    assertArrayEquals( new int[] { 1, 2, 3 }, ranges.toArray() );
+  }
+
+  @Test
+  public void testAdd_mergesOverlappingRanges() {
+    ranges.add( 0, 2 );
+    ranges.add( 5, 7 );
+    ranges.add( 10, 12 );
+
+    ranges.add( 2, 10 );
+
+    assertEquals( 13, ranges.size() );
+    assertTrue( ranges.contains( 0 ) );
+    assertTrue( ranges.contains( 12 ) );
+    assertFalse( ranges.contains( 13 ) );
+  }
+
+  @Test
+  public void testAdd_largeRange() {
+    ranges.add( 0, 999999 );
+
+    assertEquals( 1000000, ranges.size() );
+    assertTrue( ranges.contains( 500000 ) );
+    assertFalse( ranges.contains( 1000000 ) );
+  }
+
+  @Test
+  public void testAdd_growsCapacity() {
+    for( int i = 0; i < 20; i++ ) {
+      ranges.add( i * 2 );
+    }
+
+    assertEquals( 20, ranges.size() );
+    assertTrue( ranges.contains( 38 ) );
+    assertFalse( ranges.contains( 37 ) );
+  }
+
+  @Test
+  public void testContains() {
+    ranges.add( 3, 5 );
+    ranges.add( 8 );
+
+    assertFalse( ranges.contains( 2 ) );
+    assertTrue( ranges.contains( 3 ) );
+    assertTrue( ranges.contains( 5 ) );
+    assertFalse( ranges.contains( 6 ) );
+    assertTrue( ranges.contains( 8 ) );
+    assertFalse( ranges.contains( 9 ) );
+  }
+
+  @Test
+  public void testRemove_splitsRange() {
+    ranges.add( 0, 9 );
+
+    ranges.remove( 3, 5 );
+
+    assertEquals( 7, ranges.size() );
+    assertArrayEquals( new int[] { 0, 1, 2, 6, 7, 8, 9 }, ranges.toArray() );
+  }
+
+  @Test
+  public void testRemove_acrossRanges() {
+    ranges.add( 0, 2 );
+    ranges.add( 4, 6 );
+    ranges.add( 8, 10 );
+
+    ranges.remove( 1, 9 );
+
+    assertArrayEquals( new int[] { 0, 10 }, ranges.toArray() );
+  }
+
+  @Test
+  public void testRemove_notContained() {
+    ranges.add( 2, 4 );
+
+    ranges.remove( 6 );
+    ranges.remove( 0 );
+
+    assertArrayEquals( new int[] { 2, 3, 4 }, ranges.toArray() );
+  }
+
+  @Test
+  public void testClear() {
+    ranges.add( 2, 4 );
+
+    ranges.clear();
+
+    assertTrue( ranges.isEmpty() );
+    assertFalse( ranges.contains( 3 ) );
+  }
+
+  @Test
+  public void testItemInserted_beforeRange() {
+    ranges.add( 2, 4 );
+
+    ranges.itemInserted( 0 );
+
+    assertArrayEquals( new int[] { 3, 4, 5 }, ranges.toArray() );
+  }
+
+  @Test
+  public void testItemInserted_atRangeStart() {
+    ranges.add( 2, 4 );
+
+    ranges.itemInserted( 2 );
+
+    assertArrayEquals( new int[] { 3, 4, 5 }, ranges.toArray() );
+  }
+
+  @Test
+  public void testItemInserted_insideRange() {
+    ranges.add( 2, 4 );
+
+    ranges.itemInserted( 3 );
+
+    assertEquals( 3, ranges.size() );
+    assertArrayEquals( new int[] { 2, 4, 5 }, ranges.toArray() );
+  }
+
+  @Test
+  public void testItemInserted_afterRange() {
+    ranges.add( 2, 4 );
+
+    ranges.itemInserted( 5 );
+
+    assertArrayEquals( new int[] { 2, 3, 4 }, ranges.toArray() );
+  }
+
+  @Test
+  public void testItemRemoved_insideRange() {
+    ranges.add( 2, 4 );
+    ranges.add( 8 );
+
+    ranges.itemRemoved( 3 );
+
+    assertEquals( 3, ranges.size() );
+    assertArrayEquals( new int[] { 2, 3, 7 }, ranges.toArray() );
+  }
+
+  @Test
+  public void testItemRemoved_mergesRanges() {
+    ranges.add( 0, 1 );
+    ranges.add( 3, 4 );
+
+    ranges.itemRemoved( 2 );
+
+    assertEquals( 4, ranges.size() );
+    assertArrayEquals( new int[] { 0, 1, 2, 3 }, ranges.toArray() );
+    ranges.remove( 1, 2 );
+    assertArrayEquals( new int[] { 0, 3 }, ranges.toArray() );
+  }
+
+  @Test
+  public void testItemRemoved_lastIndex() {
+    ranges.add( 4 );
+
+    ranges.itemRemoved( 4 );
+
+    assertTrue( ranges.isEmpty() );
+  }
+
+  @Test
+  public void testToRanges() {
+    ranges.add( 7 );
+    ranges.add( 0, 3 );
+    ranges.add( 1000, 100000 );
+
+    assertArrayEquals( new int[] { 0, 3, 7, 7, 1000, 100000 }, ranges.toRanges() );
+  }
+
+  @Test
+  public void testToRanges_empty() {
+    assertArrayEquals( new int[ 0 ], ranges.toRanges() );
+  }
+
+}
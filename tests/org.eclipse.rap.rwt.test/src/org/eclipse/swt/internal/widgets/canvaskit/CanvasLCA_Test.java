@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2015 EclipseSource and others.
+ * Copyright (c) 2010, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -25,6 +25,7 @@ import java.io.IOException;
 
 import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
 import org.eclipse.rap.rwt.internal.protocol.Operation.CallOperation;
 import org.eclipse.rap.rwt.internal.protocol.Operation.CreateOperation;
@@ -69,6 +70,7 @@ public class CanvasLCA_Test {
 
   @After
   public void tearDown() {
+    System.clearProperty( RWTProperties.INCREMENTAL_CANVAS );
     Fixture.tearDown();
   }
 
@@ -369,6 +371,110 @@ public class CanvasLCA_Test {
     assertNotNull( message.findCallOperation( canvas, "addListener" ) );
   }
 
+  @Test
+  public void testRenderOperations_incrementalRendersInitAndDrawFirst() throws IOException {
+    System.setProperty( RWTProperties.INCREMENTAL_CANVAS, "true" );
+    prepareIncrementalCanvas();
+
+    renderLines( 1, 2, 3, 4 );
+
+    CallOperation init = getGCOperation( canvas, "init" );
+    assertTrue( init.getParameters().get( "incremental" ).asBoolean() );
+    CallOperation draw = getGCOperation( canvas, "draw" );
+    assertEquals( 16, draw.getParameters().get( "operations" ).asArray().size() );
+    assertNull( getGCOperation( canvas, "patch" ) );
+  }
+
+  @Test
+  public void testRenderOperations_incrementalRendersPatchForSmallChange() throws IOException {
+    System.setProperty( RWTProperties.INCREMENTAL_CANVAS, "true" );
+    prepareIncrementalCanvas();
+    renderLines( 1, 2, 3, 4 );
+    Fixture.fakeResponseWriter();
+
+    renderLines( 1, 2, 5, 4 );
+
+    assertNull( getGCOperation( canvas, "init" ) );
+    assertNull( getGCOperation( canvas, "draw" ) );
+    JsonObject parameters = getGCOperation( canvas, "patch" ).getParameters();
+    assertEquals( 9, parameters.get( "start" ).asInt() );
+    assertEquals( 2, parameters.get( "deleteCount" ).asInt() );
+    JsonArray operations = parameters.get( "operations" ).asArray();
+    assertEquals( JsonArray.readFrom( "[\"moveTo\", 5.5, 5.5]" ), operations.get( 0 ) );
+    assertEquals( JsonArray.readFrom( "[\"lineTo\", 15.5, 15.5]" ), operations.get( 1 ) );
+  }
+
+  @Test
+  public void testRenderOperations_incrementalRendersPatchForAddedOperations() throws IOException {
+    System.setProperty( RWTProperties.INCREMENTAL_CANVAS, "true" );
+    prepareIncrementalCanvas();
+    renderLines( 1, 2, 3, 4 );
+    Fixture.fakeResponseWriter();
+
+    renderLines( 1, 2, 3, 4, 5 );
+
+    JsonObject parameters = getGCOperation( canvas, "patch" ).getParameters();
+    assertEquals( 16, parameters.get( "start" ).asInt() );
+    assertEquals( 0, parameters.get( "deleteCount" ).asInt() );
+    assertEquals( 4, parameters.get( "operations" ).asArray().size() );
+  }
+
+  @Test
+  public void testRenderOperations_incrementalRendersAllForLargeChange() throws IOException {
+    System.setProperty( RWTProperties.INCREMENTAL_CANVAS, "true" );
+    prepareIncrementalCanvas();
+    renderLines( 1, 2, 3, 4 );
+    Fixture.fakeResponseWriter();
+
+    renderLines( 5, 6, 7, 4 );
+
+    assertNull( getGCOperation( canvas, "patch" ) );
+    assertNotNull( getGCOperation( canvas, "init" ) );
+    CallOperation draw = getGCOperation( canvas, "draw" );
+    assertEquals( 16, draw.getParameters().get( "operations" ).asArray().size() );
+  }
+
+  @Test
+  public void testRenderOperations_incrementalRendersAllAfterResize() throws IOException {
+    System.setProperty( RWTProperties.INCREMENTAL_CANVAS, "true" );
+    prepareIncrementalCanvas();
+    renderLines( 1, 2, 3, 4 );
+    Fixture.fakeResponseWriter();
+
+    canvas.setSize( 60, 60 );
+    renderLines( 1, 2, 3, 4 );
+
+    assertNull( getGCOperation( canvas, "patch" ) );
+    assertEquals( 60, getGCOperation( canvas, "init" ).getParameters().get( "width" ).asInt() );
+    assertNotNull( getGCOperation( canvas, "draw" ) );
+  }
+
+  @Test
+  public void testRenderInitialization_resetsRenderedOperations() throws IOException {
+    GCAdapter adapter = canvas.getAdapter( GCAdapter.class );
+    adapter.setRenderedOperations( new JsonObject(), new JsonArray() );
+
+    lca.renderInitialization( canvas );
+
+    assertNull( adapter.getRenderedInitParameters() );
+    assertNull( adapter.getRenderedOperations() );
+  }
+
+  private void prepareIncrementalCanvas() {
+    canvas.setSize( 50, 50 );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( canvas );
+    Fixture.preserveWidgets();
+  }
+
+  private void renderLines( int... offsets ) throws IOException {
+    GCAdapter adapter = canvas.getAdapter( GCAdapter.class );
+    for( int offset : offsets ) {
+      adapter.addGCOperation( new DrawLine( offset, offset, offset + 10, offset + 10 ) );
+    }
+    lca.renderChanges( canvas );
+  }
+
   private Rectangle toRectangle( Object property ) {
     JsonArray jsonArray = ( JsonArray )property;
     Rectangle result = new Rectangle(
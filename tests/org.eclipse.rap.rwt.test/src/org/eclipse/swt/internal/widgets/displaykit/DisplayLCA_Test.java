@@ -29,6 +29,7 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -45,10 +46,12 @@ import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.application.EntryPoint;
 import org.eclipse.rap.rwt.client.WebClient;
 import org.eclipse.rap.rwt.client.service.ExitConfirmation;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.lifecycle.DisplayUtil;
 import org.eclipse.rap.rwt.internal.lifecycle.EntryPointManager;
 import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleUtil;
+import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
 import org.eclipse.rap.rwt.internal.lifecycle.RWTLifeCycle;
 import org.eclipse.rap.rwt.internal.lifecycle.RemoteAdapter;
 import org.eclipse.rap.rwt.internal.lifecycle.UITestUtil;
@@ -69,18 +72,30 @@ import org.eclipse.rap.rwt.testfixture.internal.Fixture;
 import org.eclipse.rap.rwt.testfixture.internal.TestMessage;
 import org.eclipse.rap.rwt.testfixture.internal.TestRequest;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.CTabFolder;
+import org.eclipse.swt.custom.CTabItem;
 import org.eclipse.swt.events.SelectionAdapter;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 import org.eclipse.swt.internal.widgets.WidgetRemoteAdapter;
+import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Text;
+import org.eclipse.swt.widgets.ToolBar;
+import org.eclipse.swt.widgets.ToolItem;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
 import org.eclipse.swt.widgets.Widget;
 import org.junit.After;
 import org.junit.Before;
@@ -107,6 +122,7 @@ public class DisplayLCA_Test {
   public void tearDown() {
     Fixture.tearDown();
     setEnableUiTests( false );
+    System.clearProperty( RWTProperties.DIRTY_TRACKING );
   }
 
   @Test
@@ -620,6 +636,105 @@ public class DisplayLCA_Test {
     assertNull( message.findSetOperation( displayId, "overflow" ) );
   }
 
+  @Test
+  public void testRender_withDirtyTracking_rendersChangedWidgetsOnly() throws IOException {
+    display = createDisplayWithDirtyTracking();
+    WidgetLCA<Widget> lca = mock( TestWidgetLCA.class );
+    Shell shell = new Shell( display );
+    Widget changed = new CustomLCAWidget( shell, lca );
+    Widget unchanged = new CustomLCAWidget( shell, lca );
+    Shell otherShell = new CustomLCAShell( display, lca );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( shell );
+    Fixture.markInitialized( changed );
+    Fixture.markInitialized( unchanged );
+    Fixture.markInitialized( otherShell );
+    Fixture.preserveWidgets();
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+
+    changed.setData( "foo" );
+    Fixture.fakePhase( PhaseId.RENDER );
+    displayLCA.render( display );
+
+    verify( lca ).render( changed );
+    verify( lca, never() ).render( unchanged );
+    verify( lca, never() ).render( otherShell );
+  }
+
+  @Test
+  public void testRender_withDirtyTracking_rendersSameOperationsAsFullRender() throws IOException {
+    JsonValue expected = renderChangedWidgetTree( display );
+
+    JsonValue actual = renderChangedWidgetTree( createDisplayWithDirtyTracking() );
+
+    assertEquals( expected, actual );
+  }
+
+  private Display createDisplayWithDirtyTracking() {
+    Fixture.tearDown();
+    System.setProperty( RWTProperties.DIRTY_TRACKING, "true" );
+    Fixture.setUp();
+    return new Display();
+  }
+
+  private JsonValue renderChangedWidgetTree( Display display ) throws IOException {
+    Shell shell = new Shell( display );
+    Composite composite = new Composite( shell, SWT.NONE );
+    Button button = new Button( composite, SWT.PUSH );
+    Label label = new Label( shell, SWT.NONE );
+    label.setText( "label" );
+    Text text = new Text( shell, SWT.BORDER );
+    Table table = new Table( shell, SWT.NONE );
+    new TableColumn( table, SWT.NONE ).setWidth( 50 );
+    new TableColumn( table, SWT.NONE ).setWidth( 50 );
+    new TableItem( table, SWT.NONE ).setText( "a" );
+    new TableItem( table, SWT.NONE ).setText( "b" );
+    Tree tree = new Tree( shell, SWT.NONE );
+    TreeItem treeItem = new TreeItem( tree, SWT.NONE );
+    new TreeItem( treeItem, SWT.NONE ).setText( "child" );
+    ToolBar toolBar = new ToolBar( shell, SWT.NONE );
+    ToolItem toolItem = new ToolItem( toolBar, SWT.PUSH );
+    toolItem.setText( "foo" );
+    new ToolItem( toolBar, SWT.PUSH ).setText( "bar" );
+    CTabFolder folder = new CTabFolder( shell, SWT.NONE );
+    new CTabItem( folder, SWT.NONE ).setText( "first" );
+    CTabItem tabItem = new CTabItem( folder, SWT.NONE );
+    tabItem.setText( "second" );
+    folder.setSelection( 0 );
+    Composite disposed = new Composite( shell, SWT.NONE );
+    new Button( disposed, SWT.PUSH );
+    shell.setLayout( new FillLayout( SWT.VERTICAL ) );
+    shell.setBounds( 0, 0, 400, 600 );
+    shell.open();
+    renderInitially( display );
+
+    label.getText();
+    button.setText( "changed" );
+    new Button( composite, SWT.CHECK );
+    new TableItem( table, SWT.NONE, 0 ).setText( "inserted" );
+    table.getColumn( 0 ).setWidth( 80 );
+    table.getItem( 2 ).dispose();
+    new TreeItem( treeItem, SWT.NONE, 0 ).setText( "inserted" );
+    toolItem.setText( "longer text" );
+    folder.setSelection( tabItem );
+    new CTabItem( folder, SWT.NONE, 0 ).setText( "inserted" );
+    disposed.dispose();
+    shell.setTabList( new Control[] { text, table } );
+    text.setFocus();
+    shell.layout();
+    Fixture.fakePhase( PhaseId.RENDER );
+    displayLCA.render( display );
+    return getProtocolMessage().toJson().get( "operations" );
+  }
+
+  private void renderInitially( Display display ) throws IOException {
+    Fixture.fakePhase( PhaseId.RENDER );
+    displayLCA.render( display );
+    Fixture.fakeNewRequest();
+    Fixture.preserveWidgets();
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+  }
+
   private static void setEnableUiTests( boolean value ) {
     Field field;
     try {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -508,8 +508,8 @@ public class MenuItemLCA_Test {
     lca.renderChanges( item );
 
     TestMessage message = Fixture.getProtocolMessage();
-    JsonArray expected
-      = new JsonArray().add( "rwt-resources/generated/90fb0bfe.gif" ).add( 58 ).add( 12 );
+    String imagePath = "rwt-resources/generated/3d13ac85513e26acd83b8e0d178c4369e0938785.gif";
+    JsonArray expected = new JsonArray().add( imagePath ).add( 58 ).add( 12 );
     assertEquals( expected, message.findSetProperty( item, "image" ) );
   }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -955,7 +955,7 @@ public class TableLCA_Test {
 
     TestMessage message = Fixture.getProtocolMessage();
     CreateOperation operation = message.findCreateOperation( table );
-    assertFalse( operation.getProperties().names().contains( "selection" ) );
+    assertFalse( operation.getProperties().names().contains( "selectionRanges" ) );
   }
 
   @Test
@@ -967,10 +967,123 @@ public class TableLCA_Test {
     getLCA( display ).render( display );
 
     TestMessage message = Fixture.getProtocolMessage();
-    JsonArray expected = new JsonArray();
-    expected.add( getId( table.getItem( 2 ) ) );
-    expected.add( getId( table.getItem( 0 ) ) );
-    assertEquals( expected, message.findSetProperty( table, "selection" ) );
+    JsonArray expected = new JsonArray().add( 0 ).add( 0 ).add( 2 ).add( 2 );
+    assertEquals( expected, message.findSetProperty( table, "selectionRanges" ) );
+  }
+
+  @Test
+  public void testRenderSelection_sendsRangesWithoutResolvingVirtualItems() throws IOException {
+    table = new Table( shell, SWT.VIRTUAL | SWT.MULTI );
+    table.setSize( 100, 100 );
+    table.setItemCount( 1000000 );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( table );
+    Fixture.preserveWidgets();
+
+    table.selectAll();
+    getLCA( display ).render( display );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    JsonArray expected = new JsonArray().add( 0 ).add( 999999 );
+    assertEquals( expected, message.findSetProperty( table, "selectionRanges" ) );
+    assertTrue( isItemVirtual( table, 999999 ) );
+  }
+
+  @Test
+  public void testRenderSelection_afterSelectedItemReplaced() throws IOException {
+    table = new Table( shell, SWT.MULTI );
+    createTableItems( table, 3 );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( table );
+    table.setSelection( 0 );
+    Fixture.preserveWidgets();
+
+    table.getItem( 0 ).dispose();
+    new TableItem( table, SWT.NONE, 0 );
+    table.setSelection( 0 );
+    getLCA( display ).render( display );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    JsonArray expected = new JsonArray().add( 0 ).add( 0 );
+    assertEquals( expected, message.findSetProperty( table, "selectionRanges" ) );
+  }
+
+  @Test
+  public void testRenderSelectionUnchanged_afterItemCreatedWithEmptySelection()
+    throws IOException
+  {
+    table = new Table( shell, SWT.MULTI );
+    createTableItems( table, 3 );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( table );
+    Fixture.preserveWidgets();
+
+    new TableItem( table, SWT.NONE, 0 );
+    getLCA( display ).render( display );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( table, "selectionRanges" ) );
+  }
+
+  @Test
+  public void testRenderSelection_afterDeselect() throws IOException {
+    table = new Table( shell, SWT.MULTI );
+    createTableItems( table, 3 );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( table );
+    table.setSelection( new int[] { 0, 2 } );
+    Fixture.preserveWidgets();
+
+    table.deselect( 2 );
+    getLCA( display ).render( display );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    JsonArray expected = new JsonArray().add( 0 ).add( 0 );
+    assertEquals( expected, message.findSetProperty( table, "selectionRanges" ) );
+  }
+
+  @Test
+  public void testRenderSelection_afterSelectionCleared() throws IOException {
+    table = new Table( shell, SWT.MULTI );
+    createTableItems( table, 3 );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( table );
+    table.setSelection( new int[] { 0, 2 } );
+    Fixture.preserveWidgets();
+
+    table.deselectAll();
+    getLCA( display ).render( display );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertEquals( new JsonArray(), message.findSetProperty( table, "selectionRanges" ) );
+  }
+
+  @Test
+  public void testPreserveSelection_doesNotResolveVirtualItems() {
+    table = new Table( shell, SWT.VIRTUAL | SWT.MULTI );
+    table.setItemCount( 1000 );
+    table.selectAll();
+
+    Fixture.preserveWidgets();
+
+    assertTrue( isItemVirtual( table, 999 ) );
+  }
+
+  @Test
+  public void testRenderSelectionUnchanged_doesNotResolveVirtualItems() throws IOException {
+    table = new Table( shell, SWT.VIRTUAL | SWT.MULTI );
+    table.setSize( 100, 100 );
+    table.setItemCount( 1000 );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( table );
+    table.selectAll();
+    Fixture.preserveWidgets();
+
+    getLCA( display ).render( display );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( table, "selectionRanges" ) );
+    assertTrue( isItemVirtual( table, 999 ) );
   }
 
   @Test
@@ -985,7 +1098,7 @@ public class TableLCA_Test {
     getLCA( display ).render( display );
 
     TestMessage message = Fixture.getProtocolMessage();
-    assertNull( message.findSetOperation( table, "selection" ) );
+    assertNull( message.findSetOperation( table, "selectionRanges" ) );
   }
 
   @Test
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -39,11 +39,13 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.application.EntryPoint;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.lifecycle.IUIThreadHolder;
 import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleUtil;
 import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
 import org.eclipse.rap.rwt.internal.lifecycle.RemoteAdapter;
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil;
+import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTError;
@@ -81,6 +83,7 @@ public class Display_Test {
 
   @After
   public void tearDown() {
+    System.getProperties().remove( RWTProperties.ASYNC_EXEC_DRAIN_LIMIT );
     Fixture.tearDown();
   }
 
@@ -1594,6 +1597,71 @@ public class Display_Test {
     }
   }
 
+  @Test
+  public void testReadAndDispatch_runsAsyncRunnablesUpToDrainLimit() {
+    System.setProperty( RWTProperties.ASYNC_EXEC_DRAIN_LIMIT, "2" );
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    Runnable runnable = mock( Runnable.class );
+    display.asyncExec( runnable );
+    display.asyncExec( runnable );
+    display.asyncExec( runnable );
+
+    while( display.readAndDispatch() ) {
+    }
+
+    verify( runnable, times( 2 ) ).run();
+    assertEquals( 1, display.getSynchronizer().getMessageCount() );
+  }
+
+  @Test
+  public void testReadAndDispatch_forcesServerPushForDeferredAsyncRunnables() {
+    System.setProperty( RWTProperties.ASYNC_EXEC_DRAIN_LIMIT, "1" );
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    Runnable runnable = mock( Runnable.class );
+    display.asyncExec( runnable );
+    display.asyncExec( runnable );
+
+    while( display.readAndDispatch() ) {
+    }
+
+    assertFalse( ServerPushManager.getInstance().isServerPushActive() );
+    assertTrue( ServerPushManager.getInstance().needsActivation() );
+  }
+
+  @Test
+  public void testReadAndDispatch_doesNotForceServerPushWithoutDeferredAsyncRunnables() {
+    System.setProperty( RWTProperties.ASYNC_EXEC_DRAIN_LIMIT, "2" );
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    Runnable runnable = mock( Runnable.class );
+    display.asyncExec( runnable );
+    display.asyncExec( runnable );
+
+    while( display.readAndDispatch() ) {
+    }
+
+    assertFalse( ServerPushManager.getInstance().needsActivation() );
+  }
+
+  @Test
+  public void testReadAndDispatch_runsRemainingAsyncRunnablesInNextRequest() {
+    System.setProperty( RWTProperties.ASYNC_EXEC_DRAIN_LIMIT, "2" );
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    Runnable runnable = mock( Runnable.class );
+    display.asyncExec( runnable );
+    display.asyncExec( runnable );
+    display.asyncExec( runnable );
+    while( display.readAndDispatch() ) {
+    }
+
+    Fixture.fakeNewRequest();
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    while( display.readAndDispatch() ) {
+    }
+
+    verify( runnable, times( 3 ) ).run();
+    assertEquals( 0, display.getSynchronizer().getMessageCount() );
+  }
+
   @Test
   public void testSyncExec_delegatesToSynchronizer() {
     Synchronizer synchronizer = mock( Synchronizer.class );
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import static org.eclipse.rap.rwt.testfixture.internal.ConcurrencyTestUtil.joinThreads;
+import static org.eclipse.rap.rwt.testfixture.internal.ConcurrencyTestUtil.startThreads;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.rap.rwt.testfixture.internal.NoOpRunnable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class Synchronizer_Test {
+
+  private Display display;
+  private Synchronizer synchronizer;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    display = new Display();
+    synchronizer = new Synchronizer( display );
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testAsyncExec_keepsOrder() {
+    Runnable first = mock( Runnable.class );
+    Runnable second = mock( Runnable.class );
+
+    synchronizer.asyncExec( first );
+    synchronizer.asyncExec( second );
+
+    assertEquals( 2, synchronizer.getMessageCount() );
+    assertSame( first, synchronizer.removeFirst().runnable );
+    assertSame( second, synchronizer.removeFirst().runnable );
+    assertEquals( 0, synchronizer.getMessageCount() );
+  }
+
+  @Test
+  public void testRemoveFirst_withEmptyQueue() {
+    assertEquals( null, synchronizer.removeFirst() );
+    assertEquals( 0, synchronizer.getMessageCount() );
+  }
+
+  @Test
+  public void testAsyncExec_notifiesServerPush() {
+    synchronizer.asyncExec( mock( Runnable.class ) );
+
+    assertTrue( ServerPushManager.getInstance().hasRunnables() );
+  }
+
+  @Test
+  public void testRunAsyncMessages_notifiesServerPushWhenQueueIsEmpty() {
+    synchronizer.asyncExec( mock( Runnable.class ) );
+    synchronizer.asyncExec( mock( Runnable.class ) );
+
+    synchronizer.runAsyncMessages( false );
+    assertTrue( ServerPushManager.getInstance().hasRunnables() );
+    synchronizer.runAsyncMessages( false );
+    assertFalse( ServerPushManager.getInstance().hasRunnables() );
+  }
+
+  @Test
+  public void testAsyncExec_fromConcurrentThreads() throws InterruptedException {
+    Runnable runnable = new Runnable() {
+      @Override
+      public void run() {
+        for( int i = 0; i < 100; i++ ) {
+          synchronizer.asyncExec( new NoOpRunnable() );
+        }
+      }
+    };
+
+    Thread[] threads = startThreads( 10, runnable );
+    joinThreads( threads );
+
+    assertEquals( 1000, synchronizer.getMessageCount() );
+    assertTrue( ServerPushManager.getInstance().hasRunnables() );
+  }
+
+  @Test
+  public void testRunAsyncMessages_whileConcurrentThreadsAdd() throws InterruptedException {
+    Runnable runnable = new Runnable() {
+      @Override
+      public void run() {
+        for( int i = 0; i < 100; i++ ) {
+          synchronizer.asyncExec( new NoOpRunnable() );
+        }
+      }
+    };
+
+    Thread[] threads = startThreads( 10, runnable );
+    int executed = 0;
+    while( executed < 1000 ) {
+      if( synchronizer.runAsyncMessages( false ) ) {
+        executed++;
+      }
+    }
+    joinThreads( threads );
+
+    assertEquals( 0, synchronizer.getMessageCount() );
+    assertFalse( ServerPushManager.getInstance().hasRunnables() );
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -1118,6 +1118,40 @@ public class Table_Test {
     assertEquals( table.getItemCount(), table.getSelectionCount() );
   }
 
+  @Test
+  public void testSelectAll_MULTIVirtual_doesNotResolveItems() {
+    Table table = createTable( SWT.MULTI | SWT.VIRTUAL, 1 );
+    table.setItemCount( 100000 );
+
+    table.selectAll();
+
+    assertEquals( 100000, table.getSelectionCount() );
+    assertTrue( table.isSelected( 99999 ) );
+    assertTrue( getTableAdapter( table ).isItemVirtual( 50000 ) );
+  }
+
+  @Test
+  public void testSelectionIndices_areAdjustedOnItemCreation() {
+    Table table = createTable( SWT.MULTI, 1 );
+    createTableItems( table, 4 );
+    table.select( 1, 2 );
+
+    new TableItem( table, SWT.NONE, 2 );
+
+    assertArrayEquals( new int[] { 1, 3 }, table.getSelectionIndices() );
+  }
+
+  @Test
+  public void testSelectionIndices_areAdjustedOnItemDisposal() {
+    Table table = createTable( SWT.MULTI, 1 );
+    createTableItems( table, 4 );
+    table.select( new int[] { 0, 2, 3 } );
+
+    table.getItem( 1 ).dispose();
+
+    assertArrayEquals( new int[] { 0, 1, 2 }, table.getSelectionIndices() );
+  }
+
   @Test
   public void testDeselect() {
     Table table = createTable( SWT.SINGLE, 1 );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,13 +10,17 @@
  ******************************************************************************/
 package org.eclipse.swt.widgets;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.eclipse.rap.rwt.testfixture.internal.ConcurrencyTestUtil.joinThreads;
 import static org.eclipse.rap.rwt.testfixture.internal.ConcurrencyTestUtil.startThreads;
 import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serialize;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -24,10 +28,13 @@ import static org.mockito.Mockito.when;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
-import java.util.Timer;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 
+import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
 import org.eclipse.rap.rwt.testfixture.internal.NoOpRunnable;
+import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -39,17 +46,17 @@ public class TimerExecScheduler_Test {
   private TimerExecScheduler scheduler;
   private Display display;
   private Collection<Throwable> exceptions;
-  private Timer timer;
+  private ScheduledExecutorService executor;
 
   @Before
   public void setUp() {
     Fixture.setUp();
     display = new Display();
-    timer = mock( Timer.class );
+    executor = mock( ScheduledExecutorService.class );
     scheduler = new TimerExecScheduler( display ) {
       @Override
-      Timer createTimer() {
-        return timer;
+      ScheduledExecutorService getExecutor() {
+        return executor;
       }
       @Override
       TimerExecTask createTask( Runnable runnable ) {
@@ -73,7 +80,7 @@ public class TimerExecScheduler_Test {
     scheduler.schedule( 23, runnable );
 
     ArgumentCaptor<TimerExecTask> taskCaptor = ArgumentCaptor.forClass( TimerExecTask.class );
-    verify( timer ).schedule( taskCaptor.capture(), eq( 23L ) );
+    verify( executor ).schedule( taskCaptor.capture(), eq( 23L ), eq( MILLISECONDS ) );
     assertSame( runnable, taskCaptor.getValue().getRunnable() );
   }
 
@@ -85,8 +92,8 @@ public class TimerExecScheduler_Test {
     scheduler.schedule( 42, runnable );
 
     ArgumentCaptor<TimerExecTask> taskCaptor = ArgumentCaptor.forClass( TimerExecTask.class );
-    verify( timer ).schedule( taskCaptor.capture(), eq( 23L ) );
-    verify( timer ).schedule( taskCaptor.capture(), eq( 42L ) );
+    verify( executor ).schedule( taskCaptor.capture(), eq( 23L ), eq( MILLISECONDS ) );
+    verify( executor ).schedule( taskCaptor.capture(), eq( 42L ), eq( MILLISECONDS ) );
     assertSame( taskCaptor.getAllValues().get( 0 ), taskCaptor.getAllValues().get( 1 ) );
   }
 
@@ -98,7 +105,7 @@ public class TimerExecScheduler_Test {
     scheduler.cancel( runnable );
 
     ArgumentCaptor<TimerExecTask> taskCaptor = ArgumentCaptor.forClass( TimerExecTask.class );
-    verify( timer ).schedule( taskCaptor.capture(), eq( 23L ) );
+    verify( executor ).schedule( taskCaptor.capture(), eq( 23L ), eq( MILLISECONDS ) );
     verify( taskCaptor.getValue() ).cancel();
   }
 
@@ -116,11 +123,59 @@ public class TimerExecScheduler_Test {
     scheduler.schedule( 42, runnable );
 
     ArgumentCaptor<TimerExecTask> taskCaptor = ArgumentCaptor.forClass( TimerExecTask.class );
-    verify( timer ).schedule( taskCaptor.capture(), eq( 23L ) );
-    verify( timer ).schedule( taskCaptor.capture(), eq( 42L ) );
+    verify( executor ).schedule( taskCaptor.capture(), eq( 23L ), eq( MILLISECONDS ) );
+    verify( executor ).schedule( taskCaptor.capture(), eq( 42L ), eq( MILLISECONDS ) );
     assertNotSame( taskCaptor.getAllValues().get( 0 ), taskCaptor.getAllValues().get( 1 ) );
   }
 
+  @Test
+  public void testSchedule_replacesFutureOfRescheduledRunnable() {
+    ScheduledFuture<?> future = mock( ScheduledFuture.class );
+    doReturn( future ).when( executor ).schedule( any( Runnable.class ),
+                                                  anyLong(),
+                                                  eq( MILLISECONDS ) );
+    Runnable runnable = mock( Runnable.class );
+    scheduler.schedule( 23, runnable );
+
+    scheduler.schedule( 42, runnable );
+
+    ArgumentCaptor<TimerExecTask> taskCaptor = ArgumentCaptor.forClass( TimerExecTask.class );
+    verify( executor ).schedule( taskCaptor.capture(), eq( 42L ), eq( MILLISECONDS ) );
+    verify( taskCaptor.getValue() ).setFuture( eq( future ), anyLong() );
+  }
+
+  @Test
+  public void testDispose_cancelsFutures() {
+    Runnable runnable = mock( Runnable.class );
+    scheduler.schedule( 23, runnable );
+
+    scheduler.dispose();
+
+    ArgumentCaptor<TimerExecTask> taskCaptor = ArgumentCaptor.forClass( TimerExecTask.class );
+    verify( executor ).schedule( taskCaptor.capture(), eq( 23L ), eq( MILLISECONDS ) );
+    verify( taskCaptor.getValue() ).cancelFuture();
+  }
+
+  @Test
+  public void testGetExecutor_isSharedBySessions() {
+    TimerExecScheduler scheduler = new TimerExecScheduler( display );
+    Fixture.disposeOfServiceContext();
+    Fixture.createServiceContext();
+    TimerExecScheduler otherScheduler = new TimerExecScheduler( new Display() );
+
+    assertSame( scheduler.getExecutor(), otherScheduler.getExecutor() );
+  }
+
+  @Test
+  public void testGetExecutor_isProvidedByApplicationContext() {
+    TimerExecScheduler scheduler = new TimerExecScheduler( display );
+    IDisplayAdapter adapter = display.getAdapter( IDisplayAdapter.class );
+    ApplicationContextImpl applicationContext
+      = ( ApplicationContextImpl )adapter.getUISession().getApplicationContext();
+
+    assertSame( applicationContext.getTimerExecService().getExecutor(), scheduler.getExecutor() );
+  }
+
   @Test
   public void testSerializationIsThreadSafe() throws Exception {
     scheduler = new TimerExecScheduler( display );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -21,10 +21,11 @@ import javax.servlet.ServletRegistration;
 import javax.servlet.ServletSecurityElement;
 
 
-class TestServletRegistration implements ServletRegistration.Dynamic {
+public class TestServletRegistration implements ServletRegistration.Dynamic {
   private final String servletName;
   private final String className;
   private final Set<String> mappings;
+  private boolean asyncSupported;
 
   TestServletRegistration( String servletName, Servlet servlet ) {
     this.servletName = servletName;
@@ -72,6 +73,11 @@ class TestServletRegistration implements ServletRegistration.Dynamic {
   }
 
   public void setAsyncSupported( boolean isAsyncSupported ) {
+    asyncSupported = isAsyncSupported;
+  }
+
+  public boolean isAsyncSupported() {
+    return asyncSupported;
   }
 
   public void setLoadOnStartup( int loadOnStartup ) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2011 EclipseSource and others.
+ * Copyright (c) 2010, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,6 +12,7 @@ package org.eclipse.rap.ui.tests;
 
 import org.eclipse.jface.internal.util.SerializableEventManagerTest;
 import org.eclipse.jface.tests.viewers.Bug264226TableViewerTest;
+import org.eclipse.jface.tests.viewers.SortKeyViewerComparatorTest;
 
 import junit.framework.Test;
 import junit.framework.TestSuite;
@@ -32,6 +33,7 @@ public class AllTests {
       // RAP JFace Tests
       suite.addTestSuite( Bug264226TableViewerTest.class );
       suite.addTestSuite(SerializableEventManagerTest.class );
+      suite.addTestSuite( SortKeyViewerComparatorTest.class );
       // Cleanup
       suite.addTestSuite( Cleanup.class );
       return suite;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2008 IBM Corporation and others.
+ * Copyright (c) 2004, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,9 @@ import java.lang.ref.WeakReference;
 
 //import org.eclipse.core.commands.Command;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.service.ApplicationContext;
+import org.eclipse.rap.rwt.service.ApplicationContextEvent;
 import org.eclipse.ui.IPageLayout;
 import org.eclipse.ui.IViewPart;
 import org.eclipse.ui.IWorkbenchWindow;
@@ -22,6 +25,7 @@ import org.eclipse.ui.IWorkbenchWindow;
 //import org.eclipse.ui.ide.IDE;
 import org.eclipse.ui.internal.WorkbenchPlugin;
 import org.eclipse.ui.internal.registry.IWorkbenchRegistryConstants;
+import org.eclipse.ui.internal.registry.SharedViewRegistry;
 import org.eclipse.ui.internal.registry.ViewRegistry;
 import org.eclipse.ui.tests.leaks.LeakTests;
 import org.eclipse.ui.views.IStickyViewDescriptor;
@@ -140,6 +144,41 @@ public class ViewTests extends DynamicTestCase {
 		}
 	}
 
+	public void testSharedRegistryRebuiltOnAddedAndRemovedExtensions() {
+		SharedViewRegistry initial = SharedViewRegistry.getInstance();
+		assertNull(initial.findView(VIEW_ID1));
+
+		getBundle();
+
+		SharedViewRegistry added = SharedViewRegistry.getInstance();
+		assertNotSame(initial, added);
+		assertNotNull(added.findView(VIEW_ID1));
+		// a replaced registry keeps its former content
+		assertNull(initial.findView(VIEW_ID1));
+
+		removeBundle();
+
+		SharedViewRegistry removed = SharedViewRegistry.getInstance();
+		assertNotSame(added, removed);
+		assertNull(removed.findView(VIEW_ID1));
+	}
+
+	public void testSharedRegistryStopsListeningBeforeDestroy() {
+		ApplicationContext applicationContext = RWT.getApplicationContext();
+		SharedViewRegistry.Holder holder = new SharedViewRegistry.Holder();
+		SharedViewRegistry registry = holder.get(applicationContext);
+		try {
+			holder.beforeDestroy(new ApplicationContextEvent(applicationContext));
+
+			getBundle();
+
+			assertSame(registry, holder.get(applicationContext));
+			assertNull(registry.findView(VIEW_ID1));
+		} finally {
+			applicationContext.removeApplicationContextListener(holder);
+		}
+	}
+
 	private void testStickyViewProperties(IStickyViewDescriptor desc) {
 		assertNotNull(desc.getId());
 		assertFalse(desc.isMoveable());
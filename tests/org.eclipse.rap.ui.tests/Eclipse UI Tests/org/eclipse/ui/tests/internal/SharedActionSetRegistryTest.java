@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.tests.internal;
+
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.ServiceContext;
+import org.eclipse.rap.rwt.internal.service.UISessionImpl;
+import org.eclipse.rap.rwt.service.UISession;
+import org.eclipse.rap.rwt.testfixture.internal.TestHttpSession;
+import org.eclipse.ui.contexts.IContextService;
+import org.eclipse.ui.internal.registry.ActionSetRegistry;
+import org.eclipse.ui.internal.registry.IActionSetDescriptor;
+import org.eclipse.ui.internal.registry.SharedActionSetRegistry;
+import org.eclipse.ui.tests.harness.util.UITestCase;
+
+/**
+ * Tests that the action sets are shared between the UI sessions of an
+ * application while their contexts are still defined per UI session.
+ */
+public class SharedActionSetRegistryTest extends UITestCase {
+
+	private static final String ACTION_SET_ID = "org.eclipse.ui.tests.api.MockActionSet";
+
+	private static final String ASSOCIATED_ACTION_SET_ID = "org.eclipse.ui.tests.multieditor.actionSet";
+
+	private static final String ASSOCIATED_PART_ID = "org.eclipse.ui.tests.multieditor.TestEditor";
+
+	public SharedActionSetRegistryTest(String testName) {
+		super(testName);
+	}
+
+	public void testSharedBetweenUISessions() {
+		ServiceContext context = ContextProvider.getContext();
+		UISession uiSession = context.getUISession();
+		SharedActionSetRegistry sharedRegistry = SharedActionSetRegistry.getInstance();
+		IActionSetDescriptor descriptor = ActionSetRegistry.getInstance()
+				.findActionSet(ACTION_SET_ID);
+
+		context.setUISession(new UISessionImpl(context.getApplicationContext(),
+				new TestHttpSession()));
+		try {
+			assertNotNull(descriptor);
+			assertSame(sharedRegistry, SharedActionSetRegistry.getInstance());
+			assertSame(descriptor, SharedActionSetRegistry.getInstance()
+					.findActionSet(ACTION_SET_ID));
+		} finally {
+			context.setUISession(uiSession);
+		}
+	}
+
+	public void testContextsDefinedPerUISession() {
+		ActionSetRegistry.getInstance();
+		IContextService contextService = (IContextService) fWorkbench
+				.getService(IContextService.class);
+
+		assertTrue(contextService.getDefinedContextIds().contains(ACTION_SET_ID));
+	}
+
+	public void testGetActionSetsFor() {
+		IActionSetDescriptor[] actionSets = ActionSetRegistry.getInstance()
+				.getActionSetsFor(ASSOCIATED_PART_ID);
+		assertEquals(1, actionSets.length);
+		assertEquals(ASSOCIATED_ACTION_SET_ID, actionSets[0].getId());
+
+		actionSets[0] = null;
+
+		assertNotNull(ActionSetRegistry.getInstance().getActionSetsFor(
+				ASSOCIATED_PART_ID)[0]);
+	}
+}
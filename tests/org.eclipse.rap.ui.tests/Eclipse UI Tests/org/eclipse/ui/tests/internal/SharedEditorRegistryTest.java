@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.tests.internal;
+
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.ServiceContext;
+import org.eclipse.rap.rwt.internal.service.UISessionImpl;
+import org.eclipse.rap.rwt.service.UISession;
+import org.eclipse.rap.rwt.testfixture.internal.TestHttpSession;
+import org.eclipse.ui.IEditorDescriptor;
+import org.eclipse.ui.internal.registry.EditorRegistry;
+import org.eclipse.ui.internal.registry.SharedEditorRegistry;
+import org.eclipse.ui.tests.harness.util.UITestCase;
+
+/**
+ * Tests that the editors are shared between the UI sessions of an application
+ * while the file associations are kept per UI session.
+ */
+public class SharedEditorRegistryTest extends UITestCase {
+
+	private static final String EDITOR_ID = "org.eclipse.ui.tests.api.MockEditorPart1";
+
+	private static final String FILE_NAME = "test.mock3";
+
+	public SharedEditorRegistryTest(String testName) {
+		super(testName);
+	}
+
+	public void testSharedBetweenUISessions() {
+		ServiceContext context = ContextProvider.getContext();
+		UISession uiSession = context.getUISession();
+		SharedEditorRegistry sharedRegistry = SharedEditorRegistry.getInstance();
+		EditorRegistry registry = EditorRegistry.getInstance();
+		IEditorDescriptor descriptor = registry.findEditor(EDITOR_ID);
+
+		context.setUISession(new UISessionImpl(context.getApplicationContext(),
+				new TestHttpSession()));
+		try {
+			assertNotNull(descriptor);
+			assertSame(sharedRegistry, SharedEditorRegistry.getInstance());
+			assertNotSame(registry, EditorRegistry.getInstance());
+			assertSame(descriptor, EditorRegistry.getInstance().findEditor(EDITOR_ID));
+		} finally {
+			context.setUISession(uiSession);
+		}
+	}
+
+	public void testDefaultEditorPerUISession() {
+		ServiceContext context = ContextProvider.getContext();
+		UISession uiSession = context.getUISession();
+		EditorRegistry registry = EditorRegistry.getInstance();
+		IEditorDescriptor defaultEditor = registry.getDefaultEditor(FILE_NAME);
+		IEditorDescriptor otherEditor = getOtherEditor(registry, defaultEditor);
+
+		context.setUISession(new UISessionImpl(context.getApplicationContext(),
+				new TestHttpSession()));
+		try {
+			EditorRegistry.getInstance().setDefaultEditor(FILE_NAME, otherEditor.getId());
+
+			assertSame(otherEditor, EditorRegistry.getInstance().getDefaultEditor(FILE_NAME));
+		} finally {
+			context.setUISession(uiSession);
+		}
+		assertSame(defaultEditor, registry.getDefaultEditor(FILE_NAME));
+	}
+
+	private static IEditorDescriptor getOtherEditor(EditorRegistry registry,
+			IEditorDescriptor editor) {
+		IEditorDescriptor[] editors = registry.getEditors(FILE_NAME);
+		for (int i = 0; i < editors.length; i++) {
+			if (editors[i] != editor) {
+				return editors[i];
+			}
+		}
+		fail("Expected more than one editor for " + FILE_NAME);
+		return null;
+	}
+}
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.tests.internal;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.ServiceContext;
+import org.eclipse.rap.rwt.internal.service.UISessionImpl;
+import org.eclipse.rap.rwt.service.UISession;
+import org.eclipse.rap.rwt.testfixture.internal.TestHttpSession;
+import org.eclipse.ui.internal.dialogs.PropertyPageContributorManager;
+import org.eclipse.ui.internal.dialogs.RegistryPageContributor;
+import org.eclipse.ui.internal.dialogs.SharedPropertyPageRegistry;
+import org.eclipse.ui.tests.harness.util.UITestCase;
+
+/**
+ * Tests that the property page contributors are shared between the UI
+ * sessions of an application.
+ */
+public class SharedPropertyPageRegistryTest extends UITestCase {
+
+	private static final String PAGE_ID = "org.eclipse.ui.tests.tableResizePage";
+
+	public SharedPropertyPageRegistryTest(String testName) {
+		super(testName);
+	}
+
+	public void testSharedBetweenUISessions() {
+		ServiceContext context = ContextProvider.getContext();
+		UISession uiSession = context.getUISession();
+		SharedPropertyPageRegistry sharedRegistry = SharedPropertyPageRegistry.getInstance();
+		PropertyPageContributorManager manager = PropertyPageContributorManager.getManager();
+		RegistryPageContributor contributor = findContributor(manager);
+
+		context.setUISession(new UISessionImpl(context.getApplicationContext(),
+				new TestHttpSession()));
+		try {
+			assertNotNull(contributor);
+			assertSame(sharedRegistry, SharedPropertyPageRegistry.getInstance());
+			assertNotSame(manager, PropertyPageContributorManager.getManager());
+			assertSame(contributor, findContributor(PropertyPageContributorManager
+					.getManager()));
+		} finally {
+			context.setUISession(uiSession);
+		}
+	}
+
+	public void testUnregisterDoesNotAffectOtherUISessions() {
+		ServiceContext context = ContextProvider.getContext();
+		UISession uiSession = context.getUISession();
+		PropertyPageContributorManager manager = PropertyPageContributorManager.getManager();
+		RegistryPageContributor contributor = findContributor(manager);
+
+		context.setUISession(new UISessionImpl(context.getApplicationContext(),
+				new TestHttpSession()));
+		try {
+			PropertyPageContributorManager.getManager().unregisterContributor(
+					contributor, Object.class.getName());
+
+			assertNull(findContributor(PropertyPageContributorManager.getManager()));
+		} finally {
+			context.setUISession(uiSession);
+		}
+		assertSame(contributor, findContributor(manager));
+	}
+
+	private static RegistryPageContributor findContributor(
+			PropertyPageContributorManager manager) {
+		Iterator lists = manager.getContributors().iterator();
+		while (lists.hasNext()) {
+			Iterator contributors = ((List) lists.next()).iterator();
+			while (contributors.hasNext()) {
+				RegistryPageContributor contributor = (RegistryPageContributor) contributors
+						.next();
+				if (PAGE_ID.equals(contributor.getPageId())) {
+					return contributor;
+				}
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.tests.internal;
+
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.ServiceContext;
+import org.eclipse.rap.rwt.internal.service.UISessionImpl;
+import org.eclipse.rap.rwt.service.UISession;
+import org.eclipse.rap.rwt.testfixture.internal.TestHttpSession;
+import org.eclipse.ui.contexts.IContextActivation;
+import org.eclipse.ui.contexts.IContextService;
+import org.eclipse.ui.internal.registry.SharedViewRegistry;
+import org.eclipse.ui.internal.registry.ViewRegistry;
+import org.eclipse.ui.tests.harness.util.UITestCase;
+import org.eclipse.ui.views.IViewDescriptor;
+
+/**
+ * Tests that the view descriptors are shared between the UI sessions of an
+ * application while activities are still applied per UI session.
+ */
+public class SharedViewRegistryTest extends UITestCase {
+
+	private static final String RESTRICTED_VIEW_ID = "org.eclipse.ui.tests.internal.RestrictedMockViewPart";
+
+	private static final String ENABLING_CONTEXT_ID = "org.eclipse.ui.command.contexts.enablement_test1";
+
+	public SharedViewRegistryTest(String testName) {
+		super(testName);
+	}
+
+	public void testSharedBetweenUISessions() {
+		ServiceContext context = ContextProvider.getContext();
+		UISession uiSession = context.getUISession();
+		SharedViewRegistry sharedRegistry = SharedViewRegistry.getInstance();
+		ViewRegistry sessionRegistry = ViewRegistry.getInstance();
+
+		context.setUISession(new UISessionImpl(context.getApplicationContext(),
+				new TestHttpSession()));
+		try {
+			assertSame(sharedRegistry, SharedViewRegistry.getInstance());
+			assertNotSame(sessionRegistry, ViewRegistry.getInstance());
+		} finally {
+			context.setUISession(uiSession);
+		}
+	}
+
+	public void testSameDescriptorsInAllUISessions() {
+		ServiceContext context = ContextProvider.getContext();
+		UISession uiSession = context.getUISession();
+		IViewDescriptor descriptor = ViewRegistry.getInstance().find(
+				"org.eclipse.ui.tests.api.MockViewPart");
+
+		context.setUISession(new UISessionImpl(context.getApplicationContext(),
+				new TestHttpSession()));
+		try {
+			assertNotNull(descriptor);
+			assertSame(descriptor, ViewRegistry.getInstance().findInternal(
+					"org.eclipse.ui.tests.api.MockViewPart"));
+		} finally {
+			context.setUISession(uiSession);
+		}
+	}
+
+	public void testActivitiesAppliedPerUISession() {
+		IViewDescriptor descriptor = SharedViewRegistry.getInstance().findView(
+				RESTRICTED_VIEW_ID);
+		assertNotNull(descriptor);
+		assertNull(ViewRegistry.getInstance().find(RESTRICTED_VIEW_ID));
+
+		IContextService contextService = (IContextService) fWorkbench
+				.getService(IContextService.class);
+		IContextActivation activation = contextService
+				.activateContext(ENABLING_CONTEXT_ID);
+		try {
+			assertSame(descriptor, ViewRegistry.getInstance().find(
+					RESTRICTED_VIEW_ID));
+		} finally {
+			contextService.deactivateContext(activation);
+		}
+
+		assertNull(ViewRegistry.getInstance().find(RESTRICTED_VIEW_ID));
+		assertSame(descriptor, SharedViewRegistry.getInstance().findView(
+				RESTRICTED_VIEW_ID));
+	}
+}
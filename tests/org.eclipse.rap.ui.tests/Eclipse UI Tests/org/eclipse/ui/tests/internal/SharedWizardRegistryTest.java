@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.tests.internal;
+
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.ServiceContext;
+import org.eclipse.rap.rwt.internal.service.UISessionImpl;
+import org.eclipse.rap.rwt.service.UISession;
+import org.eclipse.rap.rwt.testfixture.internal.TestHttpSession;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.internal.registry.IWorkbenchRegistryConstants;
+import org.eclipse.ui.internal.wizards.ExportWizardRegistry;
+import org.eclipse.ui.internal.wizards.ImportWizardRegistry;
+import org.eclipse.ui.internal.wizards.NewWizardRegistry;
+import org.eclipse.ui.internal.wizards.SharedWizardRegistry;
+import org.eclipse.ui.tests.harness.util.UITestCase;
+import org.eclipse.ui.wizards.IWizardCategory;
+
+/**
+ * Tests that the wizards are shared between the UI sessions of an application.
+ */
+public class SharedWizardRegistryTest extends UITestCase {
+
+	private static final String IMPORT_CATEGORY_ID = "org.eclipse.ui.tests.TestImport";
+
+	public SharedWizardRegistryTest(String testName) {
+		super(testName);
+	}
+
+	public void testSharedBetweenUISessions() {
+		ServiceContext context = ContextProvider.getContext();
+		UISession uiSession = context.getUISession();
+		SharedWizardRegistry sharedRegistry = getSharedNewWizardRegistry();
+		NewWizardRegistry sessionRegistry = NewWizardRegistry.getInstance();
+		IWizardCategory rootCategory = sessionRegistry.getRootCategory();
+
+		context.setUISession(new UISessionImpl(context.getApplicationContext(),
+				new TestHttpSession()));
+		try {
+			assertSame(sharedRegistry, getSharedNewWizardRegistry());
+			assertNotSame(sessionRegistry, NewWizardRegistry.getInstance());
+			assertSame(rootCategory, NewWizardRegistry.getInstance().getRootCategory());
+		} finally {
+			context.setUISession(uiSession);
+		}
+	}
+
+	public void testSeparateRegistryPerExtensionPoint() {
+		IWizardCategory importCategory = ImportWizardRegistry.getInstance()
+				.findCategory(IMPORT_CATEGORY_ID);
+
+		assertNotNull(importCategory);
+		assertNull(ExportWizardRegistry.getInstance().findCategory(IMPORT_CATEGORY_ID));
+		assertNotSame(ImportWizardRegistry.getInstance().getRootCategory(),
+				ExportWizardRegistry.getInstance().getRootCategory());
+	}
+
+	private static SharedWizardRegistry getSharedNewWizardRegistry() {
+		return SharedWizardRegistry.getInstance(PlatformUI.PLUGIN_EXTENSION_NAME_SPACE,
+				IWorkbenchRegistryConstants.PL_NEW);
+	}
+}
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.jface.tests.viewers;
+
+import java.util.Arrays;
+
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.SortKeyViewerComparator;
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Table;
+
+public class SortKeyViewerComparatorTest extends ViewerTestCase {
+
+	private int labelRequests;
+
+	public SortKeyViewerComparatorTest(String name) {
+		super(name);
+	}
+
+	protected StructuredViewer createViewer(Composite parent) {
+		TableViewer viewer = new TableViewer(parent, getTableStyle());
+		viewer.setContentProvider(new ArrayContentProvider());
+		viewer.setLabelProvider(new LabelProvider() {
+			public String getText(Object element) {
+				labelRequests++;
+				return super.getText(element);
+			}
+		});
+		return viewer;
+	}
+
+	protected int getTableStyle() {
+		return SWT.NONE;
+	}
+
+	protected void setUpModel() {
+		// the viewer input is set by the tests
+	}
+
+	protected void setInput() {
+		// the viewer input is set by the tests
+	}
+
+	public void testSortsByLabel() {
+		fViewer.setComparator(new SortKeyViewerComparator());
+
+		fViewer.setInput(new String[] { "c", "a", "b" });
+
+		assertItems(new String[] { "a", "b", "c" });
+	}
+
+	public void testSortsByCategoryFirst() {
+		fViewer.setComparator(new SortKeyViewerComparator() {
+			public int category(Object element) {
+				return "c".equals(element) ? 0 : 1;
+			}
+		});
+
+		fViewer.setInput(new String[] { "b", "c", "a" });
+
+		assertItems(new String[] { "c", "a", "b" });
+	}
+
+	public void testSortsWithCustomKey() {
+		fViewer.setComparator(new SortKeyViewerComparator() {
+			protected Comparable getSortKey(Viewer viewer, Object element) {
+				return Integer.valueOf(((String) element).length());
+			}
+		});
+
+		fViewer.setInput(new String[] { "ccc", "a", "bb" });
+
+		assertItems(new String[] { "a", "bb", "ccc" });
+	}
+
+	public void testRequestsLabelOncePerElement() {
+		fViewer.setComparator(new SortKeyViewerComparator());
+		String[] input = createInput(1000);
+		labelRequests = 0;
+
+		fViewer.setInput(input);
+
+		// a comparison based sort would request about 2 * n * log(n) labels
+		assertTrue(labelRequests < 3 * input.length);
+	}
+
+	public void testSortsLargeInputLikeViewerComparator() {
+		String[] input = createInput(20000);
+		Object[] expected = input.clone();
+		new ViewerComparator(new SortKeyViewerComparator().getCollator()).sort(fViewer, expected);
+
+		Object[] actual = input.clone();
+		new SortKeyViewerComparator().sort(fViewer, actual);
+
+		assertTrue(Arrays.equals(expected, actual));
+	}
+
+	public void testSortsVirtualTable() {
+		TableViewer viewer = new TableViewer(fShell, SWT.VIRTUAL);
+		viewer.setContentProvider(new ArrayContentProvider());
+		viewer.setLabelProvider(new LabelProvider());
+		viewer.setComparator(new SortKeyViewerComparator());
+		String[] input = createInput(10000);
+		Object[] expected = input.clone();
+		new ViewerComparator(new SortKeyViewerComparator().getCollator()).sort(viewer, expected);
+
+		viewer.setInput(input);
+
+		Table table = viewer.getTable();
+		assertEquals(input.length, table.getItemCount());
+		int[] indices = new int[] { 0, 1, input.length / 2, input.length - 1 };
+		for (int i = 0; i < indices.length; i++) {
+			int index = indices[i];
+			assertEquals(expected[index], table.getItem(index).getText());
+		}
+	}
+
+	public void testCompareIsConsistentWithSort() {
+		SortKeyViewerComparator comparator = new SortKeyViewerComparator();
+
+		assertTrue(comparator.compare(fViewer, "a", "b") < 0);
+		assertTrue(comparator.compare(fViewer, "b", "a") > 0);
+		assertEquals(0, comparator.compare(fViewer, "a", "a"));
+	}
+
+	private void assertItems(String[] expected) {
+		Table table = ((TableViewer) fViewer).getTable();
+		assertEquals(expected.length, table.getItemCount());
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], table.getItem(i).getText());
+		}
+	}
+
+	private static String[] createInput(int size) {
+		String[] result = new String[size];
+		for (int i = 0; i < size; i++) {
+			result[i] = "item " + ((i * 7919) % size);
+		}
+		return result;
+	}
+}